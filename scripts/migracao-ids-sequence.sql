@@ -0,0 +1,33 @@
+-- Migração dos ids de parceiros, pedidos e itens_pedido de IDENTITY para sequences (@IdSequencial).
+--
+-- Rode uma vez, com a aplicação parada, em bancos criados por versões anteriores. Sem ela o
+-- ddl-auto cria as sequences começando em 1 e os novos ids colidem com os existentes.
+--
+-- O INCREMENT BY precisa ser igual a ORDERHUB_IDS_TAMANHO_ALOCACAO (padrão 50): para alterar
+-- o tamanho de alocação depois, pare a aplicação e rode ALTER SEQUENCE <nome> INCREMENT BY <novo>.
+--
+-- docker exec -i pedidos-postgres psql -U pedidos_user -d pedidos_b2b < scripts/migracao-ids-sequence.sql
+
+DO $$
+DECLARE
+    tamanho_alocacao CONSTANT integer := 50;
+    tabela text;
+    sequencia text;
+BEGIN
+    FOREACH tabela IN ARRAY ARRAY['parceiros', 'pedidos', 'itens_pedido']
+    LOOP
+        sequencia := tabela || '_seq';
+
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY %s', sequencia, tamanho_alocacao);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY %s', sequencia, tamanho_alocacao);
+
+        -- Próximo valor = maior id existente + 1 (o pooled-lo usa o valor como início do bloco)
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT max(id) FROM %I), 0) + 1, false)', sequencia, tabela);
+
+        -- O id passa a vir da aplicação: remove a identity (ou o default serial) da coluna
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', tabela);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', tabela);
+
+        RAISE NOTICE 'Tabela % migrada para a sequence %', tabela, sequencia;
+    END LOOP;
+END $$;
@@ -0,0 +1,15 @@
+-- Índices da busca combinada de GET /pedidos por parceiro: (parceiro_id, status, data_criacao, id)
+-- e (parceiro_id, data_criacao, id). Com parceiro e status informados, a busca lê só as entradas
+-- daquele par, já na ordem da paginação; sem status, a do parceiro.
+--
+-- Mesmo cuidado de migracao-indices-paginacao.sql: rode antes do deploy, com psql e fora de
+-- BEGIN/COMMIT. Em pedidos particionada (migracao-particionamento-pedidos.sql) o PostgreSQL não
+-- aceita CONCURRENTLY na tabela pai; lá os índices já são criados pelo script de particionamento.
+--
+-- docker exec -i pedidos-postgres psql -U pedidos_user -d pedidos_b2b < scripts/migracao-indices-busca.sql
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedido_parceiro_status_data_criacao_id ON pedidos (parceiro_id, status, data_criacao, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedido_parceiro_data_criacao_id ON pedidos (parceiro_id, data_criacao, id);
+
+-- Coberto pelos índices acima (mesma coluna inicial)
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedido_parceiro_id;
@@ -0,0 +1,14 @@
+-- Índices da paginação por cursor de GET /pedidos, em (data_criacao, id) e (status, data_criacao, id).
+--
+-- O ddl-auto cria os índices na subida da aplicação, mas com CREATE INDEX comum, que bloqueia
+-- as escritas em pedidos durante a criação. Em bancos grandes rode este script antes do deploy.
+-- CONCURRENTLY não roda dentro de transação: execute com psql, fora de BEGIN/COMMIT.
+--
+-- docker exec -i pedidos-postgres psql -U pedidos_user -d pedidos_b2b < scripts/migracao-indices-paginacao.sql
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedido_data_criacao_id ON pedidos (data_criacao, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedido_status_data_criacao_id ON pedidos (status, data_criacao, id);
+
+-- Cobertos pelos índices acima (mesma coluna inicial)
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedido_data_criacao;
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedido_status;
@@ -0,0 +1,95 @@
+-- Particionamento de pedidos e itens_pedido por mês de criação (RANGE em data_criacao).
+--
+-- Converte as tabelas criadas pelo ddl-auto em tabelas particionadas, uma partição por mês, e copia
+-- os dados. Rode uma vez, com a aplicação parada. Em banco novo, suba a aplicação uma vez para o
+-- ddl-auto criar as tabelas, pare-a e rode o script. Depois ligue ORDERHUB_PEDIDOS_PARTICIONAMENTO_HABILITADO:
+-- a aplicação cria as partições dos meses seguintes e desanexa as que saem da retenção.
+--
+-- O PostgreSQL exige a chave de partição nas restrições únicas, o que muda:
+--   * PK de pedidos: (id, data_criacao); de itens_pedido: (id, pedido_data_criacao)
+--   * idx_pedido_public_id: único em (public_id, data_criacao). A unicidade global de public_id passa
+--     para a tabela não particionada pedido_public_ids (PK em public_id), preenchida por trigger no
+--     INSERT de pedidos; um public_id repetido falha o INSERT do pedido como antes
+--   * FK dos itens composta: a FK simples (pedido_id -> pedidos.id) criada pelo ddl-auto sai junto com
+--     a tabela antiga e volta como (pedido_id, pedido_data_criacao) -> pedidos (id, data_criacao). Nas
+--     subidas seguintes o ddl-auto reconhece a FK composta pela coluna pedido_id e não recria a simples
+--
+-- docker exec -i pedidos-postgres psql -U pedidos_user -d pedidos_b2b < scripts/migracao-particionamento-pedidos.sql
+
+BEGIN;
+
+-- Chave de partição dos itens: cópia de data_criacao do pedido (itens gravados antes da coluna existir)
+ALTER TABLE itens_pedido ADD COLUMN IF NOT EXISTS pedido_data_criacao timestamp(6);
+UPDATE itens_pedido i SET pedido_data_criacao = p.data_criacao
+FROM pedidos p
+WHERE p.id = i.pedido_id AND i.pedido_data_criacao IS DISTINCT FROM p.data_criacao;
+ALTER TABLE itens_pedido ALTER COLUMN pedido_data_criacao SET NOT NULL;
+
+CREATE TABLE pedidos_particionada (LIKE pedidos INCLUDING DEFAULTS) PARTITION BY RANGE (data_criacao);
+CREATE TABLE itens_pedido_particionada (LIKE itens_pedido INCLUDING DEFAULTS) PARTITION BY RANGE (pedido_data_criacao);
+
+-- Um mês por partição, do pedido mais antigo até 3 meses à frente
+DO $$
+DECLARE
+    mes date := COALESCE(date_trunc('month', (SELECT min(data_criacao) FROM pedidos)), date_trunc('month', now()));
+    ultimo date := date_trunc('month', now()) + interval '3 months';
+BEGIN
+    WHILE mes <= ultimo LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF pedidos_particionada FOR VALUES FROM (%L) TO (%L)',
+                       'pedidos_p' || to_char(mes, 'YYYY_MM'), mes, (mes + interval '1 month')::date);
+        EXECUTE format('CREATE TABLE %I PARTITION OF itens_pedido_particionada FOR VALUES FROM (%L) TO (%L)',
+                       'itens_pedido_p' || to_char(mes, 'YYYY_MM'), mes, (mes + interval '1 month')::date);
+        mes := mes + interval '1 month';
+    END LOOP;
+END $$;
+
+-- Recebe datas sem partição mensal (ex.: manutenção desligada). Deve ficar vazia: com linhas de um
+-- mês aqui, a aplicação não consegue criar a partição desse mês
+CREATE TABLE pedidos_default PARTITION OF pedidos_particionada DEFAULT;
+CREATE TABLE itens_pedido_default PARTITION OF itens_pedido_particionada DEFAULT;
+
+INSERT INTO pedidos_particionada SELECT * FROM pedidos;
+INSERT INTO itens_pedido_particionada SELECT * FROM itens_pedido;
+
+DROP TABLE itens_pedido;
+DROP TABLE pedidos;
+ALTER TABLE pedidos_particionada RENAME TO pedidos;
+ALTER TABLE itens_pedido_particionada RENAME TO itens_pedido;
+
+-- Índices no pai: o PostgreSQL cria um por partição, inclusive nas criadas depois
+ALTER TABLE pedidos ADD CONSTRAINT pedidos_pkey PRIMARY KEY (id, data_criacao);
+ALTER TABLE pedidos ADD CONSTRAINT fk_pedidos_parceiro FOREIGN KEY (parceiro_id) REFERENCES parceiros (id);
+CREATE UNIQUE INDEX idx_pedido_public_id ON pedidos (public_id, data_criacao);
+
+-- Unicidade global de public_id, que o índice particionado não garante. As linhas ficam mesmo
+-- depois que a partição do pedido é desanexada: um public_id nunca volta a ser usado
+CREATE TABLE pedido_public_ids (
+    public_id varchar(20) PRIMARY KEY,
+    pedido_id bigint NOT NULL,
+    data_criacao timestamp(6) NOT NULL
+);
+INSERT INTO pedido_public_ids (public_id, pedido_id, data_criacao) SELECT public_id, id, data_criacao FROM pedidos;
+
+CREATE FUNCTION registrar_pedido_public_id() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO pedido_public_ids (public_id, pedido_id, data_criacao) VALUES (NEW.public_id, NEW.id, NEW.data_criacao);
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER trg_pedidos_public_id AFTER INSERT ON pedidos
+    FOR EACH ROW EXECUTE FUNCTION registrar_pedido_public_id();
+CREATE INDEX idx_pedido_parceiro_status_data_criacao_id ON pedidos (parceiro_id, status, data_criacao, id);
+CREATE INDEX idx_pedido_parceiro_data_criacao_id ON pedidos (parceiro_id, data_criacao, id);
+CREATE INDEX idx_pedido_data_criacao_id ON pedidos (data_criacao, id);
+CREATE INDEX idx_pedido_status_data_criacao_id ON pedidos (status, data_criacao, id);
+
+ALTER TABLE itens_pedido ADD CONSTRAINT itens_pedido_pkey PRIMARY KEY (id, pedido_data_criacao);
+ALTER TABLE itens_pedido ADD CONSTRAINT fk_itens_pedido_pedido
+    FOREIGN KEY (pedido_id, pedido_data_criacao) REFERENCES pedidos (id, data_criacao);
+CREATE INDEX idx_item_pedido_id ON itens_pedido (pedido_id);
+CREATE INDEX idx_item_produto ON itens_pedido (produto);
+
+COMMIT;
+
+ANALYZE pedidos;
+ANALYZE itens_pedido;
@@ -0,0 +1,27 @@
+-- Carga (ou recálculo) de resumo_pedidos_parceiro a partir dos pedidos existentes.
+--
+-- A aplicação cria as linhas zeradas de cada parceiro novo e soma nelas as variações de cada pedido; parceiros
+-- anteriores ao resumo precisam desta carga uma vez, depois que o ddl-auto criar a tabela. O lock
+-- SHARE em pedidos segura as gravações de pedidos até o COMMIT, para que nenhuma transição fique
+-- fora da contagem: pode rodar com a aplicação no ar, em horário de pouco movimento. Rodar de novo
+-- recalcula tudo (ex.: para conferir o resumo contra os pedidos).
+--
+-- docker exec -i pedidos-postgres psql -U pedidos_user -d pedidos_b2b < scripts/migracao-resumo-pedidos.sql
+
+BEGIN;
+
+LOCK TABLE pedidos IN SHARE MODE;
+
+DELETE FROM resumo_pedidos_parceiro;
+-- Variações pendentes já estão nos pedidos contados abaixo
+DELETE FROM resumo_pedidos_deltas;
+
+-- Uma linha por parceiro e status, inclusive as zeradas
+INSERT INTO resumo_pedidos_parceiro (parceiro_id, status, quantidade, valor_total, data_atualizacao)
+SELECT pa.id, s.status, count(p.id), COALESCE(sum(p.valor_total), 0), now()
+FROM parceiros pa
+CROSS JOIN (VALUES ('PENDENTE'), ('APROVADO'), ('EM_PROCESSAMENTO'), ('ENVIADO'), ('ENTREGUE'), ('CANCELADO')) AS s (status)
+LEFT JOIN pedidos p ON p.parceiro_id = pa.id AND p.status = s.status
+GROUP BY pa.id, s.status;
+
+COMMIT;
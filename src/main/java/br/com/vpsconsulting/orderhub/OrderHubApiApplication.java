@@ -2,12 +2,14 @@ package br.com.vpsconsulting.orderhub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableCaching
-@ComponentScan(basePackages = "br.com.vpsconsulting.orderhub")
+@EnableScheduling
+@ConfigurationPropertiesScan
 public class OrderHubApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,30 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.aquecimento")
+public class AquecimentoProperties {
+
+    // Carrega os caches na subida, antes de a instância se declarar pronta (readiness)
+    private boolean habilitado = true;
+
+    // Parceiros ativos lidos por SELECT
+    private int tamanhoLote = 500;
+
+    // Lotes carregados ao mesmo tempo (cada um ocupa uma conexão do pool)
+    private int paralelismo = 4;
+
+    // Tempo máximo de espera: depois dele a instância sobe com o cache parcial
+    private Duration timeout = Duration.ofMinutes(2);
+
+    // publicIds de pedidos com muitas mudanças de status: os itens vão para o cache do Hibernate
+    private List<String> pedidos = new ArrayList<>();
+}
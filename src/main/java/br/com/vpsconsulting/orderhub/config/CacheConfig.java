@@ -0,0 +1,82 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caches Caffeine limitados em tamanho e tempo de vida, com estatísticas ligadas: o Spring Boot
+ * publica no registry do Micrometer (cache.gets, cache.puts, cache.evictions, cache.load.duration,
+ * por tag cache) os caches configurados em orderhub.caches.configuracoes. Com o segundo nível
+ * habilitado, o Caffeine passa a ser o primeiro nível de um {@link CacheDuasCamadas}.
+ */
+@Slf4j
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CachesProperties properties, List<CarregadorCache> carregadores,
+                                     Optional<SegundoNivelCache> segundoNivel) {
+        Map<String, CarregadorCache> carregadorPorCache = carregadores.stream()
+                .collect(Collectors.toMap(CarregadorCache::nomeCache, Function.identity()));
+
+        CaffeineCacheManager cacheManager = segundoNivel
+                .<CaffeineCacheManager>map(nivel -> new CacheDuasCamadasManager(nivel.compartilhados(), nivel.canal()))
+                .orElseGet(CaffeineCacheManager::new);
+        cacheManager.setCaffeine(construtor(properties.getPadrao()));
+
+        properties.getConfiguracoes().forEach((nome, configuracao) -> {
+            Caffeine<Object, Object> construtor = construtor(configuracao);
+            CarregadorCache carregador = carregadorPorCache.get(nome);
+
+            if (configuracao.getRenovacao() == null) {
+                cacheManager.registerCustomCache(nome, construtor.build());
+            } else if (carregador == null) {
+                log.warn("Cache {} com renovação mas sem CarregadorCache - renovação desligada", nome);
+                cacheManager.registerCustomCache(nome, construtor.build());
+            } else {
+                if (configuracao.getRenovacao().compareTo(configuracao.getExpiracao()) >= 0) {
+                    log.warn("Cache {} com renovação ({}) maior ou igual à expiração ({}) - entradas expiram antes de renovar",
+                            nome, configuracao.getRenovacao(), configuracao.getExpiracao());
+                }
+                // O recarregamento roda no executor do Caffeine; a leitura que o dispara recebe o valor atual
+                cacheManager.registerCustomCache(nome, construtor
+                        .refreshAfterWrite(configuracao.getRenovacao())
+                        .build(new CacheLoader<>() {
+                            @Override
+                            public Object load(Object chave) throws Exception {
+                                return carregador.carregar(chave);
+                            }
+
+                            @Override
+                            public Object reload(Object chave, Object atual) throws Exception {
+                                return carregador.recarregar(chave, atual);
+                            }
+                        }));
+            }
+
+            log.info("Cache {} - Tamanho máximo: {} - Expiração: {} - Renovação: {} - Segundo nível: {}", nome,
+                    configuracao.getTamanhoMaximo(), configuracao.getExpiracao(), configuracao.getRenovacao(),
+                    segundoNivel.isPresent());
+        });
+
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> construtor(CachesProperties.Configuracao configuracao) {
+        return Caffeine.newBuilder()
+                .maximumSize(configuracao.getTamanhoMaximo())
+                .expireAfterWrite(configuracao.getExpiracao())
+                .recordStats();
+    }
+}
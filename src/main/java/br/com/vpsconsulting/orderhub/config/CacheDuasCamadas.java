@@ -0,0 +1,196 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache em duas camadas: Caffeine local (primeiro nível) na frente de um cache compartilhado entre
+ * as instâncias (segundo nível). A falta local é preenchida pelo segundo nível dentro do compute do
+ * Caffeine, de modo que uma invalidação recebida durante a leitura espera e remove o valor lido.
+ * put/evict/clear gravam no segundo nível antes de publicar a invalidação para as outras instâncias;
+ * publicam na hora, então quem grava a partir de uma transação deve fazê-lo após o commit.
+ * Um {@link ValorVersionado} só é gravado se o segundo nível não tiver versão mais nova
+ * ({@link GravacaoVersionada}), e a invalidação leva a versão: as outras instâncias descartam só
+ * entradas mais antigas.
+ * As chaves são convertidas em String, a forma em que trafegam na mensagem de invalidação.
+ */
+@Slf4j
+public class CacheDuasCamadas extends AbstractValueAdaptingCache {
+
+    private final String nome;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache compartilhado;
+    private final CanalInvalidacaoCache canal;
+    private final String origem;
+
+    public CacheDuasCamadas(String nome,
+                            com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                            Cache compartilhado,
+                            CanalInvalidacaoCache canal,
+                            String origem,
+                            boolean allowNullValues) {
+        super(allowNullValues);
+        this.nome = nome;
+        this.local = local;
+        this.compartilhado = compartilhado;
+        this.canal = canal;
+        this.origem = origem;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    // O Caffeine local: as métricas cache.* do Micrometer medem o primeiro nível
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return local.get(chave(key), this::buscarCompartilhado);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(local.get(chave(key), chave -> {
+            Object compartilhadoValor = buscarCompartilhado(chave);
+            if (compartilhadoValor != null) {
+                return compartilhadoValor;
+            }
+            T valor;
+            try {
+                valor = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            // Carga não publica invalidação: as outras instâncias continuam com o que já têm
+            gravarCompartilhado(chave, valor, true);
+            return toStoreValue(valor);
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String chave = chave(key);
+        if (value instanceof ValorVersionado versionado) {
+            gravarVersionado(chave, versionado);
+            return;
+        }
+        gravarCompartilhado(chave, value, false);
+        local.put(chave, toStoreValue(value));
+        publicar(chave, null);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object atual = lookup(key);
+        if (atual != null) {
+            return new SimpleValueWrapper(fromStoreValue(atual));
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String chave = chave(key);
+        try {
+            compartilhado.evict(chave);
+        } catch (RuntimeException e) {
+            log.warn("Erro ao remover {} do segundo nível do cache {}: {}", chave, nome, e.getMessage());
+        }
+        local.invalidate(chave);
+        publicar(chave, null);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            compartilhado.clear();
+        } catch (RuntimeException e) {
+            log.warn("Erro ao limpar o segundo nível do cache {}: {}", nome, e.getMessage());
+        }
+        local.invalidateAll();
+        publicar(null, null);
+    }
+
+    // Mensagem de outra instância: só o primeiro nível, o segundo já foi atualizado por ela
+    public void invalidarLocal(String chave, Long versao) {
+        if (chave == null) {
+            local.invalidateAll();
+        } else if (versao == null) {
+            local.invalidate(chave);
+        } else {
+            local.asMap().computeIfPresent(chave, (k, atual) ->
+                    atual instanceof ValorVersionado anterior && anterior.versao() >= versao ? atual : null);
+        }
+    }
+
+    private void gravarVersionado(String chave, ValorVersionado valor) {
+        if (!gravarCompartilhadoSeMaisNovo(chave, valor)) {
+            // Outra instância gravou uma versão mais nova: a próxima leitura local a busca no segundo nível
+            local.invalidate(chave);
+            return;
+        }
+        local.asMap().compute(chave, (k, atual) ->
+                atual instanceof ValorVersionado anterior && anterior.versao() > valor.versao() ? atual : valor);
+        publicar(chave, valor.versao());
+    }
+
+    // Segundo nível indisponível equivale a falta: a leitura segue para o banco
+    private Object buscarCompartilhado(Object chave) {
+        try {
+            ValueWrapper valor = compartilhado.get(chave);
+            return valor != null ? toStoreValue(valor.get()) : null;
+        } catch (RuntimeException e) {
+            log.warn("Erro ao ler {} do segundo nível do cache {}: {}", chave, nome, e.getMessage());
+            return null;
+        }
+    }
+
+    private void gravarCompartilhado(Object chave, Object valor, boolean seAusente) {
+        try {
+            if (seAusente) {
+                compartilhado.putIfAbsent(chave, valor);
+            } else {
+                compartilhado.put(chave, valor);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Erro ao gravar {} no segundo nível do cache {}: {}", chave, nome, e.getMessage());
+        }
+    }
+
+    // Segundo nível indisponível não impede a gravação local, como em gravarCompartilhado
+    private boolean gravarCompartilhadoSeMaisNovo(String chave, ValorVersionado valor) {
+        if (!(compartilhado instanceof GravacaoVersionada versionado)) {
+            gravarCompartilhado(chave, valor, false);
+            return true;
+        }
+        try {
+            return versionado.gravarSeMaisNovo(chave, valor);
+        } catch (RuntimeException e) {
+            log.warn("Erro ao gravar {} no segundo nível do cache {}: {}", chave, nome, e.getMessage());
+            return true;
+        }
+    }
+
+    private void publicar(String chave, Long versao) {
+        try {
+            canal.publicar(new CanalInvalidacaoCache.Invalidacao(origem, nome, chave, versao));
+        } catch (RuntimeException e) {
+            log.warn("Erro ao publicar invalidação de {} no cache {}: {}", chave, nome, e.getMessage());
+        }
+    }
+
+    private static String chave(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.UUID;
+
+/**
+ * CaffeineCacheManager cujos caches (configurados ou criados no primeiro uso) são {@link CacheDuasCamadas}:
+ * o Caffeine montado pelo {@link CacheConfig} é o primeiro nível, e o cache de mesmo nome em
+ * {@code compartilhados} é o segundo. Assina o canal de invalidação e ignora as próprias mensagens.
+ */
+public class CacheDuasCamadasManager extends CaffeineCacheManager {
+
+    private final CacheManager compartilhados;
+    private final CanalInvalidacaoCache canal;
+    private final String origem = UUID.randomUUID().toString();
+
+    public CacheDuasCamadasManager(CacheManager compartilhados, CanalInvalidacaoCache canal) {
+        this.compartilhados = compartilhados;
+        this.canal = canal;
+        canal.assinar(this::receber);
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new CacheDuasCamadas(name, cache, compartilhados.getCache(name), canal, origem, isAllowNullValues());
+    }
+
+    private void receber(CanalInvalidacaoCache.Invalidacao invalidacao) {
+        if (origem.equals(invalidacao.origem()) || !getCacheNames().contains(invalidacao.cache())) {
+            return;
+        }
+        if (getCache(invalidacao.cache()) instanceof CacheDuasCamadas cache) {
+            cache.invalidarLocal(invalidacao.chave(), invalidacao.versao());
+        }
+    }
+}
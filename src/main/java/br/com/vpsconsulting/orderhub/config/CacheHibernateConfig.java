@@ -0,0 +1,77 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de segundo nível do Hibernate em JCache (Caffeine), local a cada instância. Só guarda o que não
+ * muda depois do INSERT: os itens dos pedidos (entidade ItemPedido e coleção Pedido.itens), em regiões
+ * somente leitura, seguras com várias instâncias sem invalidação entre elas. As regiões são criadas aqui,
+ * com tamanho e expiração de {@code orderhub.caches.hibernate.regioes}; uma região anotada e não listada
+ * impede a subida. As estatísticas de cada região vão para as métricas cache.* (cache.manager=hibernate).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "orderhub.caches.hibernate.habilitado", havingValue = "true")
+public class CacheHibernateConfig {
+
+    static final List<String> REGIOES = List.of(ItemPedido.REGIAO_CACHE, Pedido.REGIAO_CACHE_ITENS);
+
+    // O Hibernate fecha o CacheManager com a EntityManagerFactory. A URI única evita reaproveitar
+    // o de outro contexto no mesmo class loader (testes)
+    @Bean(destroyMethod = "")
+    public CacheManager cacheManagerHibernate(CachesProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("orderhub-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String regiao : REGIOES) {
+            CachesProperties.Configuracao configuracao = properties.getHibernate().getRegioes()
+                    .getOrDefault(regiao, properties.getPadrao());
+            CaffeineConfiguration<Object, Object> caffeine = new CaffeineConfiguration<>()
+                    .setMaximumSize(OptionalLong.of(configuracao.getTamanhoMaximo()))
+                    .setExpireAfterWrite(OptionalLong.of(configuracao.getExpiracao().toNanos()))
+                    .setNativeStatisticsEnabled(true)
+                    // As entradas do Hibernate já são o estado desmontado da entidade: sem cópia por serialização
+                    .setStoreByValue(false);
+            cacheManager.createCache(regiao, caffeine);
+            log.info("Região do cache do Hibernate: {} - Tamanho máximo: {} - Expiração: {}",
+                    regiao, configuracao.getTamanhoMaximo(), configuracao.getExpiracao());
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheManagerHibernate) {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propriedades.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerHibernate);
+            propriedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasCacheHibernate(CacheManager cacheManagerHibernate) {
+        return registry -> REGIOES.forEach(regiao -> CaffeineCacheMetrics.monitor(registry,
+                cacheManagerHibernate.getCache(regiao).unwrap(com.github.benmanes.caffeine.cache.Cache.class),
+                regiao, "cache.manager", "hibernate"));
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Segundo nível dos caches no Redis ({@code spring.data.redis.*}), compartilhado entre as instâncias,
+ * e o canal pub/sub que remove as entradas do Caffeine local das outras instâncias a cada gravação.
+ * O RedisCacheManager não é exposto como bean: o único CacheManager da aplicação é o do CacheConfig.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "orderhub.caches.segundo-nivel.habilitado", havingValue = "true")
+public class CacheSegundoNivelConfig {
+
+    @Bean
+    public RedisMessageListenerContainer containerInvalidacaoCache(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public SegundoNivelCache segundoNivelCache(CachesProperties properties,
+                                               RedisConnectionFactory connectionFactory,
+                                               StringRedisTemplate redisTemplate,
+                                               RedisMessageListenerContainer containerInvalidacaoCache) {
+        CachesProperties.SegundoNivel segundoNivel = properties.getSegundoNivel();
+
+        // Valores serializados pelo Java (Serializable), chaves String. Os caches são RedisCacheVersionado:
+        // valores com versão só substituem versões iguais ou mais antigas, de qualquer instância
+        RedisCacheManager compartilhados = new RedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(segundoNivel.getExpiracao())
+                        .prefixCacheNameWith(segundoNivel.getPrefixo())) {
+            @Override
+            protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+                return new RedisCacheVersionado(name, getCacheWriter(),
+                        cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration(), connectionFactory);
+            }
+        };
+        compartilhados.afterPropertiesSet();
+
+        log.info("Segundo nível dos caches no Redis - Expiração: {} - Prefixo: {} - Tópico de invalidação: {}",
+                segundoNivel.getExpiracao(), segundoNivel.getPrefixo(), segundoNivel.getTopico());
+
+        return new SegundoNivelCache(compartilhados,
+                new CanalInvalidacaoRedis(redisTemplate, containerInvalidacaoCache, segundoNivel.getTopico()));
+    }
+
+    // CacheDuasCamadas não é um CaffeineCache: sem este provider as métricas cache.* deixariam de ser publicadas
+    @Bean
+    public CacheMeterBinderProvider<CacheDuasCamadas> metricasCacheDuasCamadas() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+}
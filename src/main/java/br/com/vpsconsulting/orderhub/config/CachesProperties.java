@@ -0,0 +1,68 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.caches")
+public class CachesProperties {
+
+    // Caches sem configuração própria, criados no primeiro uso
+    private Configuracao padrao = new Configuracao();
+
+    // Por nome do cache (o mesmo de @Cacheable)
+    private Map<String, Configuracao> configuracoes = new LinkedHashMap<>();
+
+    // Segundo nível compartilhado entre as instâncias (Redis), atrás do Caffeine local
+    private SegundoNivel segundoNivel = new SegundoNivel();
+
+    // Cache de segundo nível do Hibernate (entidades), separado dos caches do Spring
+    private Hibernate hibernate = new Hibernate();
+
+    @Getter
+    @Setter
+    public static class Configuracao {
+
+        // Acima deste número de entradas o Caffeine remove as menos usadas
+        private long tamanhoMaximo = 1000;
+
+        // Tempo de vida de cada entrada a partir da gravação
+        private Duration expiracao = Duration.ofMinutes(10);
+
+        // Entrada mais antiga que isto é devolvida e recarregada em segundo plano na próxima leitura.
+        // Menor que expiracao; vazio desliga (exige um CarregadorCache para o cache)
+        private Duration renovacao;
+    }
+
+    @Getter
+    @Setter
+    public static class SegundoNivel {
+
+        private boolean habilitado = false;
+
+        // Tempo de vida das entradas no Redis, para todos os caches
+        private Duration expiracao = Duration.ofMinutes(30);
+
+        // Prefixo das chaves no Redis (seguido de "<cache>::<chave>")
+        private String prefixo = "orderhub:";
+
+        // Canal pub/sub das mensagens de invalidação do primeiro nível
+        private String topico = "orderhub:caches:invalidacao";
+    }
+
+    @Getter
+    @Setter
+    public static class Hibernate {
+
+        private boolean habilitado = false;
+
+        // Por região do Hibernate; regiões sem configuração usam padrao. renovacao não se aplica
+        private Map<String, Configuracao> regioes = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal entre as instâncias para remover entradas do primeiro nível (Caffeine) dos caches de duas
+ * camadas. Entrega sem garantia (pub/sub): uma mensagem perdida deixa a entrada local até expirar.
+ */
+public interface CanalInvalidacaoCache {
+
+    // chave null = todas as entradas do cache. Com versão, só saem entradas locais de versão menor
+    // (ou sem versão): quem já tem o valor gravado, ou um mais novo, não volta ao segundo nível
+    record Invalidacao(String origem, String cache, String chave, Long versao) {
+
+        public Invalidacao(String origem, String cache, String chave) {
+            this(origem, cache, chave, null);
+        }
+    }
+
+    void publicar(Invalidacao invalidacao);
+
+    void assinar(Consumer<Invalidacao> ouvinte);
+}
@@ -0,0 +1,52 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+// Invalidações no pub/sub do Redis, como texto "origem|cache|versao|chave" (versão vazia = incondicional)
+// ou "origem|cache" (cache inteiro)
+@Slf4j
+public class CanalInvalidacaoRedis implements CanalInvalidacaoCache {
+
+    private static final String SEPARADOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+    private final ChannelTopic topico;
+
+    public CanalInvalidacaoRedis(StringRedisTemplate redisTemplate, RedisMessageListenerContainer container, String topico) {
+        this.redisTemplate = redisTemplate;
+        this.container = container;
+        this.topico = ChannelTopic.of(topico);
+    }
+
+    @Override
+    public void publicar(Invalidacao invalidacao) {
+        String mensagem = invalidacao.origem() + SEPARADOR + invalidacao.cache();
+        if (invalidacao.chave() != null) {
+            mensagem += SEPARADOR + (invalidacao.versao() != null ? invalidacao.versao() : "") + SEPARADOR + invalidacao.chave();
+        }
+        redisTemplate.convertAndSend(topico.getTopic(), mensagem);
+    }
+
+    @Override
+    public void assinar(Consumer<Invalidacao> ouvinte) {
+        container.addMessageListener((message, pattern) -> {
+            // A chave é o último campo: pode conter o separador
+            String texto = new String(message.getBody(), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|", 4);
+            if (partes.length == 2) {
+                ouvinte.accept(new Invalidacao(partes[0], partes[1], null));
+            } else if (partes.length == 4 && (partes[2].isEmpty() || partes[2].chars().allMatch(Character::isDigit))) {
+                ouvinte.accept(new Invalidacao(partes[0], partes[1], partes[3], partes[2].isEmpty() ? null : Long.valueOf(partes[2])));
+            } else {
+                log.warn("Mensagem de invalidação de cache inválida: {}", texto);
+            }
+        }, topico);
+    }
+}
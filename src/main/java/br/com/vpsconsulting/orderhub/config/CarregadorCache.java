@@ -0,0 +1,17 @@
+package br.com.vpsconsulting.orderhub.config;
+
+/**
+ * Recarrega uma entrada de um cache com renovação ({@code orderhub.caches.configuracoes.<nome>.renovacao}).
+ * Chamado fora da requisição, em segundo plano; devolver {@code null} remove a entrada.
+ */
+public interface CarregadorCache {
+
+    String nomeCache();
+
+    Object carregar(Object chave) throws Exception;
+
+    // Renovação de uma entrada existente; permite manter o valor atual quando o lido é mais antigo
+    default Object recarregar(Object chave, Object atual) throws Exception {
+        return carregar(chave);
+    }
+}
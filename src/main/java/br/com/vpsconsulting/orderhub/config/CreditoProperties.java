@@ -0,0 +1,73 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.credito")
+public class CreditoProperties {
+
+    // Estratégia usada para debitar/liberar crédito dos parceiros (definida por deployment)
+    private ModoCredito modo = ModoCredito.PESSIMISTA;
+
+    private Ledger ledger = new Ledger();
+
+    private Otimista otimista = new Otimista();
+
+    private Sublimites sublimites = new Sublimites();
+
+    private Movimentos movimentos = new Movimentos();
+
+    @Getter
+    @Setter
+    public static class Ledger {
+
+        // Intervalo entre compactações do diário de movimentos em parceiros.credito_utilizado
+        private Duration intervaloPersistencia = Duration.ofMillis(200);
+
+        // Quantidade de faixas (stripes) de saldo por parceiro; 0 = número de processadores
+        private int faixas = 0;
+    }
+
+    @Getter
+    @Setter
+    public static class Otimista {
+
+        // Tentativas por operação de crédito (a primeira incluída)
+        private int tentativasMaximas = 5;
+
+        // Backoff exponencial com jitter total entre as tentativas
+        private Duration backoffInicial = Duration.ofMillis(2);
+        private Duration backoffMaximo = Duration.ofMillis(50);
+
+        // Orçamento de retentativas: no máximo esta fração das operações do último segundo
+        private double proporcaoRetentativas = 0.2;
+
+        // Retentativas por segundo sempre permitidas, mesmo com pouco tráfego
+        private int retentativasMinimas = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Sublimites {
+
+        // Quantidade de fatias (linhas) em que o limite de cada parceiro é dividido; 0 = número de processadores
+        private int fatias = 8;
+
+        // Intervalo entre consolidações da soma das fatias em parceiros.credito_utilizado
+        private Duration intervaloSincronizacao = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Movimentos {
+
+        // Intervalo entre compactações dos movimentos de crédito nos snapshots de saldo
+        private Duration intervaloCompactacao = Duration.ofSeconds(5);
+    }
+}
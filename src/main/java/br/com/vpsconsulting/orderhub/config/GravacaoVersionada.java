@@ -0,0 +1,8 @@
+package br.com.vpsconsulting.orderhub.config;
+
+// Segundo nível que compara versões na própria gravação, atômica entre todas as instâncias
+public interface GravacaoVersionada {
+
+    // false quando o segundo nível já tem uma versão mais nova da chave; nada é gravado
+    boolean gravarSeMaisNovo(Object chave, ValorVersionado valor);
+}
@@ -0,0 +1,93 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.pedidos")
+public class PedidoProperties {
+
+    private Agrupamento agrupamento = new Agrupamento();
+
+    private Lote lote = new Lote();
+
+    private Paginacao paginacao = new Paginacao();
+
+    private Particionamento particionamento = new Particionamento();
+
+    private Resumo resumo = new Resumo();
+
+    @Getter
+    @Setter
+    public static class Agrupamento {
+
+        // Agrupa criações concorrentes do mesmo parceiro em uma única transação (group commit)
+        private boolean habilitado = false;
+
+        // Tempo que o primeiro pedido aguarda outros do mesmo parceiro antes de fechar o lote
+        private Duration janela = Duration.ofMillis(2);
+
+        // Fecha o lote imediatamente ao atingir esta quantidade de pedidos
+        private int tamanhoMaximoLote = 50;
+
+        // Threads que processam os lotes (cada uma usa uma conexão durante a transação)
+        private int threads = 4;
+
+        // Tempo máximo que a requisição espera pela resposta do lote antes de desistir
+        private Duration tempoMaximoEspera = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Lote {
+
+        // Quantidade máxima de pedidos aceitos em uma requisição de POST /pedidos/lote
+        private int tamanhoMaximo = 5000;
+
+        // Pedidos do mesmo parceiro gravados por transação (e debitados em uma única operação de crédito)
+        private int pedidosPorTransacao = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Paginacao {
+
+        // Pedidos por página quando GET /pedidos não informa tamanho
+        private int tamanhoPadrao = 50;
+
+        // Maior tamanho de página aceito (limita a memória por requisição)
+        private int tamanhoMaximo = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Particionamento {
+
+        // Mantém as partições mensais de pedidos e itens_pedido (exige scripts/migracao-particionamento-pedidos.sql)
+        private boolean habilitado = false;
+
+        // Meses futuros com partição já criada, além do mês corrente
+        private int mesesAFrente = 3;
+
+        // Partições de meses anteriores a esta janela são desanexadas (ficam como tabelas avulsas); 0 = nunca
+        private int mesesRetencao = 24;
+
+        // Intervalo entre as rodadas de manutenção (a primeira roda na subida)
+        private Duration intervaloManutencao = Duration.ofHours(6);
+    }
+
+    @Getter
+    @Setter
+    public static class Resumo {
+
+        // Intervalo entre consolidações das variações pendentes em resumo_pedidos_parceiro
+        private Duration intervaloConsolidacao = Duration.ofSeconds(1);
+
+        // Variações somadas por transação de consolidação
+        private int tamanhoLoteConsolidacao = 5000;
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import br.com.vpsconsulting.orderhub.entity.GeradorPublicId;
+import br.com.vpsconsulting.orderhub.entity.PublicIds;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Slf4j
+@Configuration
+public class PublicIdConfig {
+
+    // Dois geradores com o mesmo nó podem gerar o mesmo id: o nó é reservado no banco antes do primeiro
+    @Bean(destroyMethod = "liberar")
+    @ConditionalOnMissingBean(GeradorPublicId.class)
+    public ReservaNoPublicId reservaNoPublicId(DataSource dataSource, PublicIdProperties properties) throws SQLException {
+        return ReservaNoPublicId.reservar(dataSource, properties.getNo(), properties.getIntervaloGravacao());
+    }
+
+    // Outro bean GeradorPublicId substitui o temporal
+    @Bean
+    @ConditionalOnMissingBean
+    public GeradorPublicId geradorPublicId(ReservaNoPublicId reservaNoPublicId) {
+        log.info("Gerador de publicId temporal - Nó: {}", reservaNoPublicId.getGerador().getNo());
+        return reservaNoPublicId.getGerador();
+    }
+
+    @Bean
+    public SmartInitializingSingleton registrarGeradorPublicId(GeradorPublicId geradorPublicId) {
+        return () -> PublicIds.configurar(geradorPublicId);
+    }
+}
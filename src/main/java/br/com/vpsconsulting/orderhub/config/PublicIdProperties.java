@@ -0,0 +1,19 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.public-ids")
+public class PublicIdProperties {
+
+    // Identifica a instância nos publicIds gerados (0 a 1023); sem valor, a instância reserva o primeiro nó livre
+    private Integer no;
+
+    // Frequência com que o último instante gerado pelo nó é gravado no banco
+    private Duration intervaloGravacao = Duration.ofSeconds(1);
+}
@@ -0,0 +1,69 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * RedisCache que grava {@link ValorVersionado} com compare-and-set num script Lua: a versão fica numa
+ * chave irmã ({@code <chave>#versao}, com a mesma expiração) e o valor só é gravado se ela não for
+ * maior. Uma instância com um snapshot atrasado não sobrescreve o que outra acabou de gravar.
+ * A remoção apaga só o valor: a versão que sobra continua barrando snapshots mais antigos até expirar.
+ */
+public class RedisCacheVersionado extends RedisCache implements GravacaoVersionada {
+
+    private static final String SUFIXO_VERSAO = "#versao";
+
+    // KEYS: valor, versão - ARGV: valor, versão, expiração em ms (0 = sem expiração)
+    private static final byte[] GRAVAR_SE_MAIS_NOVO = """
+            local atual = redis.call('GET', KEYS[2])
+            if atual and tonumber(atual) > tonumber(ARGV[2]) then
+                return 0
+            end
+            if tonumber(ARGV[3]) > 0 then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+                redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            else
+                redis.call('SET', KEYS[1], ARGV[1])
+                redis.call('SET', KEYS[2], ARGV[2])
+            end
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisCacheVersionado(String name,
+                                RedisCacheWriter cacheWriter,
+                                RedisCacheConfiguration cacheConfiguration,
+                                RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public boolean gravarSeMaisNovo(Object chave, ValorVersionado valor) {
+        String chaveRedis = createCacheKey(chave);
+        Duration expiracao = getCacheConfiguration().getTtlFunction().getTimeToLive(chave, valor);
+        long expiracaoMs = expiracao != null && !expiracao.isNegative() ? expiracao.toMillis() : 0;
+
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            Boolean gravado = conexao.scriptingCommands().eval(GRAVAR_SE_MAIS_NOVO, ReturnType.BOOLEAN, 2,
+                    serializeCacheKey(chaveRedis),
+                    serializeCacheKey(chaveRedis + SUFIXO_VERSAO),
+                    serializeCacheValue(preProcessCacheValue(valor)),
+                    texto(valor.versao()),
+                    texto(expiracaoMs));
+            return Boolean.TRUE.equals(gravado);
+        }
+    }
+
+    private static byte[] texto(long numero) {
+        return Long.toString(numero).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roteamento de leituras: transações {@code @Transactional(readOnly = true)} usam as réplicas
+ * de {@code orderhub.replicas.fontes}; as demais, o primário de {@code spring.datasource}.
+ * A conexão física só é obtida no primeiro comando, quando o flag de somente leitura da
+ * transação já é conhecido. Cada destino tem o seu pool Hikari, com métricas por pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "orderhub.replicas.habilitado", havingValue = "true")
+public class ReplicaLeituraConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primario");
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicasLeituraDataSource dataSourceReplicas(ReplicaLeituraProperties properties,
+                                                        DataSourceProperties dataSourceProperties,
+                                                        HikariDataSource dataSourcePrimario,
+                                                        MeterRegistry meterRegistry) {
+        List<ReplicasLeituraDataSource.Replica> replicas = new ArrayList<>();
+        List<ReplicaLeituraProperties.Fonte> fontes = properties.getFontes();
+        for (int i = 0; i < fontes.size(); i++) {
+            ReplicaLeituraProperties.Fonte fonte = fontes.get(i);
+            String nome = fonte.getNome() != null ? fonte.getNome() : "replica-" + i;
+            replicas.add(new ReplicasLeituraDataSource.Replica(nome,
+                    criarPoolReplica(nome, fonte, dataSourceProperties.determineDriverClassName(), meterRegistry)));
+        }
+
+        if (replicas.isEmpty()) {
+            log.warn("Roteamento de leituras habilitado sem réplicas em orderhub.replicas.fontes - leituras no primário");
+        } else {
+            log.info("Roteamento de leituras - Réplicas: {}, Atraso máximo: {}",
+                    replicas.stream().map(ReplicasLeituraDataSource.Replica::nome).toList(), properties.getAtrasoMaximo());
+        }
+        return new ReplicasLeituraDataSource(replicas, dataSourcePrimario, properties.getAtrasoMaximo(),
+                properties.getConsultaAtraso(), meterRegistry);
+    }
+
+    // DataSource usado pelo JPA e pelo JdbcTemplate
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource dataSourcePrimario, ReplicasLeituraDataSource dataSourceReplicas) {
+        LazyConnectionDataSourceProxy roteador = new LazyConnectionDataSourceProxy(dataSourcePrimario);
+        roteador.setReadOnlyDataSource(dataSourceReplicas);
+        return roteador;
+    }
+
+    private HikariDataSource criarPoolReplica(String nome, ReplicaLeituraProperties.Fonte fonte, String driver,
+                                              MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(nome);
+        pool.setJdbcUrl(fonte.getUrl());
+        pool.setUsername(fonte.getUsername());
+        pool.setPassword(fonte.getPassword());
+        pool.setDriverClassName(driver);
+        pool.setMaximumPoolSize(fonte.getMaximoConexoes());
+        pool.setMinimumIdle(fonte.getMinimoOcioso());
+        pool.setConnectionTimeout(fonte.getTimeoutConexao().toMillis());
+        pool.setReadOnly(true);
+        // Sem réplica no ar na subida: o pool é criado mesmo assim e a verificação de atraso a mantém fora
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.replicas")
+public class ReplicaLeituraProperties {
+
+    // Envia as transações @Transactional(readOnly = true) para as réplicas de leitura
+    private boolean habilitado = false;
+
+    private List<Fonte> fontes = new ArrayList<>();
+
+    // Réplica com atraso maior que este deixa de receber leituras até alcançar o primário
+    private Duration atrasoMaximo = Duration.ofSeconds(5);
+
+    // Intervalo entre as medições de atraso de cada réplica
+    private Duration intervaloVerificacao = Duration.ofSeconds(2);
+
+    // Atraso da réplica em segundos; NULL (instância que não é réplica) conta como zero
+    private String consultaAtraso = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Getter
+    @Setter
+    public static class Fonte {
+
+        // Identifica a réplica no nome do pool Hikari e nas métricas
+        private String nome;
+
+        private String url;
+        private String username;
+        private String password;
+
+        private int maximoConexoes = 10;
+        private int minimoOcioso = 2;
+
+        // Curto: réplica indisponível cai logo para a próxima (ou para o primário)
+        private Duration timeoutConexao = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Destino das transações somente leitura: distribui as conexões em rodízio entre as réplicas
+ * disponíveis e usa o primário quando nenhuma está. Uma réplica fica indisponível quando o
+ * atraso medido em {@link #verificarReplicas()} passa do máximo ou quando a conexão falha,
+ * e volta a receber leituras na primeira medição dentro do limite.
+ */
+@Slf4j
+public class ReplicasLeituraDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final DataSource primario;
+    private final double atrasoMaximoSegundos;
+    private final String consultaAtraso;
+    private final Counter fallbacks;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicasLeituraDataSource(List<Replica> replicas, DataSource primario, Duration atrasoMaximo,
+                                     String consultaAtraso, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.primario = primario;
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+        this.consultaAtraso = consultaAtraso;
+        this.fallbacks = Counter.builder("orderhub.replicas.fallback").register(meterRegistry);
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("orderhub.replicas.atraso", replica, Replica::atrasoSegundos)
+                    .tag("replica", replica.nome())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("orderhub.replicas.disponivel", replica, r -> r.disponivel ? 1 : 0)
+                    .tag("replica", replica.nome())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int quantidade = replicas.size();
+        int inicio = quantidade == 0 ? 0 : Math.floorMod(proxima.getAndIncrement(), quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Replica replica = replicas.get((inicio + i) % quantidade);
+            if (!replica.disponivel) {
+                continue;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                marcarIndisponivel(replica, e.getMessage());
+            }
+        }
+
+        fallbacks.increment();
+        log.debug("Nenhuma réplica disponível - leitura enviada ao primário");
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credenciais são definidas por réplica em orderhub.replicas.fontes");
+    }
+
+    // Mede o atraso de cada réplica direto no seu pool, fora do rodízio
+    @Scheduled(fixedDelayString = "${orderhub.replicas.intervalo-verificacao:2s}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexao = replica.dataSource().getConnection();
+                 Statement statement = conexao.createStatement()) {
+                statement.setQueryTimeout(Math.max(1, (int) Math.ceil(atrasoMaximoSegundos)));
+                try (ResultSet resultado = statement.executeQuery(consultaAtraso)) {
+                    resultado.next();
+                    double atraso = resultado.getDouble(1);
+                    replica.atraso = resultado.wasNull() ? 0 : atraso;
+                }
+            } catch (SQLException e) {
+                marcarIndisponivel(replica, e.getMessage());
+                continue;
+            }
+
+            boolean disponivel = replica.atraso <= atrasoMaximoSegundos;
+            if (disponivel != replica.disponivel) {
+                if (disponivel) {
+                    log.info("Réplica {} disponível para leituras - atraso {}s", replica.nome(), replica.atraso);
+                } else {
+                    log.warn("Réplica {} fora das leituras - atraso {}s acima do máximo de {}s",
+                            replica.nome(), replica.atraso, atrasoMaximoSegundos);
+                }
+            }
+            replica.disponivel = disponivel;
+        }
+    }
+
+    private void marcarIndisponivel(Replica replica, String motivo) {
+        if (replica.disponivel) {
+            log.warn("Réplica {} fora das leituras - {}", replica.nome(), motivo);
+        }
+        replica.disponivel = false;
+        replica.atraso = Double.NaN;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+
+    /**
+     * Uma réplica e o seu estado, atualizado pela verificação periódica. Começa
+     * indisponível: só recebe leituras depois da primeira medição de atraso.
+     */
+    public static final class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel;
+        private volatile double atraso = Double.NaN;
+
+        public Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        public String nome() {
+            return nome;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean disponivel() {
+            return disponivel;
+        }
+
+        double atrasoSegundos() {
+            return atraso;
+        }
+    }
+}
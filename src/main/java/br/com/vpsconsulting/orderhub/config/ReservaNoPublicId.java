@@ -0,0 +1,173 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import br.com.vpsconsulting.orderhub.entity.GeradorPublicIdTemporal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Reserva o nó desta instância nos publicIds com um advisory lock de sessão (namespace, nó),
+ * retido em uma conexão fora do pool enquanto a instância estiver no ar. Sem nó configurado,
+ * a instância fica com o primeiro nó livre; com nó configurado, a subida falha se outra
+ * instância já o usa.
+ * <p>
+ * O último instante gerado pelo nó é gravado em {@code public_id_nos} a cada
+ * {@code orderhub.public-ids.intervalo-gravacao} e no desligamento. Quem reserva o nó depois
+ * começa após esse instante mais um intervalo, o que cobre o que o gerador andou à frente do
+ * relógio desde a última gravação.
+ */
+@Slf4j
+public class ReservaNoPublicId {
+
+    // Advisory lock de sessão (namespace, nó) que reserva o nó para esta instância
+    static final int NAMESPACE_LOCK_NO = 0x4F480003;
+
+    private final DataSource dataSource;
+    private final GeradorPublicIdTemporal gerador;
+    private Connection conexao;
+    private long instanteGravado;
+
+    private ReservaNoPublicId(DataSource dataSource, Connection conexao, int no, long instanteMinimo) {
+        this.dataSource = dataSource;
+        this.conexao = conexao;
+        this.instanteGravado = instanteMinimo;
+        this.gerador = new GeradorPublicIdTemporal(no, instanteMinimo);
+    }
+
+    public static ReservaNoPublicId reservar(DataSource dataSource, Integer noConfigurado, Duration intervaloGravacao)
+            throws SQLException {
+        Connection conexao = dataSource.getConnection();
+        try {
+            criarTabela(conexao);
+            int no = noConfigurado != null ? travarConfigurado(conexao, noConfigurado) : travarLivre(conexao);
+            long instanteMinimo = consultarUltimoInstante(conexao, no) + intervaloGravacao.toMillis();
+            log.info("Nó de publicId reservado: {} ({}) - ids a partir de {}",
+                    no, noConfigurado != null ? "configurado" : "primeiro livre", instanteMinimo);
+            return new ReservaNoPublicId(dataSource, conexao, no, instanteMinimo);
+        } catch (SQLException | RuntimeException e) {
+            conexao.close();
+            throw e;
+        }
+    }
+
+    public GeradorPublicIdTemporal getGerador() {
+        return gerador;
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.public-ids.intervalo-gravacao:1s}")
+    public synchronized void gravarUltimoInstante() {
+        long instante = gerador.getUltimoInstante();
+        if (instante <= instanteGravado || conexao == null) {
+            return;
+        }
+        try {
+            gravar(instante);
+        } catch (SQLException e) {
+            // Conexão perdida leva o lock junto: o nó é reservado de novo antes de gravar
+            log.warn("Falha ao gravar o último instante do nó de publicId {}; reservando o nó novamente",
+                    gerador.getNo(), e);
+            reconectar(instante);
+        }
+    }
+
+    public synchronized void liberar() throws SQLException {
+        if (conexao == null) {
+            return;
+        }
+        try {
+            long instante = gerador.getUltimoInstante();
+            if (instante > instanteGravado) {
+                gravar(instante);
+            }
+        } finally {
+            conexao.close();
+            conexao = null;
+        }
+    }
+
+    private void reconectar(long instante) {
+        try {
+            conexao.close();
+        } catch (SQLException e) {
+            log.debug("Falha ao fechar a conexão da reserva do nó de publicId", e);
+        }
+        try {
+            Connection nova = dataSource.getConnection();
+            try {
+                travarConfigurado(nova, gerador.getNo());
+            } catch (SQLException | RuntimeException e) {
+                nova.close();
+                throw e;
+            }
+            conexao = nova;
+            gravar(instante);
+        } catch (SQLException | RuntimeException e) {
+            log.error("Nó de publicId {} sem reserva: outra instância pode gerar os mesmos ids", gerador.getNo(), e);
+        }
+    }
+
+    private void gravar(long instante) throws SQLException {
+        try (PreparedStatement gravacao = conexao.prepareStatement(
+                "INSERT INTO public_id_nos (no, ultimo_instante) VALUES (?, ?) " +
+                        "ON CONFLICT (no) DO UPDATE SET ultimo_instante = GREATEST(public_id_nos.ultimo_instante, EXCLUDED.ultimo_instante)")) {
+            gravacao.setInt(1, gerador.getNo());
+            gravacao.setLong(2, instante);
+            gravacao.executeUpdate();
+        }
+        instanteGravado = instante;
+    }
+
+    private static void criarTabela(Connection conexao) throws SQLException {
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("CREATE TABLE IF NOT EXISTS public_id_nos (no INTEGER PRIMARY KEY, ultimo_instante BIGINT NOT NULL)");
+        }
+    }
+
+    private static int travarConfigurado(Connection conexao, int no) throws SQLException {
+        if (no < 0 || no > GeradorPublicIdTemporal.NO_MAXIMO) {
+            throw new IllegalStateException(
+                    "Nó do gerador de publicId deve estar entre 0 e " + GeradorPublicIdTemporal.NO_MAXIMO + ": " + no);
+        }
+        if (!tentarTravar(conexao, no)) {
+            throw new IllegalStateException(
+                    "Nó de publicId " + no + " já está em uso por outra instância; configure outro ORDERHUB_PUBLIC_IDS_NO");
+        }
+        return no;
+    }
+
+    private static int travarLivre(Connection conexao) throws SQLException {
+        for (int no = 0; no <= GeradorPublicIdTemporal.NO_MAXIMO; no++) {
+            if (tentarTravar(conexao, no)) {
+                return no;
+            }
+        }
+        throw new IllegalStateException("Todos os nós de publicId estão em uso por outras instâncias");
+    }
+
+    private static boolean tentarTravar(Connection conexao, int no) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            consulta.setInt(1, NAMESPACE_LOCK_NO);
+            consulta.setInt(2, no);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+
+    private static long consultarUltimoInstante(Connection conexao, int no) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT ultimo_instante FROM public_id_nos WHERE no = ?")) {
+            consulta.setInt(1, no);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                return resultado.next() ? resultado.getLong(1) : GeradorPublicIdTemporal.EPOCA;
+            }
+        }
+    }
+}
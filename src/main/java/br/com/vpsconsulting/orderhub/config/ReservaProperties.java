@@ -0,0 +1,35 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orderhub.reservas")
+public class ReservaProperties {
+
+    // Prazo usado quando a requisição não informa prazoSegundos
+    private Duration prazoPadrao = Duration.ofMinutes(5);
+
+    // Maior prazo aceito para uma reserva
+    private Duration prazoMaximo = Duration.ofMinutes(30);
+
+    private Expiracao expiracao = new Expiracao();
+
+    @Getter
+    @Setter
+    public static class Expiracao {
+
+        // Resolução da roda de expiração (duração de cada posição)
+        private Duration tick = Duration.ofMillis(100);
+
+        // Quantidade de posições da roda; prazos maiores que tick * posicoes dão voltas extras
+        private int posicoes = 512;
+
+        // Varredura no banco para reservas vencidas fora da roda (restart, outra instância)
+        private Duration intervaloVarredura = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import org.springframework.cache.CacheManager;
+
+// Segundo nível dos caches (CacheSegundoNivelConfig); sem este bean o CacheConfig usa só o Caffeine local
+public record SegundoNivelCache(CacheManager compartilhados, CanalInvalidacaoCache canal) {
+}
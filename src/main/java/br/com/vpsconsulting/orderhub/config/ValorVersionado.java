@@ -0,0 +1,8 @@
+package br.com.vpsconsulting.orderhub.config;
+
+// Valor de cache com versão crescente (a @Version da entidade). Nos caches de duas camadas, a gravação
+// no segundo nível e a invalidação entre instâncias comparam a versão: a mais antiga não vence a mais nova
+public interface ValorVersionado {
+
+    Long versao();
+}
@@ -2,12 +2,16 @@
 package br.com.vpsconsulting.orderhub.controller;
 
 import br.com.vpsconsulting.orderhub.dto.parceiros.CriarParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.MovimentoCreditoDTO;
 import br.com.vpsconsulting.orderhub.dto.parceiros.ParceiroResponseDTO;
-import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoPedidosParceiroDTO;
 import br.com.vpsconsulting.orderhub.service.ParceiroService;
+import br.com.vpsconsulting.orderhub.service.ResumoPedidosService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +29,7 @@ import java.util.List;
 public class ParceiroController {
 
     private final ParceiroService parceiroService;
+    private final ResumoPedidosService resumoPedidosService;
 
     @PostMapping
     @Operation(
@@ -40,15 +45,26 @@ public class ParceiroController {
     }
 
     @GetMapping("/{publicId}")
-    @Operation(summary = "Buscar parceiro por ID", description = "Busca um parceiro específico pelo seu ID")
+    @Operation(
+            summary = "Buscar parceiro por ID",
+            description = "Busca um parceiro específico pelo seu ID. A resposta traz ETag e Last-Modified; com " +
+                    "If-None-Match ou If-Modified-Since e o parceiro inalterado, responde 304 sem corpo"
+    )
     public ResponseEntity<ParceiroResponseDTO> buscarPorId(
             @Parameter(description = "ID do parceiro", example = "PARC_A1B2C3D4")
-            @PathVariable String publicId) {
+            @PathVariable String publicId,
+            HttpServletRequest request) {
+
+        // O snapshot vem do cache dados-parceiros: a versão é decidida sem ir ao banco
+        DadosParceiroDTO parceiro = parceiroService.buscarPorPublicId(publicId);
+        VersaoRecurso versao = VersaoRecurso.de(publicId, parceiro.dataAtualizacao());
+        if (versao.naoModificado(request)) {
+            return versao.naoModificada();
+        }
 
-        Parceiro parceiro = parceiroService.buscarPorPublicId(publicId);
         ParceiroResponseDTO response = ParceiroResponseDTO.from(parceiro);
 
-        return ResponseEntity.ok(response);
+        return versao.ok(response);
     }
 
     @GetMapping
@@ -59,4 +75,31 @@ public class ParceiroController {
 
         return ResponseEntity.ok(parceiros);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{publicId}/movimentos-credito")
+    @Operation(
+            summary = "Histórico de crédito do parceiro",
+            description = "Lista os débitos e liberações de crédito do parceiro, do mais recente para o mais antigo (modo de crédito movimentos)"
+    )
+    public ResponseEntity<List<MovimentoCreditoDTO>> listarMovimentosCredito(
+            @Parameter(description = "ID do parceiro", example = "PARC_A1B2C3D4")
+            @PathVariable String publicId,
+            @Parameter(description = "Quantidade máxima de movimentos (1 a 1000)")
+            @RequestParam(defaultValue = "100") int limite) {
+
+        return ResponseEntity.ok(parceiroService.listarMovimentosCredito(publicId, limite));
+    }
+
+    @GetMapping("/{publicId}/resumo-pedidos")
+    @Operation(
+            summary = "Resumo de pedidos do parceiro",
+            description = "Quantidade e valor total dos pedidos do parceiro por status, e o total em aberto (status não finalizados). " +
+                    "Lido de um resumo mantido a cada criação e mudança de status, sem agregar os pedidos"
+    )
+    public ResponseEntity<ResumoPedidosParceiroDTO> buscarResumoPedidos(
+            @Parameter(description = "ID do parceiro", example = "PARC_A1B2C3D4")
+            @PathVariable String publicId) {
+
+        return ResponseEntity.ok(resumoPedidosService.buscarResumo(publicId));
+    }
+}
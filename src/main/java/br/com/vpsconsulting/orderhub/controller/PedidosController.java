@@ -2,22 +2,34 @@ package br.com.vpsconsulting.orderhub.controller;
 
 import br.com.vpsconsulting.orderhub.dto.pedidos.AtualizarStatusDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidosLoteDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.LotePedidosResponseDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
-import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.dto.utils.PaginacaoDTO;
+import br.com.vpsconsulting.orderhub.enums.FormatoExportacao;
+import br.com.vpsconsulting.orderhub.service.AgrupamentoPedidosService;
+import br.com.vpsconsulting.orderhub.service.ExportacaoPedidosService;
+import br.com.vpsconsulting.orderhub.service.LotePedidosService;
 import br.com.vpsconsulting.orderhub.service.PedidoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Slf4j
 @RestController
@@ -27,55 +39,112 @@ import java.util.List;
 public class PedidosController {
 
     private final PedidoService pedidoService;
+    private final AgrupamentoPedidosService agrupamentoPedidosService;
+    private final LotePedidosService lotePedidosService;
+    private final ExportacaoPedidosService exportacaoPedidosService;
 
     @PostMapping
     @Operation(summary = "Cadastro de pedidos", description = "Cria um novo pedido para um parceiro e aprova automaticamente se há crédito suficiente")
     public ResponseEntity<PedidoResponseDTO> criarPedido(@Valid @RequestBody CriarPedidoDTO dto) {
         log.info("Criando pedido para parceiro: {}", dto.parceiroPublicId());
 
-        PedidoResponseDTO pedido = pedidoService.criarPedido(dto);
+        // Com agrupamento habilitado, pedidos concorrentes do mesmo parceiro compartilham a transação
+        PedidoResponseDTO pedido = agrupamentoPedidosService.criarPedido(dto);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(pedido);
     }
 
+    @PostMapping("/lote")
+    @Operation(
+            summary = "Cadastro de pedidos em lote",
+            description = "Cria vários pedidos de uma vez (cargas de ERP). Os pedidos são agrupados por parceiro, " +
+                    "com um débito de crédito e uma transação por grupo. A resposta traz o resultado de cada pedido, " +
+                    "na ordem enviada: aprovado com o pedido criado ou rejeitado com o código do erro"
+    )
+    public ResponseEntity<LotePedidosResponseDTO> criarPedidosEmLote(@Valid @RequestBody CriarPedidosLoteDTO dto) {
+        log.info("Criando lote de {} pedido(s)", dto.pedidos().size());
+
+        LotePedidosResponseDTO resposta = lotePedidosService.criarPedidos(dto.pedidos());
+
+        return ResponseEntity.ok(resposta);
+    }
+
+    @GetMapping("/exportacao")
+    @Operation(
+            summary = "Exportação de pedidos",
+            description = "Exporta os pedidos do período, uma linha por item, em NDJSON (padrão) ou CSV. " +
+                    "A resposta é escrita à medida que as linhas são lidas do banco, sem carregar o período em memória. " +
+                    "Exemplo: ?dataInicio=2025-01-01T00:00:00&dataFim=2025-01-31T23:59:59&formato=csv"
+    )
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @Parameter(description = "Data de início do período", example = "2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+
+            @Parameter(description = "Data de fim do período", example = "2025-01-31T23:59:59")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+
+            @Parameter(description = "ndjson ou csv", example = "csv")
+            @RequestParam(required = false) String formato) {
+
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        exportacaoPedidosService.validarPeriodo(dataInicio, dataFim);
+        log.info("Exportando pedidos de {} até {} em {}", dataInicio, dataFim, formatoExportacao);
+
+        StreamingResponseBody corpo = saida ->
+                exportacaoPedidosService.exportar(dataInicio, dataFim, formatoExportacao, saida);
+        String arquivo = String.format("pedidos_%s_%s.%s",
+                dataInicio.toLocalDate(), dataFim.toLocalDate(), formatoExportacao.getExtensao());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacao.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
+    }
+
     @GetMapping("/{publicId}")
-    @Operation(summary = "Consulta de pedidos por ID", description = "Busca um pedido específico pelo seu ID")
+    @Operation(
+            summary = "Consulta de pedidos por ID",
+            description = "Busca um pedido específico pelo seu ID. A resposta traz ETag e Last-Modified; com " +
+                    "If-None-Match ou If-Modified-Since e o pedido inalterado, responde 304 sem corpo"
+    )
     public ResponseEntity<PedidoResponseDTO> buscarPorId(
-            @Parameter(description = "ID do pedido") @PathVariable String publicId) {
+            @Parameter(description = "ID do pedido") @PathVariable String publicId,
+            HttpServletRequest request) {
+
+        // Polling condicional: a decisão do 304 lê só a dataAtualizacao, sem itens nem serialização
+        if (VersaoRecurso.temCondicao(request)) {
+            VersaoRecurso versao = VersaoRecurso.de(publicId, pedidoService.buscarDataAtualizacao(publicId));
+            if (versao.naoModificado(request)) {
+                return versao.naoModificada();
+            }
+        }
 
         PedidoResponseDTO pedido = pedidoService.buscarPorId(publicId);
 
-        return ResponseEntity.ok(pedido);
+        return VersaoRecurso.de(publicId, pedido.dataAtualizacao()).ok(pedido);
     }
 
     @GetMapping
     @Operation(
             summary = "Consulta de pedidos",
-            description = "Busca pedidos por período ou status. Exemplos: " +
+            description = "Busca pedidos do mais recente para o mais antigo, paginados por cursor. Os filtros são " +
+                    "opcionais e se combinam: parceiro, um ou mais status, período e faixa de valor total. Exemplos: " +
                     "?status=PENDENTE | " +
-                    "?dataInicio=2025-01-01T00:00:00&dataFim=2025-01-31T23:59:59 | " +
-                    "sem parâmetros retorna todos os pedidos"
+                    "?parceiroId=<publicId>&status=PENDENTE&status=APROVADO | " +
+                    "?dataInicio=2025-01-01T00:00:00&dataFim=2025-01-31T23:59:59&valorMinimo=1000 | " +
+                    "sem parâmetros retorna todos os pedidos. Para a próxima página, repita a consulta com " +
+                    "?cursor=<proximoCursor>; proximoCursor é null na última página"
     )
-    public ResponseEntity<List<PedidoResponseDTO>> buscarPedidos(
-            @Parameter(
-                    description = "Data de início do período",
-                    example = "2025-01-01T00:00:00"
-            )
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataInicio,
+    public ResponseEntity<PaginacaoDTO<PedidoResponseDTO>> buscarPedidos(
+            @Valid @ParameterObject FiltroPedidosDTO filtro,
 
-            @Parameter(
-                    description = "Data de fim do período",
-                    example = "2025-01-31T23:59:59"
-            )
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dataFim,
+            @Parameter(description = "Valor de proximoCursor da página anterior; omitido na primeira página")
+            @RequestParam(required = false) String cursor,
 
-            @Parameter(
-                    description = "Status do pedido",
-                    example = "PENDENTE"
-            )
-            @RequestParam(required = false) StatusPedido status) {
+            @Parameter(description = "Pedidos por página (padrão e máximo configuráveis)", example = "50")
+            @RequestParam(required = false) Integer tamanho) {
 
-        List<PedidoResponseDTO> pedidos = pedidoService.buscarPedidos(dataInicio, dataFim, status);
+        PaginacaoDTO<PedidoResponseDTO> pedidos = pedidoService.buscarPedidos(filtro, cursor, tamanho);
 
         return ResponseEntity.ok(pedidos);
     }
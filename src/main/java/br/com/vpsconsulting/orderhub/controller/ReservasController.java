@@ -0,0 +1,73 @@
+package br.com.vpsconsulting.orderhub.controller;
+
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.ConfirmarReservaDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.CriarReservaDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.ReservaResponseDTO;
+import br.com.vpsconsulting.orderhub.service.reserva.ReservaCreditoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/reservas")
+@RequiredArgsConstructor
+@Tag(name = "Reservas de crédito", description = "API para pré-autorização de crédito em duas fases")
+public class ReservasController {
+
+    private final ReservaCreditoService reservaCreditoService;
+
+    @PostMapping
+    @Operation(
+            summary = "Reservar crédito",
+            description = "Bloqueia um valor do crédito disponível do parceiro por um prazo (prazoSegundos ou o padrão configurado)"
+    )
+    public ResponseEntity<ReservaResponseDTO> reservar(@Valid @RequestBody CriarReservaDTO dto) {
+        log.info("Reservando crédito para parceiro: {}", dto.parceiroPublicId());
+
+        ReservaResponseDTO reserva = reservaCreditoService.reservar(dto);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(reserva);
+    }
+
+    @GetMapping("/{publicId}")
+    @Operation(summary = "Consulta de reserva por ID", description = "Busca uma reserva de crédito pelo seu ID")
+    public ResponseEntity<ReservaResponseDTO> buscarPorId(
+            @Parameter(description = "ID da reserva", example = "RES_A1B2C3D4") @PathVariable String publicId) {
+
+        return ResponseEntity.ok(reservaCreditoService.buscarPorId(publicId));
+    }
+
+    @PostMapping("/{publicId}/confirmar")
+    @Operation(
+            summary = "Confirmar reserva",
+            description = "Cria um pedido aprovado com o crédito reservado; o valor não consumido pelo pedido é devolvido"
+    )
+    public ResponseEntity<PedidoResponseDTO> confirmar(
+            @Parameter(description = "ID da reserva") @PathVariable String publicId,
+            @Valid @RequestBody ConfirmarReservaDTO dto) {
+
+        log.info("Confirmando reserva: {}", publicId);
+
+        PedidoResponseDTO pedido = reservaCreditoService.confirmar(publicId, dto);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(pedido);
+    }
+
+    @PutMapping("/{publicId}/liberar")
+    @Operation(summary = "Liberar reserva", description = "Cancela a reserva e devolve o valor ao crédito do parceiro")
+    public ResponseEntity<ReservaResponseDTO> liberar(
+            @Parameter(description = "ID da reserva") @PathVariable String publicId) {
+
+        log.info("Liberando reserva: {}", publicId);
+
+        return ResponseEntity.ok(reservaCreditoService.liberar(publicId));
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.vpsconsulting.orderhub.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Versão de um recurso consultado por ID, para GET condicional: ETag forte com o publicId e a
+ * dataAtualizacao (com nanossegundos), e Last-Modified com a dataAtualizacao no fuso do servidor.
+ * If-None-Match tem precedência; If-Modified-Since, com precisão de segundos, só vale sem ele.
+ */
+record VersaoRecurso(String etag, ZonedDateTime ultimaModificacao) {
+
+    static VersaoRecurso de(String publicId, LocalDateTime dataAtualizacao) {
+        long nanos = dataAtualizacao.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dataAtualizacao.getNano();
+        return new VersaoRecurso("\"" + publicId + "-" + Long.toHexString(nanos) + "\"",
+                dataAtualizacao.atZone(ZoneId.systemDefault()));
+    }
+
+    static boolean temCondicao(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // Sem a resposta, checkNotModified só avalia as condições; os cabeçalhos vão no ResponseEntity
+    boolean naoModificado(HttpServletRequest request) {
+        return new ServletWebRequest(request).checkNotModified(etag, ultimaModificacao.toInstant().toEpochMilli());
+    }
+
+    <T> ResponseEntity<T> naoModificada() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(ultimaModificacao).build();
+    }
+
+    <T> ResponseEntity<T> ok(T corpo) {
+        return ResponseEntity.ok().eTag(etag).lastModified(ultimaModificacao).body(corpo);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.vpsconsulting.orderhub.dto.itens;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+
+/**
+ * Projeção de leitura de um item, com o id do pedido para agrupar os itens de vários pedidos
+ * buscados em uma única consulta.
+ */
+public record LinhaItemPedidoDTO(
+        Long pedidoId,
+        Long id,
+        String produto,
+        Integer quantidade,
+        Dinheiro precoUnitario,
+        Dinheiro subtotal
+) {
+    public ItemPedidoResponseDTO paraResposta() {
+        return new ItemPedidoResponseDTO(id, produto, quantidade, precoUnitario.toBigDecimal(), subtotal.toBigDecimal());
+    }
+}
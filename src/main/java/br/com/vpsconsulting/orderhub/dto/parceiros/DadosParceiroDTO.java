@@ -0,0 +1,32 @@
+package br.com.vpsconsulting.orderhub.dto.parceiros;
+
+import br.com.vpsconsulting.orderhub.config.ValorVersionado;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Snapshot imutável do parceiro guardado no cache dados-parceiros, sem a entidade gerenciada nem
+// as coleções lazy. A versão (@Version de Parceiro) ordena snapshots lidos em momentos diferentes.
+// Serializable: no segundo nível (Redis) o valor é gravado com a serialização do Java.
+// ValorVersionado: no segundo nível, um snapshot mais antigo não substitui o de outra instância
+public record DadosParceiroDTO(
+        String publicId,
+        String nome,
+        String cnpj,
+        Dinheiro limiteCredito,
+        Dinheiro creditoUtilizado,
+        Boolean ativo,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao,
+        Long versao
+) implements Serializable, ValorVersionado {
+
+    public Dinheiro creditoDisponivel() {
+        return limiteCredito.subtrair(creditoUtilizado);
+    }
+
+    public boolean maisAntigoQue(DadosParceiroDTO outro) {
+        return versao < outro.versao;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.vpsconsulting.orderhub.dto.parceiros;
+
+import br.com.vpsconsulting.orderhub.entity.MovimentoCredito;
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record MovimentoCreditoDTO(
+        Long id,
+        TipoMovimentoCredito tipo,
+        BigDecimal valor,
+        LocalDateTime dataCriacao
+) {
+    public static MovimentoCreditoDTO from(MovimentoCredito movimento) {
+        return new MovimentoCreditoDTO(
+                movimento.getId(),
+                movimento.getTipo(),
+                movimento.getValor(),
+                movimento.getDataCriacao()
+        );
+    }
+}
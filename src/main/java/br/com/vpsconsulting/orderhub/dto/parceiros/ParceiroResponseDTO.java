@@ -27,4 +27,18 @@ public record ParceiroResponseDTO(
                 parceiro.getDataAtualizacao()
         );
     }
-}
\ No newline at end of file
+
+    public static ParceiroResponseDTO from(DadosParceiroDTO dados) {
+        return new ParceiroResponseDTO(
+                dados.publicId(),
+                dados.nome(),
+                dados.cnpj(),
+                dados.limiteCredito().toBigDecimal(),
+                dados.creditoUtilizado().toBigDecimal(),
+                dados.creditoDisponivel().toBigDecimal(),
+                dados.ativo(),
+                dados.dataCriacao(),
+                dados.dataAtualizacao()
+        );
+    }
+}
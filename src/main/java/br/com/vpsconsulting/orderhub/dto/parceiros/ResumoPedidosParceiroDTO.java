@@ -0,0 +1,25 @@
+package br.com.vpsconsulting.orderhub.dto.parceiros;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Em aberto: pedidos em status não finalizado (nem ENTREGUE nem CANCELADO)
+public record ResumoPedidosParceiroDTO(
+        String parceiroPublicId,
+        Long quantidadeEmAberto,
+        BigDecimal valorEmAberto,
+        List<ResumoStatusPedidosDTO> porStatus
+) {
+
+    public static ResumoPedidosParceiroDTO of(String parceiroPublicId, List<ResumoStatusPedidosDTO> porStatus) {
+        long quantidade = 0;
+        BigDecimal valor = BigDecimal.ZERO.setScale(2);
+        for (ResumoStatusPedidosDTO resumo : porStatus) {
+            if (!resumo.status().isFinalizado()) {
+                quantidade += resumo.quantidade();
+                valor = valor.add(resumo.valorTotal());
+            }
+        }
+        return new ResumoPedidosParceiroDTO(parceiroPublicId, quantidade, valor, porStatus);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.vpsconsulting.orderhub.dto.parceiros;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+
+import java.math.BigDecimal;
+
+public record ResumoStatusPedidosDTO(
+        StatusPedido status,
+        Long quantidade,
+        BigDecimal valorTotal
+) {
+
+    // Projeção das consultas JPQL sobre as colunas em Dinheiro
+    public ResumoStatusPedidosDTO(StatusPedido status, Long quantidade, Dinheiro valorTotal) {
+        this(status, quantidade, valorTotal.toBigDecimal());
+    }
+
+    public ResumoStatusPedidosDTO somar(ResumoStatusPedidosDTO outro) {
+        return new ResumoStatusPedidosDTO(status, quantidade + outro.quantidade(), valorTotal.add(outro.valorTotal()));
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.vpsconsulting.orderhub.dto.parceiros;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+
+public record SaldoCreditoDTO(
+        String parceiroPublicId,
+        Dinheiro limiteCredito,
+        Dinheiro creditoUtilizado,
+        Boolean ativo,
+        Long versao
+) {
+    public Dinheiro creditoDisponivel() {
+        return limiteCredito.subtrair(creditoUtilizado);
+    }
+
+    public boolean temCreditoDisponivel(Dinheiro valor) {
+        return limiteCredito.cobre(creditoUtilizado, valor);
+    }
+}
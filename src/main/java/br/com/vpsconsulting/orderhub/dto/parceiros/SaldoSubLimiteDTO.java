@@ -0,0 +1,15 @@
+package br.com.vpsconsulting.orderhub.dto.parceiros;
+
+import java.math.BigDecimal;
+
+public record SaldoSubLimiteDTO(
+        Long id,
+        Integer indice,
+        BigDecimal limite,
+        BigDecimal utilizado
+) {
+
+    public BigDecimal disponivel() {
+        return limite.subtract(utilizado);
+    }
+}
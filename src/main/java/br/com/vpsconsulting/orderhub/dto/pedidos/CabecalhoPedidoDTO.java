@@ -0,0 +1,29 @@
+package br.com.vpsconsulting.orderhub.dto.pedidos;
+
+import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Projeção de leitura do pedido com os dados do parceiro, montada direto do SELECT
+ * (sem entidade gerenciada). O {@code id} serve ao cursor da paginação e à busca dos itens.
+ */
+public record CabecalhoPedidoDTO(
+        Long id,
+        String publicId,
+        String parceiroPublicId,
+        String nomeParceiro,
+        Dinheiro valorTotal,
+        StatusPedido status,
+        String observacoes,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao
+) {
+    public PedidoResponseDTO comItens(List<ItemPedidoResponseDTO> itens) {
+        return new PedidoResponseDTO(publicId, parceiroPublicId, nomeParceiro, itens, valorTotal.toBigDecimal(),
+                status, observacoes, dataCriacao, dataAtualizacao);
+    }
+}
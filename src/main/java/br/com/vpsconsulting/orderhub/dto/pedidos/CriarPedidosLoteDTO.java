@@ -0,0 +1,12 @@
+package br.com.vpsconsulting.orderhub.dto.pedidos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record CriarPedidosLoteDTO(
+        @NotEmpty(message = "Lista de pedidos não pode estar vazia")
+        @Valid
+        List<CriarPedidoDTO> pedidos
+) {}
@@ -0,0 +1,43 @@
+package br.com.vpsconsulting.orderhub.dto.pedidos;
+
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.BindParam;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// Critérios de GET /pedidos, combinados com AND; critério nulo (ou conjunto vazio) não filtra.
+// Os valores seguem a coluna valor_total (15,2): fora dela a consulta recebe 400, não estoura em centavos
+public record FiltroPedidosDTO(
+        @Parameter(name = "parceiroId", description = "ID público do parceiro")
+        @BindParam("parceiroId")
+        String parceiroPublicId,
+
+        @Parameter(description = "Status do pedido; repita o parâmetro para mais de um", example = "PENDENTE")
+        Set<StatusPedido> status,
+
+        @Parameter(description = "Data de início do período", example = "2025-01-01T00:00:00")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime dataInicio,
+
+        @Parameter(description = "Data de fim do período", example = "2025-01-31T23:59:59")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime dataFim,
+
+        @Parameter(description = "Valor total mínimo", example = "1000.00")
+        @DecimalMin(value = "0.00", message = "valorMinimo não pode ser negativo")
+        @Digits(integer = 13, fraction = 2, message = "valorMinimo deve ter até 13 dígitos inteiros e 2 decimais")
+        BigDecimal valorMinimo,
+
+        @Parameter(description = "Valor total máximo", example = "5000.00")
+        @DecimalMin(value = "0.00", message = "valorMaximo não pode ser negativo")
+        @Digits(integer = 13, fraction = 2, message = "valorMaximo deve ter até 13 dígitos inteiros e 2 decimais")
+        BigDecimal valorMaximo
+) {
+    public static final FiltroPedidosDTO TODOS = new FiltroPedidosDTO(null, null, null, null, null, null);
+}
@@ -0,0 +1,21 @@
+package br.com.vpsconsulting.orderhub.dto.pedidos;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+
+import java.time.LocalDateTime;
+
+// Uma linha da exportação: um item de pedido com os dados do pedido e do parceiro.
+// Pedido sem itens gera uma linha com os campos do item nulos.
+public record LinhaExportacaoPedidoDTO(
+        String pedidoPublicId,
+        String parceiroPublicId,
+        String nomeParceiro,
+        StatusPedido status,
+        Dinheiro valorTotal,
+        LocalDateTime dataCriacao,
+        String produto,
+        Integer quantidade,
+        Dinheiro precoUnitario,
+        Dinheiro subtotal
+) {}
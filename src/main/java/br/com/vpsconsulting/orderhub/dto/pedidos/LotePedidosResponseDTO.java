@@ -0,0 +1,15 @@
+package br.com.vpsconsulting.orderhub.dto.pedidos;
+
+import java.util.List;
+
+public record LotePedidosResponseDTO(
+        int total,
+        int aprovados,
+        int rejeitados,
+        List<ResultadoPedidoLoteDTO> resultados
+) {
+    public static LotePedidosResponseDTO of(List<ResultadoPedidoLoteDTO> resultados) {
+        int aprovados = (int) resultados.stream().filter(ResultadoPedidoLoteDTO::aprovado).count();
+        return new LotePedidosResponseDTO(resultados.size(), aprovados, resultados.size() - aprovados, resultados);
+    }
+}
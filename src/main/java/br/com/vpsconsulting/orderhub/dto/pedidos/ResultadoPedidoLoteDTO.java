@@ -0,0 +1,19 @@
+package br.com.vpsconsulting.orderhub.dto.pedidos;
+
+// Resultado de um pedido do lote; indice é a posição do pedido na requisição
+public record ResultadoPedidoLoteDTO(
+        int indice,
+        String parceiroPublicId,
+        boolean aprovado,
+        PedidoResponseDTO pedido,
+        String erro,
+        String mensagem
+) {
+    public static ResultadoPedidoLoteDTO aprovado(int indice, PedidoResponseDTO pedido) {
+        return new ResultadoPedidoLoteDTO(indice, pedido.parceiroPublicId(), true, pedido, null, null);
+    }
+
+    public static ResultadoPedidoLoteDTO rejeitado(int indice, String parceiroPublicId, String erro, String mensagem) {
+        return new ResultadoPedidoLoteDTO(indice, parceiroPublicId, false, null, erro, mensagem);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.vpsconsulting.orderhub.dto.reservas;
+
+import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ConfirmarReservaDTO(
+        @NotEmpty(message = "Lista de itens não pode estar vazia")
+        @Valid
+        List<ItemPedidoDTO> itens,
+
+        @Size(max = 500, message = "Observações não podem exceder 500 caracteres")
+        String observacoes
+) {}
@@ -0,0 +1,21 @@
+package br.com.vpsconsulting.orderhub.dto.reservas;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record CriarReservaDTO(
+        @NotBlank(message = "ID público do parceiro é obrigatório")
+        String parceiroPublicId,
+
+        @NotNull(message = "Valor é obrigatório")
+        @DecimalMin(value = "0.01", message = "Valor da reserva deve ser maior que zero")
+        BigDecimal valor,
+
+        // Opcional: sem valor usa o prazo padrão configurado
+        @Positive(message = "Prazo da reserva deve ser maior que zero")
+        Long prazoSegundos
+) {}
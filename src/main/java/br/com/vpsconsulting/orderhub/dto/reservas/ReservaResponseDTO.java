@@ -0,0 +1,31 @@
+package br.com.vpsconsulting.orderhub.dto.reservas;
+
+import br.com.vpsconsulting.orderhub.entity.ReservaCredito;
+import br.com.vpsconsulting.orderhub.enums.StatusReserva;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ReservaResponseDTO(
+        String publicId,
+        String parceiroPublicId,
+        BigDecimal valor,
+        StatusReserva status,
+        LocalDateTime expiraEm,
+        String pedidoPublicId,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao
+) {
+    public static ReservaResponseDTO from(ReservaCredito reserva) {
+        return new ReservaResponseDTO(
+                reserva.getPublicId(),
+                reserva.getParceiro().getPublicId(),
+                reserva.getValor(),
+                reserva.getStatus(),
+                reserva.getExpiraEm(),
+                reserva.getPedidoPublicId(),
+                reserva.getDataCriacao(),
+                reserva.getDataAtualizacao()
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.vpsconsulting.orderhub.dto.utils;
+
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Posição na paginação por keyset em (dataCriacao, id), ordem decrescente: a próxima página
+ * são os registros estritamente anteriores a este par. Trafega como token opaco (base64 url-safe).
+ */
+public record CursorPaginacao(LocalDateTime dataCriacao, Long id) {
+
+    // Antes de todos os registros: a primeira página usa a mesma consulta das demais
+    public static final CursorPaginacao INICIO =
+            new CursorPaginacao(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String valor = dataCriacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacao decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new CursorPaginacao(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("Cursor inválido",
+                    List.of("cursor deve ser o valor de proximoCursor devolvido pela página anterior"));
+        }
+    }
+}
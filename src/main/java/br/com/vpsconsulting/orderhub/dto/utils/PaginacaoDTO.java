@@ -2,27 +2,21 @@ package br.com.vpsconsulting.orderhub.dto.utils;
 
 import java.util.List;
 
+// Página de uma listagem por cursor: proximoCursor é null na última página
 public record PaginacaoDTO<T>(
         List<T> conteudo,
-        int paginaAtual,
         int tamanho,
-        long totalElementos,
-        int totalPaginas,
-        boolean primeira,
+        String proximoCursor,
         boolean ultima,
         boolean vazia
 ) {
-    // Factory method para criar a partir de Page do Spring
-    public static <T> PaginacaoDTO<T> of(org.springframework.data.domain.Page<T> page) {
+    public static <T> PaginacaoDTO<T> of(List<T> conteudo, CursorPaginacao proximoCursor) {
         return new PaginacaoDTO<>(
-                page.getContent(),
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isFirst(),
-                page.isLast(),
-                page.isEmpty()
+                conteudo,
+                conteudo.size(),
+                proximoCursor != null ? proximoCursor.codificar() : null,
+                proximoCursor == null,
+                conteudo.isEmpty()
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variação pendente de {@link ResumoPedidosParceiro} (quantidade e valor, com sinal), gravada na
+ * transação do pedido. Só recebe INSERTs ali; o {@code ConsolidadorResumoPedidos} soma as variações
+ * nas linhas do resumo em background e as apaga.
+ */
+@Entity
+@Table(name = "resumo_pedidos_deltas")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"parceiro"}) // Evita problemas de lazy loading
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class DeltaResumoPedidos {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parceiro_id", nullable = false, updatable = false)
+    private Parceiro parceiro;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private StatusPedido status;
+
+    @Column(nullable = false, updatable = false)
+    private Long quantidade;
+
+    @Convert(converter = DinheiroConverter.class)
+    @Column(nullable = false, precision = 15, scale = 2, updatable = false)
+    private Dinheiro valor;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    public DeltaResumoPedidos(Parceiro parceiro, StatusPedido status, long quantidade, Dinheiro valor) {
+        this.parceiro = parceiro;
+        this.status = status;
+        this.quantidade = quantidade;
+        this.valor = valor;
+        this.dataCriacao = LocalDateTime.now();
+    }
+}
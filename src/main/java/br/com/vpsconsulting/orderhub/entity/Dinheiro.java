@@ -0,0 +1,106 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário imutável em centavos (long). Usado nos caminhos quentes de crédito e
+ * totais no lugar de {@link BigDecimal}: soma, subtração e comparação não alocam
+ * BigInteger/BigDecimal intermediários. Operações que estouram o long lançam
+ * {@link ArithmeticException}. Persistido em colunas numeric(15,2) via {@link DinheiroConverter}.
+ */
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    // Arredonda para centavos (HALF_UP), como o setScale(2) usado nos cálculos com BigDecimal
+    public static Dinheiro de(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+        if (valor.scale() == 2) {
+            return deCentavos(valor.unscaledValue().longValueExact());
+        }
+        return deCentavos(valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public static Dinheiro de(String valor) {
+        return de(new BigDecimal(valor));
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro multiplicar(long quantidade) {
+        return deCentavos(Math.multiplyExact(centavos, quantidade));
+    }
+
+    public Dinheiro max(Dinheiro outro) {
+        return centavos >= outro.centavos ? this : outro;
+    }
+
+    public Dinheiro min(Dinheiro outro) {
+        return centavos <= outro.centavos ? this : outro;
+    }
+
+    // Equivalente a this - subtraendo >= valor, sem criar o valor intermediário
+    public boolean cobre(Dinheiro subtraendo, Dinheiro valor) {
+        return Math.subtractExact(centavos, subtraendo.centavos) >= valor.centavos;
+    }
+
+    public boolean isPositivo() {
+        return centavos > 0;
+    }
+
+    public boolean isNegativo() {
+        return centavos < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Dinheiro outro && centavos == outro.centavos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        long inteiros = Math.abs(centavos / 100);
+        long fracao = Math.abs(centavos % 100);
+        return (centavos < 0 ? "-" : "") + inteiros + (fracao < 10 ? ".0" : ".") + fracao;
+    }
+}
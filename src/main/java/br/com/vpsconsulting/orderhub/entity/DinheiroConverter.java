@@ -0,0 +1,21 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+// Mantém as colunas numeric(15,2) existentes para os atributos do tipo Dinheiro
+@Converter
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+        return valor != null ? valor.toBigDecimal() : null;
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+        return Dinheiro.de(valor);
+    }
+}
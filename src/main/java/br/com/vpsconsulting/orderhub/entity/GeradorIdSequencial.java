@@ -0,0 +1,48 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Gerador das entidades anotadas com {@link IdSequencial}. Lê das propriedades do Hibernate
+ * ({@code spring.jpa.properties.orderhub.ids.*}) o tamanho de alocação, que precisa ser igual
+ * ao {@code INCREMENT BY} da sequence, e o otimizador ({@code pooled-lo} ou {@code pooled}).
+ */
+public class GeradorIdSequencial extends SequenceStyleGenerator {
+
+    public static final String PROPRIEDADE_TAMANHO_ALOCACAO = "orderhub.ids.tamanho-alocacao";
+    public static final String PROPRIEDADE_OTIMIZADOR = "orderhub.ids.otimizador";
+
+    public static final int TAMANHO_ALOCACAO_PADRAO = 50;
+    public static final String OTIMIZADOR_PADRAO = "pooled-lo";
+
+    private final String sequencia;
+
+    public GeradorIdSequencial(IdSequencial anotacao, Member membro, CustomIdGeneratorCreationContext contexto) {
+        this.sequencia = anotacao.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parametros, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuracao = serviceRegistry.requireService(ConfigurationService.class);
+        int tamanhoAlocacao = configuracao.getSetting(
+                PROPRIEDADE_TAMANHO_ALOCACAO, StandardConverters.INTEGER, TAMANHO_ALOCACAO_PADRAO);
+        if (tamanhoAlocacao < 1) {
+            throw new MappingException(PROPRIEDADE_TAMANHO_ALOCACAO + " deve ser maior que zero: " + tamanhoAlocacao);
+        }
+
+        parametros.setProperty(SEQUENCE_PARAM, sequencia);
+        parametros.setProperty(INCREMENT_PARAM, String.valueOf(tamanhoAlocacao));
+        parametros.setProperty(OPT_PARAM,
+                configuracao.getSetting(PROPRIEDADE_OTIMIZADOR, StandardConverters.STRING, OTIMIZADOR_PADRAO));
+        super.configure(type, parametros, serviceRegistry);
+    }
+}
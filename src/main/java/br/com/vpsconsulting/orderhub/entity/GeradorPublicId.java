@@ -0,0 +1,11 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+/**
+ * Gera o publicId das entidades (prefixo + sufixo alfanumérico). A implementação usada é
+ * um bean do Spring registrado em {@link PublicIds}; sem contexto (testes unitários) vale o
+ * {@link GeradorPublicIdTemporal} do nó 0.
+ */
+public interface GeradorPublicId {
+
+    String gerar(String prefixo);
+}
@@ -0,0 +1,110 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * publicIds ordenados pelo tempo: 42 bits de milissegundos desde {@link #EPOCA}, 10 bits do nó
+ * (instância) e 11 bits de sequência, codificados em base 36 com largura fixa. A ordem
+ * alfabética dos ids é a ordem de criação, então os INSERTs caem na borda direita dos índices
+ * únicos de publicId em vez de espalhados pela árvore.
+ *
+ * <p>O estado (milissegundo + sequência) avança por CAS em um único long, sem lock: cada id é
+ * estritamente maior que o anterior no mesmo nó e o nó entra no id, então não há colisão desde
+ * que cada instância tenha um nó distinto. Se a sequência do milissegundo esgota, ou o relógio
+ * volta, o estado segue para o milissegundo seguinte em vez de esperar o relógio.
+ *
+ * <p>Como o estado pode andar à frente do relógio, o último instante gerado por um nó é
+ * guardado fora da instância e o gerador que assume o nó depois de um restart começa depois
+ * dele ({@code instanteMinimo}), em vez de do zero.
+ */
+public class GeradorPublicIdTemporal implements GeradorPublicId {
+
+    // 2024-01-01T00:00:00Z; 42 bits de milissegundos cobrem até 2163
+    public static final long EPOCA = 1_704_067_200_000L;
+
+    public static final int BITS_NO = 10;
+    public static final int BITS_SEQUENCIA = 11;
+    public static final int NO_MAXIMO = (1 << BITS_NO) - 1;
+
+    // Long.MAX_VALUE em base 36 tem 13 dígitos
+    public static final int TAMANHO = 13;
+
+    private static final char[] ALFABETO = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final long MASCARA_SEQUENCIA = (1L << BITS_SEQUENCIA) - 1;
+
+    private final long no;
+    private final LongSupplier relogio;
+
+    // (milissegundos desde a época << BITS_SEQUENCIA) | sequência do último id gerado
+    private final AtomicLong estado = new AtomicLong();
+
+    public GeradorPublicIdTemporal(int no) {
+        this(no, EPOCA);
+    }
+
+    // Gera ids só a partir do milissegundo seguinte a instanteMinimo (epoch millis)
+    public GeradorPublicIdTemporal(int no, long instanteMinimo) {
+        this(no, instanteMinimo, System::currentTimeMillis);
+    }
+
+    GeradorPublicIdTemporal(int no, LongSupplier relogio) {
+        this(no, EPOCA, relogio);
+    }
+
+    GeradorPublicIdTemporal(int no, long instanteMinimo, LongSupplier relogio) {
+        if (no < 0 || no > NO_MAXIMO) {
+            throw new IllegalArgumentException("Nó do gerador de publicId deve estar entre 0 e " + NO_MAXIMO + ": " + no);
+        }
+        this.no = no;
+        this.relogio = relogio;
+        if (instanteMinimo > EPOCA) {
+            estado.set(((instanteMinimo - EPOCA) << BITS_SEQUENCIA) | MASCARA_SEQUENCIA);
+        }
+    }
+
+    public int getNo() {
+        return (int) no;
+    }
+
+    // Instante (epoch millis) do último id gerado, ou EPOCA se nenhum foi gerado
+    public long getUltimoInstante() {
+        return (estado.get() >>> BITS_SEQUENCIA) + EPOCA;
+    }
+
+    @Override
+    public String gerar(String prefixo) {
+        long agora = (relogio.getAsLong() - EPOCA) << BITS_SEQUENCIA;
+        long atual = estado.updateAndGet(anterior -> Math.max(anterior + 1, agora));
+
+        long milissegundos = atual >>> BITS_SEQUENCIA;
+        long id = (milissegundos << (BITS_NO + BITS_SEQUENCIA)) | (no << BITS_SEQUENCIA) | (atual & MASCARA_SEQUENCIA);
+        return prefixo + codificar(id);
+    }
+
+    // Instante em que o id foi gerado (prefixo ignorado)
+    public static Instant instanteDe(String publicId) {
+        return Instant.ofEpochMilli((decodificar(publicId) >>> (BITS_NO + BITS_SEQUENCIA)) + EPOCA);
+    }
+
+    public static int noDe(String publicId) {
+        return (int) ((decodificar(publicId) >>> BITS_SEQUENCIA) & NO_MAXIMO);
+    }
+
+    private static String codificar(long valor) {
+        char[] digitos = new char[TAMANHO];
+        for (int i = TAMANHO - 1; i >= 0; i--) {
+            digitos[i] = ALFABETO[(int) (valor % ALFABETO.length)];
+            valor /= ALFABETO.length;
+        }
+        return new String(digitos);
+    }
+
+    private static long decodificar(String publicId) {
+        if (publicId == null || publicId.length() < TAMANHO) {
+            throw new IllegalArgumentException("publicId sem sufixo temporal: " + publicId);
+        }
+        return Long.parseLong(publicId.substring(publicId.length() - TAMANHO), ALFABETO.length);
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id gerado por sequence do banco com otimizador (pooled-lo por padrão). Ao contrário de
+ * {@code GenerationType.IDENTITY}, o id é conhecido antes do INSERT, o que permite ao
+ * Hibernate agrupar os INSERTs em batches ({@code hibernate.jdbc.batch_size}).
+ * O tamanho de alocação e o otimizador vêm de {@code orderhub.ids.*} (ver {@link GeradorIdSequencial}).
+ */
+@IdGeneratorType(GeradorIdSequencial.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdSequencial {
+
+    // Nome da sequence no banco, ex.: "pedidos_seq"
+    String value();
+}
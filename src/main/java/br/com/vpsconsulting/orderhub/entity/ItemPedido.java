@@ -3,9 +3,11 @@ package br.com.vpsconsulting.orderhub.entity;
 import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "itens_pedido", indexes = {
@@ -19,28 +21,47 @@ import java.math.RoundingMode;
 @Builder
 @ToString(exclude = {"pedido"}) // Evita problemas de lazy loading
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
+// Itens não são alterados depois do INSERT: cache de segundo nível somente leitura
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = ItemPedido.REGIAO_CACHE)
 public class ItemPedido {
 
+    public static final String REGIAO_CACHE = "itens-pedido";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("itens_pedido_seq")
     @EqualsAndHashCode.Include
     private Long id;
 
+    // Com pedidos particionada, scripts/migracao-particionamento-pedidos.sql troca a FK criada pelo
+    // ddl-auto pela composta (pedido_id, pedido_data_criacao)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "pedido_id", nullable = false)
     private Pedido pedido;
 
+    // Chave de partição de itens_pedido: cópia de pedidos.data_criacao, para que os itens
+    // de um mês fiquem na partição do mesmo mês dos seus pedidos
+    @Column(name = "pedido_data_criacao", nullable = false, updatable = false)
+    private LocalDateTime dataCriacaoPedido;
+
     @Column(nullable = false, length = 100)
     private String produto;
 
     @Column(nullable = false)
     private Integer quantidade;
 
+    // Valores monetários em centavos; getters/setters em BigDecimal mantêm a API dos DTOs
+    @Convert(converter = DinheiroConverter.class)
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal precoUnitario;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Dinheiro precoUnitario;
 
+    @Convert(converter = DinheiroConverter.class)
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal subtotal;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Dinheiro subtotal;
 
     @Column(length = 200)
     private String descricao;
@@ -53,7 +74,7 @@ public class ItemPedido {
         this.pedido = pedido;
         this.produto = produto;
         this.quantidade = quantidade;
-        this.precoUnitario = precoUnitario;
+        this.precoUnitario = Dinheiro.de(precoUnitario);
         calcularSubtotal();
     }
 
@@ -64,7 +85,7 @@ public class ItemPedido {
         this.produto = produto;
         this.descricao = descricao;
         this.quantidade = quantidade;
-        this.precoUnitario = precoUnitario;
+        this.precoUnitario = Dinheiro.de(precoUnitario);
         this.unidadeMedida = unidadeMedida;
         calcularSubtotal();
     }
@@ -72,9 +93,7 @@ public class ItemPedido {
     // Business methods
     public void calcularSubtotal() {
         if (quantidade != null && precoUnitario != null) {
-            this.subtotal = precoUnitario
-                    .multiply(BigDecimal.valueOf(quantidade))
-                    .setScale(2, RoundingMode.HALF_UP);
+            this.subtotal = precoUnitario.multiplicar(quantidade);
         }
     }
 
@@ -95,7 +114,7 @@ public class ItemPedido {
         if (novoPreco == null || novoPreco.compareTo(BigDecimal.ZERO) <= 0) {
             throw BusinessRuleException.valorInvalido("Preço unitário", novoPreco);
         }
-        this.precoUnitario = novoPreco;
+        this.precoUnitario = Dinheiro.de(novoPreco);
         calcularSubtotal();
 
         // Atualiza o valor total do pedido se estiver associado
@@ -112,7 +131,7 @@ public class ItemPedido {
     }
 
     public BigDecimal getValorTotalItem() {
-        return subtotal != null ? subtotal : BigDecimal.ZERO;
+        return subtotal != null ? subtotal.toBigDecimal() : BigDecimal.ZERO;
     }
 
     public String getProdutoCompleto() {
@@ -132,7 +151,7 @@ public class ItemPedido {
     public boolean isValido() {
         return produto != null && !produto.trim().isEmpty() &&
                 quantidade != null && quantidade > 0 &&
-                precoUnitario != null && precoUnitario.compareTo(BigDecimal.ZERO) > 0;
+                precoUnitario != null && precoUnitario.isPositivo();
     }
 
     // Custom setters para recalcular subtotal automaticamente
@@ -142,10 +161,26 @@ public class ItemPedido {
     }
 
     public void setPrecoUnitario(BigDecimal precoUnitario) {
-        this.precoUnitario = precoUnitario;
+        this.precoUnitario = Dinheiro.de(precoUnitario);
         calcularSubtotal();
     }
 
+    public BigDecimal getPrecoUnitario() {
+        return precoUnitario != null ? precoUnitario.toBigDecimal() : null;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal != null ? subtotal.toBigDecimal() : null;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = Dinheiro.de(subtotal);
+    }
+
+    public Dinheiro getSubtotalDinheiro() {
+        return subtotal;
+    }
+
     @PrePersist
     @PreUpdate
     protected void onSave() {
@@ -153,6 +188,9 @@ public class ItemPedido {
         if (!isValido()) {
             throw new IllegalStateException("Item inválido: " + this);
         }
+        if (dataCriacaoPedido == null && pedido != null) {
+            dataCriacaoPedido = pedido.getDataCriacao();
+        }
         calcularSubtotal();
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lançamento do diário de crédito (modo de crédito {@code movimentos}). Só recebe INSERTs:
+ * o crédito utilizado do parceiro é o {@link SnapshotCredito} mais os movimentos posteriores a ele.
+ */
+@Entity
+@Table(name = "movimentos_credito", indexes = {
+        @Index(name = "idx_movimento_parceiro_id", columnList = "parceiro_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"parceiro"}) // Evita problemas de lazy loading
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class MovimentoCredito {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parceiro_id", nullable = false, updatable = false)
+    private Parceiro parceiro;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20, updatable = false)
+    private TipoMovimentoCredito tipo;
+
+    // Sempre positivo; o sinal vem do tipo
+    @Column(nullable = false, precision = 15, scale = 2, updatable = false)
+    private BigDecimal valor;
+
+    @Column(nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    public MovimentoCredito(Parceiro parceiro, TipoMovimentoCredito tipo, BigDecimal valor) {
+        this.parceiro = parceiro;
+        this.tipo = tipo;
+        this.valor = valor;
+        this.dataCriacao = LocalDateTime.now();
+    }
+}
@@ -24,7 +24,7 @@ import java.util.List;
 public class Parceiro {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("parceiros_seq")
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -37,12 +37,19 @@ public class Parceiro {
     @Column(nullable = false, unique = true, length = 20)
     private String cnpj;
 
+    // Valores monetários em centavos; getters/setters em BigDecimal mantêm a API dos DTOs
+    @Convert(converter = DinheiroConverter.class)
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal limiteCredito;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Dinheiro limiteCredito;
 
+    @Convert(converter = DinheiroConverter.class)
     @Column(nullable = false, precision = 15, scale = 2)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @Builder.Default
-    private BigDecimal creditoUtilizado = BigDecimal.ZERO;
+    private Dinheiro creditoUtilizado = Dinheiro.ZERO;
 
     @Column(nullable = false)
     @Builder.Default
@@ -56,6 +63,11 @@ public class Parceiro {
     @Builder.Default
     private LocalDateTime dataAtualizacao = LocalDateTime.now();
 
+    // Controle de concorrência otimista (default 0 para linhas já existentes no ddl-auto update)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long versao;
+
     @OneToMany(mappedBy = "parceiro", fetch = FetchType.LAZY)
     private List<Pedido> pedidos;
 
@@ -63,30 +75,69 @@ public class Parceiro {
     public Parceiro(String nome, String cnpj, BigDecimal limiteCredito) {
         this.nome = nome;
         this.cnpj = cnpj;
-        this.limiteCredito = limiteCredito;
-        this.creditoUtilizado = BigDecimal.ZERO;
+        this.limiteCredito = Dinheiro.de(limiteCredito);
+        this.creditoUtilizado = Dinheiro.ZERO;
         this.ativo = true;
         this.dataCriacao = LocalDateTime.now();
         this.dataAtualizacao = LocalDateTime.now();
     }
 
+    public BigDecimal getLimiteCredito() {
+        return limiteCredito != null ? limiteCredito.toBigDecimal() : null;
+    }
+
+    public void setLimiteCredito(BigDecimal limiteCredito) {
+        this.limiteCredito = Dinheiro.de(limiteCredito);
+    }
+
+    public BigDecimal getCreditoUtilizado() {
+        return creditoUtilizado != null ? creditoUtilizado.toBigDecimal() : null;
+    }
+
+    public void setCreditoUtilizado(BigDecimal creditoUtilizado) {
+        this.creditoUtilizado = Dinheiro.de(creditoUtilizado);
+    }
+
+    public Dinheiro getLimiteCreditoDinheiro() {
+        return limiteCredito;
+    }
+
+    public Dinheiro getCreditoUtilizadoDinheiro() {
+        return creditoUtilizado;
+    }
+
     // Business methods
     public BigDecimal getCreditoDisponivel() {
-        return limiteCredito.subtract(creditoUtilizado);
+        return getCreditoDisponivelDinheiro().toBigDecimal();
+    }
+
+    public Dinheiro getCreditoDisponivelDinheiro() {
+        return limiteCredito.subtrair(creditoUtilizado);
     }
 
     public boolean temCreditoDisponivel(BigDecimal valor) {
-        return getCreditoDisponivel().compareTo(valor) >= 0;
+        return temCreditoDisponivel(Dinheiro.de(valor));
+    }
+
+    public boolean temCreditoDisponivel(Dinheiro valor) {
+        return limiteCredito.cobre(creditoUtilizado, valor);
     }
 
     public void utilizarCredito(BigDecimal valor) {
         if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessRuleException("VALOR_INVALIDO", "Valor para utilização de crédito deve ser maior que zero");
         }
+        utilizarCredito(Dinheiro.de(valor));
+    }
+
+    public void utilizarCredito(Dinheiro valor) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO", "Valor para utilização de crédito deve ser maior que zero");
+        }
         if (!temCreditoDisponivel(valor)) {
-            throw BusinessRuleException.creditoInsuficiente(getCreditoDisponivel(), valor);
+            throw BusinessRuleException.creditoInsuficiente(getCreditoDisponivel(), valor.toBigDecimal());
         }
-        this.creditoUtilizado = this.creditoUtilizado.add(valor);
+        this.creditoUtilizado = this.creditoUtilizado.somar(valor);
         this.dataAtualizacao = LocalDateTime.now();
     }
 
@@ -94,10 +145,14 @@ public class Parceiro {
         if (valor == null || valor.compareTo(BigDecimal.ZERO) <= 0) {
             throw new BusinessRuleException("VALOR_INVALIDO", "Valor para liberação de crédito deve ser maior que zero");
         }
-        this.creditoUtilizado = this.creditoUtilizado.subtract(valor);
-        if (this.creditoUtilizado.compareTo(BigDecimal.ZERO) < 0) {
-            this.creditoUtilizado = BigDecimal.ZERO;
+        liberarCredito(Dinheiro.de(valor));
+    }
+
+    public void liberarCredito(Dinheiro valor) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO", "Valor para liberação de crédito deve ser maior que zero");
         }
+        this.creditoUtilizado = this.creditoUtilizado.subtrair(valor).max(Dinheiro.ZERO);
         this.dataAtualizacao = LocalDateTime.now();
     }
 
@@ -115,14 +170,14 @@ public class Parceiro {
         if (novoLimite == null || novoLimite.compareTo(BigDecimal.ZERO) <= 0) {
             throw BusinessRuleException.valorInvalido("Limite de crédito", novoLimite);
         }
-        this.limiteCredito = novoLimite;
+        this.limiteCredito = Dinheiro.de(novoLimite);
         this.dataAtualizacao = LocalDateTime.now();
     }
 
     @PrePersist
     protected void onCreate() {
         if (publicId == null) {
-            publicId = "PARC_" + generateRandomString(8);
+            publicId = PublicIds.gerar("PARC_");
         }
         if (dataCriacao == null) {
             dataCriacao = LocalDateTime.now();
@@ -134,14 +189,4 @@ public class Parceiro {
     protected void onUpdate() {
         dataAtualizacao = LocalDateTime.now();
     }
-
-    private String generateRandomString(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder sb = new StringBuilder();
-        java.util.Random random = new java.util.Random();
-        for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        return sb.toString();
-    }
 }
\ No newline at end of file
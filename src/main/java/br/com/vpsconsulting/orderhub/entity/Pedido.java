@@ -4,6 +4,8 @@ import br.com.vpsconsulting.orderhub.enums.StatusPedido;
 import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,9 +15,12 @@ import java.util.List;
 @Entity
 @Table(name = "pedidos", indexes = {
         @Index(name = "idx_pedido_public_id", columnList = "publicId", unique = true),
-        @Index(name = "idx_pedido_parceiro_id", columnList = "parceiro_id"),
-        @Index(name = "idx_pedido_status", columnList = "status"),
-        @Index(name = "idx_pedido_data_criacao", columnList = "dataCriacao")
+        // Busca de GET /pedidos paginada por keyset em (dataCriacao, id): um índice por combinação
+        // de igualdades (parceiro, status) seguido das colunas da ordenação
+        @Index(name = "idx_pedido_parceiro_status_data_criacao_id", columnList = "parceiro_id, status, dataCriacao, id"),
+        @Index(name = "idx_pedido_parceiro_data_criacao_id", columnList = "parceiro_id, dataCriacao, id"),
+        @Index(name = "idx_pedido_status_data_criacao_id", columnList = "status, dataCriacao, id"),
+        @Index(name = "idx_pedido_data_criacao_id", columnList = "dataCriacao, id")
 })
 @Getter
 @Setter
@@ -26,8 +31,10 @@ import java.util.List;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Pedido {
 
+    public static final String REGIAO_CACHE_ITENS = "pedidos-itens";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdSequencial("pedidos_seq")
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -38,20 +45,27 @@ public class Pedido {
     @JoinColumn(name = "parceiro_id", nullable = false)
     private Parceiro parceiro;
 
+    // Os itens de um pedido são definidos na criação; o pedido em si não vai para o cache (status muda)
     @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Pedido.REGIAO_CACHE_ITENS)
     @Builder.Default
     private List<ItemPedido> itens = new ArrayList<>();
 
+    // Valor em centavos; getter/setter em BigDecimal mantêm a API dos DTOs
+    @Convert(converter = DinheiroConverter.class)
     @Column(nullable = false, precision = 15, scale = 2)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     @Builder.Default
-    private BigDecimal valorTotal = BigDecimal.ZERO;
+    private Dinheiro valorTotal = Dinheiro.ZERO;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
     private StatusPedido status = StatusPedido.PENDENTE;
 
-    @Column(nullable = false)
+    // Chave de partição de pedidos (um mês por partição): não muda depois do INSERT
+    @Column(nullable = false, updatable = false)
     @Builder.Default
     private LocalDateTime dataCriacao = LocalDateTime.now();
 
@@ -66,21 +80,36 @@ public class Pedido {
     public Pedido(Parceiro parceiro) {
         this.parceiro = parceiro;
         this.itens = new ArrayList<>();
-        this.valorTotal = BigDecimal.ZERO;
+        this.valorTotal = Dinheiro.ZERO;
         this.status = StatusPedido.PENDENTE;
         this.dataCriacao = LocalDateTime.now();
         this.dataAtualizacao = LocalDateTime.now();
     }
 
+    public BigDecimal getValorTotal() {
+        return valorTotal != null ? valorTotal.toBigDecimal() : null;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = Dinheiro.de(valorTotal);
+    }
+
+    public Dinheiro getValorTotalDinheiro() {
+        return valorTotal;
+    }
+
     // Business methods
     public void calcularValorTotal() {
-        if (itens != null && !itens.isEmpty()) {
-            this.valorTotal = itens.stream()
-                    .map(ItemPedido::getSubtotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        } else {
-            this.valorTotal = BigDecimal.ZERO;
+        long centavos = 0;
+        if (itens != null) {
+            for (ItemPedido item : itens) {
+                Dinheiro subtotal = item.getSubtotalDinheiro();
+                if (subtotal != null) {
+                    centavos = Math.addExact(centavos, subtotal.getCentavos());
+                }
+            }
         }
+        this.valorTotal = Dinheiro.deCentavos(centavos);
         this.dataAtualizacao = LocalDateTime.now();
     }
 
@@ -204,7 +233,7 @@ public class Pedido {
     @PrePersist
     protected void onCreate() {
         if (publicId == null) {
-            publicId = "PED_" + generateRandomString(8);
+            publicId = PublicIds.gerar("PED_");
         }
         if (dataCriacao == null) {
             dataCriacao = LocalDateTime.now();
@@ -216,14 +245,4 @@ public class Pedido {
     protected void onUpdate() {
         dataAtualizacao = LocalDateTime.now();
     }
-
-    private String generateRandomString(int length) {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        StringBuilder sb = new StringBuilder();
-        java.util.Random random = new java.util.Random();
-        for (int i = 0; i < length; i++) {
-            sb.append(chars.charAt(random.nextInt(chars.length())));
-        }
-        return sb.toString();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+/**
+ * Ponto de acesso ao {@link GeradorPublicId} a partir dos callbacks {@code @PrePersist}, já que
+ * as entidades não são beans. O gerador é registrado na inicialização por
+ * {@code PublicIdConfig}.
+ */
+public final class PublicIds {
+
+    private static volatile GeradorPublicId gerador = new GeradorPublicIdTemporal(0);
+
+    private PublicIds() {
+    }
+
+    public static String gerar(String prefixo) {
+        return gerador.gerar(prefixo);
+    }
+
+    public static void configurar(GeradorPublicId novoGerador) {
+        gerador = novoGerador;
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import br.com.vpsconsulting.orderhub.enums.StatusReserva;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Bloqueio temporário de crédito de um parceiro. Enquanto ATIVA, o valor já está
+ * debitado do crédito disponível; ao confirmar vira pedido sem nova checagem de crédito,
+ * e ao ser liberada ou expirar o valor volta ao parceiro.
+ */
+@Entity
+@Table(name = "reservas_credito", indexes = {
+        @Index(name = "idx_reserva_public_id", columnList = "publicId", unique = true),
+        @Index(name = "idx_reserva_parceiro_id", columnList = "parceiro_id"),
+        @Index(name = "idx_reserva_status_expira_em", columnList = "status, expiraEm")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"parceiro"}) // Evita problemas de lazy loading
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ReservaCredito {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 20, updatable = false)
+    private String publicId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parceiro_id", nullable = false, updatable = false)
+    private Parceiro parceiro;
+
+    @Column(nullable = false, precision = 15, scale = 2, updatable = false)
+    private BigDecimal valor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private StatusReserva status = StatusReserva.ATIVA;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+
+    // Pedido gerado na confirmação
+    @Column(length = 20)
+    private String pedidoPublicId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime dataAtualizacao = LocalDateTime.now();
+
+    public ReservaCredito(Parceiro parceiro, BigDecimal valor, LocalDateTime expiraEm) {
+        this.parceiro = parceiro;
+        this.valor = valor;
+        this.expiraEm = expiraEm;
+        this.status = StatusReserva.ATIVA;
+        this.dataCriacao = LocalDateTime.now();
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    // Business methods
+    public boolean isAtiva() {
+        return status == StatusReserva.ATIVA;
+    }
+
+    public boolean isVencida(LocalDateTime agora) {
+        return !expiraEm.isAfter(agora);
+    }
+
+    public void confirmar(String pedidoPublicId) {
+        finalizar(StatusReserva.CONFIRMADA, "confirmar");
+        this.pedidoPublicId = pedidoPublicId;
+    }
+
+    public void liberar() {
+        finalizar(StatusReserva.LIBERADA, "liberar");
+    }
+
+    public void expirar() {
+        finalizar(StatusReserva.EXPIRADA, "expirar");
+    }
+
+    private void finalizar(StatusReserva novoStatus, String operacao) {
+        if (!isAtiva()) {
+            throw BusinessRuleException.reservaNaoAtiva(publicId, status.name(), operacao);
+        }
+        this.status = novoStatus;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (publicId == null) {
+            publicId = PublicIds.gerar("RES_");
+        }
+        if (dataCriacao == null) {
+            dataCriacao = LocalDateTime.now();
+        }
+        dataAtualizacao = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        dataAtualizacao = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Quantidade e valor total dos pedidos de um parceiro em um status. Criado zerado com o parceiro e
+ * mantido incrementalmente: cada criação e mudança de status grava um {@link DeltaResumoPedidos},
+ * que o {@code ConsolidadorResumoPedidos} soma aqui em background.
+ */
+@Entity
+@Table(name = "resumo_pedidos_parceiro",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resumo_pedidos_parceiro_status", columnNames = {"parceiro_id", "status"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"parceiro"}) // Evita problemas de lazy loading
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ResumoPedidosParceiro {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parceiro_id", nullable = false, updatable = false)
+    private Parceiro parceiro;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private StatusPedido status;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Convert(converter = DinheiroConverter.class)
+    @Column(nullable = false, precision = 15, scale = 2)
+    private Dinheiro valorTotal;
+
+    @Column(nullable = false)
+    private LocalDateTime dataAtualizacao;
+
+    public ResumoPedidosParceiro(Parceiro parceiro, StatusPedido status, Long quantidade, Dinheiro valorTotal) {
+        this.parceiro = parceiro;
+        this.status = status;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
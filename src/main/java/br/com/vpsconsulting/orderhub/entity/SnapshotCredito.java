@@ -0,0 +1,52 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Crédito utilizado de um parceiro consolidado até {@code ultimoMovimentoId}
+ * (modo de crédito {@code movimentos}). Só é alterado pelo compactador.
+ */
+@Entity
+@Table(name = "snapshots_credito")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class SnapshotCredito {
+
+    @Id
+    @Column(name = "parceiro_id")
+    @EqualsAndHashCode.Include
+    private Long parceiroId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal creditoUtilizado;
+
+    // Movimentos com id até este valor já estão somados em creditoUtilizado
+    @Column(nullable = false)
+    private Long ultimoMovimentoId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private LocalDateTime dataAtualizacao = LocalDateTime.now();
+
+    public SnapshotCredito(Long parceiroId, BigDecimal creditoUtilizado, Long ultimoMovimentoId) {
+        this.parceiroId = parceiroId;
+        this.creditoUtilizado = creditoUtilizado;
+        this.ultimoMovimentoId = ultimoMovimentoId;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+
+    public void avancar(BigDecimal creditoUtilizado, Long ultimoMovimentoId) {
+        this.creditoUtilizado = creditoUtilizado;
+        this.ultimoMovimentoId = ultimoMovimentoId;
+        this.dataAtualizacao = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Fatia do limite de crédito de um parceiro (modo de crédito {@code sublimites}).
+ * A soma de {@code limite} das fatias é sempre igual a {@code parceiros.limite_credito}.
+ */
+@Entity
+@Table(name = "sublimites_credito",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sublimite_parceiro_indice", columnNames = {"parceiro_id", "indice"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = {"parceiro"}) // Evita problemas de lazy loading
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class SubLimiteCredito {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parceiro_id", nullable = false, updatable = false)
+    private Parceiro parceiro;
+
+    @Column(nullable = false, updatable = false)
+    private Integer indice;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal limite;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal utilizado;
+
+    public SubLimiteCredito(Parceiro parceiro, Integer indice, BigDecimal limite, BigDecimal utilizado) {
+        this.parceiro = parceiro;
+        this.indice = indice;
+        this.limite = limite;
+        this.utilizado = utilizado;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.vpsconsulting.orderhub.enums;
+
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public enum FormatoExportacao {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    // Aceita maiúsculas ou minúsculas (?formato=csv); ausente = NDJSON
+    public static FormatoExportacao de(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return NDJSON;
+        }
+        for (FormatoExportacao formato : values()) {
+            if (formato.name().equalsIgnoreCase(valor.trim())) {
+                return formato;
+            }
+        }
+        throw new ValidationException("Formato de exportação inválido",
+                List.of("formato deve ser ndjson ou csv"));
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.vpsconsulting.orderhub.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ModoCredito {
+    PESSIMISTA("Lock pessimista na linha do parceiro"),
+    LEDGER("Ledger de crédito em memória com persistência em background"),
+    CONDICIONAL("UPDATE condicional único (compare-and-set) na linha do parceiro"),
+    OTIMISTA("Lock otimista por versão com retentativas"),
+    SUBLIMITES("Limite dividido em fatias debitadas em paralelo, com rebalanceamento"),
+    MOVIMENTOS("Diário de movimentos append-only com snapshots periódicos do saldo");
+
+    private final String descricao;
+
+    ModoCredito(String descricao) {
+        this.descricao = descricao;
+    }
+}
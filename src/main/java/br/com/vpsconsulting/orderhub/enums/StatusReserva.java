@@ -0,0 +1,21 @@
+package br.com.vpsconsulting.orderhub.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum StatusReserva {
+    ATIVA("Ativa"),
+    CONFIRMADA("Confirmada"),
+    LIBERADA("Liberada"),
+    EXPIRADA("Expirada");
+
+    private final String descricao;
+
+    StatusReserva(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public boolean isFinalizada() {
+        return this != ATIVA;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.vpsconsulting.orderhub.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum TipoMovimentoCredito {
+    DEBITO("Débito"),
+    LIBERACAO("Liberação");
+
+    private final String descricao;
+
+    TipoMovimentoCredito(String descricao) {
+        this.descricao = descricao;
+    }
+}
@@ -68,4 +68,29 @@ public class BusinessRuleException extends OrderHubException {
                 quantidade
         );
     }
-}
\ No newline at end of file
+
+    public static BusinessRuleException reservaNaoAtiva(String publicId, String status, String operacao) {
+        return new BusinessRuleException(
+                "RESERVA_NAO_ATIVA",
+                String.format("Não é possível %s a reserva %s no status %s", operacao, publicId, status),
+                publicId, status, operacao
+        );
+    }
+
+    public static BusinessRuleException reservaExpirada(String publicId) {
+        return new BusinessRuleException(
+                "RESERVA_EXPIRADA",
+                String.format("Reserva %s expirou e não pode mais ser confirmada", publicId),
+                publicId
+        );
+    }
+
+    public static BusinessRuleException valorExcedeReserva(BigDecimal reservado, BigDecimal solicitado) {
+        return new BusinessRuleException(
+                "VALOR_EXCEDE_RESERVA",
+                String.format("Valor do pedido excede a reserva. Reservado: R$ %.2f, Pedido: R$ %.2f",
+                        reservado, solicitado),
+                reservado, solicitado
+        );
+    }
+}
@@ -23,6 +23,10 @@ public class EntityNotFoundException extends OrderHubException {
         return new EntityNotFoundException("Pedido", "publicId", publicId);
     }
 
+    public static EntityNotFoundException reserva(String publicId) {
+        return new EntityNotFoundException("Reserva de crédito", "publicId", publicId);
+    }
+
     public static EntityNotFoundException parceiroComCnpj(String cnpj) {
         return new EntityNotFoundException("Parceiro", "CNPJ", cnpj);
     }
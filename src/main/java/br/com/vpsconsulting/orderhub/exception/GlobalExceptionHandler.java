@@ -3,6 +3,7 @@ package br.com.vpsconsulting.orderhub.exception;
 import br.com.vpsconsulting.orderhub.dto.utils.ErrorResponseDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -105,6 +106,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
     }
 
+    // Espera interna que estourou o prazo: a mensagem diz se a operação pode ter sido concluída (503)
+    @ExceptionHandler(TempoEsgotadoException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTempoEsgotado(
+            TempoEsgotadoException ex, HttpServletRequest request) {
+
+        log.warn("Tempo esgotado: {}", ex.getMessage());
+
+        ErrorResponseDTO error = ErrorResponseDTO.of(
+                ex.getCodigo(),
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    // Conflito de versão que não se resolveu dentro do orçamento de retentativas (409)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+
+        log.warn("Conflito de concorrência: {}", ex.getMessage());
+
+        ErrorResponseDTO error = ErrorResponseDTO.of(
+                "CONFLITO_CONCORRENCIA",
+                "O recurso foi alterado por outra operação. Tente novamente.",
+                request.getRequestURI()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponseDTO> handleIllegalArgument(
             IllegalArgumentException ex, HttpServletRequest request) {
@@ -0,0 +1,22 @@
+package br.com.vpsconsulting.orderhub.exception;
+
+import java.time.Duration;
+
+public class TempoEsgotadoException extends OrderHubException {
+
+    public TempoEsgotadoException(String mensagem, Object... parametros) {
+        super("TEMPO_ESGOTADO", mensagem, parametros);
+    }
+
+    // Factory methods para esperas específicas
+    public static TempoEsgotadoException agrupamentoPedidos(Duration espera, boolean loteEmProcessamento) {
+        if (loteEmProcessamento) {
+            return new TempoEsgotadoException(String.format(
+                    "Tempo de espera esgotado (%d ms) com o pedido em processamento; consulte os pedidos do parceiro antes de reenviar",
+                    espera.toMillis()), espera);
+        }
+        return new TempoEsgotadoException(String.format(
+                "Tempo de espera esgotado (%d ms) antes do processamento; o pedido não foi criado. Tente novamente.",
+                espera.toMillis()), espera);
+    }
+}
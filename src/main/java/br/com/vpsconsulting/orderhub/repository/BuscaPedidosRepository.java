@@ -0,0 +1,13 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+
+import java.util.List;
+
+// Fragmento do PedidoRepository com a busca montada conforme os critérios informados
+public interface BuscaPedidosRepository {
+
+    List<CabecalhoPedidoDTO> buscarPagina(FiltroPedidosDTO filtro, CursorPaginacao posicao, int limite);
+}
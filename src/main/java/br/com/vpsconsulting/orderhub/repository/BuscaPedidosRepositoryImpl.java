@@ -0,0 +1,87 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca de pedidos por qualquer combinação de parceiro, status, período e faixa de valor, paginada
+ * por keyset em (dataCriacao, id) decrescente. Só entram no WHERE os critérios informados, para que
+ * cada combinação tenha o seu plano: parceiro usa os índices iniciados por parceiro_id, status sem
+ * parceiro usa idx_pedido_status_data_criacao_id e o resto, idx_pedido_data_criacao_id. A faixa de
+ * valor é filtro sobre as linhas lidas do índice.
+ */
+public class BuscaPedidosRepositoryImpl implements BuscaPedidosRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CabecalhoPedidoDTO> buscarPagina(FiltroPedidosDTO filtro, CursorPaginacao posicao, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CabecalhoPedidoDTO> query = cb.createQuery(CabecalhoPedidoDTO.class);
+        Root<Pedido> pedido = query.from(Pedido.class);
+        Join<Pedido, Parceiro> parceiro = pedido.join("parceiro");
+        Path<LocalDateTime> dataCriacao = pedido.get("dataCriacao");
+        Path<Long> id = pedido.get("id");
+
+        // Mesma projeção de PedidoRepository.SELECT_CABECALHO
+        query.select(cb.construct(CabecalhoPedidoDTO.class,
+                id, pedido.get("publicId"), parceiro.get("publicId"), parceiro.get("nome"), pedido.get("valorTotal"),
+                pedido.get("status"), pedido.get("observacoes"), dataCriacao, pedido.get("dataAtualizacao")));
+
+        List<Predicate> criterios = new ArrayList<>();
+        if (filtro.parceiroPublicId() != null) {
+            criterios.add(cb.equal(parceiro.get("publicId"), filtro.parceiroPublicId()));
+        }
+        if (filtro.status() != null && !filtro.status().isEmpty()) {
+            Path<StatusPedido> status = pedido.get("status");
+            criterios.add(filtro.status().size() == 1
+                    ? cb.equal(status, filtro.status().iterator().next())
+                    : status.in(filtro.status()));
+        }
+        if (filtro.dataInicio() != null) {
+            criterios.add(cb.greaterThanOrEqualTo(dataCriacao, filtro.dataInicio()));
+        }
+        if (filtro.dataFim() != null) {
+            criterios.add(cb.lessThanOrEqualTo(dataCriacao, filtro.dataFim()));
+        }
+        Path<Dinheiro> valorTotal = pedido.get("valorTotal");
+        if (filtro.valorMinimo() != null) {
+            criterios.add(cb.greaterThanOrEqualTo(valorTotal, Dinheiro.de(filtro.valorMinimo())));
+        }
+        if (filtro.valorMaximo() != null) {
+            criterios.add(cb.lessThanOrEqualTo(valorTotal, Dinheiro.de(filtro.valorMaximo())));
+        }
+
+        // Anteriores ao cursor: (dataCriacao, id) < (d, i), com o limite simples em dataCriacao
+        // que delimita a varredura no índice e descarta as partições posteriores
+        criterios.add(cb.lessThanOrEqualTo(dataCriacao, posicao.dataCriacao()));
+        criterios.add(cb.or(
+                cb.lessThan(dataCriacao, posicao.dataCriacao()),
+                cb.and(cb.equal(dataCriacao, posicao.dataCriacao()), cb.lessThan(id, posicao.id()))));
+
+        query.where(criterios.toArray(Predicate[]::new))
+                .orderBy(cb.desc(dataCriacao), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO;
+import br.com.vpsconsulting.orderhub.entity.DeltaResumoPedidos;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeltaResumoPedidosRepository extends JpaRepository<DeltaResumoPedidos, Long> {
+
+    // Lote mais antigo ainda não consolidado; SKIP LOCKED separa os lotes de instâncias concorrentes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM DeltaResumoPedidos d ORDER BY d.id")
+    List<DeltaResumoPedidos> travarPendentes(Pageable lote);
+
+    // Variações ainda não consolidadas de um parceiro, somadas por status
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO(d.status, SUM(d.quantidade), SUM(d.valor)) " +
+            "FROM DeltaResumoPedidos d WHERE d.parceiro.id = :parceiroId GROUP BY d.status")
+    List<ResumoStatusPedidosDTO> somarPendentesPorParceiro(@Param("parceiroId") Long parceiroId);
+}
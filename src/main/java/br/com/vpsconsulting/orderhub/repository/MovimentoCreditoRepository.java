@@ -0,0 +1,54 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.entity.MovimentoCredito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MovimentoCreditoRepository extends JpaRepository<MovimentoCredito, Long> {
+
+    // Primeira chave dos advisory locks do diário de crédito; a segunda é o parceiro
+    int NAMESPACE_LOCK_PARCEIRO = 0x4F480001;
+
+    // Advisory lock exclusivo do PostgreSQL por parceiro, liberado no fim da transação. Serializa a
+    // gravação dos movimentos e a compactação do mesmo parceiro sem travar nem atualizar linhas
+    default void travarParceiro(Long parceiroId) {
+        travar(NAMESPACE_LOCK_PARCEIRO, Long.hashCode(parceiroId));
+    }
+
+    // Versão compartilhada (modo ledger): não espera as outras transações compartilhadas, só a compactação
+    default void travarParceiroCompartilhado(Long parceiroId) {
+        travarCompartilhado(NAMESPACE_LOCK_PARCEIRO, Long.hashCode(parceiroId));
+    }
+
+    // Forma de duas chaves (namespace, chave), separada dos advisory locks de chave única
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:namespace, :chave)", nativeQuery = true)
+    Integer travar(@Param("namespace") int namespace, @Param("chave") int chave);
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock_shared(:namespace, :chave)", nativeQuery = true)
+    Integer travarCompartilhado(@Param("namespace") int namespace, @Param("chave") int chave);
+
+    // Saldo (débitos - liberações) dos movimentos posteriores ao snapshot
+    @Query("SELECT COALESCE(SUM(CASE WHEN m.tipo = br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito.DEBITO " +
+            "THEN m.valor ELSE -m.valor END), 0) " +
+            "FROM MovimentoCredito m WHERE m.parceiro.id = :parceiroId AND m.id > :aposMovimentoId")
+    BigDecimal somarMovimentosApos(@Param("parceiroId") Long parceiroId,
+                                   @Param("aposMovimentoId") Long aposMovimentoId);
+
+    @Query("SELECT MAX(m.id) FROM MovimentoCredito m WHERE m.parceiro.id = :parceiroId")
+    Optional<Long> buscarUltimoMovimentoId(@Param("parceiroId") Long parceiroId);
+
+    // Parceiros com movimentos ainda fora do snapshot (busca pelo índice parceiro_id, id)
+    @Query("SELECT p.id FROM Parceiro p WHERE EXISTS (SELECT 1 FROM MovimentoCredito m WHERE m.parceiro = p " +
+            "AND m.id > COALESCE((SELECT s.ultimoMovimentoId FROM SnapshotCredito s WHERE s.parceiroId = p.id), 0))")
+    List<Long> findParceiroIdsComMovimentosPendentes();
+
+    List<MovimentoCredito> findByParceiroIdOrderByIdDesc(Long parceiroId, Pageable pageable);
+}
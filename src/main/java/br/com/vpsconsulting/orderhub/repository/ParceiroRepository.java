@@ -1,13 +1,20 @@
 package br.com.vpsconsulting.orderhub.repository;
 
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoCreditoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
 import br.com.vpsconsulting.orderhub.entity.Parceiro;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +29,83 @@ public interface ParceiroRepository extends JpaRepository<Parceiro, Long> {
     @Query("SELECT p FROM Parceiro p WHERE p.publicId = :publicId")
     Optional<Parceiro> findByPublicIdWithLock(@Param("publicId") String publicId);
 
+    // Grava o saldo calculado fora do banco (ledger de crédito em memória)
+    @Modifying
+    @Query("UPDATE Parceiro p SET p.creditoUtilizado = :creditoUtilizado, p.dataAtualizacao = :dataAtualizacao, " +
+            "p.versao = p.versao + 1 WHERE p.publicId = :publicId")
+    int atualizarCreditoUtilizado(@Param("publicId") String publicId,
+                                  @Param("creditoUtilizado") Dinheiro creditoUtilizado,
+                                  @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Débito em um único statement: só afeta a linha se o parceiro estiver ativo e tiver saldo.
+    // A comparação com a diferença (limite - utilizado) tipa o parâmetro como BigDecimal, não pelo conversor
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Parceiro p SET p.creditoUtilizado = p.creditoUtilizado + :valor, p.dataAtualizacao = :dataAtualizacao, " +
+            "p.versao = p.versao + 1 WHERE p.publicId = :publicId AND p.ativo = true AND p.limiteCredito - p.creditoUtilizado >= :valor")
+    int debitarCreditoCondicional(@Param("publicId") String publicId,
+                                  @Param("valor") BigDecimal valor,
+                                  @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Liberação em um único statement, sem deixar o crédito utilizado negativo
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Parceiro p SET p.creditoUtilizado = GREATEST(p.creditoUtilizado - :valor, 0), " +
+            "p.dataAtualizacao = :dataAtualizacao, p.versao = p.versao + 1 WHERE p.publicId = :publicId")
+    int liberarCreditoCondicional(@Param("publicId") String publicId,
+                                  @Param("valor") Dinheiro valor,
+                                  @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Leitura do saldo atual direto do banco (sem passar pela entidade gerenciada)
+    @Query("SELECT p.limiteCredito - p.creditoUtilizado FROM Parceiro p WHERE p.publicId = :publicId")
+    Optional<BigDecimal> consultarCreditoDisponivel(@Param("publicId") String publicId);
+
+    // Snapshot do saldo e da versão, lido do banco para o modo otimista
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.SaldoCreditoDTO(" +
+            "p.publicId, p.limiteCredito, p.creditoUtilizado, p.ativo, p.versao) " +
+            "FROM Parceiro p WHERE p.publicId = :publicId")
+    Optional<SaldoCreditoDTO> consultarSaldoCredito(@Param("publicId") String publicId);
+
+    // Snapshot completo para o cache dados-parceiros (sem carregar a entidade no contexto de persistência)
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO(" +
+            "p.publicId, p.nome, p.cnpj, p.limiteCredito, p.creditoUtilizado, p.ativo, p.dataCriacao, p.dataAtualizacao, p.versao) " +
+            "FROM Parceiro p WHERE p.publicId = :publicId")
+    Optional<DadosParceiroDTO> buscarDadosPorPublicId(@Param("publicId") String publicId);
+
+    // Aquecimento do cache dados-parceiros: ids pelo índice idx_parceiro_ativo, snapshots por lote
+    @Query("SELECT p.id FROM Parceiro p WHERE p.ativo = true ORDER BY p.id")
+    List<Long> buscarIdsAtivos();
+
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO(" +
+            "p.publicId, p.nome, p.cnpj, p.limiteCredito, p.creditoUtilizado, p.ativo, p.dataCriacao, p.dataAtualizacao, p.versao) " +
+            "FROM Parceiro p WHERE p.id IN :ids")
+    List<DadosParceiroDTO> buscarDadosPorIds(@Param("ids") Collection<Long> ids);
+
+    // Compare-and-set pela versão: 0 linhas afetadas indica conflito com outra transação
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Parceiro p SET p.creditoUtilizado = :creditoUtilizado, p.dataAtualizacao = :dataAtualizacao, " +
+            "p.versao = p.versao + 1 WHERE p.publicId = :publicId AND p.versao = :versao")
+    int atualizarCreditoUtilizadoVersionado(@Param("publicId") String publicId,
+                                            @Param("creditoUtilizado") Dinheiro creditoUtilizado,
+                                            @Param("versao") Long versao,
+                                            @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Consolida em parceiros.credito_utilizado a soma das fatias de crédito (só linhas divergentes)
+    @Modifying
+    @Query("UPDATE Parceiro p SET p.creditoUtilizado = " +
+            "(SELECT SUM(s.utilizado) FROM SubLimiteCredito s WHERE s.parceiro = p), " +
+            "p.dataAtualizacao = :dataAtualizacao, p.versao = p.versao + 1 " +
+            "WHERE p.creditoUtilizado <> (SELECT SUM(s.utilizado) FROM SubLimiteCredito s WHERE s.parceiro = p)")
+    int sincronizarCreditoUtilizadoComSubLimites(@Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Mesma consolidação restrita aos parceiros cujas fatias mudaram
+    @Modifying
+    @Query("UPDATE Parceiro p SET p.creditoUtilizado = " +
+            "(SELECT SUM(s.utilizado) FROM SubLimiteCredito s WHERE s.parceiro = p), " +
+            "p.dataAtualizacao = :dataAtualizacao, p.versao = p.versao + 1 " +
+            "WHERE p.id IN :parceiroIds " +
+            "AND p.creditoUtilizado <> (SELECT SUM(s.utilizado) FROM SubLimiteCredito s WHERE s.parceiro = p)")
+    int sincronizarCreditoUtilizadoComSubLimites(@Param("parceiroIds") Collection<Long> parceiroIds,
+                                                 @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
     // Verifica se existe por CNPJ (para validação)
     boolean existsByCnpj(String cnpj);
 
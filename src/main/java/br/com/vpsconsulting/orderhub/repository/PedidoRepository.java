@@ -1,28 +1,72 @@
 // src/main/java/br/com/vpsconsulting/orderhub/repository/PedidoRepository.java
 package br.com.vpsconsulting.orderhub.repository;
 
+import br.com.vpsconsulting.orderhub.dto.itens.LinhaItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.LinhaExportacaoPedidoDTO;
 import br.com.vpsconsulting.orderhub.entity.Pedido;
-import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+public interface PedidoRepository extends JpaRepository<Pedido, Long>, BuscaPedidosRepository {
 
+    // Mudanças de status e cancelamento: o parceiro vem no mesmo SELECT, lido do banco, e não em um
+    // segundo SELECT na inicialização do proxy. Os itens vêm do cache de segundo nível (pedidos-itens)
+    @EntityGraph(attributePaths = "parceiro")
     Optional<Pedido> findByPublicId(String publicId);
 
-    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens WHERE p.publicId = :publicId")
-    Optional<Pedido> findByPublicIdWithItens(@Param("publicId") String publicId);
+    // Leituras da API (buscarPorId e listagem) como projeções: o DTO é montado direto do SELECT,
+    // sem entidades no contexto de persistência, proxies nem snapshots de dirty checking.
+    // Os itens vêm depois, em uma consulta para todos os pedidos (buscarItensDosPedidos).
+    // A listagem (buscarPagina) fica em BuscaPedidosRepositoryImpl, porque o WHERE depende dos filtros
+    String SELECT_CABECALHO = "SELECT new br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO(" +
+            "p.id, p.publicId, pa.publicId, pa.nome, p.valorTotal, p.status, p.observacoes, " +
+            "p.dataCriacao, p.dataAtualizacao) FROM Pedido p JOIN p.parceiro pa ";
 
-    List<Pedido> findAllByOrderByDataCriacaoDesc();
+    @Query(SELECT_CABECALHO + "WHERE p.publicId = :publicId")
+    Optional<CabecalhoPedidoDTO> buscarCabecalhoPorPublicId(@Param("publicId") String publicId);
 
-    List<Pedido> findByDataCriacaoBetweenOrderByDataCriacaoDesc(LocalDateTime dataInicio, LocalDateTime dataFim);
+    // Versão do pedido para o GET condicional: uma coluna pelo índice de public_id, sem parceiro nem itens
+    @Query("SELECT p.dataAtualizacao FROM Pedido p WHERE p.publicId = :publicId")
+    Optional<LocalDateTime> buscarDataAtualizacaoPorPublicId(@Param("publicId") String publicId);
 
-    List<Pedido> findByStatusOrderByDataCriacaoDesc(StatusPedido status);
-}
\ No newline at end of file
+    // Itens de vários pedidos em um único SELECT ... WHERE pedido_id IN (...). O intervalo de criação
+    // dos pedidos limita a busca às partições de itens_pedido desses meses
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.itens.LinhaItemPedidoDTO(" +
+            "i.pedido.id, i.id, i.produto, i.quantidade, i.precoUnitario, i.subtotal) " +
+            "FROM ItemPedido i WHERE i.pedido.id IN :pedidoIds " +
+            "AND i.dataCriacaoPedido BETWEEN :dataInicio AND :dataFim ORDER BY i.id")
+    List<LinhaItemPedidoDTO> buscarItensDosPedidos(@Param("pedidoIds") Collection<Long> pedidoIds,
+                                                   @Param("dataInicio") LocalDateTime dataInicio,
+                                                   @Param("dataFim") LocalDateTime dataFim);
+
+    // Exportação: projeção (sem entidades no contexto de persistência) lida por um cursor
+    // forward-only em lotes de fetch size. Precisa de transação aberta enquanto o Stream é consumido.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.pedidos.LinhaExportacaoPedidoDTO(" +
+            "p.publicId, pa.publicId, pa.nome, p.status, p.valorTotal, p.dataCriacao, " +
+            "i.produto, i.quantidade, i.precoUnitario, i.subtotal) " +
+            "FROM Pedido p JOIN p.parceiro pa " +
+            "LEFT JOIN p.itens i ON i.dataCriacaoPedido BETWEEN :dataInicio AND :dataFim " +
+            "WHERE p.dataCriacao BETWEEN :dataInicio AND :dataFim " +
+            "ORDER BY p.dataCriacao, p.id, i.id")
+    Stream<LinhaExportacaoPedidoDTO> streamLinhasExportacao(@Param("dataInicio") LocalDateTime dataInicio,
+                                                            @Param("dataFim") LocalDateTime dataFim);
+}
@@ -0,0 +1,31 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.entity.ReservaCredito;
+import br.com.vpsconsulting.orderhub.enums.StatusReserva;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReservaCreditoRepository extends JpaRepository<ReservaCredito, Long> {
+
+    @Query("SELECT r FROM ReservaCredito r JOIN FETCH r.parceiro WHERE r.publicId = :publicId")
+    Optional<ReservaCredito> findByPublicId(@Param("publicId") String publicId);
+
+    // Lock na linha da reserva (não do parceiro): serializa confirmar/liberar/expirar da mesma reserva
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ReservaCredito r WHERE r.publicId = :publicId")
+    Optional<ReservaCredito> findByPublicIdWithLock(@Param("publicId") String publicId);
+
+    // Varredura de segurança: reservas vencidas que a roda de expiração não processou (ex.: restart)
+    @Query("SELECT r.publicId FROM ReservaCredito r WHERE r.status = :status AND r.expiraEm <= :agora")
+    List<String> findPublicIdsByStatusAndExpiraEmAte(@Param("status") StatusReserva status,
+                                                      @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,43 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.ResumoPedidosParceiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ResumoPedidosParceiroRepository extends JpaRepository<ResumoPedidosParceiro, Long> {
+
+    // Soma (ou subtrai, com valores negativos) em um único statement, sem ler a linha: consolidações
+    // concorrentes não perdem incrementos. 0 linhas = resumo inexistente
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ResumoPedidosParceiro r SET r.quantidade = r.quantidade + :quantidade, " +
+            "r.valorTotal = r.valorTotal + :valor, r.dataAtualizacao = :dataAtualizacao " +
+            "WHERE r.parceiro.id = :parceiroId AND r.status = :status")
+    int acumular(@Param("parceiroId") Long parceiroId,
+                 @Param("status") StatusPedido status,
+                 @Param("quantidade") long quantidade,
+                 @Param("valor") Dinheiro valor,
+                 @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    // Linha zerada para parceiro anterior ao resumo; ON CONFLICT: consolidações concorrentes não colidem
+    @Modifying
+    @Query(value = "INSERT INTO resumo_pedidos_parceiro (parceiro_id, status, quantidade, valor_total, data_atualizacao) " +
+            "VALUES (:parceiroId, :status, 0, 0, :dataAtualizacao) ON CONFLICT (parceiro_id, status) DO NOTHING",
+            nativeQuery = true)
+    int criarSeAusente(@Param("parceiroId") Long parceiroId,
+                       @Param("status") String status,
+                       @Param("dataAtualizacao") LocalDateTime dataAtualizacao);
+
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO(r.status, r.quantidade, r.valorTotal) " +
+            "FROM ResumoPedidosParceiro r WHERE r.parceiro.id = :parceiroId")
+    List<ResumoStatusPedidosDTO> buscarPorParceiro(@Param("parceiroId") Long parceiroId);
+}
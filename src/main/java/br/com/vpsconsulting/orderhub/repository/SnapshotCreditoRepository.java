@@ -0,0 +1,9 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.entity.SnapshotCredito;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SnapshotCreditoRepository extends JpaRepository<SnapshotCredito, Long> {
+}
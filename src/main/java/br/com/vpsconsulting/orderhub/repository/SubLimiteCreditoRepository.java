@@ -0,0 +1,55 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoSubLimiteDTO;
+import br.com.vpsconsulting.orderhub.entity.SubLimiteCredito;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface SubLimiteCreditoRepository extends JpaRepository<SubLimiteCredito, Long> {
+
+    // Débito condicional em uma única fatia: 0 linhas afetadas indica fatia sem saldo (ou inexistente)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SubLimiteCredito s SET s.utilizado = s.utilizado + :valor " +
+            "WHERE s.parceiro.id = :parceiroId AND s.indice = :indice AND s.limite - s.utilizado >= :valor")
+    int debitar(@Param("parceiroId") Long parceiroId,
+                @Param("indice") Integer indice,
+                @Param("valor") BigDecimal valor);
+
+    // Liberação condicional em uma única fatia, sem deixar o utilizado negativo
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SubLimiteCredito s SET s.utilizado = s.utilizado - :valor " +
+            "WHERE s.parceiro.id = :parceiroId AND s.indice = :indice AND s.utilizado >= :valor")
+    int liberar(@Param("parceiroId") Long parceiroId,
+                @Param("indice") Integer indice,
+                @Param("valor") BigDecimal valor);
+
+    // Trava todas as fatias do parceiro sempre na mesma ordem (por índice) para o rebalanceamento
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.SaldoSubLimiteDTO(s.id, s.indice, s.limite, s.utilizado) " +
+            "FROM SubLimiteCredito s WHERE s.parceiro.id = :parceiroId ORDER BY s.indice")
+    List<SaldoSubLimiteDTO> travarSaldosPorParceiro(@Param("parceiroId") Long parceiroId);
+
+    // Trava só as fatias livres (SKIP LOCKED) mais as já retidas pela própria transação, sem esperar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT new br.com.vpsconsulting.orderhub.dto.parceiros.SaldoSubLimiteDTO(s.id, s.indice, s.limite, s.utilizado) " +
+            "FROM SubLimiteCredito s WHERE s.parceiro.id = :parceiroId ORDER BY s.indice")
+    List<SaldoSubLimiteDTO> travarSaldosLivresPorParceiro(@Param("parceiroId") Long parceiroId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SubLimiteCredito s SET s.limite = :limite, s.utilizado = :utilizado WHERE s.id = :id")
+    int redefinirSaldo(@Param("id") Long id,
+                       @Param("limite") BigDecimal limite,
+                       @Param("utilizado") BigDecimal utilizado);
+}
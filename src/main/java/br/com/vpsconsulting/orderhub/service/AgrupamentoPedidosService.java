@@ -0,0 +1,214 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.exception.TempoEsgotadoException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group commit da criação de pedidos: pedidos concorrentes do mesmo parceiro são reunidos
+ * durante uma janela curta (ou até o tamanho máximo do lote) e criados em uma única transação
+ * por {@link PedidoService#criarPedidosEmGrupo}. Cada chamador continua recebendo sua resposta.
+ * Não é transacional: quem espera pelo lote não segura conexão do pool. A espera tem prazo; a fila
+ * de um parceiro só existe enquanto tem pedidos pendentes ou em processamento.
+ */
+@Slf4j
+@Service
+public class AgrupamentoPedidosService {
+
+    private final PedidoService pedidoService;
+    private final PedidoProperties.Agrupamento configuracao;
+    private final ConcurrentHashMap<String, FilaParceiro> filas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService agendador;
+    private final ExecutorService processador;
+
+    public AgrupamentoPedidosService(PedidoService pedidoService, PedidoProperties pedidoProperties) {
+        this.pedidoService = pedidoService;
+        this.configuracao = pedidoProperties.getAgrupamento();
+        this.agendador = Executors.newSingleThreadScheduledExecutor(criarThreads("pedidos-agrupamento-timer"));
+        this.processador = Executors.newFixedThreadPool(
+                Math.max(1, configuracao.getThreads()), criarThreads("pedidos-agrupamento"));
+    }
+
+    public PedidoResponseDTO criarPedido(CriarPedidoDTO dto) {
+        if (!configuracao.isHabilitado()) {
+            return pedidoService.criarPedido(dto);
+        }
+
+        SolicitacaoPedido solicitacao = new SolicitacaoPedido(dto, new CompletableFuture<>());
+        FilaParceiro fila;
+        do {
+            // Uma fila encerrada já saiu do mapa: a próxima chamada cria outra
+            fila = filas.computeIfAbsent(dto.parceiroPublicId(), FilaParceiro::new);
+        } while (!fila.adicionar(solicitacao));
+
+        return aguardarResposta(fila, solicitacao);
+    }
+
+    private PedidoResponseDTO aguardarResposta(FilaParceiro fila, SolicitacaoPedido solicitacao) {
+        Duration espera = configuracao.getTempoMaximoEspera();
+        try {
+            return solicitacao.resposta().get(espera.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // Ainda na fila: sai dela e não será criado. Já no lote: o resultado é desconhecido
+            boolean emProcessamento = !fila.remover(solicitacao);
+            log.warn("Tempo de espera esgotado no agrupamento de pedidos - Parceiro: {} - Em processamento: {}",
+                    solicitacao.dto().parceiroPublicId(), emProcessamento);
+            throw TempoEsgotadoException.agrupamentoPedidos(espera, emProcessamento);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fila.remover(solicitacao);
+            throw new IllegalStateException("Espera pelo lote de pedidos interrompida", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdown();
+        processador.shutdown();
+    }
+
+    private void processarLote(String parceiroPublicId, List<SolicitacaoPedido> lote) {
+        List<CriarPedidoDTO> dtos = lote.stream().map(SolicitacaoPedido::dto).toList();
+        try {
+            List<ResultadoCriacaoPedido> resultados = pedidoService.criarPedidosEmGrupo(parceiroPublicId, dtos);
+            for (int i = 0; i < lote.size(); i++) {
+                ResultadoCriacaoPedido resultado = resultados.get(i);
+                if (resultado.isAprovado()) {
+                    lote.get(i).resposta().complete(resultado.pedido());
+                } else {
+                    lote.get(i).resposta().completeExceptionally(resultado.erro());
+                }
+            }
+        } catch (RuntimeException e) {
+            // Falha da transação inteira: nenhum pedido do lote foi gravado
+            log.error("Erro ao processar lote de {} pedido(s) do parceiro {}: {}",
+                    lote.size(), parceiroPublicId, e.getMessage(), e);
+            lote.forEach(solicitacao -> solicitacao.resposta().completeExceptionally(e));
+        }
+    }
+
+    private static ThreadFactory criarThreads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record SolicitacaoPedido(CriarPedidoDTO dto, CompletableFuture<PedidoResponseDTO> resposta) {
+    }
+
+    // Fila de um parceiro: no máximo um lote em processamento por vez
+    private class FilaParceiro {
+
+        private final String parceiroPublicId;
+        private final List<SolicitacaoPedido> pendentes = new ArrayList<>();
+        private ScheduledFuture<?> fechamentoAgendado;
+        private boolean emProcessamento;
+        private boolean encerrada;
+
+        FilaParceiro(String parceiroPublicId) {
+            this.parceiroPublicId = parceiroPublicId;
+        }
+
+        // false quando a fila já foi encerrada e removida do mapa
+        synchronized boolean adicionar(SolicitacaoPedido solicitacao) {
+            if (encerrada) {
+                return false;
+            }
+            pendentes.add(solicitacao);
+            if (emProcessamento) {
+                return true; // o lote em andamento recolhe os novos pedidos ao terminar
+            }
+            if (pendentes.size() >= configuracao.getTamanhoMaximoLote()) {
+                iniciarProcessamento();
+            } else if (fechamentoAgendado == null) {
+                fechamentoAgendado = agendador.schedule(this::fecharJanela,
+                        configuracao.getJanela().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        // true se a solicitação ainda estava pendente (nenhum lote a recolheu)
+        synchronized boolean remover(SolicitacaoPedido solicitacao) {
+            boolean removida = pendentes.removeIf(pendente -> pendente == solicitacao);
+            if (removida && pendentes.isEmpty() && !emProcessamento) {
+                if (fechamentoAgendado != null) {
+                    fechamentoAgendado.cancel(false);
+                    fechamentoAgendado = null;
+                }
+                encerrar();
+            }
+            return removida;
+        }
+
+        private synchronized void fecharJanela() {
+            fechamentoAgendado = null;
+            if (emProcessamento) {
+                return;
+            }
+            if (pendentes.isEmpty()) {
+                encerrar();
+            } else {
+                iniciarProcessamento();
+            }
+        }
+
+        private void encerrar() {
+            encerrada = true;
+            filas.remove(parceiroPublicId, this);
+        }
+
+        private void iniciarProcessamento() {
+            if (fechamentoAgendado != null) {
+                fechamentoAgendado.cancel(false);
+                fechamentoAgendado = null;
+            }
+            emProcessamento = true;
+            processador.execute(this::drenar);
+        }
+
+        private void drenar() {
+            while (true) {
+                List<SolicitacaoPedido> lote;
+                synchronized (this) {
+                    if (pendentes.isEmpty()) {
+                        emProcessamento = false;
+                        encerrar();
+                        return;
+                    }
+                    int tamanho = Math.min(pendentes.size(), configuracao.getTamanhoMaximoLote());
+                    List<SolicitacaoPedido> proximos = pendentes.subList(0, tamanho);
+                    lote = new ArrayList<>(proximos);
+                    proximos.clear();
+                }
+                processarLote(parceiroPublicId, lote);
+            }
+        }
+    }
+}
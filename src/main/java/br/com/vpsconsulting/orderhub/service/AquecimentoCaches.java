@@ -0,0 +1,161 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.AquecimentoProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquecimento dos caches na subida: os parceiros ativos vão para dados-parceiros em lotes lidos em
+ * paralelo, e os itens dos pedidos de {@code orderhub.aquecimento.pedidos} para o cache do Hibernate.
+ * Esse cache só é lido por quem carrega a entidade Pedido (mudança de status e cancelamento):
+ * GET /pedidos/{id} e a listagem usam projeções, que vão sempre ao banco e não ganham nada com ele.
+ * Roda como ApplicationRunner, antes de o Spring Boot publicar ReadinessState.ACCEPTING_TRAFFIC:
+ * até o fim do aquecimento (ou do timeout, que cancela os lotes restantes) o probe de readiness
+ * responde OUT_OF_SERVICE. Uma falha no aquecimento não impede a subida.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderhub.aquecimento.habilitado", havingValue = "true", matchIfMissing = true)
+public class AquecimentoCaches implements ApplicationRunner {
+
+    private final ParceiroRepository parceiroRepository;
+    private final PedidoRepository pedidoRepository;
+    private final CacheDadosParceiros cacheDadosParceiros;
+    private final AquecimentoProperties properties;
+    private final TransactionTemplate transacaoLeitura;
+
+    public AquecimentoCaches(ParceiroRepository parceiroRepository,
+                             PedidoRepository pedidoRepository,
+                             CacheDadosParceiros cacheDadosParceiros,
+                             AquecimentoProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.parceiroRepository = parceiroRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.cacheDadosParceiros = cacheDadosParceiros;
+        this.properties = properties;
+        // Somente leitura: com as réplicas habilitadas, o aquecimento não carrega o primário
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.nanoTime();
+        List<Long> ids;
+        try {
+            ids = transacaoLeitura.execute(status -> parceiroRepository.buscarIdsAtivos());
+        } catch (RuntimeException e) {
+            log.warn("Aquecimento dos caches ignorado - erro ao listar parceiros ativos: {}", e.getMessage());
+            return;
+        }
+
+        List<Callable<Integer>> tarefas = new ArrayList<>();
+        int tamanhoLote = Math.max(1, properties.getTamanhoLote());
+        for (int i = 0; i < ids.size(); i += tamanhoLote) {
+            List<Long> lote = ids.subList(i, Math.min(i + tamanhoLote, ids.size()));
+            tarefas.add(() -> aquecerParceiros(lote));
+        }
+        int lotes = tarefas.size();
+        for (String publicId : properties.getPedidos()) {
+            tarefas.add(() -> aquecerPedido(publicId));
+        }
+        if (tarefas.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(properties.getParalelismo(), tarefas.size())), criarThreads("aquecimento-caches"));
+        try {
+            List<Future<Integer>> resultados = executor.invokeAll(
+                    tarefas, properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            int parceiros = 0;
+            int pedidos = 0;
+            int pendentes = 0;
+            for (int i = 0; i < resultados.size(); i++) {
+                Integer aquecidos = resultado(resultados.get(i));
+                if (aquecidos == null) {
+                    pendentes++;
+                } else if (i < lotes) {
+                    parceiros += aquecidos;
+                } else {
+                    pedidos += aquecidos;
+                }
+            }
+            long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            if (pendentes > 0) {
+                log.warn("Aquecimento dos caches incompleto em {}ms - Parceiros: {}/{} - Pedidos: {}/{} - Tarefas não concluídas: {}",
+                        duracao, parceiros, ids.size(), pedidos, properties.getPedidos().size(), pendentes);
+            } else {
+                log.info("Aquecimento dos caches concluído em {}ms - Parceiros: {}/{} - Pedidos: {}/{}",
+                        duracao, parceiros, ids.size(), pedidos, properties.getPedidos().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Aquecimento dos caches interrompido");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int aquecerParceiros(List<Long> ids) {
+        List<DadosParceiroDTO> lote = transacaoLeitura.execute(status -> parceiroRepository.buscarDadosPorIds(ids));
+        lote.forEach(cacheDadosParceiros::aquecer);
+        return lote.size();
+    }
+
+    // Os itens lidos dentro da transação vão para as regiões itens-pedido e pedidos-itens, usadas pela
+    // mudança de status e pelo cancelamento; a leitura por projeção de buscarPorId não passa por elas
+    private int aquecerPedido(String publicId) {
+        return transacaoLeitura.execute(status -> pedidoRepository.findByPublicId(publicId)
+                .map(pedido -> {
+                    Hibernate.initialize(pedido.getItens());
+                    return 1;
+                })
+                .orElse(0));
+    }
+
+    // null: tarefa cancelada pelo timeout ou com erro
+    private static Integer resultado(Future<Integer> futuro) {
+        try {
+            return futuro.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Erro no aquecimento dos caches: {}", e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static ThreadFactory criarThreads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
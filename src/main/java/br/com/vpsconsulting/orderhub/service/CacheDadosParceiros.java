@@ -0,0 +1,191 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache dados-parceiros com snapshots imutáveis ({@link DadosParceiroDTO}). Quem altera crédito,
+ * status ou limite de um parceiro chama {@link #atualizarAposCommit}: depois do commit o snapshot
+ * é relido do primário e gravado no cache (write-through), sem passar por uma entrada invalidada.
+ * A releitura roda numa thread própria: a thread do pedido ainda segura a conexão da transação
+ * durante o afterCompletion, e esperar ali por uma segunda conexão pode esgotar o pool.
+ * Só parceiros já em cache são relidos. A versão do parceiro impede que um snapshot mais antigo
+ * sobrescreva um mais novo: aqui, sob um monitor; entre instâncias, na gravação condicional do segundo
+ * nível ({@link br.com.vpsconsulting.orderhub.config.ValorVersionado}). Usa só a API de {@link Cache}.
+ */
+@Slf4j
+@Component
+public class CacheDadosParceiros {
+
+    private final Cache cache;
+    private final ParceiroRepository parceiroRepository;
+    private final TransactionTemplate transacaoPrimario;
+    private final Executor releitura;
+    // Parceiros com releitura na fila: vários commits seguidos do mesmo parceiro geram uma só
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public CacheDadosParceiros(CacheManager cacheManager,
+                               ParceiroRepository parceiroRepository,
+                               PlatformTransactionManager transactionManager) {
+        this(cacheManager, parceiroRepository, transactionManager, Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "cache-dados-parceiros");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    CacheDadosParceiros(CacheManager cacheManager,
+                        ParceiroRepository parceiroRepository,
+                        PlatformTransactionManager transactionManager,
+                        Executor releitura) {
+        this.releitura = releitura;
+        this.cache = cacheManager.getCache(CarregadorDadosParceiros.CACHE);
+        this.parceiroRepository = parceiroRepository;
+        // Transação própria e não somente leitura: o snapshot vem do primário, não de uma réplica atrasada
+        this.transacaoPrimario = new TransactionTemplate(transactionManager);
+        this.transacaoPrimario.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // A carga na falta é atômica por chave: uma gravação concorrente espera e compara as versões
+    public DadosParceiroDTO buscar(String publicId) {
+        try {
+            return cache.get(publicId, () -> parceiroRepository.buscarDadosPorPublicId(publicId)
+                    .orElseThrow(() -> EntityNotFoundException.parceiro(publicId)));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Aquecimento: grava como uma carga na falta, sem substituir a entrada presente (possivelmente
+    // mais nova, de um write-through) e sem publicar invalidação para as outras instâncias
+    public void aquecer(DadosParceiroDTO dados) {
+        cache.get(dados.publicId(), () -> dados);
+    }
+
+    // Sem transação ativa (jobs em background) a atualização é imediata
+    public void atualizarAposCommit(String publicId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            atualizar(List.of(publicId));
+            return;
+        }
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacao instanceof AtualizacaoAposCommit pendente) {
+                pendente.publicIds.add(publicId);
+                return;
+            }
+        }
+        AtualizacaoAposCommit atualizacao = new AtualizacaoAposCommit();
+        atualizacao.publicIds.add(publicId);
+        TransactionSynchronizationManager.registerSynchronization(atualizacao);
+    }
+
+    // Jobs que alteram parceiros em lote, chamado depois do commit e fora de transação. Uma falha na
+    // leitura sobe para quem chamou, que repete a rodada. Os ids não dizem quem está em cache: a
+    // consulta é uma só e os parceiros fora do cache são descartados na gravação
+    public void atualizarPorIds(Collection<Long> parceiroIds) {
+        List<DadosParceiroDTO> atuais = transacaoPrimario.execute(status -> parceiroRepository.buscarDadosPorIds(parceiroIds));
+        atuais.forEach(dados -> gravar(dados.publicId(), dados));
+    }
+
+    // Alteração em todos os parceiros: as próximas leituras buscam do banco
+    public void removerTodos() {
+        cache.clear();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (releitura instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    private void agendar(Collection<String> publicIds) {
+        for (String publicId : publicIds) {
+            if (!pendentes.add(publicId)) {
+                continue;
+            }
+            try {
+                releitura.execute(() -> {
+                    // Sai da fila antes de ler: um commit durante a leitura agenda outra
+                    pendentes.remove(publicId);
+                    atualizar(List.of(publicId));
+                });
+            } catch (RejectedExecutionException e) {
+                pendentes.remove(publicId);
+                cache.evict(publicId);
+            }
+        }
+    }
+
+    // Só parceiros em cache (local ou segundo nível): quem não é consultado não custa uma leitura a cada pedido
+    private void atualizar(Collection<String> publicIds) {
+        for (String publicId : publicIds) {
+            if (cache.get(publicId) == null) {
+                continue;
+            }
+            try {
+                Optional<DadosParceiroDTO> atual = transacaoPrimario.execute(
+                        status -> parceiroRepository.buscarDadosPorPublicId(publicId));
+                gravar(publicId, atual.orElse(null));
+            } catch (RuntimeException e) {
+                // O commit já aconteceu: remove a entrada para a próxima leitura buscar do banco
+                log.warn("Erro ao atualizar cache do parceiro {} - entrada removida: {}", publicId, e.getMessage());
+                cache.evict(publicId);
+            }
+        }
+    }
+
+    // Comparação e gravação sob o mesmo monitor: duas releituras concorrentes desta instância não
+    // invertem a ordem. get não dispara a carga do cache, e espera uma carga em andamento para a mesma chave
+    private synchronized void gravar(String publicId, DadosParceiroDTO novo) {
+        if (novo == null) {
+            cache.evict(publicId);
+            return;
+        }
+        Cache.ValueWrapper atual = cache.get(publicId);
+        if (atual == null || atual.get() instanceof DadosParceiroDTO anterior && novo.maisAntigoQue(anterior)) {
+            return;
+        }
+        cache.put(publicId, novo);
+    }
+
+    // Uma por transação: vários pedidos do mesmo parceiro geram uma única releitura
+    private class AtualizacaoAposCommit implements TransactionSynchronization {
+
+        private final Set<String> publicIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                agendar(publicIds);
+            }
+        }
+    }
+}
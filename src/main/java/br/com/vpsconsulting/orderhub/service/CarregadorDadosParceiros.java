@@ -0,0 +1,37 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.CarregadorCache;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Renovação em segundo plano de dados-parceiros (CacheDadosParceiros); parceiro removido sai do cache
+@Component
+@RequiredArgsConstructor
+public class CarregadorDadosParceiros implements CarregadorCache {
+
+    public static final String CACHE = "dados-parceiros";
+
+    private final ParceiroRepository parceiroRepository;
+
+    @Override
+    public String nomeCache() {
+        return CACHE;
+    }
+
+    @Override
+    public Object carregar(Object chave) {
+        return parceiroRepository.buscarDadosPorPublicId((String) chave).orElse(null);
+    }
+
+    // A leitura pode vir de uma réplica atrasada: não desfaz um snapshot gravado após o commit
+    @Override
+    public Object recarregar(Object chave, Object atual) {
+        DadosParceiroDTO lido = (DadosParceiroDTO) carregar(chave);
+        if (lido != null && atual instanceof DadosParceiroDTO anterior && lido.maisAntigoQue(anterior)) {
+            return anterior;
+        }
+        return lido;
+    }
+}
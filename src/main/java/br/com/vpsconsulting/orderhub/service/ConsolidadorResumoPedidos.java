@@ -0,0 +1,96 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import br.com.vpsconsulting.orderhub.entity.DeltaResumoPedidos;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.repository.DeltaResumoPedidosRepository;
+import br.com.vpsconsulting.orderhub.repository.ResumoPedidosParceiroRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Soma as variações de resumo_pedidos_deltas nas linhas de resumo_pedidos_parceiro, fora da
+ * transação dos pedidos. Cada lote é uma transação: as linhas do resumo são atualizadas e
+ * exatamente as variações somadas são apagadas, então nada é contado duas vezes nem perdido.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsolidadorResumoPedidos {
+
+    private final DeltaResumoPedidosRepository deltaRepository;
+    private final ResumoPedidosParceiroRepository resumoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PedidoProperties pedidoProperties;
+
+    @Scheduled(fixedDelayString = "${orderhub.pedidos.resumo.intervalo-consolidacao:1s}")
+    public void consolidar() {
+        int tamanhoLote = pedidoProperties.getResumo().getTamanhoLoteConsolidacao();
+        try {
+            Integer consolidados;
+            do {
+                consolidados = transactionTemplate.execute(status -> consolidarLote(tamanhoLote));
+            } while (consolidados != null && consolidados == tamanhoLote);
+        } catch (RuntimeException e) {
+            // As variações do lote continuam pendentes para a próxima rodada
+            log.error("Erro ao consolidar resumo de pedidos: {}", e.getMessage(), e);
+        }
+    }
+
+    private int consolidarLote(int tamanhoLote) {
+        List<DeltaResumoPedidos> deltas = deltaRepository.travarPendentes(PageRequest.of(0, tamanhoLote));
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        // Ordenado por parceiro e status: consolidações concorrentes travam as linhas na mesma ordem
+        Map<ChaveResumo, Acumulado> porLinha = new TreeMap<>(Comparator
+                .comparing(ChaveResumo::parceiroId)
+                .thenComparing(ChaveResumo::status));
+        for (DeltaResumoPedidos delta : deltas) {
+            porLinha.computeIfAbsent(new ChaveResumo(delta.getParceiro().getId(), delta.getStatus()), chave -> new Acumulado())
+                    .somar(delta);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        porLinha.forEach((chave, acumulado) -> {
+            if (resumoRepository.acumular(chave.parceiroId(), chave.status(), acumulado.quantidade, acumulado.valor, agora) == 0) {
+                // Parceiro anterior ao resumo: a linha nasce zerada e o lote segue. Sem o histórico, até
+                // scripts/migracao-resumo-pedidos.sql rodar, que recalcula a linha a partir dos pedidos
+                log.warn("Resumo de pedidos ausente, criado sem o histórico - Parceiro: {} - Status: {}",
+                        chave.parceiroId(), chave.status());
+                resumoRepository.criarSeAusente(chave.parceiroId(), chave.status().name(), agora);
+                resumoRepository.acumular(chave.parceiroId(), chave.status(), acumulado.quantidade, acumulado.valor, agora);
+            }
+        });
+
+        deltaRepository.deleteAllInBatch(deltas);
+        log.debug("Resumo de pedidos consolidado: {} variação(ões) em {} linha(s)", deltas.size(), porLinha.size());
+        return deltas.size();
+    }
+
+    private record ChaveResumo(Long parceiroId, StatusPedido status) {
+    }
+
+    private static class Acumulado {
+
+        private long quantidade;
+        private Dinheiro valor = Dinheiro.ZERO;
+
+        void somar(DeltaResumoPedidos delta) {
+            quantidade += delta.getQuantidade();
+            valor = valor.somar(delta.getValor());
+        }
+    }
+}
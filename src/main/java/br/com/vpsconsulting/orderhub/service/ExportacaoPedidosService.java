@@ -0,0 +1,149 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.dto.pedidos.LinhaExportacaoPedidoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.FormatoExportacao;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de pedidos de um período (uma linha por item) em NDJSON ou CSV. As linhas vêm de
+ * um Stream sobre cursor JDBC e são escritas direto na saída, uma a uma: o uso de memória não
+ * depende da quantidade de pedidos no período.
+ */
+@Slf4j
+@Service
+public class ExportacaoPedidosService {
+
+    private static final String CABECALHO_CSV = "pedido,parceiro,nome_parceiro,status,valor_total,data_criacao," +
+            "produto,quantidade,preco_unitario,subtotal";
+
+    private final PedidoRepository pedidoRepository;
+    private final JsonFactory jsonFactory;
+
+    public ExportacaoPedidosService(PedidoRepository pedidoRepository, ObjectMapper objectMapper) {
+        this.pedidoRepository = pedidoRepository;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    // Chamado antes de a resposta começar, para que erros ainda virem 400
+    public void validarPeriodo(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            throw new ValidationException("Período obrigatório", List.of("dataInicio e dataFim são obrigatórios"));
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            throw new ValidationException("Período inválido", List.of("dataInicio deve ser anterior a dataFim"));
+        }
+    }
+
+    // A transação mantém o cursor aberto enquanto as linhas são escritas
+    @Transactional(readOnly = true)
+    public long exportar(LocalDateTime dataInicio, LocalDateTime dataFim, FormatoExportacao formato,
+                         OutputStream saida) throws IOException {
+        long linhas;
+        try (Stream<LinhaExportacaoPedidoDTO> stream = pedidoRepository.streamLinhasExportacao(dataInicio, dataFim)) {
+            Iterator<LinhaExportacaoPedidoDTO> iterator = stream.iterator();
+            linhas = formato == FormatoExportacao.CSV
+                    ? escreverCsv(iterator, saida)
+                    : escreverNdjson(iterator, saida);
+        }
+
+        log.info("Exportação de pedidos concluída - Período: {} até {} - Formato: {} - Linhas: {}",
+                dataInicio, dataFim, formato, linhas);
+        return linhas;
+    }
+
+    private long escreverNdjson(Iterator<LinhaExportacaoPedidoDTO> linhas, OutputStream saida) throws IOException {
+        long total = 0;
+        try (JsonGenerator gerador = jsonFactory.createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (linhas.hasNext()) {
+                LinhaExportacaoPedidoDTO linha = linhas.next();
+                gerador.writeStartObject();
+                gerador.writeStringField("pedido", linha.pedidoPublicId());
+                gerador.writeStringField("parceiro", linha.parceiroPublicId());
+                gerador.writeStringField("nomeParceiro", linha.nomeParceiro());
+                gerador.writeStringField("status", linha.status().name());
+                escreverValor(gerador, "valorTotal", linha.valorTotal());
+                gerador.writeStringField("dataCriacao", linha.dataCriacao().toString());
+                gerador.writeStringField("produto", linha.produto());
+                if (linha.quantidade() != null) {
+                    gerador.writeNumberField("quantidade", linha.quantidade());
+                } else {
+                    gerador.writeNullField("quantidade");
+                }
+                escreverValor(gerador, "precoUnitario", linha.precoUnitario());
+                escreverValor(gerador, "subtotal", linha.subtotal());
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+                total++;
+            }
+        }
+        return total;
+    }
+
+    private static void escreverValor(JsonGenerator gerador, String campo, Dinheiro valor) throws IOException {
+        if (valor != null) {
+            gerador.writeNumberField(campo, valor.toBigDecimal());
+        } else {
+            gerador.writeNullField(campo);
+        }
+    }
+
+    private long escreverCsv(Iterator<LinhaExportacaoPedidoDTO> linhas, OutputStream saida) throws IOException {
+        long total = 0;
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+        while (linhas.hasNext()) {
+            LinhaExportacaoPedidoDTO linha = linhas.next();
+            escritor.write(String.join(",",
+                    campoCsv(linha.pedidoPublicId()),
+                    campoCsv(linha.parceiroPublicId()),
+                    campoCsv(linha.nomeParceiro()),
+                    linha.status().name(),
+                    valorCsv(linha.valorTotal()),
+                    linha.dataCriacao().toString(),
+                    campoCsv(linha.produto()),
+                    linha.quantidade() != null ? linha.quantidade().toString() : "",
+                    valorCsv(linha.precoUnitario()),
+                    valorCsv(linha.subtotal())));
+            escritor.write('\n');
+            total++;
+        }
+        escritor.flush();
+        return total;
+    }
+
+    // RFC 4180: aspas quando o campo tem vírgula, aspas ou quebra de linha
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    private static String valorCsv(Dinheiro valor) {
+        return valor != null ? valor.toBigDecimal().toPlainString() : "";
+    }
+}
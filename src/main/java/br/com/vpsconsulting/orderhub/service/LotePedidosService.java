@@ -0,0 +1,101 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.LotePedidosResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.ResultadoPedidoLoteDTO;
+import br.com.vpsconsulting.orderhub.exception.OrderHubException;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criação de pedidos em lote (cargas de ERP). Os pedidos são agrupados por parceiro e cada
+ * grupo, em blocos de até {@code pedidosPorTransacao}, é criado por
+ * {@link PedidoService#criarPedidosEmGrupo}: uma transação, um débito de crédito e um saveAll
+ * por bloco. Não é transacional: a falha de um bloco não desfaz os demais.
+ */
+@Slf4j
+@Service
+public class LotePedidosService {
+
+    private final PedidoService pedidoService;
+    private final PedidoProperties.Lote configuracao;
+
+    public LotePedidosService(PedidoService pedidoService, PedidoProperties pedidoProperties) {
+        this.pedidoService = pedidoService;
+        this.configuracao = pedidoProperties.getLote();
+    }
+
+    public LotePedidosResponseDTO criarPedidos(List<CriarPedidoDTO> dtos) {
+        if (dtos.size() > configuracao.getTamanhoMaximo()) {
+            throw new ValidationException("Lote de pedidos muito grande", List.of(String.format(
+                    "O lote deve ter no máximo %d pedidos (recebidos: %d)", configuracao.getTamanhoMaximo(), dtos.size())));
+        }
+
+        // Índices dos pedidos de cada parceiro, na ordem em que chegaram
+        Map<String, List<Integer>> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            grupos.computeIfAbsent(dtos.get(i).parceiroPublicId(), parceiro -> new ArrayList<>()).add(i);
+        }
+
+        log.info("Criando lote de {} pedido(s) para {} parceiro(s)", dtos.size(), grupos.size());
+
+        ResultadoPedidoLoteDTO[] resultados = new ResultadoPedidoLoteDTO[dtos.size()];
+        int tamanhoBloco = Math.max(1, configuracao.getPedidosPorTransacao());
+        for (Map.Entry<String, List<Integer>> grupo : grupos.entrySet()) {
+            List<Integer> indices = grupo.getValue();
+            for (int inicio = 0; inicio < indices.size(); inicio += tamanhoBloco) {
+                List<Integer> bloco = indices.subList(inicio, Math.min(inicio + tamanhoBloco, indices.size()));
+                processarBloco(grupo.getKey(), bloco, dtos, resultados);
+            }
+        }
+
+        LotePedidosResponseDTO resposta = LotePedidosResponseDTO.of(Arrays.asList(resultados));
+        log.info("Lote processado - Aprovados: {} - Rejeitados: {}", resposta.aprovados(), resposta.rejeitados());
+        return resposta;
+    }
+
+    private void processarBloco(String parceiroPublicId, List<Integer> indices,
+                                List<CriarPedidoDTO> dtos, ResultadoPedidoLoteDTO[] resultados) {
+        List<CriarPedidoDTO> pedidos = indices.stream().map(dtos::get).toList();
+        try {
+            List<ResultadoCriacaoPedido> criados = pedidoService.criarPedidosEmGrupo(parceiroPublicId, pedidos);
+            for (int i = 0; i < indices.size(); i++) {
+                int indice = indices.get(i);
+                ResultadoCriacaoPedido criado = criados.get(i);
+                resultados[indice] = criado.isAprovado()
+                        ? ResultadoPedidoLoteDTO.aprovado(indice, criado.pedido())
+                        : ResultadoPedidoLoteDTO.rejeitado(indice, parceiroPublicId,
+                                criado.erro().getCodigo(), criado.erro().getMessage());
+            }
+        } catch (RuntimeException e) {
+            // Falha da transação do bloco: nenhum pedido dele foi gravado
+            log.error("Erro ao criar bloco de {} pedido(s) do parceiro {}: {}",
+                    indices.size(), parceiroPublicId, e.getMessage(), e);
+            // Mesmos códigos devolvidos pelo GlobalExceptionHandler no endpoint de pedido único
+            if (e instanceof OrderHubException orderHub) {
+                rejeitar(indices, parceiroPublicId, orderHub.getCodigo(), orderHub.getMessage(), resultados);
+            } else if (e instanceof OptimisticLockingFailureException) {
+                rejeitar(indices, parceiroPublicId, "CONFLITO_CONCORRENCIA",
+                        "O recurso foi alterado por outra operação. Tente novamente.", resultados);
+            } else {
+                rejeitar(indices, parceiroPublicId, "INTERNAL_ERROR", "Erro interno do sistema", resultados);
+            }
+        }
+    }
+
+    private static void rejeitar(List<Integer> indices, String parceiroPublicId, String erro, String mensagem,
+                                 ResultadoPedidoLoteDTO[] resultados) {
+        for (int indice : indices) {
+            resultados[indice] = ResultadoPedidoLoteDTO.rejeitado(indice, parceiroPublicId, erro, mensagem);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package br.com.vpsconsulting.orderhub.service;
 
 import br.com.vpsconsulting.orderhub.dto.parceiros.CriarParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.MovimentoCreditoDTO;
 import br.com.vpsconsulting.orderhub.dto.parceiros.ParceiroResponseDTO;
 import br.com.vpsconsulting.orderhub.entity.Parceiro;
 import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import br.com.vpsconsulting.orderhub.repository.MovimentoCreditoRepository;
 import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,14 +24,17 @@ import java.util.stream.Collectors;
 @Transactional
 public class ParceiroService {
 
+    private static final int LIMITE_MAXIMO_MOVIMENTOS = 1000;
+
     private final ParceiroRepository parceiroRepository;
+    private final MovimentoCreditoRepository movimentoCreditoRepository;
+    private final ResumoPedidosService resumoPedidosService;
+    private final CacheDadosParceiros cacheDadosParceiros;
 
-    // Buscar parceiro por publicId (para consultas read-only - mantém cache)
-    @Cacheable("dados-parceiros")
+    // Buscar parceiro por publicId (para consultas read-only - snapshot do cache dados-parceiros)
     @Transactional(readOnly = true)
-    public Parceiro buscarPorPublicId(String publicId) {
-        return parceiroRepository.findByPublicId(publicId)
-                .orElseThrow(() -> EntityNotFoundException.parceiro(publicId));
+    public DadosParceiroDTO buscarPorPublicId(String publicId) {
+        return cacheDadosParceiros.buscar(publicId);
     }
 
     // Criar novo parceiro
@@ -37,6 +44,7 @@ public class ParceiroService {
         Parceiro parceiro = new Parceiro(dto.nome(), dto.cnpj(), dto.limiteCredito());
 
         parceiro = parceiroRepository.save(parceiro);
+        resumoPedidosService.inicializar(parceiro);
 
         log.info("Parceiro criado com sucesso. PublicId: {}", parceiro.getPublicId());
 
@@ -51,4 +59,21 @@ public class ParceiroService {
                 .map(ParceiroResponseDTO::from)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Histórico de crédito (modo de crédito movimentos), do mais recente para o mais antigo
+    @Transactional(readOnly = true)
+    public List<MovimentoCreditoDTO> listarMovimentosCredito(String publicId, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_MOVIMENTOS) {
+            throw new ValidationException("Limite inválido",
+                    List.of(String.format("limite deve estar entre 1 e %d", LIMITE_MAXIMO_MOVIMENTOS)));
+        }
+
+        Parceiro parceiro = parceiroRepository.findByPublicId(publicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(publicId));
+
+        return movimentoCreditoRepository.findByParceiroIdOrderByIdDesc(parceiro.getId(), PageRequest.of(0, limite))
+                .stream()
+                .map(MovimentoCreditoDTO::from)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantém as partições mensais de {@code pedidos} e {@code itens_pedido} (por {@code data_criacao}):
+ * cria as dos próximos meses antes que recebam pedidos e desanexa as que saíram da janela de
+ * retenção. Desanexada, a partição vira uma tabela avulsa, fora dos índices, do vacuum e das
+ * consultas da aplicação, que pode ser arquivada ou removida.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "orderhub.pedidos.particionamento.habilitado", havingValue = "true")
+public class ParticionamentoPedidosService {
+
+    // Itens primeiro: a FK de itens_pedido impede desanexar um mês de pedidos ainda referenciado
+    private static final List<String> TABELAS_DESANEXACAO = List.of("itens_pedido", "pedidos");
+    private static final List<String> TABELAS_CRIACAO = List.of("pedidos", "itens_pedido");
+
+    private static final String FK_ITENS_PEDIDO = "fk_itens_pedido_pedido";
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PedidoProperties.Particionamento configuracao;
+
+    public ParticionamentoPedidosService(JdbcTemplate jdbcTemplate, PedidoProperties pedidoProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.configuracao = pedidoProperties.getParticionamento();
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.pedidos.particionamento.intervalo-manutencao:6h}")
+    public void manterParticoes() {
+        YearMonth atual = YearMonth.now();
+        criarParticoesFuturas(atual);
+        if (configuracao.getMesesRetencao() > 0) {
+            desanexarParticoesAntigas(atual.minusMonths(configuracao.getMesesRetencao()));
+        }
+    }
+
+    void criarParticoesFuturas(YearMonth atual) {
+        for (int i = 0; i <= configuracao.getMesesAFrente(); i++) {
+            YearMonth mes = atual.plusMonths(i);
+            for (String tabela : TABELAS_CRIACAO) {
+                executar(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                        particao(tabela, mes), tabela, mes.atDay(1), mes.plusMonths(1).atDay(1)));
+            }
+        }
+    }
+
+    // Desanexa os meses anteriores a limite, do mais antigo para o mais recente
+    void desanexarParticoesAntigas(YearMonth limite) {
+        TreeSet<YearMonth> meses = new TreeSet<>();
+        for (String tabela : TABELAS_DESANEXACAO) {
+            Pattern particaoMensal = Pattern.compile(Pattern.quote(tabela) + "_p(\\d{4})_(\\d{2})");
+            for (String particao : listarParticoes(tabela)) {
+                Matcher matcher = particaoMensal.matcher(particao);
+                if (matcher.matches()) {
+                    YearMonth mes = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                    if (mes.isBefore(limite)) {
+                        meses.add(mes);
+                    }
+                }
+            }
+        }
+
+        for (YearMonth mes : meses) {
+            for (String tabela : TABELAS_DESANEXACAO) {
+                String particao = particao(tabela, mes);
+                if (!listarParticoes(tabela).contains(particao)) {
+                    continue;
+                }
+                if (!executar(String.format("ALTER TABLE %s DETACH PARTITION %s", tabela, particao))) {
+                    break;
+                }
+                if (tabela.equals("itens_pedido")) {
+                    // A tabela avulsa mantém uma cópia da FK, que ainda apontaria para o mês de pedidos
+                    executar(String.format("ALTER TABLE %s DROP CONSTRAINT IF EXISTS %s", particao, FK_ITENS_PEDIDO));
+                }
+                log.info("Partição {} desanexada de {}", particao, tabela);
+            }
+        }
+    }
+
+    private List<String> listarParticoes(String tabela) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?", String.class, tabela);
+    }
+
+    private boolean executar(String ddl) {
+        try {
+            jdbcTemplate.execute(ddl);
+            return true;
+        } catch (DataAccessException e) {
+            // Ex.: linhas do mês na partição default; a próxima rodada tenta de novo
+            log.error("Falha na manutenção de partições - {}: {}", ddl, e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+
+    private static String particao(String tabela, YearMonth mes) {
+        return tabela + "_p" + mes.format(SUFIXO);
+    }
+}
@@ -1,25 +1,39 @@
 package br.com.vpsconsulting.orderhub.service;
 
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
 import br.com.vpsconsulting.orderhub.dto.pedidos.AtualizarStatusDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
 import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
 import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.itens.LinhaItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+import br.com.vpsconsulting.orderhub.dto.utils.PaginacaoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
 import br.com.vpsconsulting.orderhub.entity.ItemPedido;
 import br.com.vpsconsulting.orderhub.entity.Parceiro;
 import br.com.vpsconsulting.orderhub.entity.Pedido;
 import br.com.vpsconsulting.orderhub.enums.StatusPedido;
 import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
 import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
 import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
 import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.service.credito.GestorCredito;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -32,89 +46,221 @@ public class PedidoService {
     private final ParceiroRepository parceiroRepository;
     private final ParceiroService parceiroService;
     private final NotificacaoService notificacaoService;
+    private final GestorCredito gestorCredito;
+    private final PedidoProperties pedidoProperties;
+    private final ResumoPedidosService resumoPedidosService;
+    private final CacheDadosParceiros cacheDadosParceiros;
 
     public PedidoResponseDTO criarPedido(CriarPedidoDTO dto) {
         log.info("Criando pedido para parceiro: {}", dto.parceiroPublicId());
 
-        // OPERAÇÃO ATÔMICA: buscar parceiro com lock para operação de crédito
-        Parceiro parceiro = parceiroRepository.findByPublicIdWithLock(dto.parceiroPublicId())
-                .orElseThrow(() -> EntityNotFoundException.parceiro(dto.parceiroPublicId()));
+        // OPERAÇÃO ATÔMICA: carregar parceiro conforme o modo de crédito configurado
+        Parceiro parceiro = gestorCredito.carregarParceiro(dto.parceiroPublicId());
 
         // Verificar se parceiro está ativo
         if (!parceiro.getAtivo()) {
             throw BusinessRuleException.parceiroInativo(dto.parceiroPublicId());
         }
 
-        // Criar pedido
-        Pedido pedido = new Pedido(parceiro);
-        pedido.setObservacoes(dto.observacoes());
+        // Criar pedido com itens e valor total calculado
+        Pedido pedido = montarPedido(parceiro, dto);
 
-        // Adicionar itens
-        for (ItemPedidoDTO itemDto : dto.itens()) {
-            ItemPedido item = new ItemPedido(
-                    pedido,
-                    itemDto.produto(),
-                    itemDto.quantidade(),
-                    itemDto.precoUnitario()
-            );
-            pedido.adicionarItem(item);
+        // VERIFICAÇÃO E DÉBITO ATÔMICOS (delegados ao gestor de crédito)
+        gestorCredito.debitar(parceiro, pedido.getValorTotalDinheiro());
+        cacheDadosParceiros.atualizarAposCommit(parceiro.getPublicId());
+
+        // Definir pedido como APROVADO já que o crédito foi debitado
+        pedido.atualizarStatus(StatusPedido.APROVADO);
+
+        // Salvar pedido
+        pedido = pedidoRepository.save(pedido);
+        resumoPedidosService.registrarCriacao(pedido);
+
+        log.info("Pedido criado e aprovado com sucesso. PublicId: {} - Valor debitado: {} - Modo de crédito: {}",
+                pedido.getPublicId(), pedido.getValorTotal(), gestorCredito.getModo());
+
+        return convertToResponseDTO(pedido);
+    }
+
+    // Cria vários pedidos do mesmo parceiro em uma única transação (group commit / lote).
+    // O parceiro é carregado uma vez e o crédito do grupo é debitado de uma só vez; se o saldo
+    // não cobre o grupo inteiro, cada pedido é aprovado ou rejeitado na ordem recebida, contra
+    // o saldo corrente. Rejeições individuais não desfazem os pedidos aprovados.
+    public List<ResultadoCriacaoPedido> criarPedidosEmGrupo(String parceiroPublicId, List<CriarPedidoDTO> dtos) {
+        log.info("Criando {} pedido(s) em grupo para parceiro: {}", dtos.size(), parceiroPublicId);
+
+        Parceiro parceiro;
+        try {
+            parceiro = gestorCredito.carregarParceiro(parceiroPublicId);
+        } catch (EntityNotFoundException e) {
+            return dtos.stream().map(dto -> ResultadoCriacaoPedido.rejeitado(e)).collect(Collectors.toList());
         }
 
-        // Calcular valor total
-        pedido.calcularValorTotal();
+        if (!parceiro.getAtivo()) {
+            BusinessRuleException inativo = BusinessRuleException.parceiroInativo(parceiroPublicId);
+            return dtos.stream().map(dto -> ResultadoCriacaoPedido.rejeitado(inativo)).collect(Collectors.toList());
+        }
 
-        // VERIFICAÇÃO E DÉBITO ATÔMICOS (com o parceiro já locked)
-        if (!parceiro.temCreditoDisponivel(pedido.getValorTotal())) {
-            throw BusinessRuleException.creditoInsuficiente(
-                    parceiro.getCreditoDisponivel(),
-                    pedido.getValorTotal()
-            );
+        // Recusas por pedido, no débito: nenhuma fica para o commit do grupo
+        gestorCredito.prepararDebitosEmGrupo(parceiro);
+
+        Pedido[] montados = new Pedido[dtos.size()];
+        Pedido[] aprovados = new Pedido[dtos.size()];
+        BusinessRuleException[] rejeicoes = new BusinessRuleException[dtos.size()];
+
+        long totalCentavos = 0;
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                // Status definido antes do débito: só pedidos com crédito debitado são gravados
+                Pedido pedido = montarPedido(parceiro, dtos.get(i));
+                pedido.atualizarStatus(StatusPedido.APROVADO);
+                montados[i] = pedido;
+                totalCentavos = Math.addExact(totalCentavos, montados[i].getValorTotalDinheiro().getCentavos());
+            } catch (BusinessRuleException e) {
+                rejeicoes[i] = e;
+            }
         }
 
-        // Debitar crédito imediatamente (operação atômica)
-        parceiro.utilizarCredito(pedido.getValorTotal());
-        parceiroRepository.save(parceiro);
+        boolean debitadoEmGrupo = debitarGrupo(parceiro, Dinheiro.deCentavos(totalCentavos));
 
-        // Definir pedido como APROVADO já que o crédito foi debitado
-        pedido.atualizarStatus(StatusPedido.APROVADO);
+        for (int i = 0; i < dtos.size(); i++) {
+            if (montados[i] == null) {
+                continue;
+            }
+            try {
+                if (!debitadoEmGrupo) {
+                    gestorCredito.debitar(parceiro, montados[i].getValorTotalDinheiro());
+                }
+                aprovados[i] = montados[i];
+            } catch (BusinessRuleException e) {
+                rejeicoes[i] = e;
+            }
+        }
 
-        // Salvar pedido
+        // Todos os pedidos aprovados são gravados juntos, no mesmo commit
+        List<Pedido> gravados = pedidoRepository.saveAll(Arrays.stream(aprovados).filter(Objects::nonNull).collect(Collectors.toList()));
+        resumoPedidosService.registrarCriacoes(parceiro, gravados);
+        if (!gravados.isEmpty()) {
+            cacheDadosParceiros.atualizarAposCommit(parceiroPublicId);
+        }
+
+        List<ResultadoCriacaoPedido> resultados = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            resultados.add(aprovados[i] != null
+                    ? ResultadoCriacaoPedido.aprovado(convertToResponseDTO(aprovados[i]))
+                    : ResultadoCriacaoPedido.rejeitado(rejeicoes[i]));
+        }
+
+        log.info("Grupo do parceiro {} processado - Aprovados: {} - Rejeitados: {}", parceiroPublicId,
+                resultados.stream().filter(ResultadoCriacaoPedido::isAprovado).count(),
+                resultados.stream().filter(r -> !r.isAprovado()).count());
+
+        return resultados;
+    }
+
+    // Cria pedido já aprovado contra crédito bloqueado por uma reserva: sem carregar o parceiro
+    // pelo gestor de crédito nem debitar novamente, apenas confere se o total cabe no valor reservado
+    public PedidoResponseDTO criarPedidoComCreditoReservado(Parceiro parceiro, CriarPedidoDTO dto, BigDecimal valorReservado) {
+        Pedido pedido = montarPedido(parceiro, dto);
+
+        if (pedido.getValorTotalDinheiro().compareTo(Dinheiro.de(valorReservado)) > 0) {
+            throw BusinessRuleException.valorExcedeReserva(valorReservado, pedido.getValorTotal());
+        }
+
+        pedido.atualizarStatus(StatusPedido.APROVADO);
         pedido = pedidoRepository.save(pedido);
+        resumoPedidosService.registrarCriacao(pedido);
 
-        log.info("Pedido criado e aprovado com sucesso. PublicId: {} - Crédito restante: {}",
-                pedido.getPublicId(), parceiro.getCreditoDisponivel());
+        log.info("Pedido criado a partir de reserva de crédito. PublicId: {} - Valor: {} - Reservado: {}",
+                pedido.getPublicId(), pedido.getValorTotal(), valorReservado);
 
         return convertToResponseDTO(pedido);
     }
 
     @Transactional(readOnly = true)
     public PedidoResponseDTO buscarPorId(String publicId) {
-        Pedido pedido = pedidoRepository.findByPublicIdWithItens(publicId)
+        CabecalhoPedidoDTO pedido = pedidoRepository.buscarCabecalhoPorPublicId(publicId)
                 .orElseThrow(() -> EntityNotFoundException.pedido(publicId));
 
-        return convertToResponseDTO(pedido);
+        return montarRespostas(List.of(pedido)).get(0);
     }
 
     @Transactional(readOnly = true)
-    public List<PedidoResponseDTO> buscarPedidos(LocalDateTime dataInicio, LocalDateTime dataFim, StatusPedido status) {
-        List<Pedido> pedidos;
-
-        if (dataInicio != null && dataFim != null) {
-            log.info("Buscando pedidos por período: {} até {}", dataInicio, dataFim);
-            pedidos = pedidoRepository.findByDataCriacaoBetweenOrderByDataCriacaoDesc(dataInicio, dataFim);
-        } else if (status != null) {
-            log.info("Buscando pedidos por status: {}", status);
-            pedidos = pedidoRepository.findByStatusOrderByDataCriacaoDesc(status);
-        } else {
-            log.info("Buscando todos os pedidos");
-            pedidos = pedidoRepository.findAllByOrderByDataCriacaoDesc();
+    public LocalDateTime buscarDataAtualizacao(String publicId) {
+        return pedidoRepository.buscarDataAtualizacaoPorPublicId(publicId)
+                .orElseThrow(() -> EntityNotFoundException.pedido(publicId));
+    }
+
+    @Transactional(readOnly = true)
+    public PaginacaoDTO<PedidoResponseDTO> buscarPedidos(FiltroPedidosDTO filtro, String cursor, Integer tamanho) {
+        int tamanhoPagina = validarTamanhoPagina(tamanho);
+        validarFiltro(filtro);
+        CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+
+        log.info("Buscando pedidos - Filtro: {}", filtro);
+        // Um registro a mais indica se há próxima página
+        List<CabecalhoPedidoDTO> pedidos = pedidoRepository.buscarPagina(filtro, posicao, tamanhoPagina + 1);
+
+        CursorPaginacao proximoCursor = null;
+        if (pedidos.size() > tamanhoPagina) {
+            pedidos = pedidos.subList(0, tamanhoPagina);
+            CabecalhoPedidoDTO ultimo = pedidos.get(tamanhoPagina - 1);
+            proximoCursor = new CursorPaginacao(ultimo.dataCriacao(), ultimo.id());
+        }
+
+        return PaginacaoDTO.of(montarRespostas(pedidos), proximoCursor);
+    }
+
+    // Junta aos pedidos os itens de todos eles, buscados em uma única consulta
+    private List<PedidoResponseDTO> montarRespostas(List<CabecalhoPedidoDTO> pedidos) {
+        if (pedidos.isEmpty()) {
+            return List.of();
         }
+        List<Long> ids = new ArrayList<>(pedidos.size());
+        LocalDateTime primeiraCriacao = LocalDateTime.MAX;
+        LocalDateTime ultimaCriacao = LocalDateTime.MIN;
+        for (CabecalhoPedidoDTO pedido : pedidos) {
+            ids.add(pedido.id());
+            primeiraCriacao = pedido.dataCriacao().isBefore(primeiraCriacao) ? pedido.dataCriacao() : primeiraCriacao;
+            ultimaCriacao = pedido.dataCriacao().isAfter(ultimaCriacao) ? pedido.dataCriacao() : ultimaCriacao;
+        }
+
+        Map<Long, List<ItemPedidoResponseDTO>> itensPorPedido = pedidoRepository
+                .buscarItensDosPedidos(ids, primeiraCriacao, ultimaCriacao).stream()
+                .collect(Collectors.groupingBy(LinhaItemPedidoDTO::pedidoId,
+                        Collectors.mapping(LinhaItemPedidoDTO::paraResposta, Collectors.toList())));
 
         return pedidos.stream()
-                .map(this::convertToResponseDTO)
+                .map(pedido -> pedido.comItens(itensPorPedido.getOrDefault(pedido.id(), List.of())))
                 .collect(Collectors.toList());
     }
 
+    private void validarFiltro(FiltroPedidosDTO filtro) {
+        List<String> erros = new ArrayList<>();
+        if (filtro.dataInicio() != null && filtro.dataFim() != null && filtro.dataInicio().isAfter(filtro.dataFim())) {
+            erros.add("dataInicio deve ser anterior a dataFim");
+        }
+        if (filtro.valorMinimo() != null && filtro.valorMaximo() != null
+                && filtro.valorMinimo().compareTo(filtro.valorMaximo()) > 0) {
+            erros.add("valorMinimo deve ser menor ou igual a valorMaximo");
+        }
+        if (!erros.isEmpty()) {
+            throw new ValidationException("Filtro de pedidos inválido", erros);
+        }
+    }
+
+    private int validarTamanhoPagina(Integer tamanho) {
+        PedidoProperties.Paginacao paginacao = pedidoProperties.getPaginacao();
+        if (tamanho == null) {
+            return paginacao.getTamanhoPadrao();
+        }
+        if (tamanho < 1 || tamanho > paginacao.getTamanhoMaximo()) {
+            throw new ValidationException("Tamanho de página inválido",
+                    List.of(String.format("tamanho deve estar entre 1 e %d", paginacao.getTamanhoMaximo())));
+        }
+        return tamanho;
+    }
+
     public PedidoResponseDTO atualizarStatus(String publicId, AtualizarStatusDTO dto) {
         log.info("Atualizando status do pedido {} para {}", publicId, dto.status());
 
@@ -128,6 +274,7 @@ public class PedidoService {
             // Atualizar status simples (EM_PROCESSAMENTO, ENVIADO, ENTREGUE)
             pedido.atualizarStatus(dto.status());
             pedido = pedidoRepository.save(pedido);
+            resumoPedidosService.registrarTransicao(pedido, statusAnterior);
         } else {
             // Para operações que envolvem crédito, usar lock
             return atualizarStatusComCredito(publicId, dto, statusAnterior);
@@ -147,33 +294,25 @@ public class PedidoService {
         // Extrair publicId do parceiro para usar na lambda
         String parceiroPublicId = pedido.getParceiro().getPublicId();
 
-        // Buscar parceiro com lock para operações de crédito
-        Parceiro parceiro = parceiroRepository.findByPublicIdWithLock(parceiroPublicId)
-                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+        // Buscar parceiro para operações de crédito (lock conforme o modo configurado)
+        Parceiro parceiro = gestorCredito.carregarParceiro(parceiroPublicId);
 
-        // Aprovar pedido pendente
+        // Aprovar pedido pendente: verificar crédito e debitar
         if (dto.status() == StatusPedido.APROVADO && statusAnterior == StatusPedido.PENDENTE) {
-            // Verificar crédito e debitar
-            if (!parceiro.temCreditoDisponivel(pedido.getValorTotal())) {
-                throw BusinessRuleException.creditoInsuficiente(
-                        parceiro.getCreditoDisponivel(),
-                        pedido.getValorTotal()
-                );
-            }
-            parceiro.utilizarCredito(pedido.getValorTotal());
-            parceiroRepository.save(parceiro);
+            gestorCredito.debitar(parceiro, pedido.getValorTotalDinheiro());
+            cacheDadosParceiros.atualizarAposCommit(parceiroPublicId);
         }
 
-        // Cancelar pedido aprovado
+        // Cancelar pedido aprovado: liberar crédito
         if (dto.status() == StatusPedido.CANCELADO && statusAnterior == StatusPedido.APROVADO) {
-            // Liberar crédito
-            parceiro.liberarCredito(pedido.getValorTotal());
-            parceiroRepository.save(parceiro);
+            gestorCredito.liberar(parceiro, pedido.getValorTotalDinheiro());
+            cacheDadosParceiros.atualizarAposCommit(parceiroPublicId);
         }
 
         // Atualizar status do pedido
         pedido.atualizarStatus(dto.status());
         pedido = pedidoRepository.save(pedido);
+        resumoPedidosService.registrarTransicao(pedido, statusAnterior);
 
         // Notificação para mudanças de status
         notificacaoService.notificarMudancaStatus(pedido, statusAnterior, dto.status());
@@ -194,21 +333,21 @@ public class PedidoService {
             // Extrair publicId do parceiro para usar na lambda
             String parceiroPublicId = pedido.getParceiro().getPublicId();
 
-            // Buscar parceiro com lock para operação de crédito
-            Parceiro parceiro = parceiroRepository.findByPublicIdWithLock(parceiroPublicId)
-                    .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+            // Buscar parceiro para operação de crédito (lock conforme o modo configurado)
+            Parceiro parceiro = gestorCredito.carregarParceiro(parceiroPublicId);
 
             // Liberar crédito
-            parceiro.liberarCredito(pedido.getValorTotal());
-            parceiroRepository.save(parceiro);
+            gestorCredito.liberar(parceiro, pedido.getValorTotalDinheiro());
+            cacheDadosParceiros.atualizarAposCommit(parceiroPublicId);
 
-            log.info("Crédito liberado no cancelamento - Parceiro: {} - Valor: {} - Crédito disponível: {}",
-                    parceiro.getPublicId(), pedido.getValorTotal(), parceiro.getCreditoDisponivel());
+            log.info("Crédito liberado no cancelamento - Parceiro: {} - Valor: {} - Modo de crédito: {}",
+                    parceiro.getPublicId(), pedido.getValorTotal(), gestorCredito.getModo());
         }
 
         // Cancelar pedido
         pedido.cancelar();
         pedido = pedidoRepository.save(pedido);
+        resumoPedidosService.registrarTransicao(pedido, statusAnterior);
 
         // Notificação para mudanças de status
         notificacaoService.notificarMudancaStatus(pedido, statusAnterior, StatusPedido.CANCELADO);
@@ -216,6 +355,42 @@ public class PedidoService {
         return convertToResponseDTO(pedido);
     }
 
+    // Uma única operação de crédito para o grupo; false quando o saldo não cobre todos os pedidos
+    private boolean debitarGrupo(Parceiro parceiro, Dinheiro total) {
+        if (!total.isPositivo()) {
+            return false;
+        }
+        try {
+            gestorCredito.debitar(parceiro, total);
+            return true;
+        } catch (BusinessRuleException e) {
+            log.debug("Débito do grupo recusado para parceiro {} ({}); debitando pedido a pedido",
+                    parceiro.getPublicId(), e.getCodigo());
+            return false;
+        }
+    }
+
+    private Pedido montarPedido(Parceiro parceiro, CriarPedidoDTO dto) {
+        Pedido pedido = new Pedido(parceiro);
+        pedido.setObservacoes(dto.observacoes());
+
+        // Adicionar itens
+        for (ItemPedidoDTO itemDto : dto.itens()) {
+            ItemPedido item = new ItemPedido(
+                    pedido,
+                    itemDto.produto(),
+                    itemDto.quantidade(),
+                    itemDto.precoUnitario()
+            );
+            pedido.adicionarItem(item);
+        }
+
+        // Calcular valor total
+        pedido.calcularValorTotal();
+
+        return pedido;
+    }
+
     private PedidoResponseDTO convertToResponseDTO(Pedido pedido) {
         List<ItemPedidoResponseDTO> itensDto = pedido.getItens().stream()
                 .map(item -> new ItemPedidoResponseDTO(
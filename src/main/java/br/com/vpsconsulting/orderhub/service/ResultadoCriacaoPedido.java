@@ -0,0 +1,22 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.exception.OrderHubException;
+
+// Resultado individual de um pedido processado dentro de um lote
+public record ResultadoCriacaoPedido(
+        PedidoResponseDTO pedido,
+        OrderHubException erro
+) {
+    public static ResultadoCriacaoPedido aprovado(PedidoResponseDTO pedido) {
+        return new ResultadoCriacaoPedido(pedido, null);
+    }
+
+    public static ResultadoCriacaoPedido rejeitado(OrderHubException erro) {
+        return new ResultadoCriacaoPedido(null, erro);
+    }
+
+    public boolean isAprovado() {
+        return erro == null;
+    }
+}
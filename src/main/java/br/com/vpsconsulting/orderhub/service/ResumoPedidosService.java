@@ -0,0 +1,98 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoPedidosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO;
+import br.com.vpsconsulting.orderhub.entity.DeltaResumoPedidos;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.entity.ResumoPedidosParceiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.DeltaResumoPedidosRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.ResumoPedidosParceiroRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a tabela resumo_pedidos_parceiro (quantidade e valor por parceiro e status). Os métodos
+ * registrar* rodam na transação de quem grava o pedido e só inserem variações em
+ * resumo_pedidos_deltas, sem disputar a linha do status com os outros pedidos do parceiro; o
+ * {@link ConsolidadorResumoPedidos} as soma no resumo. A consulta soma o resumo às variações ainda
+ * pendentes, lidos no mesmo snapshot, então nunca diverge dos pedidos confirmados.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ResumoPedidosService {
+
+    private final ResumoPedidosParceiroRepository resumoRepository;
+    private final DeltaResumoPedidosRepository deltaRepository;
+    private final ParceiroRepository parceiroRepository;
+
+    // Linhas zeradas para todos os status: a consolidação só faz UPDATE, sem corrida na inserção
+    public void inicializar(Parceiro parceiro) {
+        resumoRepository.saveAll(Arrays.stream(StatusPedido.values())
+                .map(status -> new ResumoPedidosParceiro(parceiro, status, 0L, Dinheiro.ZERO))
+                .collect(Collectors.toList()));
+    }
+
+    public void registrarCriacao(Pedido pedido) {
+        deltaRepository.save(new DeltaResumoPedidos(
+                pedido.getParceiro(), pedido.getStatus(), 1, pedido.getValorTotalDinheiro()));
+    }
+
+    // Pedidos do mesmo parceiro gravados juntos: uma variação por status
+    public void registrarCriacoes(Parceiro parceiro, List<Pedido> pedidos) {
+        Map<StatusPedido, List<Pedido>> porStatus = pedidos.stream()
+                .collect(Collectors.groupingBy(Pedido::getStatus, () -> new EnumMap<>(StatusPedido.class), Collectors.toList()));
+        List<DeltaResumoPedidos> deltas = new ArrayList<>();
+        porStatus.forEach((status, doStatus) -> deltas.add(new DeltaResumoPedidos(parceiro, status, doStatus.size(),
+                doStatus.stream().map(Pedido::getValorTotalDinheiro).reduce(Dinheiro.ZERO, Dinheiro::somar))));
+        deltaRepository.saveAll(deltas);
+    }
+
+    public void registrarTransicao(Pedido pedido, StatusPedido statusAnterior) {
+        if (statusAnterior == pedido.getStatus()) {
+            return;
+        }
+        Dinheiro valor = pedido.getValorTotalDinheiro();
+        deltaRepository.saveAll(List.of(
+                new DeltaResumoPedidos(pedido.getParceiro(), statusAnterior, -1, Dinheiro.ZERO.subtrair(valor)),
+                new DeltaResumoPedidos(pedido.getParceiro(), pedido.getStatus(), 1, valor)));
+    }
+
+    // Todos os status, na ordem do ciclo de vida do pedido; status sem linha aparecem zerados.
+    // REPEATABLE READ: um lote consolidado entre as duas leituras sairia das variações sem aparecer no resumo
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ResumoPedidosParceiroDTO buscarResumo(String parceiroPublicId) {
+        Parceiro parceiro = parceiroRepository.findByPublicId(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+
+        Map<StatusPedido, ResumoStatusPedidosDTO> gravados = new EnumMap<>(StatusPedido.class);
+        for (ResumoStatusPedidosDTO resumo : resumoRepository.buscarPorParceiro(parceiro.getId())) {
+            gravados.put(resumo.status(), resumo);
+        }
+        for (ResumoStatusPedidosDTO pendente : deltaRepository.somarPendentesPorParceiro(parceiro.getId())) {
+            gravados.merge(pendente.status(), pendente, ResumoStatusPedidosDTO::somar);
+        }
+
+        List<ResumoStatusPedidosDTO> porStatus = new ArrayList<>();
+        for (StatusPedido status : StatusPedido.values()) {
+            porStatus.add(gravados.getOrDefault(status,
+                    new ResumoStatusPedidosDTO(status, 0L, BigDecimal.ZERO.setScale(2))));
+        }
+        return ResumoPedidosParceiroDTO.of(parceiroPublicId, porStatus);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saldo em memória de um parceiro, em centavos, dividido em faixas (stripes).
+ * Débitos e liberações usam CAS na faixa sorteada; só quando nenhuma faixa isolada
+ * tem saldo suficiente o débito passa pela consolidação, que é serializada por conta.
+ * Uma mudança no limite do parceiro soma a diferença ao saldo, sem recriar a conta.
+ * Saldo negativo (limite reduzido abaixo do utilizado) fica todo na faixa 0, com as demais zeradas;
+ * enquanto ela estiver negativa nenhum débito é aprovado por uma faixa isolada.
+ */
+final class ContaCreditoLedger {
+
+    private final String parceiroPublicId;
+    private volatile long limiteCentavos;
+    private final AtomicLong[] faixas;
+
+    ContaCreditoLedger(String parceiroPublicId, long limiteCentavos, long utilizadoCentavos, int quantidadeFaixas) {
+        this.parceiroPublicId = parceiroPublicId;
+        this.limiteCentavos = limiteCentavos;
+        this.faixas = new AtomicLong[Math.max(1, quantidadeFaixas)];
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i] = new AtomicLong(0);
+        }
+        distribuir(limiteCentavos - utilizadoCentavos);
+    }
+
+    String getParceiroPublicId() {
+        return parceiroPublicId;
+    }
+
+    boolean debitar(long centavos) {
+        int inicio = ThreadLocalRandom.current().nextInt(faixas.length);
+        for (int i = 0; i < faixas.length && faixas[0].get() >= 0; i++) {
+            AtomicLong faixa = faixas[(inicio + i) % faixas.length];
+            long atual;
+            while ((atual = faixa.get()) >= centavos) {
+                if (faixa.compareAndSet(atual, atual - centavos)) {
+                    // Déficit surgido durante o débito: devolve e deixa a decisão para a consolidação
+                    if (faixas[0].get() >= 0) {
+                        return true;
+                    }
+                    faixa.addAndGet(centavos);
+                    return debitarConsolidando(centavos);
+                }
+            }
+        }
+        return debitarConsolidando(centavos);
+    }
+
+    void liberar(long centavos) {
+        faixas[ThreadLocalRandom.current().nextInt(faixas.length)].addAndGet(centavos);
+    }
+
+    long getLimiteCentavos() {
+        return limiteCentavos;
+    }
+
+    // Mesmo monitor da consolidação: a diferença não se perde entre o esvaziamento e a redistribuição
+    synchronized void ajustarLimite(long novoLimiteCentavos) {
+        long diferenca = novoLimiteCentavos - limiteCentavos;
+        if (diferenca == 0) {
+            return;
+        }
+        limiteCentavos = novoLimiteCentavos;
+        // Redução: somada ao saldo consolidado, não a uma faixa só, que deixaria as outras aprovando
+        distribuir(diferenca > 0 ? diferenca : esvaziar() + diferenca);
+    }
+
+    long getDisponivelCentavos() {
+        long total = 0;
+        for (AtomicLong faixa : faixas) {
+            total += faixa.get();
+        }
+        return total;
+    }
+
+    long getUtilizadoCentavos() {
+        return limiteCentavos - getDisponivelCentavos();
+    }
+
+    // Caminho lento: junta o saldo de todas as faixas, decide e redistribui o restante
+    private synchronized boolean debitarConsolidando(long centavos) {
+        long total = esvaziar();
+
+        boolean aprovado = total >= centavos;
+        if (aprovado) {
+            total -= centavos;
+        }
+
+        distribuir(total);
+        return aprovado;
+    }
+
+    private long esvaziar() {
+        long total = 0;
+        for (AtomicLong faixa : faixas) {
+            total += faixa.getAndSet(0);
+        }
+        return total;
+    }
+
+    // Soma (não sobrescreve) para não perder liberações concorrentes. Chamado com as faixas zeradas
+    // quando o total é negativo: o déficit fica só na faixa 0
+    private void distribuir(long total) {
+        if (total <= 0) {
+            faixas[0].addAndGet(total);
+            return;
+        }
+        long parte = total / faixas.length;
+        long resto = total % faixas.length;
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i].addAndGet(i == 0 ? parte + resto : parte);
+        }
+    }
+}
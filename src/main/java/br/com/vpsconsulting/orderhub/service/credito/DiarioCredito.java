@@ -0,0 +1,97 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.SnapshotCredito;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.MovimentoCreditoRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SnapshotCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Leitura e compactação do diário de crédito ({@code movimentos_credito} + {@code snapshots_credito}),
+ * usadas pelos modos movimentos e ledger. Todo INSERT de movimento acontece com o advisory lock do
+ * parceiro (exclusivo ou compartilhado) retido até o commit; a compactação pega o lock exclusivo e
+ * por isso nunca vê um movimento do parceiro pendente de commit.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class DiarioCredito {
+
+    private final ParceiroRepository parceiroRepository;
+    private final MovimentoCreditoRepository movimentoCreditoRepository;
+    private final SnapshotCreditoRepository snapshotCreditoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheDadosParceiros cacheDadosParceiros;
+
+    // Antes da primeira compactação a base é o valor atual de parceiros.credito_utilizado
+    Dinheiro calcularCreditoUtilizado(Parceiro parceiro) {
+        Optional<SnapshotCredito> snapshot = snapshotCreditoRepository.findById(parceiro.getId());
+
+        Dinheiro base;
+        long aposMovimentoId;
+        if (snapshot.isPresent()) {
+            base = Dinheiro.de(snapshot.get().getCreditoUtilizado());
+            aposMovimentoId = snapshot.get().getUltimoMovimentoId();
+        } else {
+            base = parceiroRepository.consultarSaldoCredito(parceiro.getPublicId())
+                    .orElseThrow(() -> EntityNotFoundException.parceiro(parceiro.getPublicId()))
+                    .creditoUtilizado();
+            aposMovimentoId = 0L;
+        }
+
+        return base.somar(Dinheiro.de(movimentoCreditoRepository.somarMovimentosApos(parceiro.getId(), aposMovimentoId)));
+    }
+
+    // Soma os movimentos de cada parceiro no seu snapshot, um parceiro por transação
+    void compactarPendentes() {
+        List<Long> parceiroIds = movimentoCreditoRepository.findParceiroIdsComMovimentosPendentes();
+        int compactados = 0;
+        for (Long parceiroId : parceiroIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> compactar(parceiroId));
+                compactados++;
+            } catch (RuntimeException e) {
+                log.error("Erro ao compactar movimentos de crédito do parceiro {}: {}", parceiroId, e.getMessage(), e);
+            }
+        }
+        if (compactados > 0) {
+            log.debug("Movimentos de crédito compactados: {} parceiro(s)", compactados);
+        }
+    }
+
+    private void compactar(Long parceiroId) {
+        // O lock garante que nenhum movimento do parceiro está pendente de commit: um id menor
+        // que o último compactado nunca aparece depois, então o snapshot pode avançar até ele
+        movimentoCreditoRepository.travarParceiro(parceiroId);
+
+        Parceiro parceiro = parceiroRepository.findById(parceiroId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(String.valueOf(parceiroId)));
+        Long ultimoMovimentoId = movimentoCreditoRepository.buscarUltimoMovimentoId(parceiroId).orElse(0L);
+
+        Optional<SnapshotCredito> existente = snapshotCreditoRepository.findById(parceiroId);
+        long aposMovimentoId = existente.map(SnapshotCredito::getUltimoMovimentoId).orElse(0L);
+        if (ultimoMovimentoId <= aposMovimentoId) {
+            return;
+        }
+
+        BigDecimal base = existente.map(SnapshotCredito::getCreditoUtilizado).orElse(parceiro.getCreditoUtilizado());
+        BigDecimal utilizado = base.add(movimentoCreditoRepository.somarMovimentosApos(parceiroId, aposMovimentoId));
+
+        SnapshotCredito snapshot = existente.orElseGet(() -> new SnapshotCredito(parceiroId, utilizado, ultimoMovimentoId));
+        snapshot.avancar(utilizado, ultimoMovimentoId);
+        snapshotCreditoRepository.save(snapshot);
+
+        parceiroRepository.atualizarCreditoUtilizado(parceiro.getPublicId(), Dinheiro.de(utilizado), LocalDateTime.now());
+        cacheDadosParceiros.atualizarAposCommit(parceiro.getPublicId());
+    }
+}
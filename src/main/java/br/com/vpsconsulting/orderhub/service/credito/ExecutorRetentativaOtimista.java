@@ -0,0 +1,127 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma seção de crédito otimista, repetindo-a em caso de conflito de versão.
+ * Usa backoff exponencial com jitter total e um orçamento de retentativas por segundo,
+ * para que uma rajada de conflitos não multiplique a carga no banco.
+ */
+@Slf4j
+public class ExecutorRetentativaOtimista {
+
+    private final CreditoProperties.Otimista configuracao;
+    private final MeterRegistry meterRegistry;
+    private final OrcamentoRetentativas orcamento;
+
+    public ExecutorRetentativaOtimista(CreditoProperties.Otimista configuracao, MeterRegistry meterRegistry) {
+        this.configuracao = configuracao;
+        this.meterRegistry = meterRegistry;
+        this.orcamento = new OrcamentoRetentativas(
+                configuracao.getProporcaoRetentativas(), configuracao.getRetentativasMinimas());
+    }
+
+    public <T> T executar(String operacao, Supplier<T> secaoCredito) {
+        orcamento.registrarOperacao();
+
+        int tentativa = 1;
+        while (true) {
+            try {
+                return secaoCredito.get();
+            } catch (OptimisticLockingFailureException e) {
+                contador("orderhub.credito.otimista.conflitos", operacao).increment();
+
+                if (tentativa >= configuracao.getTentativasMaximas()) {
+                    contadorEsgotado(operacao, "tentativas").increment();
+                    throw e;
+                }
+                if (!orcamento.consumirRetentativa()) {
+                    contadorEsgotado(operacao, "orcamento").increment();
+                    throw e;
+                }
+
+                contador("orderhub.credito.otimista.retentativas", operacao).increment();
+                log.debug("Conflito otimista em {} - tentativa {} de {}", operacao, tentativa,
+                        configuracao.getTentativasMaximas());
+
+                aguardar(tentativa);
+                tentativa++;
+            }
+        }
+    }
+
+    private void aguardar(int tentativa) {
+        long inicial = configuracao.getBackoffInicial().toNanos();
+        long maximo = configuracao.getBackoffMaximo().toNanos();
+        long teto = Math.min(maximo, inicial << Math.min(tentativa - 1, 20));
+        if (teto <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(teto + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Counter contador(String nome, String operacao) {
+        return Counter.builder(nome)
+                .tag("operacao", operacao)
+                .register(meterRegistry);
+    }
+
+    private Counter contadorEsgotado(String operacao, String motivo) {
+        return Counter.builder("orderhub.credito.otimista.esgotadas")
+                .tag("operacao", operacao)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+
+    // Janela de um segundo: retentativas <= max(minimas, proporcao * operacoes)
+    private static final class OrcamentoRetentativas {
+
+        private final double proporcao;
+        private final int minimas;
+        private final AtomicLong segundoAtual = new AtomicLong();
+        private final AtomicLong operacoes = new AtomicLong();
+        private final AtomicLong retentativas = new AtomicLong();
+
+        OrcamentoRetentativas(double proporcao, int minimas) {
+            this.proporcao = proporcao;
+            this.minimas = minimas;
+        }
+
+        void registrarOperacao() {
+            renovarJanela();
+            operacoes.incrementAndGet();
+        }
+
+        boolean consumirRetentativa() {
+            renovarJanela();
+            long permitidas = Math.max(minimas, (long) (proporcao * operacoes.get()));
+            if (retentativas.incrementAndGet() > permitidas) {
+                retentativas.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void renovarJanela() {
+            long agora = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+            long anterior = segundoAtual.get();
+            if (agora != anterior && segundoAtual.compareAndSet(anterior, agora)) {
+                operacoes.set(0);
+                retentativas.set(0);
+            }
+        }
+    }
+}
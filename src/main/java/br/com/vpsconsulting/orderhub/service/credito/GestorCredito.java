@@ -0,0 +1,29 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+
+/**
+ * Ponto de extensão para as operações de crédito do {@code PedidoService}.
+ * Apenas uma implementação fica ativa por deployment, escolhida por {@code orderhub.credito.modo}.
+ */
+public interface GestorCredito {
+
+    ModoCredito getModo();
+
+    // Carrega o parceiro que participará da operação de crédito (com ou sem lock, conforme o modo)
+    Parceiro carregarParceiro(String parceiroPublicId);
+
+    // Debita o valor do crédito do parceiro ou lança BusinessRuleException.creditoInsuficiente
+    void debitar(Parceiro parceiro, Dinheiro valor);
+
+    // Devolve o valor ao crédito disponível do parceiro
+    void liberar(Parceiro parceiro, Dinheiro valor);
+
+    // Antes dos débitos de um grupo de pedidos na mesma transação: a partir daqui cada debitar é
+    // definitivo, e nenhuma recusa fica para o commit, onde desfaria o grupo inteiro. Os modos que
+    // já decidem no próprio debitar não fazem nada
+    default void prepararDebitosEmGrupo(Parceiro parceiro) {
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Débito e liberação por UPDATE condicional (compare-and-set) em {@code parceiros}.
+ * O parceiro é lido sem lock e a entidade carregada não é alterada em memória, para não
+ * sobrescrever o saldo no flush.
+ * <p>
+ * Dentro de uma transação, o débito é conferido sem lock contra o saldo atual e fica pendente;
+ * o UPDATE condicional é o último statement antes do commit, depois do flush do pedido e dos itens,
+ * e a linha do parceiro fica bloqueada só entre ele e o commit. Se o UPDATE não afeta nenhuma
+ * linha, o commit falha com {@code CREDITO_INSUFICIENTE} e a transação é desfeita.
+ * Em grupos de pedidos ({@link #prepararDebitosEmGrupo}) cada débito executa o UPDATE na hora:
+ * a recusa fica no pedido, sem desfazer o grupo no commit, e a linha fica bloqueada a partir do
+ * primeiro débito aprovado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orderhub.credito.modo", havingValue = "condicional")
+public class GestorCreditoCondicional implements GestorCredito {
+
+    private final ParceiroRepository parceiroRepository;
+
+    @Override
+    public ModoCredito getModo() {
+        return ModoCredito.CONDICIONAL;
+    }
+
+    @Override
+    public Parceiro carregarParceiro(String parceiroPublicId) {
+        return parceiroRepository.findByPublicId(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    @Override
+    public void debitar(Parceiro parceiro, Dinheiro valor) {
+        validarValor(valor, "utilização");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            debitarAgora(parceiro, valor);
+            return;
+        }
+
+        SaldoPendente pendente = pendentesDaTransacao().doParceiro(parceiro);
+        if (pendente.imediato) {
+            debitarAgora(parceiro, valor);
+            return;
+        }
+
+        // Verificação antecipada, sem lock: recusa já aqui o que o saldo atual menos os débitos
+        // pendentes desta transação não cobre
+        if (!parceiro.getAtivo()) {
+            throw BusinessRuleException.parceiroInativo(parceiro.getPublicId());
+        }
+        Dinheiro disponivel = consultarDisponivel(parceiro);
+        if (!disponivel.cobre(pendente.saldo, valor)) {
+            throw BusinessRuleException.creditoInsuficiente(
+                    disponivel.subtrair(pendente.saldo).toBigDecimal(), valor.toBigDecimal());
+        }
+        pendente.saldo = pendente.saldo.somar(valor);
+    }
+
+    // Liberações pendentes do parceiro são aplicadas antes: os débitos do grupo vão direto ao banco
+    @Override
+    public void prepararDebitosEmGrupo(Parceiro parceiro) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        SaldoPendente pendente = pendentesDaTransacao().doParceiro(parceiro);
+        if (!pendente.imediato) {
+            aplicar(parceiro, pendente.saldo);
+            pendente.saldo = Dinheiro.ZERO;
+            pendente.imediato = true;
+        }
+    }
+
+    @Override
+    public void liberar(Parceiro parceiro, Dinheiro valor) {
+        validarValor(valor, "liberação");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            liberarAgora(parceiro, valor);
+            return;
+        }
+
+        SaldoPendente pendente = pendentesDaTransacao().doParceiro(parceiro);
+        if (pendente.imediato) {
+            liberarAgora(parceiro, valor);
+            return;
+        }
+        pendente.saldo = pendente.saldo.subtrair(valor);
+    }
+
+    private void debitarAgora(Parceiro parceiro, Dinheiro valor) {
+        int linhasAfetadas = parceiroRepository.debitarCreditoCondicional(
+                parceiro.getPublicId(), valor.toBigDecimal(), LocalDateTime.now());
+
+        if (linhasAfetadas == 0) {
+            if (!parceiro.getAtivo()) {
+                throw BusinessRuleException.parceiroInativo(parceiro.getPublicId());
+            }
+            throw BusinessRuleException.creditoInsuficiente(
+                    consultarDisponivel(parceiro).toBigDecimal(), valor.toBigDecimal());
+        }
+
+        log.debug("Crédito debitado por UPDATE condicional - Parceiro: {} - Valor: {}", parceiro.getPublicId(), valor);
+    }
+
+    private void liberarAgora(Parceiro parceiro, Dinheiro valor) {
+        int linhasAfetadas = parceiroRepository.liberarCreditoCondicional(
+                parceiro.getPublicId(), valor, LocalDateTime.now());
+
+        if (linhasAfetadas == 0) {
+            throw EntityNotFoundException.parceiro(parceiro.getPublicId());
+        }
+    }
+
+    // Um único UPDATE pelo saldo líquido da transação (débitos menos liberações)
+    private void aplicar(Parceiro parceiro, Dinheiro saldo) {
+        if (saldo.isPositivo()) {
+            debitarAgora(parceiro, saldo);
+        } else if (saldo.isNegativo()) {
+            liberarAgora(parceiro, Dinheiro.ZERO.subtrair(saldo));
+        }
+    }
+
+    private Dinheiro consultarDisponivel(Parceiro parceiro) {
+        BigDecimal disponivel = parceiroRepository.consultarCreditoDisponivel(parceiro.getPublicId())
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiro.getPublicId()));
+        return Dinheiro.de(disponivel);
+    }
+
+    // Uma por transação, como os lançamentos do modo movimentos
+    private SaldosTransacao pendentesDaTransacao() {
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacao instanceof SaldosTransacao pendentes) {
+                return pendentes;
+            }
+        }
+        SaldosTransacao pendentes = new SaldosTransacao();
+        TransactionSynchronizationManager.registerSynchronization(pendentes);
+        return pendentes;
+    }
+
+    private void validarValor(Dinheiro valor, String operacao) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO",
+                    "Valor para " + operacao + " de crédito deve ser maior que zero");
+        }
+    }
+
+    private static class SaldoPendente {
+
+        private final Parceiro parceiro;
+        private Dinheiro saldo = Dinheiro.ZERO;
+        private boolean imediato;
+
+        SaldoPendente(Parceiro parceiro) {
+            this.parceiro = parceiro;
+        }
+    }
+
+    private class SaldosTransacao implements TransactionSynchronization {
+
+        // Ordenados pelo id: vários parceiros na mesma transação são bloqueados sempre na mesma ordem
+        private final Map<Long, SaldoPendente> porParceiro = new TreeMap<>();
+
+        SaldoPendente doParceiro(Parceiro parceiro) {
+            return porParceiro.computeIfAbsent(parceiro.getId(), id -> new SaldoPendente(parceiro));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Pedidos e itens vão para o banco antes do UPDATE, que bloqueia a linha só até o commit
+            parceiroRepository.flush();
+            porParceiro.values().forEach(pendente -> aplicar(pendente.parceiro, pendente.saldo));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.MovimentoCredito;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.MovimentoCreditoRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SnapshotCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantém limite/utilizado de cada parceiro em memória e aprova os débitos sem lock de banco.
+ * Cada débito ou liberação também vira um INSERT em {@code movimentos_credito} na transação do
+ * pedido, então o que foi confirmado ao cliente sobrevive a uma queda da instância: a conta é
+ * montada a partir do diário (snapshot + movimentos) e o compactador replica o saldo em
+ * {@code parceiros.credito_utilizado}. O limite vem do parceiro lido em cada operação.
+ * Só uma instância pode usar o modo: a subida falha se outra já detém o advisory lock do ledger.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderhub.credito.modo", havingValue = "ledger")
+public class GestorCreditoLedger implements GestorCredito {
+
+    // Advisory lock de sessão (namespace, chave) que reserva o modo ledger para esta instância
+    static final int NAMESPACE_LOCK_INSTANCIA = 0x4F480002;
+
+    private final ParceiroRepository parceiroRepository;
+    private final MovimentoCreditoRepository movimentoCreditoRepository;
+    private final DataSource dataSource;
+    private final DiarioCredito diario;
+    private final int quantidadeFaixas;
+    private final ConcurrentHashMap<String, ContaCreditoLedger> contas = new ConcurrentHashMap<>();
+    private Connection conexaoInstancia;
+
+    public GestorCreditoLedger(ParceiroRepository parceiroRepository,
+                               MovimentoCreditoRepository movimentoCreditoRepository,
+                               SnapshotCreditoRepository snapshotCreditoRepository,
+                               TransactionTemplate transactionTemplate,
+                               CreditoProperties creditoProperties,
+                               CacheDadosParceiros cacheDadosParceiros,
+                               DataSource dataSource) {
+        this.parceiroRepository = parceiroRepository;
+        this.movimentoCreditoRepository = movimentoCreditoRepository;
+        this.dataSource = dataSource;
+        this.diario = new DiarioCredito(parceiroRepository, movimentoCreditoRepository, snapshotCreditoRepository,
+                transactionTemplate, cacheDadosParceiros);
+        int faixas = creditoProperties.getLedger().getFaixas();
+        this.quantidadeFaixas = faixas > 0 ? faixas : Runtime.getRuntime().availableProcessors();
+    }
+
+    // Com duas instâncias no modo ledger cada uma aprovaria contra o seu saldo em memória
+    @PostConstruct
+    public void reservarInstancia() throws SQLException {
+        Connection conexao = dataSource.getConnection();
+        try (PreparedStatement consulta = conexao.prepareStatement("SELECT pg_try_advisory_lock(?, 0)")) {
+            consulta.setInt(1, NAMESPACE_LOCK_INSTANCIA);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                if (!resultado.next() || !resultado.getBoolean(1)) {
+                    throw new IllegalStateException(
+                            "Modo de crédito ledger já está em uso por outra instância; ele exige uma única instância");
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            conexao.close();
+            throw e;
+        }
+        // A conexão fica fora do pool enquanto a instância estiver no ar: o lock é da sessão
+        this.conexaoInstancia = conexao;
+    }
+
+    @PreDestroy
+    public void liberarInstancia() throws SQLException {
+        if (conexaoInstancia != null) {
+            conexaoInstancia.close();
+        }
+    }
+
+    @Override
+    public ModoCredito getModo() {
+        return ModoCredito.LEDGER;
+    }
+
+    @Override
+    public Parceiro carregarParceiro(String parceiroPublicId) {
+        // Sem lock: a serialização do crédito acontece no ledger
+        return parceiroRepository.findByPublicId(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    @Override
+    public void debitar(Parceiro parceiro, Dinheiro valor) {
+        long centavos = paraCentavos(valor, "utilização");
+        if (!parceiro.getAtivo()) {
+            throw BusinessRuleException.parceiroInativo(parceiro.getPublicId());
+        }
+        ContaCreditoLedger conta = obterConta(parceiro);
+
+        if (!conta.debitar(centavos)) {
+            throw BusinessRuleException.creditoInsuficiente(
+                    Dinheiro.deCentavos(conta.getDisponivelCentavos()).toBigDecimal(), valor.toBigDecimal());
+        }
+
+        // Se a transação do pedido for desfeita, o débito em memória também precisa ser
+        desfazerNoRollback(() -> conta.liberar(centavos));
+        registrarMovimento(parceiro, TipoMovimentoCredito.DEBITO, valor);
+    }
+
+    @Override
+    public void liberar(Parceiro parceiro, Dinheiro valor) {
+        long centavos = paraCentavos(valor, "liberação");
+        ContaCreditoLedger conta = obterConta(parceiro);
+
+        conta.liberar(centavos);
+
+        desfazerNoRollback(() -> {
+            if (!conta.debitar(centavos)) {
+                log.warn("Não foi possível desfazer liberação de crédito do parceiro {} - Valor: {}",
+                        conta.getParceiroPublicId(), valor);
+            }
+        });
+        registrarMovimento(parceiro, TipoMovimentoCredito.LIBERACAO, valor);
+    }
+
+    // Replica os movimentos confirmados no snapshot e em parceiros.credito_utilizado
+    @Scheduled(fixedDelayString = "${orderhub.credito.ledger.intervalo-persistencia:200ms}")
+    public void persistirSaldos() {
+        diario.compactarPendentes();
+    }
+
+    // O lock compartilhado não disputa com os outros pedidos, só faz a compactação esperar o commit
+    private void registrarMovimento(Parceiro parceiro, TipoMovimentoCredito tipo, Dinheiro valor) {
+        movimentoCreditoRepository.travarParceiroCompartilhado(parceiro.getId());
+        movimentoCreditoRepository.save(new MovimentoCredito(parceiro, tipo, valor.toBigDecimal()));
+    }
+
+    // A conta nasce do diário; uma mudança no limite do parceiro é aplicada na operação seguinte
+    private ContaCreditoLedger obterConta(Parceiro parceiro) {
+        long limite = parceiro.getLimiteCreditoDinheiro().getCentavos();
+        ContaCreditoLedger conta = contas.get(parceiro.getPublicId());
+        if (conta == null) {
+            long utilizado = diario.calcularCreditoUtilizado(parceiro).getCentavos();
+            conta = contas.computeIfAbsent(parceiro.getPublicId(),
+                    publicId -> new ContaCreditoLedger(publicId, limite, utilizado, quantidadeFaixas));
+        }
+        if (conta.getLimiteCentavos() != limite) {
+            log.info("Limite de crédito alterado no ledger - Parceiro: {} - Limite: {}",
+                    parceiro.getPublicId(), parceiro.getLimiteCreditoDinheiro());
+            conta.ajustarLimite(limite);
+        }
+        return conta;
+    }
+
+    private void desfazerNoRollback(Runnable compensacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    compensacao.run();
+                }
+            }
+        });
+    }
+
+    private static long paraCentavos(Dinheiro valor, String operacao) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO",
+                    "Valor para " + operacao + " de crédito deve ser maior que zero");
+        }
+        return valor.getCentavos();
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.MovimentoCredito;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.MovimentoCreditoRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SnapshotCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Registra débitos e liberações como INSERTs em {@code movimentos_credito}, sem UPDATE
+ * na linha do parceiro. O crédito utilizado é o snapshot do parceiro mais os movimentos
+ * posteriores a ele; o compactador avança o snapshot em background e replica o valor em
+ * {@code parceiros.credito_utilizado}. Os movimentos nunca são apagados (histórico de crédito).
+ * <p>
+ * Dentro de uma transação, o débito é conferido sem lock contra o saldo confirmado e fica pendente;
+ * a conferência definitiva e os INSERTs acontecem no beforeCommit, sob o advisory lock do parceiro.
+ * O lock fica retido só entre essa etapa e o commit, não durante a transação inteira do pedido.
+ * Em grupos de pedidos o lock é pego antes dos débitos ({@link #prepararDebitosEmGrupo}) e cada
+ * conferência já é a definitiva: a recusa fica no pedido, sem desfazer o grupo no commit.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderhub.credito.modo", havingValue = "movimentos")
+public class GestorCreditoMovimentos implements GestorCredito {
+
+    private final ParceiroRepository parceiroRepository;
+    private final MovimentoCreditoRepository movimentoCreditoRepository;
+    private final DiarioCredito diario;
+
+    public GestorCreditoMovimentos(ParceiroRepository parceiroRepository,
+                                   MovimentoCreditoRepository movimentoCreditoRepository,
+                                   SnapshotCreditoRepository snapshotCreditoRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   CacheDadosParceiros cacheDadosParceiros) {
+        this.parceiroRepository = parceiroRepository;
+        this.movimentoCreditoRepository = movimentoCreditoRepository;
+        this.diario = new DiarioCredito(parceiroRepository, movimentoCreditoRepository, snapshotCreditoRepository,
+                transactionTemplate, cacheDadosParceiros);
+    }
+
+    @Override
+    public ModoCredito getModo() {
+        return ModoCredito.MOVIMENTOS;
+    }
+
+    @Override
+    public Parceiro carregarParceiro(String parceiroPublicId) {
+        // Sem lock na linha do parceiro: a serialização é feita pelo advisory lock na gravação dos movimentos
+        return parceiroRepository.findByPublicId(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    @Override
+    public void debitar(Parceiro parceiro, Dinheiro valor) {
+        validarValor(valor, "utilização");
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            gravar(parceiro, List.of(new Lancamento(TipoMovimentoCredito.DEBITO, valor)));
+            return;
+        }
+
+        // Verificação antecipada, sem lock: recusa já aqui o que o saldo confirmado mais os lançamentos
+        // pendentes desta transação não cobrem (os pedidos de um grupo são aprovados um a um contra ele)
+        LancamentosParceiro pendentes = lancamentosDaTransacao().doParceiro(parceiro);
+        Dinheiro utilizado = diario.calcularCreditoUtilizado(parceiro).somar(pendentes.saldo());
+        if (!parceiro.getLimiteCreditoDinheiro().cobre(utilizado, valor)) {
+            throw BusinessRuleException.creditoInsuficiente(
+                    parceiro.getLimiteCreditoDinheiro().subtrair(utilizado).toBigDecimal(), valor.toBigDecimal());
+        }
+        pendentes.adicionar(new Lancamento(TipoMovimentoCredito.DEBITO, valor));
+    }
+
+    // Com o lock retido até o commit, nenhum débito de outra transação é confirmado entre a conferência
+    // de cada pedido e o commit: a conferência do beforeCommit não recusa mais nada
+    @Override
+    public void prepararDebitosEmGrupo(Parceiro parceiro) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        LancamentosParceiro pendentes = lancamentosDaTransacao().doParceiro(parceiro);
+        if (!pendentes.travado) {
+            movimentoCreditoRepository.travarParceiro(parceiro.getId());
+            pendentes.travado = true;
+        }
+    }
+
+    @Override
+    public void liberar(Parceiro parceiro, Dinheiro valor) {
+        validarValor(valor, "liberação");
+        Lancamento liberacao = new Lancamento(TipoMovimentoCredito.LIBERACAO, valor);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            gravar(parceiro, List.of(liberacao));
+            return;
+        }
+        lancamentosDaTransacao().doParceiro(parceiro).adicionar(liberacao);
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.credito.movimentos.intervalo-compactacao:5s}")
+    public void compactarMovimentos() {
+        diario.compactarPendentes();
+    }
+
+    // Conferência definitiva e INSERTs sob o lock exclusivo do parceiro, retido até o fim da transação
+    private void gravar(Parceiro parceiro, List<Lancamento> lancamentos) {
+        movimentoCreditoRepository.travarParceiro(parceiro.getId());
+
+        Dinheiro limite = parceiro.getLimiteCreditoDinheiro();
+        Dinheiro utilizado = diario.calcularCreditoUtilizado(parceiro);
+        for (Lancamento lancamento : lancamentos) {
+            if (lancamento.tipo() == TipoMovimentoCredito.DEBITO) {
+                if (!limite.cobre(utilizado, lancamento.valor())) {
+                    throw BusinessRuleException.creditoInsuficiente(
+                            limite.subtrair(utilizado).toBigDecimal(), lancamento.valor().toBigDecimal());
+                }
+                movimentoCreditoRepository.save(new MovimentoCredito(
+                        parceiro, TipoMovimentoCredito.DEBITO, lancamento.valor().toBigDecimal()));
+                utilizado = utilizado.somar(lancamento.valor());
+                log.debug("Débito registrado no diário de crédito - Parceiro: {} - Valor: {}",
+                        parceiro.getPublicId(), lancamento.valor());
+                continue;
+            }
+
+            // Como nos demais modos, o crédito utilizado não fica negativo
+            Dinheiro liberado = lancamento.valor().min(utilizado);
+            if (!liberado.isPositivo()) {
+                log.warn("Liberação ignorada: parceiro {} sem crédito utilizado - Valor: {}",
+                        parceiro.getPublicId(), lancamento.valor());
+                continue;
+            }
+            movimentoCreditoRepository.save(new MovimentoCredito(
+                    parceiro, TipoMovimentoCredito.LIBERACAO, liberado.toBigDecimal()));
+            utilizado = utilizado.subtrair(liberado);
+            log.debug("Liberação registrada no diário de crédito - Parceiro: {} - Valor: {}",
+                    parceiro.getPublicId(), liberado);
+        }
+    }
+
+    // Uma por transação, como a atualização do cache dados-parceiros
+    private LancamentosTransacao lancamentosDaTransacao() {
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacao instanceof LancamentosTransacao pendentes) {
+                return pendentes;
+            }
+        }
+        LancamentosTransacao pendentes = new LancamentosTransacao();
+        TransactionSynchronizationManager.registerSynchronization(pendentes);
+        return pendentes;
+    }
+
+    private void validarValor(Dinheiro valor, String operacao) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO",
+                    "Valor para " + operacao + " de crédito deve ser maior que zero");
+        }
+    }
+
+    private record Lancamento(TipoMovimentoCredito tipo, Dinheiro valor) {
+    }
+
+    private static class LancamentosParceiro {
+
+        private final Parceiro parceiro;
+        private final List<Lancamento> lancamentos = new ArrayList<>();
+        private boolean travado;
+
+        LancamentosParceiro(Parceiro parceiro) {
+            this.parceiro = parceiro;
+        }
+
+        void adicionar(Lancamento lancamento) {
+            lancamentos.add(lancamento);
+        }
+
+        // Débitos menos liberações ainda não gravados
+        Dinheiro saldo() {
+            Dinheiro saldo = Dinheiro.ZERO;
+            for (Lancamento lancamento : lancamentos) {
+                saldo = lancamento.tipo() == TipoMovimentoCredito.DEBITO
+                        ? saldo.somar(lancamento.valor())
+                        : saldo.subtrair(lancamento.valor());
+            }
+            return saldo;
+        }
+    }
+
+    private class LancamentosTransacao implements TransactionSynchronization {
+
+        // Ordenados pelo id: vários parceiros na mesma transação são travados sempre na mesma ordem
+        private final Map<Long, LancamentosParceiro> porParceiro = new TreeMap<>();
+
+        LancamentosParceiro doParceiro(Parceiro parceiro) {
+            return porParceiro.computeIfAbsent(parceiro.getId(), id -> new LancamentosParceiro(parceiro));
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Pedidos e itens vão para o banco antes do lock, que fica retido só até o commit
+            movimentoCreditoRepository.flush();
+            porParceiro.values().forEach(pendentes -> gravar(pendentes.parceiro, pendentes.lancamentos));
+        }
+    }
+}
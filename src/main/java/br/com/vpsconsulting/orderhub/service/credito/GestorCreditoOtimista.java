@@ -0,0 +1,98 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoCreditoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modo otimista: lê saldo e {@code versao} do parceiro sem lock e grava com
+ * {@code UPDATE ... WHERE versao = :lida}. Conflitos são repetidos pelo
+ * {@link ExecutorRetentativaOtimista} sem desfazer a transação do pedido.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderhub.credito.modo", havingValue = "otimista")
+public class GestorCreditoOtimista implements GestorCredito {
+
+    private final ParceiroRepository parceiroRepository;
+    private final ExecutorRetentativaOtimista executorRetentativa;
+
+    public GestorCreditoOtimista(ParceiroRepository parceiroRepository,
+                                 CreditoProperties creditoProperties,
+                                 MeterRegistry meterRegistry) {
+        this.parceiroRepository = parceiroRepository;
+        this.executorRetentativa = new ExecutorRetentativaOtimista(creditoProperties.getOtimista(), meterRegistry);
+    }
+
+    @Override
+    public ModoCredito getModo() {
+        return ModoCredito.OTIMISTA;
+    }
+
+    @Override
+    public Parceiro carregarParceiro(String parceiroPublicId) {
+        return parceiroRepository.findByPublicId(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    @Override
+    public void debitar(Parceiro parceiro, Dinheiro valor) {
+        validarValor(valor, "utilização");
+
+        executorRetentativa.executar("debito", () -> {
+            SaldoCreditoDTO saldo = consultarSaldo(parceiro.getPublicId());
+            if (!saldo.ativo()) {
+                throw BusinessRuleException.parceiroInativo(parceiro.getPublicId());
+            }
+            if (!saldo.temCreditoDisponivel(valor)) {
+                throw BusinessRuleException.creditoInsuficiente(saldo.creditoDisponivel().toBigDecimal(), valor.toBigDecimal());
+            }
+            gravar(saldo, saldo.creditoUtilizado().somar(valor));
+            return null;
+        });
+    }
+
+    @Override
+    public void liberar(Parceiro parceiro, Dinheiro valor) {
+        validarValor(valor, "liberação");
+
+        executorRetentativa.executar("liberacao", () -> {
+            SaldoCreditoDTO saldo = consultarSaldo(parceiro.getPublicId());
+            gravar(saldo, saldo.creditoUtilizado().subtrair(valor).max(Dinheiro.ZERO));
+            return null;
+        });
+    }
+
+    private SaldoCreditoDTO consultarSaldo(String parceiroPublicId) {
+        return parceiroRepository.consultarSaldoCredito(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    private void gravar(SaldoCreditoDTO saldo, Dinheiro novoCreditoUtilizado) {
+        int linhasAfetadas = parceiroRepository.atualizarCreditoUtilizadoVersionado(
+                saldo.parceiroPublicId(), novoCreditoUtilizado, saldo.versao(), LocalDateTime.now());
+
+        if (linhasAfetadas == 0) {
+            throw new ObjectOptimisticLockingFailureException(Parceiro.class, saldo.parceiroPublicId());
+        }
+    }
+
+    private void validarValor(Dinheiro valor, String operacao) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO",
+                    "Valor para " + operacao + " de crédito deve ser maior que zero");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+// Modo padrão: SELECT FOR UPDATE na linha do parceiro durante toda a transação
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orderhub.credito.modo", havingValue = "pessimista", matchIfMissing = true)
+public class GestorCreditoPessimista implements GestorCredito {
+
+    private final ParceiroRepository parceiroRepository;
+
+    @Override
+    public ModoCredito getModo() {
+        return ModoCredito.PESSIMISTA;
+    }
+
+    @Override
+    public Parceiro carregarParceiro(String parceiroPublicId) {
+        return parceiroRepository.findByPublicIdWithLock(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    @Override
+    public void debitar(Parceiro parceiro, Dinheiro valor) {
+        // VERIFICAÇÃO E DÉBITO ATÔMICOS (com o parceiro já locked)
+        if (!parceiro.temCreditoDisponivel(valor)) {
+            throw BusinessRuleException.creditoInsuficiente(parceiro.getCreditoDisponivel(), valor.toBigDecimal());
+        }
+        parceiro.utilizarCredito(valor);
+        parceiroRepository.save(parceiro);
+    }
+
+    @Override
+    public void liberar(Parceiro parceiro, Dinheiro valor) {
+        parceiro.liberarCredito(valor);
+        parceiroRepository.save(parceiro);
+    }
+}
@@ -0,0 +1,329 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoSubLimiteDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.SubLimiteCredito;
+import br.com.vpsconsulting.orderhub.enums.ModoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SubLimiteCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Divide o limite de cada parceiro em fatias ({@code sublimites_credito}) para que
+ * pedidos do mesmo parceiro debitem linhas diferentes em paralelo. O primeiro débito da
+ * transação vai para uma fatia sorteada e os seguintes voltam à mesma fatia. Quando ela
+ * não tem saldo, a folga é redistribuída entre as fatias travadas.
+ * <p>
+ * Uma transação nunca espera por uma fatia enquanto já retém outra, então não há ciclo
+ * de espera entre transações: sem fatia retida ela pode travar todas em ordem de índice;
+ * com alguma retida só pega as livres (SKIP LOCKED) e rebalanceia entre elas. Nesse
+ * caso o pedido pode ser recusado mesmo com saldo em fatias travadas por outras transações.
+ * <p>
+ * {@code parceiros.credito_utilizado} é consolidado em background, só para os parceiros
+ * cujas fatias mudaram desde a última rodada; o cache dados-parceiros é atualizado em seguida.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orderhub.credito.modo", havingValue = "sublimites")
+public class GestorCreditoSubLimites implements GestorCredito {
+
+    private final ParceiroRepository parceiroRepository;
+    private final SubLimiteCreditoRepository subLimiteCreditoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheDadosParceiros cacheDadosParceiros;
+    private final int quantidadeFatias;
+    private final Set<Long> parceirosAlterados = ConcurrentHashMap.newKeySet();
+    // A primeira rodada consolida todos: alterações confirmadas antes de uma parada não ficam pendentes
+    private volatile boolean sincronizacaoCompleta = true;
+
+    public GestorCreditoSubLimites(ParceiroRepository parceiroRepository,
+                                   SubLimiteCreditoRepository subLimiteCreditoRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   CreditoProperties creditoProperties,
+                                   CacheDadosParceiros cacheDadosParceiros) {
+        this.parceiroRepository = parceiroRepository;
+        this.subLimiteCreditoRepository = subLimiteCreditoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheDadosParceiros = cacheDadosParceiros;
+        int fatias = creditoProperties.getSublimites().getFatias();
+        this.quantidadeFatias = fatias > 0 ? fatias : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public ModoCredito getModo() {
+        return ModoCredito.SUBLIMITES;
+    }
+
+    @Override
+    public Parceiro carregarParceiro(String parceiroPublicId) {
+        // Sem lock na linha do parceiro: a disputa fica espalhada entre as fatias
+        return parceiroRepository.findByPublicId(parceiroPublicId)
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiroPublicId));
+    }
+
+    @Override
+    public void debitar(Parceiro parceiro, Dinheiro dinheiro) {
+        validarValor(dinheiro, "utilização");
+        if (!parceiro.getAtivo()) {
+            throw BusinessRuleException.parceiroInativo(parceiro.getPublicId());
+        }
+        BigDecimal valor = dinheiro.toBigDecimal();
+        FatiasTransacao transacao = fatiasDaTransacao();
+
+        Integer retida = transacao.fatiaRetida(parceiro.getId());
+        int indice = retida != null ? retida : sortearFatia();
+        if (podeTentarFatia(transacao, retida) && subLimiteCreditoRepository.debitar(parceiro.getId(), indice, valor) == 1) {
+            transacao.reter(parceiro.getId(), indice);
+            registrarAlteracao(parceiro);
+            return;
+        }
+
+        // Fatia sem saldo (ou fatias ainda não criadas): rebalanceia entre as fatias travadas
+        List<SaldoSubLimiteDTO> saldos = travarParaRebalancear(parceiro, transacao);
+        BigDecimal disponivel = somarDisponivel(saldos);
+        if (disponivel.compareTo(valor) < 0) {
+            throw BusinessRuleException.creditoInsuficiente(disponivel, valor);
+        }
+
+        List<BigDecimal> utilizados = new ArrayList<>();
+        for (SaldoSubLimiteDTO saldo : saldos) {
+            utilizados.add(saldo.utilizado());
+        }
+        int posicao = posicaoDaFatia(saldos, indice);
+        utilizados.set(posicao, utilizados.get(posicao).add(valor));
+
+        redistribuir(saldos, utilizados);
+        registrarAlteracao(parceiro);
+        log.debug("Fatias de crédito rebalanceadas no débito - Parceiro: {}, Valor: {}", parceiro.getPublicId(), valor);
+    }
+
+    @Override
+    public void liberar(Parceiro parceiro, Dinheiro dinheiro) {
+        validarValor(dinheiro, "liberação");
+        BigDecimal valor = dinheiro.toBigDecimal();
+        FatiasTransacao transacao = fatiasDaTransacao();
+
+        Integer retida = transacao.fatiaRetida(parceiro.getId());
+        int indice = retida != null ? retida : sortearFatia();
+        if (podeTentarFatia(transacao, retida) && subLimiteCreditoRepository.liberar(parceiro.getId(), indice, valor) == 1) {
+            transacao.reter(parceiro.getId(), indice);
+            registrarAlteracao(parceiro);
+            return;
+        }
+
+        // Nenhuma fatia isolada cobre o valor: devolve de várias fatias travadas
+        List<SaldoSubLimiteDTO> saldos = travarParaRebalancear(parceiro, transacao);
+        BigDecimal restante = valor;
+        List<BigDecimal> utilizados = new ArrayList<>();
+        for (SaldoSubLimiteDTO saldo : saldos) {
+            BigDecimal devolvido = saldo.utilizado().min(restante);
+            utilizados.add(saldo.utilizado().subtract(devolvido));
+            restante = restante.subtract(devolvido);
+        }
+
+        redistribuir(saldos, utilizados);
+        registrarAlteracao(parceiro);
+        log.debug("Fatias de crédito rebalanceadas na liberação - Parceiro: {}, Valor: {}", parceiro.getPublicId(), valor);
+    }
+
+    // Consolida a soma das fatias na tabela parceiros (consultas de crédito e demais modos)
+    @Scheduled(fixedDelayString = "${orderhub.credito.sublimites.intervalo-sincronizacao:1s}")
+    public void sincronizarCreditoUtilizado() {
+        boolean completa = sincronizacaoCompleta;
+        List<Long> parceiroIds = new ArrayList<>(parceirosAlterados);
+        if (!completa && parceiroIds.isEmpty()) {
+            return;
+        }
+        parceirosAlterados.removeAll(parceiroIds);
+
+        try {
+            Integer atualizados = transactionTemplate.execute(status -> completa
+                    ? parceiroRepository.sincronizarCreditoUtilizadoComSubLimites(LocalDateTime.now())
+                    : parceiroRepository.sincronizarCreditoUtilizadoComSubLimites(parceiroIds, LocalDateTime.now()));
+            // Os pedidos só reescrevem o snapshot com o crédito ainda não consolidado: quem atualiza é a sincronização
+            if (completa) {
+                cacheDadosParceiros.removerTodos();
+            } else {
+                cacheDadosParceiros.atualizarPorIds(parceiroIds);
+            }
+            sincronizacaoCompleta = false;
+            if (atualizados != null && atualizados > 0) {
+                log.debug("Crédito utilizado sincronizado a partir das fatias: {} parceiro(s)", atualizados);
+            }
+        } catch (RuntimeException e) {
+            // Os parceiros voltam para a próxima rodada, que também refaz a atualização do cache
+            parceirosAlterados.addAll(parceiroIds);
+            log.error("Erro ao sincronizar crédito utilizado das fatias: {}", e.getMessage(), e);
+        }
+    }
+
+    // Sem fatia retida a transação pode esperar pela sorteada; com alguma, só tenta a que já é sua
+    private boolean podeTentarFatia(FatiasTransacao transacao, Integer retida) {
+        return retida != null || transacao.nenhumaRetida();
+    }
+
+    private List<SaldoSubLimiteDTO> travarParaRebalancear(Parceiro parceiro, FatiasTransacao transacao) {
+        List<SaldoSubLimiteDTO> saldos = transacao.nenhumaRetida()
+                ? travarFatias(parceiro)
+                : subLimiteCreditoRepository.travarSaldosLivresPorParceiro(parceiro.getId());
+        saldos.forEach(saldo -> transacao.reter(parceiro.getId(), saldo.indice()));
+        return saldos;
+    }
+
+    private List<SaldoSubLimiteDTO> travarFatias(Parceiro parceiro) {
+        List<SaldoSubLimiteDTO> saldos = subLimiteCreditoRepository.travarSaldosPorParceiro(parceiro.getId());
+        if (!saldos.isEmpty()) {
+            return saldos;
+        }
+        return criarFatias(parceiro);
+    }
+
+    // Primeiro uso do parceiro neste modo: o lock na linha do parceiro serializa a criação
+    private List<SaldoSubLimiteDTO> criarFatias(Parceiro parceiro) {
+        Parceiro travado = parceiroRepository.findByPublicIdWithLock(parceiro.getPublicId())
+                .orElseThrow(() -> EntityNotFoundException.parceiro(parceiro.getPublicId()));
+
+        List<SaldoSubLimiteDTO> existentes = subLimiteCreditoRepository.travarSaldosPorParceiro(travado.getId());
+        if (!existentes.isEmpty()) {
+            return existentes;
+        }
+
+        // Todo o utilizado atual vai para a fatia 0; a folga é dividida igualmente
+        List<BigDecimal> limites = dividirFolga(travado.getCreditoDisponivel(), quantidadeFatias);
+        List<SubLimiteCredito> fatias = new ArrayList<>();
+        for (int i = 0; i < quantidadeFatias; i++) {
+            BigDecimal utilizado = i == 0 ? travado.getCreditoUtilizado() : BigDecimal.ZERO;
+            fatias.add(new SubLimiteCredito(travado, i, utilizado.add(limites.get(i)), utilizado));
+        }
+        subLimiteCreditoRepository.saveAllAndFlush(fatias);
+
+        log.info("Fatias de crédito criadas - Parceiro: {}, Fatias: {}", travado.getPublicId(), quantidadeFatias);
+        return subLimiteCreditoRepository.travarSaldosPorParceiro(travado.getId());
+    }
+
+    // Mantém a soma dos limites e deixa a mesma folga em cada fatia
+    private void redistribuir(List<SaldoSubLimiteDTO> saldos, List<BigDecimal> utilizados) {
+        BigDecimal limiteTotal = BigDecimal.ZERO;
+        BigDecimal utilizadoTotal = BigDecimal.ZERO;
+        for (int i = 0; i < saldos.size(); i++) {
+            limiteTotal = limiteTotal.add(saldos.get(i).limite());
+            utilizadoTotal = utilizadoTotal.add(utilizados.get(i));
+        }
+
+        List<BigDecimal> folgas = dividirFolga(limiteTotal.subtract(utilizadoTotal), saldos.size());
+        for (int i = 0; i < saldos.size(); i++) {
+            BigDecimal utilizado = utilizados.get(i);
+            subLimiteCreditoRepository.redefinirSaldo(saldos.get(i).id(), utilizado.add(folgas.get(i)), utilizado);
+        }
+    }
+
+    // Divide em centavos; o resto da divisão fica com as primeiras fatias
+    static List<BigDecimal> dividirFolga(BigDecimal folga, int partes) {
+        long centavos = folga.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        long base = centavos / partes;
+        long resto = centavos % partes;
+
+        List<BigDecimal> resultado = new ArrayList<>(partes);
+        for (int i = 0; i < partes; i++) {
+            resultado.add(BigDecimal.valueOf(base + (i < resto ? 1 : 0), 2));
+        }
+        return resultado;
+    }
+
+    private static int posicaoDaFatia(List<SaldoSubLimiteDTO> saldos, int indice) {
+        for (int i = 0; i < saldos.size(); i++) {
+            if (saldos.get(i).indice() == indice) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private BigDecimal somarDisponivel(List<SaldoSubLimiteDTO> saldos) {
+        BigDecimal disponivel = BigDecimal.ZERO;
+        for (SaldoSubLimiteDTO saldo : saldos) {
+            disponivel = disponivel.add(saldo.disponivel());
+        }
+        return disponivel;
+    }
+
+    private int sortearFatia() {
+        return ThreadLocalRandom.current().nextInt(quantidadeFatias);
+    }
+
+    // Fora de transação cada UPDATE já está confirmado; dentro, o parceiro entra no afterCommit
+    private void registrarAlteracao(Parceiro parceiro) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            parceirosAlterados.add(parceiro.getId());
+        }
+    }
+
+    // Uma instância por transação; fora de transação nenhuma fatia fica retida entre chamadas
+    private FatiasTransacao fatiasDaTransacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new FatiasTransacao();
+        }
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sincronizacao instanceof FatiasTransacao fatias) {
+                return fatias;
+            }
+        }
+        FatiasTransacao fatias = new FatiasTransacao();
+        TransactionSynchronizationManager.registerSynchronization(fatias);
+        return fatias;
+    }
+
+    private void validarValor(Dinheiro valor, String operacao) {
+        if (valor == null || !valor.isPositivo()) {
+            throw new BusinessRuleException("VALOR_INVALIDO",
+                    "Valor para " + operacao + " de crédito deve ser maior que zero");
+        }
+    }
+
+    // Fatias com lock retido pela transação, por parceiro; a primeira retida é a preferida
+    private class FatiasTransacao implements TransactionSynchronization {
+
+        private final Map<Long, Set<Integer>> retidas = new HashMap<>();
+
+        boolean nenhumaRetida() {
+            return retidas.isEmpty();
+        }
+
+        Integer fatiaRetida(Long parceiroId) {
+            Set<Integer> doParceiro = retidas.get(parceiroId);
+            return doParceiro == null ? null : doParceiro.iterator().next();
+        }
+
+        void reter(Long parceiroId, int indice) {
+            retidas.computeIfAbsent(parceiroId, id -> new LinkedHashSet<>()).add(indice);
+        }
+
+        @Override
+        public void afterCommit() {
+            parceirosAlterados.addAll(retidas.keySet());
+        }
+    }
+}
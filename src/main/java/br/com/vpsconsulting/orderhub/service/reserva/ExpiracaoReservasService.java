@@ -0,0 +1,71 @@
+package br.com.vpsconsulting.orderhub.service.reserva;
+
+import br.com.vpsconsulting.orderhub.config.ReservaProperties;
+import br.com.vpsconsulting.orderhub.enums.StatusReserva;
+import br.com.vpsconsulting.orderhub.repository.ReservaCreditoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Expira reservas de crédito vencidas. Os prazos ficam em uma {@link RodaTemporizacao}
+ * em memória, sem consultas periódicas ao banco; uma varredura de baixa frequência cobre
+ * reservas que não estão na roda (criadas antes de um restart ou por outra instância).
+ */
+@Slf4j
+@Service
+public class ExpiracaoReservasService {
+
+    private final ReservaCreditoService reservaCreditoService;
+    private final ReservaCreditoRepository reservaCreditoRepository;
+    private final RodaTemporizacao<String> roda;
+
+    public ExpiracaoReservasService(ReservaCreditoService reservaCreditoService,
+                                    ReservaCreditoRepository reservaCreditoRepository,
+                                    ReservaProperties reservaProperties) {
+        this.reservaCreditoService = reservaCreditoService;
+        this.reservaCreditoRepository = reservaCreditoRepository;
+        ReservaProperties.Expiracao expiracao = reservaProperties.getExpiracao();
+        this.roda = new RodaTemporizacao<>(expiracao.getTick(), expiracao.getPosicoes(), System.currentTimeMillis());
+    }
+
+    // Só agenda depois do commit: reserva desfeita não deve entrar na roda
+    @TransactionalEventListener(fallbackExecution = true)
+    public void agendar(ReservaCriadaEvent evento) {
+        roda.agendar(evento.publicId(), evento.expiraEm().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.reservas.expiracao.tick:100ms}")
+    public void processarRoda() {
+        List<String> vencidas = roda.avancar(System.currentTimeMillis());
+        if (!vencidas.isEmpty()) {
+            expirar(vencidas);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.reservas.expiracao.intervalo-varredura:1m}")
+    public void varrerVencidas() {
+        List<String> vencidas = reservaCreditoRepository.findPublicIdsByStatusAndExpiraEmAte(
+                StatusReserva.ATIVA, LocalDateTime.now());
+        if (!vencidas.isEmpty()) {
+            log.info("Varredura encontrou {} reserva(s) de crédito vencida(s)", vencidas.size());
+            expirar(vencidas);
+        }
+    }
+
+    private void expirar(List<String> publicIds) {
+        for (String publicId : publicIds) {
+            try {
+                reservaCreditoService.expirar(publicId);
+            } catch (RuntimeException e) {
+                // A varredura tenta novamente na próxima rodada
+                log.error("Erro ao expirar reserva de crédito {}: {}", publicId, e.getMessage(), e);
+            }
+        }
+    }
+}
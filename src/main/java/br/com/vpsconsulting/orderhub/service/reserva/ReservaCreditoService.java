@@ -0,0 +1,156 @@
+package br.com.vpsconsulting.orderhub.service.reserva;
+
+import br.com.vpsconsulting.orderhub.config.ReservaProperties;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.ConfirmarReservaDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.CriarReservaDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.ReservaResponseDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.ReservaCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ReservaCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import br.com.vpsconsulting.orderhub.service.PedidoService;
+import br.com.vpsconsulting.orderhub.service.credito.GestorCredito;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ReservaCreditoService {
+
+    private final ReservaCreditoRepository reservaCreditoRepository;
+    private final GestorCredito gestorCredito;
+    private final PedidoService pedidoService;
+    private final ReservaProperties reservaProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheDadosParceiros cacheDadosParceiros;
+
+    // Fase 1: bloqueia o valor no crédito do parceiro até o prazo da reserva
+    public ReservaResponseDTO reservar(CriarReservaDTO dto) {
+        log.info("Reservando crédito para parceiro: {} - Valor: {}", dto.parceiroPublicId(), dto.valor());
+
+        Duration prazo = resolverPrazo(dto.prazoSegundos());
+
+        Parceiro parceiro = gestorCredito.carregarParceiro(dto.parceiroPublicId());
+        if (!parceiro.getAtivo()) {
+            throw BusinessRuleException.parceiroInativo(dto.parceiroPublicId());
+        }
+
+        gestorCredito.debitar(parceiro, Dinheiro.de(dto.valor()));
+        cacheDadosParceiros.atualizarAposCommit(parceiro.getPublicId());
+
+        ReservaCredito reserva = reservaCreditoRepository.save(
+                new ReservaCredito(parceiro, dto.valor(), LocalDateTime.now().plus(prazo)));
+
+        eventPublisher.publishEvent(new ReservaCriadaEvent(reserva.getPublicId(), reserva.getExpiraEm()));
+
+        log.info("Reserva de crédito criada. PublicId: {} - Expira em: {} - Modo de crédito: {}",
+                reserva.getPublicId(), reserva.getExpiraEm(), gestorCredito.getModo());
+
+        return ReservaResponseDTO.from(reserva);
+    }
+
+    @Transactional(readOnly = true)
+    public ReservaResponseDTO buscarPorId(String publicId) {
+        ReservaCredito reserva = reservaCreditoRepository.findByPublicId(publicId)
+                .orElseThrow(() -> EntityNotFoundException.reserva(publicId));
+
+        return ReservaResponseDTO.from(reserva);
+    }
+
+    // Fase 2: transforma a reserva em pedido aprovado; o crédito já foi debitado na reserva
+    public PedidoResponseDTO confirmar(String publicId, ConfirmarReservaDTO dto) {
+        log.info("Confirmando reserva de crédito: {}", publicId);
+
+        ReservaCredito reserva = reservaCreditoRepository.findByPublicIdWithLock(publicId)
+                .orElseThrow(() -> EntityNotFoundException.reserva(publicId));
+
+        if (!reserva.isAtiva()) {
+            throw BusinessRuleException.reservaNaoAtiva(publicId, reserva.getStatus().name(), "confirmar");
+        }
+        if (reserva.isVencida(LocalDateTime.now())) {
+            throw BusinessRuleException.reservaExpirada(publicId);
+        }
+
+        Parceiro parceiro = reserva.getParceiro();
+        PedidoResponseDTO pedido = pedidoService.criarPedidoComCreditoReservado(
+                parceiro,
+                new CriarPedidoDTO(parceiro.getPublicId(), dto.itens(), dto.observacoes()),
+                reserva.getValor()
+        );
+
+        reserva.confirmar(pedido.publicId());
+        reservaCreditoRepository.save(reserva);
+
+        // Devolve a parte da reserva que o pedido não consumiu
+        Dinheiro sobra = Dinheiro.de(reserva.getValor()).subtrair(Dinheiro.de(pedido.valorTotal()));
+        if (sobra.isPositivo()) {
+            gestorCredito.liberar(gestorCredito.carregarParceiro(parceiro.getPublicId()), sobra);
+            cacheDadosParceiros.atualizarAposCommit(parceiro.getPublicId());
+        }
+
+        log.info("Reserva {} confirmada - Pedido: {} - Valor: {} - Sobra liberada: {}",
+                publicId, pedido.publicId(), pedido.valorTotal(), sobra);
+
+        return pedido;
+    }
+
+    public ReservaResponseDTO liberar(String publicId) {
+        log.info("Liberando reserva de crédito: {}", publicId);
+
+        ReservaCredito reserva = reservaCreditoRepository.findByPublicIdWithLock(publicId)
+                .orElseThrow(() -> EntityNotFoundException.reserva(publicId));
+
+        reserva.liberar();
+        devolverCredito(reserva);
+
+        return ReservaResponseDTO.from(reservaCreditoRepository.save(reserva));
+    }
+
+    // Chamado pela roda de expiração e pela varredura; ignora reservas já finalizadas
+    public boolean expirar(String publicId) {
+        ReservaCredito reserva = reservaCreditoRepository.findByPublicIdWithLock(publicId).orElse(null);
+        if (reserva == null || !reserva.isAtiva() || !reserva.isVencida(LocalDateTime.now())) {
+            return false;
+        }
+
+        reserva.expirar();
+        devolverCredito(reserva);
+        reservaCreditoRepository.save(reserva);
+
+        log.info("Reserva de crédito expirada: {} - Valor devolvido: {}", publicId, reserva.getValor());
+        return true;
+    }
+
+    private void devolverCredito(ReservaCredito reserva) {
+        Parceiro parceiro = gestorCredito.carregarParceiro(reserva.getParceiro().getPublicId());
+        gestorCredito.liberar(parceiro, Dinheiro.de(reserva.getValor()));
+        cacheDadosParceiros.atualizarAposCommit(parceiro.getPublicId());
+    }
+
+    private Duration resolverPrazo(Long prazoSegundos) {
+        if (prazoSegundos == null) {
+            return reservaProperties.getPrazoPadrao();
+        }
+
+        Duration prazo = Duration.ofSeconds(prazoSegundos);
+        if (prazo.compareTo(reservaProperties.getPrazoMaximo()) > 0) {
+            throw new BusinessRuleException("PRAZO_RESERVA_INVALIDO",
+                    String.format("Prazo da reserva não pode exceder %d segundos",
+                            reservaProperties.getPrazoMaximo().toSeconds()));
+        }
+        return prazo;
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.vpsconsulting.orderhub.service.reserva;
+
+import java.time.LocalDateTime;
+
+// Publicado na criação da reserva; a expiração só é agendada após o commit
+public record ReservaCriadaEvent(String publicId, LocalDateTime expiraEm) {
+}
@@ -0,0 +1,75 @@
+package br.com.vpsconsulting.orderhub.service.reserva;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Roda de temporização (hashed timing wheel): cada item cai na posição
+ * {@code tickDoPrazo % posicoes}. Agendar é O(1) e cada avanço só percorre as
+ * posições dos ticks decorridos; prazos além de uma volta completa ficam na posição
+ * e são ignorados até o tick correspondente.
+ */
+public class RodaTemporizacao<T> {
+
+    private final long tickMillis;
+    private final long inicioMillis;
+    private final ArrayDeque<Entrada<T>>[] posicoes;
+    private long tickAtual;
+    private int tamanho;
+
+    @SuppressWarnings("unchecked")
+    public RodaTemporizacao(Duration tick, int quantidadePosicoes, long inicioMillis) {
+        if (tick.toMillis() <= 0 || quantidadePosicoes <= 0) {
+            throw new IllegalArgumentException("Tick e quantidade de posições devem ser maiores que zero");
+        }
+        this.tickMillis = tick.toMillis();
+        this.inicioMillis = inicioMillis;
+        this.posicoes = new ArrayDeque[quantidadePosicoes];
+        for (int i = 0; i < quantidadePosicoes; i++) {
+            posicoes[i] = new ArrayDeque<>();
+        }
+    }
+
+    public synchronized void agendar(T item, long prazoMillis) {
+        // Arredonda para cima: o item nunca vence antes do prazo
+        long tickPrazo = Math.max(-Math.floorDiv(inicioMillis - prazoMillis, tickMillis), tickAtual + 1);
+        posicoes[(int) (tickPrazo % posicoes.length)].add(new Entrada<>(item, tickPrazo));
+        tamanho++;
+    }
+
+    // Avança até o instante informado e devolve os itens vencidos
+    public synchronized List<T> avancar(long agoraMillis) {
+        long tickAlvo = Math.floorDiv(agoraMillis - inicioMillis, tickMillis);
+        if (tickAlvo <= tickAtual) {
+            return List.of();
+        }
+
+        // Mais de uma volta decorrida: basta visitar cada posição uma vez
+        long ticksDecorridos = Math.min(tickAlvo - tickAtual, posicoes.length);
+        List<T> vencidos = new ArrayList<>();
+        for (long tick = tickAlvo - ticksDecorridos + 1; tick <= tickAlvo; tick++) {
+            Iterator<Entrada<T>> iterator = posicoes[(int) (tick % posicoes.length)].iterator();
+            while (iterator.hasNext()) {
+                Entrada<T> entrada = iterator.next();
+                if (entrada.tickPrazo() <= tickAlvo) {
+                    vencidos.add(entrada.item());
+                    iterator.remove();
+                }
+            }
+        }
+
+        tickAtual = tickAlvo;
+        tamanho -= vencidos.size();
+        return vencidos;
+    }
+
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    private record Entrada<T>(T item, long tickPrazo) {
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.vpsconsulting.orderhub.benchmark;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara BigDecimal e {@link Dinheiro} nas operações dos caminhos quentes:
+ * cálculo do total do pedido (subtotais dos itens) e verificação de crédito disponível.
+ * Não roda no {@code mvn test}; veja a seção "Benchmarks" do README.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DinheiroBenchmark {
+
+    @Param({"5", "50"})
+    private int itens;
+
+    private BigDecimal[] precosBigDecimal;
+    private Dinheiro[] precosDinheiro;
+    private int[] quantidades;
+
+    private BigDecimal limiteBigDecimal;
+    private BigDecimal utilizadoBigDecimal;
+    private BigDecimal valorBigDecimal;
+    private Dinheiro limiteDinheiro;
+    private Dinheiro utilizadoDinheiro;
+    private Dinheiro valorDinheiro;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        precosBigDecimal = new BigDecimal[itens];
+        precosDinheiro = new Dinheiro[itens];
+        quantidades = new int[itens];
+        for (int i = 0; i < itens; i++) {
+            precosBigDecimal[i] = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            precosDinheiro[i] = Dinheiro.de(precosBigDecimal[i]);
+            quantidades[i] = 1 + random.nextInt(10);
+        }
+
+        limiteBigDecimal = new BigDecimal("10000.00");
+        utilizadoBigDecimal = new BigDecimal("8432.17");
+        valorBigDecimal = new BigDecimal("1234.56");
+        limiteDinheiro = Dinheiro.de(limiteBigDecimal);
+        utilizadoDinheiro = Dinheiro.de(utilizadoBigDecimal);
+        valorDinheiro = Dinheiro.de(valorBigDecimal);
+    }
+
+    // Mesma conta feita por ItemPedido/Pedido antes do Dinheiro
+    @Benchmark
+    public BigDecimal valorTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itens; i++) {
+            BigDecimal subtotal = precosBigDecimal[i]
+                    .multiply(BigDecimal.valueOf(quantidades[i]))
+                    .setScale(2, RoundingMode.HALF_UP);
+            total = total.add(subtotal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Dinheiro valorTotalDinheiro() {
+        long centavos = 0;
+        for (int i = 0; i < itens; i++) {
+            centavos = Math.addExact(centavos, precosDinheiro[i].multiplicar(quantidades[i]).getCentavos());
+        }
+        return Dinheiro.deCentavos(centavos);
+    }
+
+    @Benchmark
+    public boolean temCreditoDisponivelBigDecimal() {
+        return limiteBigDecimal.subtract(utilizadoBigDecimal).compareTo(valorBigDecimal) >= 0;
+    }
+
+    @Benchmark
+    public boolean temCreditoDisponivelDinheiro() {
+        return limiteDinheiro.cobre(utilizadoDinheiro, valorDinheiro);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DinheiroBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.vpsconsulting.orderhub.benchmark;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência e quantidade de statements JDBC para gravar um pedido de 200 itens
+ * (persist + flush em uma transação). Sobe a aplicação sem a camada web, por padrão
+ * contra H2 em memória; para medir contra o PostgreSQL, passe {@code -Dspring.datasource.*}
+ * e o dialeto via {@code -jvmArgsAppend}. Não roda no {@code mvn test}; veja a seção
+ * "Benchmarks" do README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GravacaoPedidoBenchmark {
+
+    private static final int ITENS_POR_PEDIDO = 200;
+
+    private ConfigurableApplicationContext contexto;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics estatisticas;
+    private Parceiro parceiro;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(OrderHubApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos());
+
+        EntityManagerFactory entityManagerFactory = contexto.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        parceiro = transactionTemplate.execute(status -> {
+            Parceiro novo = new Parceiro("Empresa Benchmark", "12345678000195", new BigDecimal("999999999.00"));
+            entityManager.persist(novo);
+            return novo;
+        });
+        estatisticas.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long pedidos = estatisticas.getTransactionCount();
+        if (pedidos > 0) {
+            System.out.printf("%nPor pedido de %d itens: %.1f statements preparados, %.1f INSERTs%n",
+                    ITENS_POR_PEDIDO,
+                    (double) estatisticas.getPrepareStatementCount() / pedidos,
+                    (double) estatisticas.getEntityInsertCount() / pedidos);
+        }
+        contexto.close();
+    }
+
+    @Benchmark
+    public Long gravarPedido() {
+        return transactionTemplate.execute(status -> {
+            Pedido pedido = new Pedido(entityManager.getReference(Parceiro.class, parceiro.getId()));
+            for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+                pedido.adicionarItem(new ItemPedido(pedido, "Produto " + i, 1 + i % 10, new BigDecimal("19.90")));
+            }
+            entityManager.persist(pedido);
+            entityManager.flush();
+            entityManager.clear();
+            return pedido.getId();
+        });
+    }
+
+    // Argumentos de linha de comando têm precedência sobre o application.yml; propriedades de
+    // sistema (-Dspring.datasource.url=...) substituem o H2 padrão
+    private static String[] argumentos() {
+        String[][] padrao = {
+                {"spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"},
+                {"spring.datasource.driver-class-name", "org.h2.Driver"},
+                {"spring.datasource.username", "sa"},
+                {"spring.datasource.password", ""},
+                {"spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect"},
+                {"spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"},
+                {"spring.jpa.hibernate.ddl-auto", "create-drop"},
+                {"spring.jpa.properties.hibernate.generate_statistics", "true"},
+                // O profile dev loga cada statement, o que dominaria a medição
+                {"spring.jpa.show-sql", "false"},
+                {"logging.level.org.hibernate.SQL", "WARN"},
+                {"logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN"},
+                {"logging.level.br.com.vpsconsulting.orderhub", "WARN"},
+        };
+        String[] argumentos = new String[padrao.length];
+        for (int i = 0; i < padrao.length; i++) {
+            argumentos[i] = "--" + padrao[i][0] + "=" + System.getProperty(padrao[i][0], padrao[i][1]);
+        }
+        return argumentos;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GravacaoPedidoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.vpsconsulting.orderhub.benchmark;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.PaginacaoDTO;
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.service.PedidoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência e alocação por requisição das leituras de pedidos ({@code buscarPorId} e uma página
+ * de 50 da listagem), comparando o caminho por projeções do {@link PedidoService} com o anterior:
+ * entidades gerenciadas copiadas para os DTOs. A alocação aparece em {@code gc.alloc.rate.norm}
+ * (bytes/op) com {@code -prof gc}. Sobe a aplicação sem a camada web, contra H2 em memória por
+ * padrão. Não roda no {@code mvn test}; veja a seção "Benchmarks" do README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeituraPedidoBenchmark {
+
+    private static final int PEDIDOS = 200;
+    private static final int ITENS_POR_PEDIDO = 10;
+    private static final int TAMANHO_PAGINA = 50;
+
+    @Param({"projecao", "entidades"})
+    public String modo;
+
+    private ConfigurableApplicationContext contexto;
+    private EntityManager entityManager;
+    private TransactionTemplate leitura;
+    private PedidoService pedidoService;
+    private String publicId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(OrderHubApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos());
+
+        EntityManagerFactory entityManagerFactory = contexto.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        pedidoService = contexto.getBean(PedidoService.class);
+        leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+
+        publicId = contexto.getBean(TransactionTemplate.class).execute(status -> {
+            Parceiro parceiro = new Parceiro("Empresa Benchmark", "12345678000195", new BigDecimal("999999999.00"));
+            entityManager.persist(parceiro);
+            Pedido pedido = null;
+            for (int i = 0; i < PEDIDOS; i++) {
+                pedido = new Pedido(parceiro);
+                pedido.setDataCriacao(LocalDateTime.now().minusMinutes(i));
+                for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                    pedido.adicionarItem(new ItemPedido(pedido, "Produto " + j, 1 + j, new BigDecimal("19.90")));
+                }
+                entityManager.persist(pedido);
+            }
+            return pedido.getPublicId();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public PedidoResponseDTO buscarPorId() {
+        if ("projecao".equals(modo)) {
+            return pedidoService.buscarPorId(publicId);
+        }
+        return leitura.execute(status -> paraResposta(entityManager.createQuery(
+                        "SELECT p FROM Pedido p JOIN FETCH p.parceiro LEFT JOIN FETCH p.itens " +
+                                "WHERE p.publicId = :publicId", Pedido.class)
+                .setParameter("publicId", publicId)
+                .getSingleResult()));
+    }
+
+    @Benchmark
+    public Object listarPagina() {
+        if ("projecao".equals(modo)) {
+            PaginacaoDTO<PedidoResponseDTO> pagina = pedidoService.buscarPedidos(FiltroPedidosDTO.TODOS, null, TAMANHO_PAGINA);
+            return pagina.conteudo();
+        }
+        // Caminho anterior: página de entidades com o parceiro e os itens em uma segunda consulta
+        return leitura.execute(status -> {
+            List<Pedido> pedidos = entityManager.createQuery(
+                            "SELECT p FROM Pedido p JOIN FETCH p.parceiro ORDER BY p.dataCriacao DESC, p.id DESC",
+                            Pedido.class)
+                    .setMaxResults(TAMANHO_PAGINA)
+                    .getResultList();
+            entityManager.createQuery("SELECT DISTINCT p FROM Pedido p LEFT JOIN FETCH p.itens WHERE p IN :pedidos",
+                            Pedido.class)
+                    .setParameter("pedidos", pedidos)
+                    .getResultList();
+            return pedidos.stream().map(LeituraPedidoBenchmark::paraResposta).toList();
+        });
+    }
+
+    private static PedidoResponseDTO paraResposta(Pedido pedido) {
+        List<ItemPedidoResponseDTO> itens = pedido.getItens().stream()
+                .map(item -> new ItemPedidoResponseDTO(item.getId(), item.getProduto(), item.getQuantidade(),
+                        item.getPrecoUnitario(), item.getSubtotal()))
+                .toList();
+        return new PedidoResponseDTO(pedido.getPublicId(), pedido.getParceiro().getPublicId(),
+                pedido.getParceiro().getNome(), itens, pedido.getValorTotal(), pedido.getStatus(),
+                pedido.getObservacoes(), pedido.getDataCriacao(), pedido.getDataAtualizacao());
+    }
+
+    // Mesmos argumentos do GravacaoPedidoBenchmark: H2 em memória, sem log de SQL
+    private static String[] argumentos() {
+        String[][] padrao = {
+                {"spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"},
+                {"spring.datasource.driver-class-name", "org.h2.Driver"},
+                {"spring.datasource.username", "sa"},
+                {"spring.datasource.password", ""},
+                {"spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect"},
+                {"spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect"},
+                {"spring.jpa.hibernate.ddl-auto", "create-drop"},
+                {"spring.jpa.show-sql", "false"},
+                {"logging.level.org.hibernate.SQL", "WARN"},
+                {"logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN"},
+                {"logging.level.br.com.vpsconsulting.orderhub", "WARN"},
+        };
+        String[] argumentos = new String[padrao.length];
+        for (int i = 0; i < padrao.length; i++) {
+            argumentos[i] = "--" + padrao[i][0] + "=" + System.getProperty(padrao[i][0], padrao[i][1]);
+        }
+        return argumentos;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LeituraPedidoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.vpsconsulting.orderhub.benchmark;
+
+import br.com.vpsconsulting.orderhub.entity.GeradorPublicIdTemporal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Vazão de INSERT em uma tabela com índice único de publicId já carregada com
+ * {@code linhasIniciais} linhas: ids aleatórios de 8 caracteres (formato anterior) contra
+ * ids ordenados pelo tempo ({@link GeradorPublicIdTemporal}). O efeito aparece quando o índice
+ * deixa de caber em memória; para a medição com 50M+ linhas use o PostgreSQL:
+ * {@code -p linhasIniciais=50000000 -jvmArgsAppend "-Dbenchmark.url=jdbc:postgresql://..."}
+ * (e {@code -Dbenchmark.usuario}/{@code -Dbenchmark.senha}). Não roda no {@code mvn test};
+ * veja a seção "Benchmarks" do README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PublicIdIndiceBenchmark {
+
+    private static final int LINHAS_POR_BATCH = 1_000;
+    private static final String CARACTERES = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    @Param({"1000000"})
+    private long linhasIniciais;
+
+    @Param({"aleatorio", "temporal"})
+    private String gerador;
+
+    private Connection conexao;
+    private PreparedStatement insert;
+    private Supplier<String> proximoId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conexao = DriverManager.getConnection(
+                System.getProperty("benchmark.url", "jdbc:h2:file:./target/benchmark-public-ids"),
+                System.getProperty("benchmark.usuario", "sa"),
+                System.getProperty("benchmark.senha", ""));
+        conexao.setAutoCommit(false);
+
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS benchmark_public_ids");
+            ddl.execute("CREATE TABLE benchmark_public_ids (public_id VARCHAR(20) NOT NULL)");
+            ddl.execute("CREATE UNIQUE INDEX idx_benchmark_public_id ON benchmark_public_ids (public_id)");
+        }
+        conexao.commit();
+
+        GeradorPublicIdTemporal temporal = new GeradorPublicIdTemporal(0);
+        proximoId = "temporal".equals(gerador)
+                ? () -> temporal.gerar("PED_")
+                : PublicIdIndiceBenchmark::idAleatorio;
+        insert = conexao.prepareStatement("INSERT INTO benchmark_public_ids (public_id) VALUES (?)");
+
+        for (long carregadas = 0; carregadas < linhasIniciais; carregadas += LINHAS_POR_BATCH) {
+            inserirBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = conexao.createStatement()) {
+            ddl.execute("DROP TABLE benchmark_public_ids");
+        }
+        conexao.commit();
+        conexao.close();
+    }
+
+    // Uma operação = uma linha; cada invocação grava um batch de LINHAS_POR_BATCH
+    @Benchmark
+    @OperationsPerInvocation(LINHAS_POR_BATCH)
+    public void inserir() throws SQLException {
+        inserirBatch();
+    }
+
+    private void inserirBatch() throws SQLException {
+        for (int i = 0; i < LINHAS_POR_BATCH; i++) {
+            insert.setString(1, proximoId.get());
+            insert.addBatch();
+        }
+        try {
+            insert.executeBatch();
+            conexao.commit();
+        } catch (SQLException e) {
+            // Colisão de id aleatório: descarta o batch, como a transação do pedido seria desfeita
+            conexao.rollback();
+        }
+    }
+
+    // Mesmo formato usado antes do GeradorPublicIdTemporal
+    private static String idAleatorio() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] sufixo = new char[8];
+        for (int i = 0; i < sufixo.length; i++) {
+            sufixo[i] = CARACTERES.charAt(random.nextInt(CARACTERES.length()));
+        }
+        return "PED_" + new String(sufixo);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PublicIdIndiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheConfig - Testes Unitários")
+class CacheConfigTest {
+
+    private CachesProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CachesProperties();
+    }
+
+    @Test
+    @DisplayName("Deve limitar o número de entradas de cada cache")
+    void deveLimitarNumeroDeEntradas() {
+        // Given
+        properties.getConfiguracoes().put("limitado", configuracao(2, Duration.ofMinutes(10), null));
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, List.of(), Optional.empty());
+        Cache<Object, Object> nativo = nativo(cacheManager, "limitado");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            cacheManager.getCache("limitado").put(i, "valor " + i);
+        }
+        nativo.cleanUp();
+
+        // Then
+        assertEquals(2, nativo.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a configuração padrão aos caches criados no primeiro uso")
+    void deveAplicarPadraoAosCachesDinamicos() {
+        // Given
+        properties.setPadrao(configuracao(5, Duration.ofSeconds(30), null));
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, List.of(), Optional.empty());
+
+        // When
+        Cache<Object, Object> nativo = nativo(cacheManager, "nao-configurado");
+
+        // Then
+        assertEquals(5, nativo.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofSeconds(30), nativo.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o valor atual e recarregar em segundo plano após a renovação")
+    void deveRecarregarEmSegundoPlanoAposRenovacao() throws InterruptedException {
+        // Given
+        AtomicInteger carregamentos = new AtomicInteger();
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        CarregadorCache carregador = new CarregadorCache() {
+            @Override
+            public String nomeCache() {
+                return "renovado";
+            }
+
+            @Override
+            public Object carregar(Object chave) throws InterruptedException {
+                liberarCarga.await();
+                return chave + "-" + carregamentos.incrementAndGet();
+            }
+        };
+        properties.getConfiguracoes().put("renovado", configuracao(10, Duration.ofMinutes(10), Duration.ofMillis(50)));
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, List.of(carregador), Optional.empty());
+        org.springframework.cache.Cache cache = cacheManager.getCache("renovado");
+        cache.put("PARC_1", "original");
+        Thread.sleep(60);
+
+        // When - a leitura após a renovação não espera o carregador
+        Object lido = cache.get("PARC_1").get();
+        liberarCarga.countDown();
+
+        // Then
+        assertEquals("original", lido);
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!"PARC_1-1".equals(cache.get("PARC_1").get()) && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertEquals("PARC_1-1", cache.get("PARC_1").get());
+    }
+
+    @Test
+    @DisplayName("Deve registrar estatísticas de acertos, faltas e remoções para o Micrometer")
+    void deveRegistrarEstatisticasParaMicrometer() {
+        // Given
+        properties.getConfiguracoes().put("medido", configuracao(1, Duration.ofMinutes(10), null));
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties, List.of(), Optional.empty());
+        Cache<Object, Object> nativo = nativo(cacheManager, "medido");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CaffeineCacheMetrics.monitor(registry, nativo, "medido");
+
+        // When
+        org.springframework.cache.Cache cache = cacheManager.getCache("medido");
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("b");
+        cache.put("c", 3);
+        nativo.cleanUp();
+
+        // Then
+        assertEquals(1, registry.get("cache.gets").tag("cache", "medido").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "medido").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.evictions").tag("cache", "medido").functionCounter().count());
+    }
+
+    private static CachesProperties.Configuracao configuracao(long tamanhoMaximo, Duration expiracao, Duration renovacao) {
+        CachesProperties.Configuracao configuracao = new CachesProperties.Configuracao();
+        configuracao.setTamanhoMaximo(tamanhoMaximo);
+        configuracao.setExpiracao(expiracao);
+        configuracao.setRenovacao(renovacao);
+        return configuracao;
+    }
+
+    private static Cache<Object, Object> nativo(CacheManager cacheManager, String nome) {
+        return ((CaffeineCache) cacheManager.getCache(nome)).getNativeCache();
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheDuasCamadas - Testes Unitários")
+class CacheDuasCamadasTest {
+
+    private static final String CACHE = "dados-parceiros";
+
+    // Duas instâncias da aplicação: Caffeine próprio, segundo nível (com gravação versionada) e canal
+    // em memória compartilhados
+    private ConcurrentMapCacheManager compartilhados;
+    private CanalMemoria canal;
+    private Cache noA;
+    private Cache noB;
+
+    @BeforeEach
+    void setUp() {
+        compartilhados = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new SegundoNivelMemoria(name);
+            }
+        };
+        canal = new CanalMemoria();
+        noA = novaInstancia().getCache(CACHE);
+        noB = novaInstancia().getCache(CACHE);
+    }
+
+    @Test
+    @DisplayName("Deve servir de outra instância o valor gravado, pelo segundo nível e depois pela memória local")
+    void deveServirValorGravadoPorOutraInstancia() {
+        // Given
+        noA.put("PARC_1", "v1");
+
+        // When
+        Object primeiraLeitura = noB.get("PARC_1").get();
+        compartilhados.getCache(CACHE).evict("PARC_1");
+        Object segundaLeitura = noB.get("PARC_1").get();
+
+        // Then - a segunda leitura não depende mais do segundo nível
+        assertEquals("v1", primeiraLeitura);
+        assertEquals("v1", segundaLeitura);
+    }
+
+    @Test
+    @DisplayName("Deve remover a entrada local das outras instâncias a cada gravação")
+    void deveInvalidarEntradaLocalDasOutrasInstancias() {
+        // Given
+        noA.put("PARC_1", "v1");
+        assertEquals("v1", noB.get("PARC_1").get());
+
+        // When
+        noA.put("PARC_1", "v2");
+
+        // Then
+        assertEquals("v2", noB.get("PARC_1").get());
+        assertEquals("v2", compartilhados.getCache(CACHE).get("PARC_1").get());
+    }
+
+    @Test
+    @DisplayName("Deve propagar remoções para o segundo nível e para as outras instâncias")
+    void devePropagarRemocoes() {
+        // Given
+        noA.put("PARC_1", "v1");
+        noB.get("PARC_1");
+
+        // When
+        noA.evict("PARC_1");
+
+        // Then
+        assertNull(noB.get("PARC_1"));
+        assertNull(compartilhados.getCache(CACHE).get("PARC_1"));
+    }
+
+    @Test
+    @DisplayName("Deve carregar do banco uma única vez para todas as instâncias, sem publicar invalidação")
+    void deveCarregarUmaVezParaTodasAsInstancias() {
+        // Given
+        AtomicInteger carregamentos = new AtomicInteger();
+
+        // When
+        Object lidoEmA = noA.get("PARC_1", () -> "carregado-" + carregamentos.incrementAndGet());
+        Object lidoEmB = noB.get("PARC_1", () -> "carregado-" + carregamentos.incrementAndGet());
+
+        // Then
+        assertEquals("carregado-1", lidoEmA);
+        assertEquals("carregado-1", lidoEmB);
+        assertEquals(1, carregamentos.get());
+        assertTrue(canal.publicadas.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não deve remover a entrada local ao receber a própria invalidação")
+    void naoDeveRemoverEntradaLocalNaPropriaInvalidacao() {
+        // Given
+        noA.put("PARC_1", "v1");
+        compartilhados.getCache(CACHE).evict("PARC_1");
+
+        // When - a mensagem publicada por A também chega a A
+        Object lido = noA.get("PARC_1").get();
+
+        // Then
+        assertEquals("v1", lido);
+        assertEquals(1, canal.publicadas.size());
+    }
+
+    @Test
+    @DisplayName("Não deve substituir no segundo nível a versão mais nova gravada por outra instância")
+    void naoDeveSubstituirVersaoMaisNovaDeOutraInstancia() {
+        // Given
+        noA.put("PARC_1", new Snapshot(1L));
+        noB.get("PARC_1");
+        noA.put("PARC_1", new Snapshot(3L));
+
+        // When - B grava atrasado um snapshot que leu antes
+        noB.put("PARC_1", new Snapshot(2L));
+
+        // Then
+        assertEquals(new Snapshot(3L), compartilhados.getCache(CACHE).get("PARC_1").get());
+        assertEquals(new Snapshot(3L), noA.get("PARC_1").get());
+        assertEquals(new Snapshot(3L), noB.get("PARC_1").get());
+        assertEquals(List.of(1L, 3L), canal.publicadas.stream().map(CanalInvalidacaoCache.Invalidacao::versao).toList());
+    }
+
+    @Test
+    @DisplayName("A invalidação com versão deve remover só entradas locais mais antigas")
+    void invalidacaoComVersaoDeveRemoverSoEntradasMaisAntigas() {
+        // Given - B tem a versão 3 só na memória local
+        noA.put("PARC_1", new Snapshot(3L));
+        noB.get("PARC_1");
+        compartilhados.getCache(CACHE).evict("PARC_1");
+
+        // When & Then
+        canal.publicar(new CanalInvalidacaoCache.Invalidacao("no-c", CACHE, "PARC_1", 3L));
+        assertEquals(new Snapshot(3L), noB.get("PARC_1").get());
+
+        canal.publicar(new CanalInvalidacaoCache.Invalidacao("no-c", CACHE, "PARC_1", 4L));
+        assertNull(noB.get("PARC_1"));
+    }
+
+    @Test
+    @DisplayName("Deve seguir para o carregador quando o segundo nível está indisponível")
+    void deveCarregarQuandoSegundoNivelIndisponivel() {
+        // Given
+        CacheManager indisponivel = new ConcurrentMapCacheManager() {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new org.springframework.cache.concurrent.ConcurrentMapCache(name) {
+                    @Override
+                    public ValueWrapper get(Object key) {
+                        throw new IllegalStateException("Redis fora do ar");
+                    }
+                };
+            }
+        };
+        CachesProperties properties = new CachesProperties();
+        Cache cache = new CacheConfig().cacheManager(properties, List.of(),
+                Optional.of(new SegundoNivelCache(indisponivel, canal))).getCache(CACHE);
+
+        // When & Then
+        assertEquals("do-banco", cache.get("PARC_1", () -> "do-banco"));
+    }
+
+    private CacheManager novaInstancia() {
+        CachesProperties properties = new CachesProperties();
+        CachesProperties.Configuracao configuracao = new CachesProperties.Configuracao();
+        configuracao.setExpiracao(Duration.ofMinutes(10));
+        properties.getConfiguracoes().put(CACHE, configuracao);
+        return new CacheConfig().cacheManager(properties, List.of(), Optional.of(new SegundoNivelCache(compartilhados, canal)));
+    }
+
+    private record Snapshot(Long versao) implements ValorVersionado {
+    }
+
+    // Substituto em memória do RedisCacheVersionado: a comparação de versões é atômica por chave
+    private static class SegundoNivelMemoria extends ConcurrentMapCache implements GravacaoVersionada {
+
+        SegundoNivelMemoria(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean gravarSeMaisNovo(Object chave, ValorVersionado valor) {
+            Object gravado = getNativeCache().compute(chave, (k, atual) ->
+                    atual instanceof ValorVersionado anterior && anterior.versao() > valor.versao() ? atual : valor);
+            return gravado == valor;
+        }
+    }
+
+    // Substituto em memória do pub/sub do Redis: entrega síncrona a todas as instâncias, inclusive a de origem
+    private static class CanalMemoria implements CanalInvalidacaoCache {
+
+        private final List<Consumer<Invalidacao>> ouvintes = new CopyOnWriteArrayList<>();
+        private final List<Invalidacao> publicadas = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publicar(Invalidacao invalidacao) {
+            publicadas.add(invalidacao);
+            ouvintes.forEach(ouvinte -> ouvinte.accept(invalidacao));
+        }
+
+        @Override
+        public void assinar(Consumer<Invalidacao> ouvinte) {
+            ouvintes.add(ouvinte);
+        }
+    }
+}
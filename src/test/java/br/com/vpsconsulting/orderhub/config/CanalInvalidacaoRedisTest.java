@@ -0,0 +1,51 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CanalInvalidacaoRedis - Testes Unitários")
+class CanalInvalidacaoRedisTest {
+
+    private static final String TOPICO = "orderhub:caches:invalidacao";
+
+    @ParameterizedTest(name = "chave {0}, versão {1}")
+    @CsvSource(value = {"PARC_1, NULL", "PARC_1, 7", "chave|com|separador, NULL", "chave|com|separador, 12", "NULL, NULL"},
+            nullValues = "NULL")
+    @DisplayName("A mensagem publicada deve chegar ao assinante com origem, cache, chave e versão")
+    void deveTransmitirInvalidacao(String chave, Long versao) {
+        // Given
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        CanalInvalidacaoRedis canal = new CanalInvalidacaoRedis(redisTemplate, container, TOPICO);
+
+        AtomicReference<CanalInvalidacaoCache.Invalidacao> recebida = new AtomicReference<>();
+        canal.assinar(recebida::set);
+        ArgumentCaptor<MessageListener> ouvinte = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(ouvinte.capture(), eq(ChannelTopic.of(TOPICO)));
+
+        // When
+        CanalInvalidacaoCache.Invalidacao enviada = new CanalInvalidacaoCache.Invalidacao("no-a", "dados-parceiros", chave, versao);
+        canal.publicar(enviada);
+        ArgumentCaptor<String> mensagem = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TOPICO), mensagem.capture());
+        ouvinte.getValue().onMessage(new DefaultMessage(TOPICO.getBytes(StandardCharsets.UTF_8),
+                mensagem.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        assertEquals(enviada, recebida.get());
+    }
+}
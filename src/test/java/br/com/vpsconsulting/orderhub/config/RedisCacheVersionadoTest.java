@@ -0,0 +1,81 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RedisCacheVersionado - Testes Unitários")
+class RedisCacheVersionadoTest {
+
+    private RedisConnection conexao;
+    private RedisScriptingCommands scripts;
+    private RedisCacheVersionado cache;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        conexao = mock(RedisConnection.class);
+        scripts = mock(RedisScriptingCommands.class);
+        when(connectionFactory.getConnection()).thenReturn(conexao);
+        when(conexao.scriptingCommands()).thenReturn(scripts);
+        cache = new RedisCacheVersionado("dados-parceiros", mock(RedisCacheWriter.class),
+                RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(30))
+                        .prefixCacheNameWith("orderhub:"),
+                connectionFactory);
+    }
+
+    @Test
+    @DisplayName("Deve gravar pelo script com a chave do valor, a chave da versão e a expiração do cache")
+    void deveGravarPeloScript() {
+        // Given
+        when(scripts.eval(any(byte[].class), eq(ReturnType.BOOLEAN), eq(2), any(byte[][].class))).thenReturn(true);
+
+        // When
+        boolean gravado = cache.gravarSeMaisNovo("PARC_1", new Snapshot(7L));
+
+        // Then
+        assertTrue(gravado);
+        ArgumentCaptor<byte[]> argumentos = ArgumentCaptor.forClass(byte[].class);
+        // KEYS[1], KEYS[2], ARGV[1], ARGV[2], ARGV[3]
+        verify(scripts).eval(any(byte[].class), eq(ReturnType.BOOLEAN), eq(2), argumentos.capture(), argumentos.capture(),
+                argumentos.capture(), argumentos.capture(), argumentos.capture());
+        assertEquals("orderhub:dados-parceiros::PARC_1", texto(argumentos.getAllValues().get(0)));
+        assertEquals("orderhub:dados-parceiros::PARC_1#versao", texto(argumentos.getAllValues().get(1)));
+        assertEquals("7", texto(argumentos.getAllValues().get(3)));
+        assertEquals("1800000", texto(argumentos.getAllValues().get(4)));
+        verify(conexao).close();
+    }
+
+    @Test
+    @DisplayName("Deve informar quando o Redis já tem uma versão mais nova")
+    void deveInformarVersaoMaisNovaNoRedis() {
+        // Given
+        when(scripts.eval(any(byte[].class), eq(ReturnType.BOOLEAN), eq(2), any(byte[][].class))).thenReturn(false);
+
+        // When & Then
+        assertFalse(cache.gravarSeMaisNovo("PARC_1", new Snapshot(7L)));
+    }
+
+    private static String texto(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Snapshot(Long versao) implements ValorVersionado, java.io.Serializable {
+    }
+}
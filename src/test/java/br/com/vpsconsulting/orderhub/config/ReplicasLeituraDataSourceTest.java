@@ -0,0 +1,137 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplicasLeituraDataSource - Testes Unitários")
+class ReplicasLeituraDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource replicaA;
+
+    @Mock
+    private DataSource replicaB;
+
+    @Mock
+    private Connection conexaoPrimario;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicasLeituraDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReplicasLeituraDataSource(
+                List.of(new ReplicasLeituraDataSource.Replica("a", replicaA),
+                        new ReplicasLeituraDataSource.Replica("b", replicaB)),
+                primario, Duration.ofSeconds(5), "SELECT atraso", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário enquanto nenhuma réplica foi verificada")
+    void deveUsarPrimarioAntesDaPrimeiraVerificacao() throws SQLException {
+        // Given
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        // When & Then
+        assertSame(conexaoPrimario, dataSource.getConnection());
+        verifyNoInteractions(replicaA, replicaB);
+        assertEquals(1.0, meterRegistry.counter("orderhub.replicas.fallback").count());
+    }
+
+    @Test
+    @DisplayName("Deve distribuir as leituras em rodízio entre as réplicas dentro do atraso máximo")
+    void deveDistribuirLeiturasEmRodizio() throws SQLException {
+        // Given
+        Connection conexaoA = conexaoComAtraso(replicaA, 0.5, false);
+        Connection conexaoB = conexaoComAtraso(replicaB, 0, true);
+        dataSource.verificarReplicas();
+
+        // When
+        List<Connection> conexoes = List.of(dataSource.getConnection(), dataSource.getConnection(),
+                dataSource.getConnection(), dataSource.getConnection());
+
+        // Then
+        assertEquals(List.of(conexaoA, conexaoB, conexaoA, conexaoB), conexoes);
+        assertEquals(1.0, meterRegistry.get("orderhub.replicas.disponivel").tag("replica", "b").gauge().value());
+        verifyNoInteractions(primario);
+    }
+
+    @Test
+    @DisplayName("Deve tirar do rodízio a réplica atrasada e voltar quando ela alcançar o primário")
+    void deveTirarReplicaAtrasadaDoRodizio() throws SQLException {
+        // Given - "a" 12s atrás do primário
+        Connection conexaoA = conexaoComAtraso(replicaA, 12, false);
+        Connection conexaoB = conexaoComAtraso(replicaB, 1, false);
+        dataSource.verificarReplicas();
+
+        // When & Then
+        assertSame(conexaoB, dataSource.getConnection());
+        assertSame(conexaoB, dataSource.getConnection());
+        assertEquals(12.0, meterRegistry.get("orderhub.replicas.atraso").tag("replica", "a").gauge().value());
+
+        // When - "a" alcança o primário
+        ResultSet alcancou = mock(ResultSet.class);
+        when(alcancou.next()).thenReturn(true);
+        when(alcancou.getDouble(1)).thenReturn(0.2);
+        Statement statement = conexaoA.createStatement();
+        when(statement.executeQuery(anyString())).thenReturn(alcancou);
+        dataSource.verificarReplicas();
+
+        // Then
+        assertTrue(List.of(dataSource.getConnection(), dataSource.getConnection()).contains(conexaoA));
+    }
+
+    @Test
+    @DisplayName("Deve passar para a próxima réplica e depois para o primário quando a conexão falha")
+    void deveCairParaPrimarioQuandoReplicasFalham() throws SQLException {
+        // Given
+        conexaoComAtraso(replicaA, 0, false);
+        conexaoComAtraso(replicaB, 0, false);
+        dataSource.verificarReplicas();
+        when(replicaA.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(replicaB.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+
+        // When & Then - as duas saem do rodízio na primeira falha
+        assertSame(conexaoPrimario, dataSource.getConnection());
+        assertSame(conexaoPrimario, dataSource.getConnection());
+        verify(replicaA, times(2)).getConnection();
+        verify(replicaB, times(2)).getConnection();
+    }
+
+    private Connection conexaoComAtraso(DataSource replica, double atraso, boolean nulo) throws SQLException {
+        Connection conexao = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultado = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(conexao);
+        lenient().when(conexao.createStatement()).thenReturn(statement);
+        lenient().when(statement.executeQuery("SELECT atraso")).thenReturn(resultado);
+        lenient().when(resultado.next()).thenReturn(true);
+        lenient().when(resultado.getDouble(1)).thenReturn(atraso);
+        lenient().when(resultado.wasNull()).thenReturn(nulo);
+        return conexao;
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.vpsconsulting.orderhub.config;
+
+import br.com.vpsconsulting.orderhub.entity.GeradorPublicIdTemporal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReservaNoPublicId - Testes Unitários")
+class ReservaNoPublicIdTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection conexao;
+    @Mock
+    private Statement ddl;
+    @Mock
+    private PreparedStatement trava;
+    @Mock
+    private ResultSet resultadoTrava;
+    @Mock
+    private PreparedStatement consultaInstante;
+    @Mock
+    private ResultSet resultadoInstante;
+    @Mock
+    private PreparedStatement gravacao;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.createStatement()).thenReturn(ddl);
+        when(conexao.prepareStatement(startsWith("SELECT pg_try_advisory_lock"))).thenReturn(trava);
+        when(trava.executeQuery()).thenReturn(resultadoTrava);
+        when(resultadoTrava.next()).thenReturn(true);
+        when(conexao.prepareStatement(startsWith("SELECT ultimo_instante"))).thenReturn(consultaInstante);
+        when(consultaInstante.executeQuery()).thenReturn(resultadoInstante);
+        when(conexao.prepareStatement(startsWith("INSERT INTO public_id_nos"))).thenReturn(gravacao);
+    }
+
+    @Test
+    @DisplayName("Sem nó configurado deve reservar o primeiro nó livre e começar depois do último instante gravado")
+    void deveReservarPrimeiroNoLivreEComecarDepoisDoUltimoInstante() throws Exception {
+        // Given - nó 0 em uso; o nó 1 gerou ids até 1 minuto à frente do relógio antes do restart
+        long ultimoInstante = System.currentTimeMillis() + 60_000;
+        when(resultadoTrava.getBoolean(1)).thenReturn(false, true);
+        when(resultadoInstante.next()).thenReturn(true);
+        when(resultadoInstante.getLong(1)).thenReturn(ultimoInstante);
+
+        // When
+        ReservaNoPublicId reserva = ReservaNoPublicId.reservar(dataSource, null, Duration.ofSeconds(1));
+        String publicId = reserva.getGerador().gerar("PED_");
+
+        // Then
+        assertEquals(1, reserva.getGerador().getNo());
+        assertEquals(1, GeradorPublicIdTemporal.noDe(publicId));
+        assertEquals(Instant.ofEpochMilli(ultimoInstante + 1_001), GeradorPublicIdTemporal.instanteDe(publicId));
+        verify(trava, times(2)).setInt(1, ReservaNoPublicId.NAMESPACE_LOCK_NO);
+        verify(trava).setInt(2, 0);
+        verify(trava).setInt(2, 1);
+        verify(conexao, never()).close();
+    }
+
+    @Test
+    @DisplayName("Deve falhar na subida quando o nó configurado já está em uso por outra instância")
+    void deveFalharQuandoNoConfiguradoEmUso() throws Exception {
+        // Given
+        when(resultadoTrava.getBoolean(1)).thenReturn(false);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ReservaNoPublicId.reservar(dataSource, 7, Duration.ofSeconds(1)));
+        assertTrue(exception.getMessage().contains("7"));
+        verify(trava).setInt(2, 7);
+        verify(conexao).close();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o último instante gerado e liberar a conexão no desligamento")
+    void deveGravarUltimoInstanteAoLiberar() throws Exception {
+        // Given
+        when(resultadoTrava.getBoolean(1)).thenReturn(true);
+        when(resultadoInstante.next()).thenReturn(false);
+        ReservaNoPublicId reserva = ReservaNoPublicId.reservar(dataSource, 3, Duration.ofSeconds(1));
+        String publicId = reserva.getGerador().gerar("PED_");
+
+        // When
+        reserva.liberar();
+
+        // Then
+        verify(gravacao).setInt(1, 3);
+        verify(gravacao).setLong(2, GeradorPublicIdTemporal.instanteDe(publicId).toEpochMilli());
+        verify(gravacao).executeUpdate();
+        verify(conexao).close();
+    }
+
+    @Test
+    @DisplayName("Não deve gravar quando nenhum id novo foi gerado desde a última gravação")
+    void naoDeveGravarSemIdsNovos() throws Exception {
+        // Given
+        when(resultadoTrava.getBoolean(1)).thenReturn(true);
+        when(resultadoInstante.next()).thenReturn(true);
+        when(resultadoInstante.getLong(1)).thenReturn(System.currentTimeMillis() + 60_000);
+        ReservaNoPublicId reserva = ReservaNoPublicId.reservar(dataSource, 3, Duration.ofSeconds(1));
+
+        // When
+        reserva.gravarUltimoInstante();
+
+        // Then
+        verify(gravacao, never()).executeUpdate();
+    }
+}
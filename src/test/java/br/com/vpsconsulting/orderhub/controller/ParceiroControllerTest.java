@@ -1,11 +1,18 @@
 package br.com.vpsconsulting.orderhub.controller;
 
 import br.com.vpsconsulting.orderhub.dto.parceiros.CriarParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.MovimentoCreditoDTO;
 import br.com.vpsconsulting.orderhub.dto.parceiros.ParceiroResponseDTO;
-import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoPedidosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
 import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
 import br.com.vpsconsulting.orderhub.service.ParceiroService;
 import br.com.vpsconsulting.orderhub.service.PedidoService;
+import br.com.vpsconsulting.orderhub.service.ResumoPedidosService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -40,12 +47,15 @@ class ParceiroControllerTest {
     @MockBean
     private PedidoService pedidoService;
 
+    @MockBean
+    private ResumoPedidosService resumoPedidosService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private ParceiroResponseDTO parceiroResponseDTO;
     private CriarParceiroDTO criarParceiroDTO;
-    private Parceiro parceiro;
+    private DadosParceiroDTO parceiro;
 
     @BeforeEach
     void setUp() {
@@ -55,8 +65,9 @@ class ParceiroControllerTest {
                 new BigDecimal("10000.00")
         );
 
-        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
-        parceiro.setPublicId("PARC_ABC123");
+        parceiro = new DadosParceiroDTO("PARC_ABC123", "Empresa Teste", "12345678000195",
+                Dinheiro.de(new BigDecimal("10000.00")), Dinheiro.ZERO, true,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
 
         parceiroResponseDTO = new ParceiroResponseDTO(
                 "PARC_ABC123",
@@ -120,7 +131,25 @@ class ParceiroControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.publicId").value("PARC_ABC123"))
                 .andExpect(jsonPath("$.nome").value("Empresa Teste"))
-                .andExpect(jsonPath("$.cnpj").value("12345678000195"));
+                .andExpect(jsonPath("$.cnpj").value("12345678000195"))
+                .andExpect(jsonPath("$.creditoDisponivel").value(10000.00));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o parceiro não mudou desde If-Modified-Since")
+    void deveResponderNaoModificadoParaParceiroInalterado() throws Exception {
+        // Given
+        String publicId = "PARC_ABC123";
+        when(parceiroService.buscarPorPublicId(publicId)).thenReturn(parceiro);
+        String ultimaModificacao = mockMvc.perform(get("/parceiros/{publicId}", publicId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("Last-Modified");
+
+        // When & Then
+        mockMvc.perform(get("/parceiros/{publicId}", publicId).header("If-Modified-Since", ultimaModificacao))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -203,4 +232,54 @@ class ParceiroControllerTest {
                         .content("dados inválidos"))
                 .andExpect(status().isUnsupportedMediaType());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve listar o histórico de movimentos de crédito do parceiro")
+    void deveListarHistoricoDeMovimentosDeCredito() throws Exception {
+        // Given
+        String publicId = "PARC_ABC123";
+        when(parceiroService.listarMovimentosCredito(publicId, 2)).thenReturn(List.of(
+                new MovimentoCreditoDTO(8L, TipoMovimentoCredito.LIBERACAO, new BigDecimal("100.00"), LocalDateTime.now()),
+                new MovimentoCreditoDTO(7L, TipoMovimentoCredito.DEBITO, new BigDecimal("250.00"), LocalDateTime.now())));
+
+        // When & Then
+        mockMvc.perform(get("/parceiros/{publicId}/movimentos-credito", publicId).param("limite", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].tipo").value("LIBERACAO"))
+                .andExpect(jsonPath("$[1].tipo").value("DEBITO"))
+                .andExpect(jsonPath("$[1].valor").value(250.00));
+    }
+
+    @Test
+    @DisplayName("Deve retornar o resumo de pedidos do parceiro com o total em aberto")
+    void deveRetornarResumoDePedidosDoParceiro() throws Exception {
+        // Given
+        String publicId = "PARC_ABC123";
+        when(resumoPedidosService.buscarResumo(publicId)).thenReturn(ResumoPedidosParceiroDTO.of(publicId, List.of(
+                new ResumoStatusPedidosDTO(StatusPedido.APROVADO, 3L, new BigDecimal("1500.00")),
+                new ResumoStatusPedidosDTO(StatusPedido.ENVIADO, 1L, new BigDecimal("200.00")),
+                new ResumoStatusPedidosDTO(StatusPedido.CANCELADO, 2L, new BigDecimal("700.00")))));
+
+        // When & Then
+        mockMvc.perform(get("/parceiros/{publicId}/resumo-pedidos", publicId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parceiroPublicId").value(publicId))
+                .andExpect(jsonPath("$.quantidadeEmAberto").value(4))
+                .andExpect(jsonPath("$.valorEmAberto").value(1700.00))
+                .andExpect(jsonPath("$.porStatus.length()").value(3))
+                .andExpect(jsonPath("$.porStatus[2].status").value("CANCELADO"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 no resumo de pedidos de parceiro inexistente")
+    void deveRetornar404NoResumoDeParceiroInexistente() throws Exception {
+        // Given
+        when(resumoPedidosService.buscarResumo("PARC_INEXISTENTE"))
+                .thenThrow(EntityNotFoundException.parceiro("PARC_INEXISTENTE"));
+
+        // When & Then
+        mockMvc.perform(get("/parceiros/{publicId}/resumo-pedidos", "PARC_INEXISTENTE"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -4,10 +4,21 @@ import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
 import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoResponseDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.AtualizarStatusDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidosLoteDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.LotePedidosResponseDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.ResultadoPedidoLoteDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+import br.com.vpsconsulting.orderhub.dto.utils.PaginacaoDTO;
+import br.com.vpsconsulting.orderhub.enums.FormatoExportacao;
 import br.com.vpsconsulting.orderhub.enums.StatusPedido;
 import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
 import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import br.com.vpsconsulting.orderhub.service.AgrupamentoPedidosService;
+import br.com.vpsconsulting.orderhub.service.ExportacaoPedidosService;
+import br.com.vpsconsulting.orderhub.service.LotePedidosService;
 import br.com.vpsconsulting.orderhub.service.ParceiroService;
 import br.com.vpsconsulting.orderhub.service.PedidoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,15 +30,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,6 +59,15 @@ class PedidoControllerTest {
     @MockBean
     private ParceiroService parceiroService;
 
+    @MockBean
+    private AgrupamentoPedidosService agrupamentoPedidosService;
+
+    @MockBean
+    private LotePedidosService lotePedidosService;
+
+    @MockBean
+    private ExportacaoPedidosService exportacaoPedidosService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -90,7 +114,7 @@ class PedidoControllerTest {
     @DisplayName("Deve criar pedido com sucesso")
     void deveCriarPedidoComSucesso() throws Exception {
         // Given
-        when(pedidoService.criarPedido(any(CriarPedidoDTO.class))).thenReturn(pedidoResponseDTO);
+        when(agrupamentoPedidosService.criarPedido(any(CriarPedidoDTO.class))).thenReturn(pedidoResponseDTO);
 
         // When & Then
         mockMvc.perform(post("/pedidos")
@@ -127,7 +151,7 @@ class PedidoControllerTest {
     @DisplayName("Deve retornar erro 400 quando parceiro não tem crédito suficiente")
     void deveRetornarErro400QuandoParceiroNaoTemCreditoSuficiente() throws Exception {
         // Given
-        when(pedidoService.criarPedido(any(CriarPedidoDTO.class)))
+        when(agrupamentoPedidosService.criarPedido(any(CriarPedidoDTO.class)))
                 .thenThrow(new BusinessRuleException("CREDITO_INSUFICIENTE", "Crédito insuficiente"));
 
         // When & Then
@@ -154,6 +178,39 @@ class PedidoControllerTest {
                 .andExpect(jsonPath("$.valorTotal").value(1300.00));
     }
 
+    @Test
+    @DisplayName("Deve responder 304 ao ETag do pedido sem montar a resposta")
+    void deveResponderNaoModificadoParaEtagAtual() throws Exception {
+        // Given - primeira consulta devolve o ETag
+        when(pedidoService.buscarPorId(publicId)).thenReturn(pedidoResponseDTO);
+        String etag = mockMvc.perform(get("/pedidos/{publicId}", publicId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        when(pedidoService.buscarDataAtualizacao(publicId)).thenReturn(pedidoResponseDTO.dataAtualizacao());
+
+        // When & Then
+        mockMvc.perform(get("/pedidos/{publicId}", publicId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(pedidoService, times(1)).buscarPorId(publicId);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o pedido quando o ETag enviado é de uma versão anterior")
+    void deveDevolverPedidoQuandoEtagDesatualizado() throws Exception {
+        // Given
+        when(pedidoService.buscarDataAtualizacao(publicId)).thenReturn(pedidoResponseDTO.dataAtualizacao());
+        when(pedidoService.buscarPorId(publicId)).thenReturn(pedidoResponseDTO);
+
+        // When & Then
+        mockMvc.perform(get("/pedidos/{publicId}", publicId).header("If-None-Match", "\"" + publicId + "-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.publicId").value(publicId));
+    }
+
     @Test
     @DisplayName("Deve retornar erro 404 quando pedido não encontrado")
     void deveRetornarErro404QuandoPedidoNaoEncontrado() throws Exception {
@@ -174,14 +231,46 @@ class PedidoControllerTest {
     void deveListarPedidosComSucesso() throws Exception {
         // Given
         List<PedidoResponseDTO> pedidos = Arrays.asList(pedidoResponseDTO);
-        when(pedidoService.buscarPedidos(any(), any(), any())).thenReturn(pedidos);
+        when(pedidoService.buscarPedidos(any(), any(), any())).thenReturn(PaginacaoDTO.of(pedidos, null));
 
         // When & Then
         mockMvc.perform(get("/pedidos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].publicId").value(publicId));
+                .andExpect(jsonPath("$.conteudo").isArray())
+                .andExpect(jsonPath("$.conteudo.length()").value(1))
+                .andExpect(jsonPath("$.conteudo[0].publicId").value(publicId))
+                .andExpect(jsonPath("$.ultima").value(true));
+    }
+
+    @Test
+    @DisplayName("Deve repassar cursor e tamanho e devolver o próximo cursor")
+    void deveRepassarCursorETamanho() throws Exception {
+        // Given
+        CursorPaginacao proximo = new CursorPaginacao(LocalDateTime.of(2025, 6, 1, 10, 0), 42L);
+        when(pedidoService.buscarPedidos(any(), eq("CURSOR_ANTERIOR"), eq(1)))
+                .thenReturn(PaginacaoDTO.of(List.of(pedidoResponseDTO), proximo));
+
+        // When & Then
+        mockMvc.perform(get("/pedidos")
+                        .param("cursor", "CURSOR_ANTERIOR")
+                        .param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tamanho").value(1))
+                .andExpect(jsonPath("$.ultima").value(false))
+                .andExpect(jsonPath("$.proximoCursor").value(proximo.codificar()));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 para tamanho de página acima do máximo")
+    void deveRetornarErro400ParaTamanhoDePaginaAcimaDoMaximo() throws Exception {
+        // Given
+        when(pedidoService.buscarPedidos(any(), any(), eq(1000)))
+                .thenThrow(new ValidationException("Tamanho de página inválido", List.of("tamanho deve estar entre 1 e 200")));
+
+        // When & Then
+        mockMvc.perform(get("/pedidos").param("tamanho", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("VALIDATION_ERROR"));
     }
 
     @Test
@@ -189,14 +278,52 @@ class PedidoControllerTest {
     void deveBuscarPedidosPorStatus() throws Exception {
         // Given
         List<PedidoResponseDTO> pedidos = Arrays.asList(pedidoResponseDTO);
-        when(pedidoService.buscarPedidos(any(), any(), eq(StatusPedido.APROVADO))).thenReturn(pedidos);
+        when(pedidoService.buscarPedidos(argThat(filtro -> Set.of(StatusPedido.APROVADO).equals(filtro.status())), any(), any()))
+                .thenReturn(PaginacaoDTO.of(pedidos, null));
 
         // When & Then
         mockMvc.perform(get("/pedidos")
                         .param("status", "APROVADO"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.conteudo").isArray())
+                .andExpect(jsonPath("$.conteudo.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 para faixa de valor fora da precisão de valor_total")
+    void deveRetornarErro400ParaFaixaDeValorForaDaPrecisao() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/pedidos")
+                        .param("valorMinimo", "1")
+                        .param("valorMaximo", "100000000000000000000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.detalhes[0]").value("valorMaximo deve ter até 13 dígitos inteiros e 2 decimais"));
+
+        verify(pedidoService, never()).buscarPedidos(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve combinar parceiro, status, período e faixa de valor no filtro")
+    void deveCombinarFiltrosDaBusca() throws Exception {
+        // Given
+        FiltroPedidosDTO esperado = new FiltroPedidosDTO(parceiroPublicId,
+                Set.of(StatusPedido.PENDENTE, StatusPedido.APROVADO),
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 31, 23, 59, 59),
+                new BigDecimal("1000.00"), new BigDecimal("5000.00"));
+        when(pedidoService.buscarPedidos(eq(esperado), any(), any()))
+                .thenReturn(PaginacaoDTO.of(List.of(pedidoResponseDTO), null));
+
+        // When & Then
+        mockMvc.perform(get("/pedidos")
+                        .param("parceiroId", parceiroPublicId)
+                        .param("status", "PENDENTE", "APROVADO")
+                        .param("dataInicio", "2025-01-01T00:00:00")
+                        .param("dataFim", "2025-01-31T23:59:59")
+                        .param("valorMinimo", "1000.00")
+                        .param("valorMaximo", "5000.00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo.length()").value(1));
     }
 
     @Test
@@ -260,13 +387,63 @@ class PedidoControllerTest {
     @DisplayName("Deve retornar lista vazia quando não há pedidos")
     void deveRetornarListaVaziaQuandoNaoHaPedidos() throws Exception {
         // Given
-        when(pedidoService.buscarPedidos(any(), any(), any())).thenReturn(Arrays.asList());
+        when(pedidoService.buscarPedidos(any(), any(), any()))
+                .thenReturn(PaginacaoDTO.of(List.of(), null));
 
         // When & Then
         mockMvc.perform(get("/pedidos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.conteudo").isArray())
+                .andExpect(jsonPath("$.conteudo.length()").value(0))
+                .andExpect(jsonPath("$.vazia").value(true));
+    }
+
+    @Test
+    @DisplayName("Deve exportar pedidos do período em CSV como anexo")
+    void deveExportarPedidosEmCsv() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(3);
+            saida.write("pedido,parceiro\nPED_1,PARC_1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportacaoPedidosService).exportar(any(), any(), eq(FormatoExportacao.CSV), any());
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/pedidos/exportacao")
+                        .param("dataInicio", "2025-01-01T00:00:00")
+                        .param("dataFim", "2025-01-31T23:59:59")
+                        .param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"pedidos_2025-01-01_2025-01-31.csv\""))
+                .andExpect(content().string("pedido,parceiro\nPED_1,PARC_1\n"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 na exportação com formato inválido ou sem período")
+    void deveRetornarErro400NaExportacaoInvalida() throws Exception {
+        // Given
+        doThrow(new ValidationException("Período obrigatório", List.of("dataInicio e dataFim são obrigatórios")))
+                .when(exportacaoPedidosService).validarPeriodo(null, null);
+
+        // When & Then
+        mockMvc.perform(get("/pedidos/exportacao")
+                        .param("dataInicio", "2025-01-01T00:00:00")
+                        .param("dataFim", "2025-01-31T23:59:59")
+                        .param("formato", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("VALIDATION_ERROR"));
+
+        mockMvc.perform(get("/pedidos/exportacao"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Período obrigatório"));
+        verify(exportacaoPedidosService, never()).exportar(any(), any(), any(), any());
     }
 
     @Test
@@ -291,4 +468,35 @@ class PedidoControllerTest {
                         .content("dados inválidos"))
                 .andExpect(status().isUnsupportedMediaType());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve criar pedidos em lote e devolver o resultado de cada pedido")
+    void deveCriarPedidosEmLote() throws Exception {
+        // Given
+        CriarPedidosLoteDTO lote = new CriarPedidosLoteDTO(List.of(criarPedidoDTO, criarPedidoDTO));
+        when(lotePedidosService.criarPedidos(any())).thenReturn(LotePedidosResponseDTO.of(List.of(
+                ResultadoPedidoLoteDTO.aprovado(0, pedidoResponseDTO),
+                ResultadoPedidoLoteDTO.rejeitado(1, parceiroPublicId, "CREDITO_INSUFICIENTE", "Crédito insuficiente"))));
+
+        // When & Then
+        mockMvc.perform(post("/pedidos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.aprovados").value(1))
+                .andExpect(jsonPath("$.resultados[0].pedido.publicId").value(publicId))
+                .andExpect(jsonPath("$.resultados[1].aprovado").value(false))
+                .andExpect(jsonPath("$.resultados[1].erro").value("CREDITO_INSUFICIENTE"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 quando o lote de pedidos está vazio")
+    void deveRetornarErro400QuandoLoteVazio() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/pedidos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CriarPedidosLoteDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Dinheiro - Testes Unitários")
+class DinheiroTest {
+
+    @Test
+    @DisplayName("Deve arredondar para centavos com HALF_UP, como o setScale(2) anterior")
+    void deveArredondarParaCentavos() {
+        assertEquals(1235L, Dinheiro.de("12.345").getCentavos());
+        assertEquals(1234L, Dinheiro.de("12.344").getCentavos());
+        assertEquals(1200L, Dinheiro.de(new BigDecimal("12")).getCentavos());
+        assertNull(Dinheiro.de((BigDecimal) null));
+    }
+
+    @Test
+    @DisplayName("Deve converter de e para BigDecimal sem perder a escala")
+    void deveConverterDeEParaBigDecimal() {
+        // Given
+        BigDecimal valor = new BigDecimal("1500.50");
+
+        // When
+        BigDecimal convertido = Dinheiro.de(valor).toBigDecimal();
+
+        // Then
+        assertEquals(valor, convertido);
+        assertEquals("1500.50", Dinheiro.de(valor).toString());
+        assertEquals("-0.05", Dinheiro.deCentavos(-5).toString());
+    }
+
+    @Test
+    @DisplayName("Deve somar, subtrair, multiplicar e comparar em centavos")
+    void deveOperarEmCentavos() {
+        Dinheiro preco = Dinheiro.de("19.99");
+
+        assertEquals(Dinheiro.de("59.97"), preco.multiplicar(3));
+        assertEquals(Dinheiro.de("20.00"), preco.somar(Dinheiro.deCentavos(1)));
+        assertEquals(Dinheiro.de("-0.01"), preco.subtrair(Dinheiro.de("20.00")));
+        assertTrue(preco.compareTo(Dinheiro.de("20.00")) < 0);
+        assertSame(Dinheiro.ZERO, preco.subtrair(preco));
+    }
+
+    @Test
+    @DisplayName("Deve verificar cobertura de crédito sem criar valor intermediário")
+    void deveVerificarCobertura() {
+        Dinheiro limite = Dinheiro.de("10000.00");
+        Dinheiro utilizado = Dinheiro.de("8500.00");
+
+        assertTrue(limite.cobre(utilizado, Dinheiro.de("1500.00")));
+        assertFalse(limite.cobre(utilizado, Dinheiro.de("1500.01")));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção em vez de estourar o long silenciosamente")
+    void deveLancarExcecaoNoEstouro() {
+        Dinheiro maximo = Dinheiro.deCentavos(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> maximo.somar(Dinheiro.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> maximo.multiplicar(2));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.de("1E+30"));
+    }
+
+    @Test
+    @DisplayName("Deve converter para a coluna numérica e de volta pelo conversor JPA")
+    void deveConverterPeloConversorJpa() {
+        DinheiroConverter converter = new DinheiroConverter();
+
+        assertEquals(new BigDecimal("42.10"), converter.convertToDatabaseColumn(Dinheiro.de("42.1")));
+        assertEquals(Dinheiro.de("42.10"), converter.convertToEntityAttribute(new BigDecimal("42.10")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
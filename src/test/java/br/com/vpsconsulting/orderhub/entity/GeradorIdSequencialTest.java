@@ -0,0 +1,77 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ContextConfiguration(classes = OrderHubApiApplication.class)
+@DisplayName("GeradorIdSequencial - Testes de Mapeamento")
+class GeradorIdSequencialTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Deve atribuir o id no persist, sem executar o INSERT")
+    void deveAtribuirIdSemInsert() {
+        // Given
+        Parceiro parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000.00"));
+        estatisticas.clear();
+
+        // When
+        entityManager.persist(parceiro);
+
+        // Then - com IDENTITY o INSERT seria executado aqui para obter o id
+        assertNotNull(parceiro.getId());
+        assertEquals(0, estatisticas.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("Deve gravar pedido de 200 itens em batches, com uma chamada à sequence por bloco alocado")
+    void deveGravarItensEmBatches() {
+        // Given
+        Parceiro parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000000.00"));
+        entityManager.persist(parceiro);
+        entityManager.flush();
+
+        Pedido pedido = new Pedido(parceiro);
+        for (int i = 0; i < 200; i++) {
+            pedido.adicionarItem(new ItemPedido(pedido, "Produto " + i, 1, new BigDecimal("10.00")));
+        }
+        estatisticas.clear();
+
+        // When
+        entityManager.persist(pedido);
+        entityManager.flush();
+
+        // Then - até 5 chamadas à sequence (1 + 200/50; menos se outro teste do mesmo contexto deixou um
+        // bloco alocado), o INSERT do pedido e um único INSERT de itens reutilizado pelos 8 batches de 25;
+        // com IDENTITY seriam 201 INSERTs preparados um a um
+        assertEquals(201, estatisticas.getEntityInsertCount());
+        assertTrue(estatisticas.getPrepareStatementCount() <= 7);
+        assertEquals(199, pedido.getItens().get(199).getId() - pedido.getItens().get(0).getId());
+    }
+}
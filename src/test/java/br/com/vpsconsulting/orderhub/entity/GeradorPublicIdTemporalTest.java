@@ -0,0 +1,129 @@
+package br.com.vpsconsulting.orderhub.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GeradorPublicIdTemporal - Testes Unitários")
+class GeradorPublicIdTemporalTest {
+
+    private static final long AGORA = Instant.parse("2026-03-10T12:00:00Z").toEpochMilli();
+
+    @Test
+    @DisplayName("Deve gerar id com prefixo, sufixo de largura fixa, instante e nó recuperáveis")
+    void deveGerarIdComInstanteENo() {
+        // Given
+        GeradorPublicIdTemporal gerador = new GeradorPublicIdTemporal(37, () -> AGORA);
+
+        // When
+        String publicId = gerador.gerar("PED_");
+
+        // Then
+        assertTrue(publicId.matches("PED_[0-9A-Z]{13}"));
+        assertEquals(Instant.ofEpochMilli(AGORA), GeradorPublicIdTemporal.instanteDe(publicId));
+        assertEquals(37, GeradorPublicIdTemporal.noDe(publicId));
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids em ordem alfabética crescente, inclusive com o relógio voltando")
+    void deveGerarIdsOrdenadosMesmoComRelogioVoltando() {
+        // Given - o relógio volta 5ms no meio da sequência
+        AtomicLong relogio = new AtomicLong(AGORA);
+        GeradorPublicIdTemporal gerador = new GeradorPublicIdTemporal(1, relogio::get);
+
+        // When
+        String primeiro = gerador.gerar("PED_");
+        relogio.addAndGet(-5);
+        String segundo = gerador.gerar("PED_");
+        relogio.addAndGet(10);
+        String terceiro = gerador.gerar("PED_");
+
+        // Then
+        assertTrue(primeiro.compareTo(segundo) < 0);
+        assertTrue(segundo.compareTo(terceiro) < 0);
+        assertEquals(Instant.ofEpochMilli(AGORA + 5), GeradorPublicIdTemporal.instanteDe(terceiro));
+    }
+
+    @Test
+    @DisplayName("Deve avançar para o próximo milissegundo quando a sequência esgota")
+    void deveAvancarMilissegundoQuandoSequenciaEsgota() {
+        // Given - relógio parado
+        GeradorPublicIdTemporal gerador = new GeradorPublicIdTemporal(0, () -> AGORA);
+
+        // When - 2048 ids por milissegundo cabem na sequência
+        String ultimo = null;
+        for (int i = 0; i <= 2048; i++) {
+            ultimo = gerador.gerar("PARC_");
+        }
+
+        // Then
+        assertEquals(Instant.ofEpochMilli(AGORA + 1), GeradorPublicIdTemporal.instanteDe(ultimo));
+    }
+
+    @Test
+    @DisplayName("Deve gerar ids únicos com várias threads e distintos entre nós")
+    void deveGerarIdsUnicosEntreThreadsENos() throws Exception {
+        // Given
+        GeradorPublicIdTemporal noA = new GeradorPublicIdTemporal(1, () -> AGORA);
+        GeradorPublicIdTemporal noB = new GeradorPublicIdTemporal(2, () -> AGORA);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<List<String>>> resultados = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                GeradorPublicIdTemporal gerador = t % 2 == 0 ? noA : noB;
+                Callable<List<String>> tarefa = () -> {
+                    List<String> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(gerador.gerar("PED_"));
+                    }
+                    return ids;
+                };
+                resultados.add(executor.submit(tarefa));
+            }
+
+            // Then
+            Set<String> unicos = new HashSet<>();
+            for (Future<List<String>> resultado : resultados) {
+                unicos.addAll(resultado.get());
+            }
+            assertEquals(160_000, unicos.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve começar depois do instante mínimo mesmo com o relógio atrás dele")
+    void deveComecarDepoisDoInstanteMinimo() {
+        // Given - o nó gerou ids até 3s à frente do relógio antes do restart
+        GeradorPublicIdTemporal gerador = new GeradorPublicIdTemporal(5, AGORA + 3_000, () -> AGORA);
+
+        // When
+        String publicId = gerador.gerar("PED_");
+
+        // Then
+        assertEquals(Instant.ofEpochMilli(AGORA + 3_001), GeradorPublicIdTemporal.instanteDe(publicId));
+        assertEquals(AGORA + 3_001, gerador.getUltimoInstante());
+    }
+
+    @Test
+    @DisplayName("Deve recusar nó fora da faixa de 10 bits")
+    void deveRecusarNoForaDaFaixa() {
+        assertThrows(IllegalArgumentException.class, () -> new GeradorPublicIdTemporal(1024));
+        assertThrows(IllegalArgumentException.class, () -> new GeradorPublicIdTemporal(-1));
+    }
+}
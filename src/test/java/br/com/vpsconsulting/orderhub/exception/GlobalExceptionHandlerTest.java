@@ -1,6 +1,7 @@
 package br.com.vpsconsulting.orderhub.exception;
 
 import br.com.vpsconsulting.orderhub.dto.utils.ErrorResponseDTO;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -113,6 +115,24 @@ class GlobalExceptionHandlerTest {
         assertEquals(REQUEST_URI, response.getBody().path());
     }
 
+    @Test
+    @DisplayName("Deve tratar conflito de lock otimista com 409")
+    void deveTratarConflitoDeLockOtimistaCom409() {
+        // Given
+        ObjectOptimisticLockingFailureException exception =
+                new ObjectOptimisticLockingFailureException(Parceiro.class, "PARC_123");
+
+        // When
+        ResponseEntity<ErrorResponseDTO> response =
+                globalExceptionHandler.handleOptimisticLockingFailure(exception, request);
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("CONFLITO_CONCORRENCIA", response.getBody().erro());
+        assertEquals(REQUEST_URI, response.getBody().path());
+    }
+
     @Test
     @DisplayName("Deve tratar BusinessRuleException - Parceiro inativo")
     void deveTratarBusinessRuleExceptionParceiroInativo() {
@@ -0,0 +1,155 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.vpsconsulting.orderhub.repository.BuscaPedidosPlanoTest$CapturaSql"
+})
+@ContextConfiguration(classes = OrderHubApiApplication.class)
+@DisplayName("BuscaPedidosRepository - Planos de Execução")
+class BuscaPedidosPlanoTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 10, 0);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ParceiroRepository parceiroRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        parceiro = parceiroRepository.save(new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000000.00")));
+        for (int i = 0; i < 20; i++) {
+            Pedido pedido = new Pedido(parceiro);
+            pedido.setDataCriacao(BASE.plusHours(i));
+            pedido.setStatus(StatusPedido.values()[i % StatusPedido.values().length]);
+            pedido.adicionarItem(new ItemPedido(pedido, "Produto", 1, new BigDecimal(100 + i)));
+            pedidoRepository.save(pedido);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    static Stream<Arguments> combinacoes() {
+        LocalDateTime inicio = BASE;
+        LocalDateTime fim = BASE.plusDays(1);
+        BigDecimal minimo = new BigDecimal("100.00");
+        BigDecimal maximo = new BigDecimal("110.00");
+        Set<StatusPedido> umStatus = Set.of(StatusPedido.PENDENTE);
+        Set<StatusPedido> doisStatus = Set.of(StatusPedido.PENDENTE, StatusPedido.APROVADO);
+        return Stream.of(
+                Arguments.of("sem filtros", false, null, null, null, null, null, "IDX_PEDIDO_DATA_CRIACAO_ID"),
+                Arguments.of("período e valor", false, null, inicio, fim, minimo, maximo, "IDX_PEDIDO_DATA_CRIACAO_ID"),
+                Arguments.of("um status", false, umStatus, null, null, null, null, "IDX_PEDIDO_STATUS_DATA_CRIACAO_ID"),
+                Arguments.of("status e período", false, doisStatus, inicio, fim, null, null, "IDX_PEDIDO_STATUS_DATA_CRIACAO_ID"),
+                Arguments.of("parceiro", true, null, null, null, null, null, "IDX_PEDIDO_PARCEIRO_"),
+                // Com parceiro e status o H2 escolhe entre os dois índices pelas estimativas de custo
+                Arguments.of("parceiro e status", true, umStatus, null, null, null, null, "IDX_PEDIDO_"),
+                Arguments.of("todos os critérios", true, doisStatus, inicio, fim, minimo, maximo, "IDX_PEDIDO_"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("combinacoes")
+    @DisplayName("Deve ler pedidos por índice, sem varrer a tabela, em cada combinação de filtros")
+    void deveLerPedidosPorIndice(String descricao, boolean comParceiro, Set<StatusPedido> status,
+                                 LocalDateTime dataInicio, LocalDateTime dataFim,
+                                 BigDecimal valorMinimo, BigDecimal valorMaximo, String indiceEsperado) {
+        // Given
+        FiltroPedidosDTO filtro = new FiltroPedidosDTO(comParceiro ? parceiro.getPublicId() : null,
+                status, dataInicio, dataFim, valorMinimo, valorMaximo);
+
+        // When - a consulta gerada pelo Criteria, explicada pelo H2
+        CapturaSql.limpar();
+        pedidoRepository.buscarPagina(filtro, CursorPaginacao.INICIO, 10);
+        String sql = CapturaSql.ultimaConsulta();
+        String plano = explicar(sql);
+
+        // Then
+        assertFalse(plano.contains("PEDIDOS.tableScan"), "Varredura completa de pedidos: " + plano);
+        assertTrue(plano.contains(indiceEsperado), "Esperado " + indiceEsperado + " no plano: " + plano);
+    }
+
+    // O plano do H2 não depende dos valores; os parâmetros vão nulos só para a consulta executar
+    private String explicar(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexao -> {
+            try (PreparedStatement statement = conexao.prepareStatement("EXPLAIN " + sql)) {
+                int parametros = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parametros; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultado = statement.executeQuery()) {
+                    resultado.next();
+                    return resultado.getString(1);
+                }
+            }
+        });
+    }
+
+    // Guarda o SQL que o Hibernate envia ao banco
+    public static class CapturaSql implements StatementInspector {
+
+        private static final List<String> CONSULTAS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (CONSULTAS) {
+                CONSULTAS.add(sql);
+            }
+            return sql;
+        }
+
+        static void limpar() {
+            synchronized (CONSULTAS) {
+                CONSULTAS.clear();
+            }
+        }
+
+        static String ultimaConsulta() {
+            synchronized (CONSULTAS) {
+                assertFalse(CONSULTAS.isEmpty(), "Nenhuma consulta capturada");
+                return CONSULTAS.get(CONSULTAS.size() - 1);
+            }
+        }
+    }
+}
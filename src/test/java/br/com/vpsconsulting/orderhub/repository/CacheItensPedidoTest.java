@@ -0,0 +1,108 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import br.com.vpsconsulting.orderhub.config.CacheHibernateConfig;
+import br.com.vpsconsulting.orderhub.config.CachesProperties;
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "orderhub.caches.hibernate.habilitado=true"
+})
+@ContextConfiguration(classes = OrderHubApiApplication.class)
+@Import(CacheHibernateConfig.class)
+@EnableConfigurationProperties(CachesProperties.class)
+@DisplayName("Cache de segundo nível dos itens de pedido - Testes de Integração")
+class CacheItensPedidoTest {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ParceiroRepository parceiroRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterBinder metricasCacheHibernate;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Deve servir os itens do pedido do cache de segundo nível, sem consultar itens_pedido")
+    void deveServirItensDoCache() {
+        // Given - pedido gravado em outra transação (o que foi inserido na transação corrente não vai para
+        // o cache) e primeira leitura dos itens, que popula as regiões
+        Long pedidoId = salvarPedidoComItens(3);
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+        pedidoRepository.findById(pedidoId).orElseThrow().getItens().forEach(ItemPedido::getProduto);
+        entityManager.clear();
+        estatisticas.clear();
+
+        // When
+        List<ItemPedido> itens = pedidoRepository.findById(pedidoId).orElseThrow().getItens();
+        itens.forEach(ItemPedido::getProduto);
+
+        // Then - só o SELECT do pedido
+        assertEquals(3, itens.size());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getDomainDataRegionStatistics(Pedido.REGIAO_CACHE_ITENS).getHitCount());
+        assertEquals(3, estatisticas.getDomainDataRegionStatistics(ItemPedido.REGIAO_CACHE).getHitCount());
+        assertTrue(entityManager.getEntityManagerFactory().getCache().contains(ItemPedido.class, itens.get(0).getId()));
+    }
+
+    @Test
+    @DisplayName("Deve publicar as métricas de cada região")
+    void devePublicarMetricasDasRegioes() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // When
+        metricasCacheHibernate.bindTo(registry);
+
+        // Then
+        for (String regiao : List.of(ItemPedido.REGIAO_CACHE, Pedido.REGIAO_CACHE_ITENS)) {
+            assertNotNull(registry.find("cache.gets").tags("cache", regiao, "cache.manager", "hibernate").meter());
+        }
+    }
+
+    private Long salvarPedidoComItens(int quantidade) {
+        Parceiro parceiro = parceiroRepository.save(new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000.00")));
+        Pedido pedido = new Pedido(parceiro);
+        for (int i = 0; i < quantidade; i++) {
+            pedido.adicionarItem(new ItemPedido(pedido, "Produto " + i, 1, new BigDecimal("10.00")));
+        }
+        return pedidoRepository.saveAndFlush(pedido).getId();
+    }
+}
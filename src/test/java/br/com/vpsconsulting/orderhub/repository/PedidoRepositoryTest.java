@@ -0,0 +1,288 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import br.com.vpsconsulting.orderhub.dto.itens.LinhaItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.LinhaExportacaoPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ContextConfiguration(classes = OrderHubApiApplication.class)
+@DisplayName("PedidoRepository - Testes de Consultas")
+class PedidoRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 10, 0);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ParceiroRepository parceiroRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        parceiro = parceiroRepository.save(new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000.00")));
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todos os pedidos por cursor, sem repetir nem pular empates de dataCriacao")
+    void devePercorrerTodosOsPedidosPorCursor() {
+        // Given - 7 pedidos, com pares criados no mesmo instante
+        for (int i = 0; i < 7; i++) {
+            salvarPedido(BASE.plusMinutes(i / 2), StatusPedido.APROVADO);
+        }
+
+        // When - páginas de 3
+        List<CabecalhoPedidoDTO> percorridos = new ArrayList<>();
+        CursorPaginacao cursor = CursorPaginacao.INICIO;
+        List<CabecalhoPedidoDTO> pagina;
+        do {
+            pagina = pedidoRepository.buscarPagina(FiltroPedidosDTO.TODOS, cursor, 3);
+            percorridos.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                CabecalhoPedidoDTO ultimo = pagina.get(pagina.size() - 1);
+                cursor = new CursorPaginacao(ultimo.dataCriacao(), ultimo.id());
+            }
+        } while (pagina.size() == 3);
+
+        // Then - ordem decrescente de (dataCriacao, id)
+        assertEquals(7, percorridos.size());
+        assertEquals(7, percorridos.stream().map(CabecalhoPedidoDTO::id).distinct().count());
+        for (int i = 1; i < percorridos.size(); i++) {
+            CabecalhoPedidoDTO anterior = percorridos.get(i - 1);
+            CabecalhoPedidoDTO atual = percorridos.get(i);
+            assertTrue(anterior.dataCriacao().isAfter(atual.dataCriacao())
+                    || (anterior.dataCriacao().equals(atual.dataCriacao()) && anterior.id() > atual.id()));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os filtros de status e período junto com o cursor")
+    void deveAplicarFiltrosComCursor() {
+        // Given
+        salvarPedido(BASE, StatusPedido.APROVADO);
+        salvarPedido(BASE.plusMinutes(1), StatusPedido.CANCELADO);
+        Pedido recente = salvarPedido(BASE.plusMinutes(2), StatusPedido.APROVADO);
+        CursorPaginacao inicio = CursorPaginacao.INICIO;
+
+        // When
+        FiltroPedidosDTO porStatus = new FiltroPedidosDTO(null, Set.of(StatusPedido.APROVADO), null, null, null, null);
+        FiltroPedidosDTO porPeriodo = new FiltroPedidosDTO(null, null, BASE.plusMinutes(1), BASE.plusMinutes(2), null, null);
+        List<CabecalhoPedidoDTO> aprovados = pedidoRepository.buscarPagina(porStatus, inicio, 10);
+        List<CabecalhoPedidoDTO> aprovadosAposRecente = pedidoRepository.buscarPagina(
+                porStatus, new CursorPaginacao(recente.getDataCriacao(), recente.getId()), 10);
+        List<CabecalhoPedidoDTO> noPeriodo = pedidoRepository.buscarPagina(porPeriodo, inicio, 10);
+
+        // Then
+        assertEquals(2, aprovados.size());
+        assertEquals(1, aprovadosAposRecente.size());
+        assertEquals(BASE, aprovadosAposRecente.get(0).dataCriacao());
+        assertEquals(2, noPeriodo.size());
+    }
+
+    @Test
+    @DisplayName("Deve combinar parceiro, status, período e faixa de valor com AND")
+    void deveCombinarFiltrosDaBusca() {
+        // Given
+        Parceiro outro = parceiroRepository.save(new Parceiro("Empresa B", "11222333000181", new BigDecimal("1000.00")));
+        Pedido esperado = salvarPedido(parceiro, BASE, StatusPedido.PENDENTE, "300.00");
+        salvarPedido(parceiro, BASE.plusMinutes(1), StatusPedido.APROVADO, "150.00");
+        salvarPedido(parceiro, BASE.plusMinutes(2), StatusPedido.CANCELADO, "300.00");
+        salvarPedido(parceiro, BASE.plusMinutes(3), StatusPedido.PENDENTE, "900.00");
+        salvarPedido(parceiro, BASE.plusDays(2), StatusPedido.APROVADO, "300.00");
+        salvarPedido(outro, BASE, StatusPedido.PENDENTE, "300.00");
+
+        FiltroPedidosDTO filtro = new FiltroPedidosDTO(parceiro.getPublicId(),
+                Set.of(StatusPedido.PENDENTE, StatusPedido.APROVADO), BASE, BASE.plusDays(1),
+                new BigDecimal("200.00"), new BigDecimal("500.00"));
+
+        // When
+        List<CabecalhoPedidoDTO> encontrados = pedidoRepository.buscarPagina(filtro, CursorPaginacao.INICIO, 10);
+
+        // Then - fora ficam: valor abaixo, status, valor acima, período e parceiro
+        assertEquals(1, encontrados.size());
+        assertEquals(esperado.getPublicId(), encontrados.get(0).publicId());
+    }
+
+    @Test
+    @DisplayName("Deve listar uma página com parceiro e itens em duas consultas, sem carregar entidades")
+    void deveListarPaginaEmQuantidadeFixaDeConsultas() {
+        // Given - 12 pedidos de 3 parceiros, com 3 itens cada
+        List<Parceiro> parceiros = List.of(parceiro,
+                parceiroRepository.save(new Parceiro("Empresa B", "11222333000181", new BigDecimal("1000.00"))),
+                parceiroRepository.save(new Parceiro("Empresa C", "11444777000161", new BigDecimal("1000.00"))));
+        for (int i = 0; i < 12; i++) {
+            Pedido pedido = new Pedido(parceiros.get(i % 3));
+            pedido.setDataCriacao(BASE.plusMinutes(i));
+            for (int j = 0; j < 3; j++) {
+                pedido.adicionarItem(new ItemPedido(pedido, "Produto " + j, 1, new BigDecimal("10.00")));
+            }
+            pedidoRepository.save(pedido);
+        }
+        entityManager.flush();
+        Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        for (int tamanho : new int[]{4, 12}) {
+            entityManager.clear();
+            estatisticas.clear();
+
+            // When - as duas consultas da listagem
+            List<CabecalhoPedidoDTO> pagina = pedidoRepository.buscarPagina(
+                    FiltroPedidosDTO.TODOS, CursorPaginacao.INICIO, tamanho);
+            List<LinhaItemPedidoDTO> itens = pedidoRepository.buscarItensDosPedidos(
+                    pagina.stream().map(CabecalhoPedidoDTO::id).toList(),
+                    pagina.get(pagina.size() - 1).dataCriacao(), pagina.get(0).dataCriacao());
+
+            // Then - com entidades lazy seriam 1 + 2N consultas; com projeções nada entra no contexto
+            assertEquals(tamanho, pagina.size());
+            assertEquals(tamanho * 3, itens.size());
+            assertNotNull(pagina.get(0).nomeParceiro());
+            assertEquals(2, estatisticas.getPrepareStatementCount());
+            assertEquals(0, estatisticas.getEntityLoadCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar o pedido por publicId com o parceiro no mesmo SELECT")
+    void deveCarregarPedidoComParceiro() {
+        // Given
+        Pedido salvo = salvarPedido(BASE, StatusPedido.APROVADO);
+        entityManager.clear();
+        Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // When
+        Pedido pedido = pedidoRepository.findByPublicId(salvo.getPublicId()).orElseThrow();
+
+        // Then
+        assertTrue(org.hibernate.Hibernate.isInitialized(pedido.getParceiro()));
+        assertEquals("Empresa Teste", pedido.getParceiro().getNome());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o pedido por publicId como projeção, com os dados do parceiro")
+    void deveBuscarCabecalhoPorPublicId() {
+        // Given
+        Pedido pedido = new Pedido(parceiro);
+        pedido.adicionarItem(new ItemPedido(pedido, "Notebook", 2, new BigDecimal("2500.00")));
+        pedido.setObservacoes("Entrega urgente");
+        pedidoRepository.saveAndFlush(pedido);
+
+        // When
+        Optional<CabecalhoPedidoDTO> cabecalho = pedidoRepository.buscarCabecalhoPorPublicId(pedido.getPublicId());
+        // Como no serviço, o intervalo vem da dataCriacao lida do banco (precisão da coluna)
+        LocalDateTime dataCriacao = cabecalho.orElseThrow().dataCriacao();
+        List<LinhaItemPedidoDTO> itens = pedidoRepository.buscarItensDosPedidos(
+                List.of(pedido.getId()), dataCriacao, dataCriacao);
+
+        // Then
+        assertTrue(cabecalho.isPresent());
+        assertEquals(parceiro.getPublicId(), cabecalho.get().parceiroPublicId());
+        assertEquals(Dinheiro.de("5000.00"), cabecalho.get().valorTotal());
+        assertEquals("Entrega urgente", cabecalho.get().observacoes());
+        assertEquals(1, itens.size());
+        assertEquals(pedido.getId(), itens.get(0).pedidoId());
+        assertEquals(Dinheiro.de("5000.00"), itens.get(0).subtotal());
+        assertTrue(pedidoRepository.buscarCabecalhoPorPublicId("PED_INEXISTENTE").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve gravar nos itens a data de criação do pedido, que é a chave de partição de itens_pedido")
+    void deveGravarDataCriacaoDoPedidoNosItens() {
+        // Given
+        Pedido pedido = new Pedido(parceiro);
+        pedido.setDataCriacao(BASE);
+        pedido.adicionarItem(new ItemPedido(pedido, "Notebook", 1, new BigDecimal("2500.00")));
+        pedido.adicionarItem(new ItemPedido(pedido, "Mouse", 2, new BigDecimal("50.00")));
+        pedidoRepository.saveAndFlush(pedido);
+
+        // When - busca limitada ao mês do pedido e busca em outro intervalo
+        List<LinhaItemPedidoDTO> noIntervalo = pedidoRepository.buscarItensDosPedidos(
+                List.of(pedido.getId()), BASE.withDayOfMonth(1), BASE.plusMonths(1).withDayOfMonth(1));
+        List<LinhaItemPedidoDTO> foraDoIntervalo = pedidoRepository.buscarItensDosPedidos(
+                List.of(pedido.getId()), BASE.plusMonths(1), BASE.plusMonths(2));
+
+        // Then
+        assertTrue(pedido.getItens().stream().allMatch(item -> BASE.equals(item.getDataCriacaoPedido())));
+        assertEquals(2, noIntervalo.size());
+        assertTrue(foraDoIntervalo.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve exportar uma linha por item dos pedidos do período, em ordem de criação")
+    void deveExportarLinhasDosPedidosDoPeriodo() {
+        // Given
+        Pedido antigo = new Pedido(parceiro);
+        antigo.setDataCriacao(BASE);
+        antigo.adicionarItem(new ItemPedido(antigo, "Notebook", 2, new BigDecimal("2500.00")));
+        antigo.adicionarItem(new ItemPedido(antigo, "Mouse", 1, new BigDecimal("85.00")));
+        pedidoRepository.saveAndFlush(antigo);
+        salvarPedido(BASE.plusMinutes(1), StatusPedido.PENDENTE);
+        salvarPedido(BASE.plusDays(40), StatusPedido.PENDENTE);
+
+        // When
+        List<LinhaExportacaoPedidoDTO> linhas;
+        try (Stream<LinhaExportacaoPedidoDTO> stream = pedidoRepository.streamLinhasExportacao(BASE, BASE.plusDays(1))) {
+            linhas = stream.toList();
+        }
+
+        // Then - o pedido sem itens sai com os campos do item nulos
+        assertEquals(3, linhas.size());
+        assertEquals(antigo.getPublicId(), linhas.get(0).pedidoPublicId());
+        assertEquals("Notebook", linhas.get(0).produto());
+        assertEquals(Dinheiro.de("5000.00"), linhas.get(0).subtotal());
+        assertEquals(Dinheiro.de("5085.00"), linhas.get(1).valorTotal());
+        assertEquals("Empresa Teste", linhas.get(2).nomeParceiro());
+        assertNull(linhas.get(2).produto());
+    }
+
+    private Pedido salvarPedido(LocalDateTime dataCriacao, StatusPedido status) {
+        Pedido pedido = new Pedido(parceiro);
+        pedido.setDataCriacao(dataCriacao);
+        pedido.setStatus(status);
+        return pedidoRepository.saveAndFlush(pedido);
+    }
+
+    private Pedido salvarPedido(Parceiro dono, LocalDateTime dataCriacao, StatusPedido status, String valor) {
+        Pedido pedido = new Pedido(dono);
+        pedido.setDataCriacao(dataCriacao);
+        pedido.setStatus(status);
+        pedido.adicionarItem(new ItemPedido(pedido, "Produto", 1, new BigDecimal(valor)));
+        return pedidoRepository.saveAndFlush(pedido);
+    }
+}
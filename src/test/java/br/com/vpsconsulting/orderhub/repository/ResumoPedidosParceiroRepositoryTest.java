@@ -0,0 +1,101 @@
+package br.com.vpsconsulting.orderhub.repository;
+
+import br.com.vpsconsulting.orderhub.OrderHubApiApplication;
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO;
+import br.com.vpsconsulting.orderhub.entity.DeltaResumoPedidos;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.ResumoPedidosParceiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@ContextConfiguration(classes = OrderHubApiApplication.class)
+@DisplayName("ResumoPedidosParceiroRepository - Testes de Consultas")
+class ResumoPedidosParceiroRepositoryTest {
+
+    @Autowired
+    private ResumoPedidosParceiroRepository resumoRepository;
+
+    @Autowired
+    private DeltaResumoPedidosRepository deltaRepository;
+
+    @Autowired
+    private ParceiroRepository parceiroRepository;
+
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        parceiro = parceiroRepository.save(new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000.00")));
+        resumoRepository.save(new ResumoPedidosParceiro(parceiro, StatusPedido.APROVADO, 0L, Dinheiro.ZERO));
+        resumoRepository.save(new ResumoPedidosParceiro(parceiro, StatusPedido.CANCELADO, 0L, Dinheiro.ZERO));
+    }
+
+    @Test
+    @DisplayName("Deve somar e subtrair quantidade e valor na linha do status, sem tocar nas demais")
+    void deveAcumularNaLinhaDoStatus() {
+        // When - dois pedidos aprovados e um deles cancelado
+        LocalDateTime agora = LocalDateTime.now();
+        resumoRepository.acumular(parceiro.getId(), StatusPedido.APROVADO, 2, Dinheiro.de("350.00"), agora);
+        resumoRepository.acumular(parceiro.getId(), StatusPedido.APROVADO, -1, Dinheiro.de("-100.00"), agora);
+        resumoRepository.acumular(parceiro.getId(), StatusPedido.CANCELADO, 1, Dinheiro.de("100.00"), agora);
+
+        // Then
+        Map<StatusPedido, ResumoStatusPedidosDTO> resumo = resumoRepository.buscarPorParceiro(parceiro.getId()).stream()
+                .collect(Collectors.toMap(ResumoStatusPedidosDTO::status, r -> r));
+        assertEquals(2, resumo.size());
+        assertEquals(1L, resumo.get(StatusPedido.APROVADO).quantidade());
+        assertEquals(0, new BigDecimal("250.00").compareTo(resumo.get(StatusPedido.APROVADO).valorTotal()));
+        assertEquals(1L, resumo.get(StatusPedido.CANCELADO).quantidade());
+    }
+
+    @Test
+    @DisplayName("Deve indicar resumo inexistente com zero linhas afetadas")
+    void deveIndicarResumoInexistente() {
+        // When
+        int atualizados = resumoRepository.acumular(parceiro.getId(), StatusPedido.ENTREGUE, 1,
+                Dinheiro.de("10.00"), LocalDateTime.now());
+
+        // Then
+        assertEquals(0, atualizados);
+        List<ResumoStatusPedidosDTO> resumo = resumoRepository.buscarPorParceiro(parceiro.getId());
+        assertTrue(resumo.stream().noneMatch(r -> r.status() == StatusPedido.ENTREGUE));
+    }
+
+    @Test
+    @DisplayName("Deve somar por status as variações pendentes do parceiro")
+    void deveSomarVariacoesPendentesPorStatus() {
+        // Given - um pedido criado aprovado e depois cancelado
+        deltaRepository.saveAll(List.of(
+                new DeltaResumoPedidos(parceiro, StatusPedido.APROVADO, 1, Dinheiro.de("100.00")),
+                new DeltaResumoPedidos(parceiro, StatusPedido.APROVADO, -1, Dinheiro.de("-100.00")),
+                new DeltaResumoPedidos(parceiro, StatusPedido.CANCELADO, 1, Dinheiro.de("100.00"))));
+
+        // When
+        Map<StatusPedido, ResumoStatusPedidosDTO> pendentes = deltaRepository.somarPendentesPorParceiro(parceiro.getId())
+                .stream().collect(Collectors.toMap(ResumoStatusPedidosDTO::status, r -> r));
+
+        // Then
+        assertEquals(0L, pendentes.get(StatusPedido.APROVADO).quantidade());
+        assertEquals(0, BigDecimal.ZERO.compareTo(pendentes.get(StatusPedido.APROVADO).valorTotal()));
+        assertEquals(1L, pendentes.get(StatusPedido.CANCELADO).quantidade());
+        assertEquals(0, new BigDecimal("100.00").compareTo(pendentes.get(StatusPedido.CANCELADO).valorTotal()));
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.TempoEsgotadoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AgrupamentoPedidosService - Testes Unitários")
+class AgrupamentoPedidosServiceTest {
+
+    @Mock
+    private PedidoService pedidoService;
+
+    private PedidoProperties properties;
+    private AgrupamentoPedidosService agrupamentoService;
+    private String parceiroPublicId;
+
+    @BeforeEach
+    void setUp() {
+        parceiroPublicId = "PARC_XYZ789";
+        properties = new PedidoProperties();
+        properties.getAgrupamento().setJanela(Duration.ofMillis(200));
+        properties.getAgrupamento().setTamanhoMaximoLote(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (agrupamentoService != null) {
+            agrupamentoService.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve delegar direto ao PedidoService quando agrupamento está desabilitado")
+    void deveDelegarDiretoQuandoDesabilitado() {
+        // Given
+        agrupamentoService = new AgrupamentoPedidosService(pedidoService, properties);
+        CriarPedidoDTO dto = criarDto("10.00");
+        PedidoResponseDTO resposta = criarResposta("PED_1");
+        when(pedidoService.criarPedido(dto)).thenReturn(resposta);
+
+        // When
+        PedidoResponseDTO resultado = agrupamentoService.criarPedido(dto);
+
+        // Then
+        assertSame(resposta, resultado);
+        verify(pedidoService, never()).criarPedidosEmGrupo(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve reunir pedidos concorrentes do mesmo parceiro em um lote e devolver respostas individuais")
+    void deveReunirPedidosConcorrentesEmUmLote() {
+        // Given
+        properties.getAgrupamento().setHabilitado(true);
+        agrupamentoService = new AgrupamentoPedidosService(pedidoService, properties);
+
+        List<Integer> tamanhosDosLotes = new CopyOnWriteArrayList<>();
+        when(pedidoService.criarPedidosEmGrupo(eq(parceiroPublicId), anyList())).thenAnswer(invocation -> {
+            List<CriarPedidoDTO> dtos = invocation.getArgument(1);
+            tamanhosDosLotes.add(dtos.size());
+            List<ResultadoCriacaoPedido> resultados = new ArrayList<>();
+            for (CriarPedidoDTO dto : dtos) {
+                if (dto.observacoes().equals("rejeitar")) {
+                    resultados.add(ResultadoCriacaoPedido.rejeitado(
+                            new BusinessRuleException("CREDITO_INSUFICIENTE", "Crédito insuficiente")));
+                } else {
+                    resultados.add(ResultadoCriacaoPedido.aprovado(criarResposta("PED_" + dto.observacoes())));
+                }
+            }
+            return resultados;
+        });
+
+        // When - 5 chamadas concorrentes (tamanho máximo do lote)
+        List<CompletableFuture<PedidoResponseDTO>> chamadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            String observacao = i == 2 ? "rejeitar" : String.valueOf(i);
+            CriarPedidoDTO dto = new CriarPedidoDTO(parceiroPublicId,
+                    List.of(new ItemPedidoDTO("Produto", 1, new BigDecimal("10.00"))), observacao);
+            chamadas.add(CompletableFuture.supplyAsync(() -> agrupamentoService.criarPedido(dto)));
+        }
+
+        // Then
+        assertEquals("PED_0", chamadas.get(0).join().publicId());
+        assertEquals("PED_4", chamadas.get(4).join().publicId());
+        Exception erro = assertThrows(Exception.class, () -> chamadas.get(2).join());
+        assertInstanceOf(BusinessRuleException.class, erro.getCause());
+
+        assertEquals(5, tamanhosDosLotes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(tamanhosDosLotes.size() < 5, "Pedidos concorrentes devem compartilhar lote");
+        verify(pedidoService, never()).criarPedido(any());
+    }
+
+    @Test
+    @DisplayName("Deve esgotar a espera e descartar da fila o pedido que nenhum lote recolheu")
+    void deveEsgotarEsperaEDescartarPedidoPendente() throws InterruptedException {
+        // Given - lotes de 1 pedido; o primeiro lote fica preso até o fim do teste
+        properties.getAgrupamento().setHabilitado(true);
+        properties.getAgrupamento().setTamanhoMaximoLote(1);
+        properties.getAgrupamento().setTempoMaximoEspera(Duration.ofMillis(200));
+        agrupamentoService = new AgrupamentoPedidosService(pedidoService, properties);
+
+        CountDownLatch loteIniciado = new CountDownLatch(1);
+        CountDownLatch liberarLote = new CountDownLatch(1);
+        when(pedidoService.criarPedidosEmGrupo(eq(parceiroPublicId), anyList())).thenAnswer(invocation -> {
+            loteIniciado.countDown();
+            liberarLote.await();
+            return List.of(ResultadoCriacaoPedido.aprovado(criarResposta("PED_1")));
+        });
+
+        CompletableFuture<PedidoResponseDTO> emProcessamento =
+                CompletableFuture.supplyAsync(() -> agrupamentoService.criarPedido(criarDto("10.00")));
+        assertTrue(loteIniciado.await(1, TimeUnit.SECONDS));
+
+        // When
+        TempoEsgotadoException naFila = assertThrows(TempoEsgotadoException.class,
+                () -> agrupamentoService.criarPedido(criarDto("20.00")));
+        Exception noLote = assertThrows(Exception.class, emProcessamento::join);
+        liberarLote.countDown();
+
+        // Then
+        assertEquals("TEMPO_ESGOTADO", naFila.getCodigo());
+        assertTrue(naFila.getMessage().contains("não foi criado"));
+        assertInstanceOf(TempoEsgotadoException.class, noLote.getCause());
+        assertTrue(noLote.getCause().getMessage().contains("em processamento"));
+        // O pedido descartado nunca chega a um lote
+        verify(pedidoService, after(300).times(1)).criarPedidosEmGrupo(eq(parceiroPublicId), anyList());
+    }
+
+    private CriarPedidoDTO criarDto(String valor) {
+        return new CriarPedidoDTO(parceiroPublicId,
+                List.of(new ItemPedidoDTO("Produto", 1, new BigDecimal(valor))), null);
+    }
+
+    private PedidoResponseDTO criarResposta(String publicId) {
+        return new PedidoResponseDTO(publicId, parceiroPublicId, "Empresa Teste", List.of(),
+                new BigDecimal("10.00"), StatusPedido.APROVADO, null, LocalDateTime.now(), LocalDateTime.now());
+    }
+}
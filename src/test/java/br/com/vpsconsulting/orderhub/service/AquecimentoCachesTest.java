@@ -0,0 +1,159 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.AquecimentoProperties;
+import br.com.vpsconsulting.orderhub.config.CacheConfig;
+import br.com.vpsconsulting.orderhub.config.CachesProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AquecimentoCaches - Testes Unitários")
+class AquecimentoCachesTest {
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AquecimentoProperties properties;
+    private Cache cache;
+    private AquecimentoCaches aquecimento;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AquecimentoProperties();
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CachesProperties(), List.of(), Optional.empty());
+        cache = cacheManager.getCache(CarregadorDadosParceiros.CACHE);
+        CacheDadosParceiros cacheDadosParceiros = new CacheDadosParceiros(cacheManager, parceiroRepository, transactionManager);
+        aquecimento = new AquecimentoCaches(parceiroRepository, pedidoRepository, cacheDadosParceiros, properties, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Deve carregar todos os parceiros ativos no cache, em lotes")
+    void deveCarregarParceirosAtivosEmLotes() {
+        // Given
+        properties.setTamanhoLote(2);
+        when(parceiroRepository.buscarIdsAtivos()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(parceiroRepository.buscarDadosPorIds(any())).thenAnswer(invocacao -> {
+            Collection<Long> ids = invocacao.getArgument(0);
+            return ids.stream().map(AquecimentoCachesTest::dados).toList();
+        });
+
+        // When
+        aquecimento.run(null);
+
+        // Then
+        verify(parceiroRepository).buscarDadosPorIds(List.of(1L, 2L));
+        verify(parceiroRepository).buscarDadosPorIds(List.of(3L, 4L));
+        verify(parceiroRepository).buscarDadosPorIds(List.of(5L));
+        for (long id = 1; id <= 5; id++) {
+            assertNotNull(cache.get("PARC_" + id), "parceiro " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve substituir uma entrada já presente no cache")
+    void naoDeveSubstituirEntradaPresente() {
+        // Given
+        DadosParceiroDTO atual = dados(1L);
+        cache.put("PARC_1", atual);
+        when(parceiroRepository.buscarIdsAtivos()).thenReturn(List.of(1L));
+        when(parceiroRepository.buscarDadosPorIds(List.of(1L))).thenReturn(List.of(dados(1L)));
+
+        // When
+        aquecimento.run(null);
+
+        // Then
+        assertSame(atual, cache.get("PARC_1").get());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a subida no timeout, com o cache parcial")
+    void deveLiberarSubidaNoTimeout() throws InterruptedException {
+        // Given
+        properties.setTamanhoLote(1);
+        properties.setTimeout(Duration.ofMillis(200));
+        CountDownLatch liberacao = new CountDownLatch(1);
+        when(parceiroRepository.buscarIdsAtivos()).thenReturn(List.of(1L, 2L));
+        when(parceiroRepository.buscarDadosPorIds(List.of(1L))).thenReturn(List.of(dados(1L)));
+        when(parceiroRepository.buscarDadosPorIds(List.of(2L))).thenAnswer(invocacao -> {
+            liberacao.await(10, TimeUnit.SECONDS);
+            return List.of(dados(2L));
+        });
+
+        // When
+        long inicio = System.nanoTime();
+        aquecimento.run(null);
+        long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        liberacao.countDown();
+
+        // Then
+        assertTrue(duracao < 5000, "duração " + duracao + "ms");
+        assertNotNull(cache.get("PARC_1"));
+        assertNull(cache.get("PARC_2"));
+    }
+
+    @Test
+    @DisplayName("Deve ler os itens dos pedidos configurados e ignorar os inexistentes")
+    void deveCarregarItensDosPedidosConfigurados() {
+        // Given
+        properties.setPedidos(List.of("PED_1", "PED_2"));
+        Pedido pedido = mock(Pedido.class);
+        when(parceiroRepository.buscarIdsAtivos()).thenReturn(List.of());
+        when(pedidoRepository.findByPublicId("PED_1")).thenReturn(Optional.of(pedido));
+        when(pedidoRepository.findByPublicId("PED_2")).thenReturn(Optional.empty());
+
+        // When
+        aquecimento.run(null);
+
+        // Then
+        verify(pedido).getItens();
+        verify(pedidoRepository).findByPublicId("PED_2");
+    }
+
+    @Test
+    @DisplayName("Não deve impedir a subida quando a listagem dos parceiros falha")
+    void naoDeveImpedirSubidaQuandoListagemFalha() {
+        // Given
+        when(parceiroRepository.buscarIdsAtivos()).thenThrow(new IllegalStateException("banco indisponível"));
+
+        // When & Then
+        assertDoesNotThrow(() -> aquecimento.run(null));
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    private static DadosParceiroDTO dados(Long id) {
+        return new DadosParceiroDTO("PARC_" + id, "Empresa " + id, "12345678000195",
+                Dinheiro.de(new BigDecimal("10000.00")), Dinheiro.de(BigDecimal.ZERO), true,
+                LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
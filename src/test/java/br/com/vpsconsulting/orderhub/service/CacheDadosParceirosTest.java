@@ -0,0 +1,190 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.CacheConfig;
+import br.com.vpsconsulting.orderhub.config.CachesProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheDadosParceiros - Testes Unitários")
+class CacheDadosParceirosTest {
+
+    private static final String PARCEIRO = "PARC_XYZ789";
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CacheDadosParceiros cacheDadosParceiros;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CachesProperties(), List.of(), Optional.empty());
+        cacheDadosParceiros = new CacheDadosParceiros(cacheManager, parceiroRepository, transactionManager, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve carregar o snapshot uma vez e servir as leituras seguintes do cache")
+    void deveServirLeiturasDoCache() {
+        // Given
+        when(parceiroRepository.buscarDadosPorPublicId(PARCEIRO)).thenReturn(Optional.of(dados("0.00", 0L)));
+
+        // When
+        DadosParceiroDTO primeira = cacheDadosParceiros.buscar(PARCEIRO);
+        DadosParceiroDTO segunda = cacheDadosParceiros.buscar(PARCEIRO);
+
+        // Then
+        assertSame(primeira, segunda);
+        verify(parceiroRepository, times(1)).buscarDadosPorPublicId(PARCEIRO);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção e não guardar nada quando o parceiro não existe")
+    void deveLancarExcecaoQuandoParceiroNaoExiste() {
+        // Given
+        when(parceiroRepository.buscarDadosPorPublicId(PARCEIRO)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(EntityNotFoundException.class, () -> cacheDadosParceiros.buscar(PARCEIRO));
+        assertThrows(EntityNotFoundException.class, () -> cacheDadosParceiros.buscar(PARCEIRO));
+        verify(parceiroRepository, times(2)).buscarDadosPorPublicId(PARCEIRO);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o snapshot novo no cache só depois do commit, com uma releitura por transação")
+    void deveGravarSnapshotAposCommit() {
+        // Given
+        when(parceiroRepository.buscarDadosPorPublicId(PARCEIRO))
+                .thenReturn(Optional.of(dados("0.00", 0L)))
+                .thenReturn(Optional.of(dados("1500.00", 2L)));
+        cacheDadosParceiros.buscar(PARCEIRO);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When - dois débitos na mesma transação
+        cacheDadosParceiros.atualizarAposCommit(PARCEIRO);
+        cacheDadosParceiros.atualizarAposCommit(PARCEIRO);
+
+        // Then - antes do commit o cache continua com o snapshot anterior
+        assertEquals(Dinheiro.ZERO, cacheDadosParceiros.buscar(PARCEIRO).creditoUtilizado());
+
+        List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, sincronizacoes.size());
+        sincronizacoes.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(Dinheiro.de(new BigDecimal("1500.00")), cacheDadosParceiros.buscar(PARCEIRO).creditoUtilizado());
+        verify(parceiroRepository, times(2)).buscarDadosPorPublicId(PARCEIRO);
+    }
+
+    @Test
+    @DisplayName("Não deve reler o parceiro quando a transação é desfeita")
+    void naoDeveRelerAposRollback() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        cacheDadosParceiros.atualizarAposCommit(PARCEIRO);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verifyNoInteractions(parceiroRepository);
+    }
+
+    @Test
+    @DisplayName("Deve regravar os snapshots dos parceiros alterados em lote")
+    void deveRegravarSnapshotsPorIds() {
+        // Given
+        when(parceiroRepository.buscarDadosPorPublicId(PARCEIRO)).thenReturn(Optional.of(dados("0.00", 0L)));
+        cacheDadosParceiros.buscar(PARCEIRO);
+        when(parceiroRepository.buscarDadosPorIds(List.of(1L, 2L)))
+                .thenReturn(List.of(dados("250.00", 1L), dados("PARC_FORA", "80.00", 4L)));
+
+        // When
+        cacheDadosParceiros.atualizarPorIds(List.of(1L, 2L));
+
+        // Then - o parceiro que não estava em cache não foi gravado: a leitura vai ao banco
+        assertEquals(Dinheiro.de(new BigDecimal("250.00")), cacheDadosParceiros.buscar(PARCEIRO).creditoUtilizado());
+        verify(parceiroRepository, times(1)).buscarDadosPorPublicId(PARCEIRO);
+        when(parceiroRepository.buscarDadosPorPublicId("PARC_FORA")).thenReturn(Optional.of(dados("PARC_FORA", "80.00", 4L)));
+        cacheDadosParceiros.buscar("PARC_FORA");
+        verify(parceiroRepository).buscarDadosPorPublicId("PARC_FORA");
+    }
+
+    @Test
+    @DisplayName("Não deve substituir um snapshot mais novo por um mais antigo")
+    void naoDeveSubstituirSnapshotMaisNovo() {
+        // Given
+        when(parceiroRepository.buscarDadosPorPublicId(PARCEIRO))
+                .thenReturn(Optional.of(dados("900.00", 5L)))
+                .thenReturn(Optional.of(dados("300.00", 3L)));
+        cacheDadosParceiros.buscar(PARCEIRO);
+
+        // When - fora de transação, a releitura é imediata
+        cacheDadosParceiros.atualizarAposCommit(PARCEIRO);
+
+        // Then
+        assertEquals(5L, cacheDadosParceiros.buscar(PARCEIRO).versao());
+    }
+
+    @Test
+    @DisplayName("Não deve ler do banco parceiros que não estão em cache")
+    void naoDeveLerParceiroForaDoCache() {
+        // When
+        cacheDadosParceiros.atualizarAposCommit(PARCEIRO);
+
+        // Then
+        verifyNoInteractions(parceiroRepository);
+    }
+
+    @Test
+    @DisplayName("A renovação em segundo plano deve manter o snapshot atual quando o lido é mais antigo")
+    void renovacaoDeveManterSnapshotMaisNovo() {
+        // Given - réplica ainda na versão 3
+        CarregadorDadosParceiros carregador = new CarregadorDadosParceiros(parceiroRepository);
+        DadosParceiroDTO atual = dados("900.00", 5L);
+        when(parceiroRepository.buscarDadosPorPublicId(PARCEIRO)).thenReturn(Optional.of(dados("300.00", 3L)));
+
+        // When & Then
+        assertSame(atual, carregador.recarregar(PARCEIRO, atual));
+    }
+
+    private static DadosParceiroDTO dados(String creditoUtilizado, long versao) {
+        return dados(PARCEIRO, creditoUtilizado, versao);
+    }
+
+    private static DadosParceiroDTO dados(String publicId, String creditoUtilizado, long versao) {
+        return new DadosParceiroDTO(publicId, "Empresa Teste", "12345678000195",
+                Dinheiro.de(new BigDecimal("10000.00")), Dinheiro.de(new BigDecimal(creditoUtilizado)), true,
+                LocalDateTime.now(), LocalDateTime.now(), versao);
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import br.com.vpsconsulting.orderhub.entity.DeltaResumoPedidos;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.repository.DeltaResumoPedidosRepository;
+import br.com.vpsconsulting.orderhub.repository.ResumoPedidosParceiroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsolidadorResumoPedidos - Testes Unitários")
+class ConsolidadorResumoPedidosTest {
+
+    @Mock
+    private DeltaResumoPedidosRepository deltaRepository;
+
+    @Mock
+    private ResumoPedidosParceiroRepository resumoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ConsolidadorResumoPedidos consolidador;
+    private Parceiro parceiro;
+    private Parceiro outroParceiro;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        consolidador = new ConsolidadorResumoPedidos(deltaRepository, resumoRepository, transactionTemplate,
+                new PedidoProperties());
+        when(transactionTemplate.execute(any(TransactionCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
+        parceiro.setId(7L);
+        outroParceiro = new Parceiro("Outra Empresa", "98765432000110", new BigDecimal("10000.00"));
+        outroParceiro.setId(3L);
+    }
+
+    @Test
+    @DisplayName("Deve somar as variações por linha, em ordem de parceiro e status, e apagar as consolidadas")
+    void deveSomarVariacoesPorLinhaEApagarConsolidadas() {
+        // Given
+        List<DeltaResumoPedidos> deltas = List.of(
+                new DeltaResumoPedidos(parceiro, StatusPedido.APROVADO, 1, Dinheiro.de("100.00")),
+                new DeltaResumoPedidos(parceiro, StatusPedido.APROVADO, 1, Dinheiro.de("50.00")),
+                new DeltaResumoPedidos(outroParceiro, StatusPedido.PENDENTE, 1, Dinheiro.de("10.00")));
+        when(deltaRepository.travarPendentes(any())).thenReturn(deltas);
+        when(resumoRepository.acumular(anyLong(), any(), anyLong(), any(), any())).thenReturn(1);
+
+        // When
+        consolidador.consolidar();
+
+        // Then
+        InOrder ordem = inOrder(resumoRepository, deltaRepository);
+        ordem.verify(resumoRepository).acumular(eq(3L), eq(StatusPedido.PENDENTE), eq(1L), eq(Dinheiro.de("10.00")), any(LocalDateTime.class));
+        ordem.verify(resumoRepository).acumular(eq(7L), eq(StatusPedido.APROVADO), eq(2L), eq(Dinheiro.de("150.00")), any(LocalDateTime.class));
+        ordem.verify(deltaRepository).deleteAllInBatch(deltas);
+    }
+
+    @Test
+    @DisplayName("Deve criar a linha ausente do resumo e consolidar o lote inteiro")
+    void deveCriarLinhaAusenteEConsolidarLote() {
+        // Given - o parceiro 7 é anterior ao resumo; o 3 já tem as linhas
+        List<DeltaResumoPedidos> deltas = List.of(
+                new DeltaResumoPedidos(parceiro, StatusPedido.APROVADO, 1, Dinheiro.de("100.00")),
+                new DeltaResumoPedidos(outroParceiro, StatusPedido.PENDENTE, 1, Dinheiro.de("10.00")));
+        when(deltaRepository.travarPendentes(any())).thenReturn(deltas);
+        when(resumoRepository.acumular(eq(3L), any(), anyLong(), any(), any())).thenReturn(1);
+        when(resumoRepository.acumular(eq(7L), any(), anyLong(), any(), any())).thenReturn(0, 1);
+
+        // When
+        consolidador.consolidar();
+
+        // Then
+        InOrder ordem = inOrder(resumoRepository, deltaRepository);
+        ordem.verify(resumoRepository).acumular(eq(7L), eq(StatusPedido.APROVADO), eq(1L), eq(Dinheiro.de("100.00")), any(LocalDateTime.class));
+        ordem.verify(resumoRepository).criarSeAusente(eq(7L), eq("APROVADO"), any(LocalDateTime.class));
+        ordem.verify(resumoRepository).acumular(eq(7L), eq(StatusPedido.APROVADO), eq(1L), eq(Dinheiro.de("100.00")), any(LocalDateTime.class));
+        ordem.verify(deltaRepository).deleteAllInBatch(deltas);
+    }
+}
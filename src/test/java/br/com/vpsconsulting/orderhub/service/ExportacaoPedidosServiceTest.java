@@ -0,0 +1,103 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.dto.pedidos.LinhaExportacaoPedidoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.enums.FormatoExportacao;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportacaoPedidosService - Testes Unitários")
+class ExportacaoPedidosServiceTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExportacaoPedidosService exportacaoPedidosService;
+
+    @BeforeEach
+    void setUp() {
+        exportacaoPedidosService = new ExportacaoPedidosService(pedidoRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Deve escrever uma linha JSON por item e fechar o stream")
+    void deveEscreverNdjsonEFecharStream() throws Exception {
+        // Given
+        AtomicBoolean fechado = new AtomicBoolean();
+        when(pedidoRepository.streamLinhasExportacao(INICIO, FIM)).thenReturn(Stream.of(
+                linha("Notebook", 2, "2500.00", "5000.00"),
+                linha(null, null, null, null)).onClose(() -> fechado.set(true)));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        long linhas = exportacaoPedidosService.exportar(INICIO, FIM, FormatoExportacao.NDJSON, saida);
+
+        // Then
+        String[] json = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas);
+        assertEquals(2, json.length);
+        JsonNode item = objectMapper.readTree(json[0]);
+        assertEquals("PED_1", item.get("pedido").asText());
+        assertEquals("2025-01-10T08:30", item.get("dataCriacao").asText());
+        assertTrue(json[0].contains("\"subtotal\":5000.00"));
+        assertTrue(objectMapper.readTree(json[1]).get("produto").isNull());
+        assertTrue(fechado.get());
+    }
+
+    @Test
+    @DisplayName("Deve escrever CSV com cabeçalho e campos escapados")
+    void deveEscreverCsvComCamposEscapados() throws Exception {
+        // Given
+        when(pedidoRepository.streamLinhasExportacao(INICIO, FIM))
+                .thenReturn(Stream.of(linha("Cabo \"USB\", 2m", 3, "10.50", "31.50")));
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // When
+        exportacaoPedidosService.exportar(INICIO, FIM, FormatoExportacao.CSV, saida);
+
+        // Then
+        String[] csv = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, csv.length);
+        assertTrue(csv[0].startsWith("pedido,parceiro,nome_parceiro"));
+        assertEquals("PED_1,PARC_1,\"Empresa, Teste\",APROVADO,5000.00,2025-01-10T08:30,"
+                + "\"Cabo \"\"USB\"\", 2m\",3,10.50,31.50", csv[1]);
+    }
+
+    @Test
+    @DisplayName("Deve recusar período ausente ou invertido")
+    void deveRecusarPeriodoInvalido() {
+        // When & Then
+        assertThrows(ValidationException.class, () -> exportacaoPedidosService.validarPeriodo(null, FIM));
+        assertThrows(ValidationException.class, () -> exportacaoPedidosService.validarPeriodo(FIM, INICIO));
+        assertDoesNotThrow(() -> exportacaoPedidosService.validarPeriodo(INICIO, FIM));
+    }
+
+    private LinhaExportacaoPedidoDTO linha(String produto, Integer quantidade, String preco, String subtotal) {
+        return new LinhaExportacaoPedidoDTO("PED_1", "PARC_1", "Empresa, Teste", StatusPedido.APROVADO,
+                Dinheiro.de("5000.00"), LocalDateTime.of(2025, 1, 10, 8, 30), produto, quantidade,
+                preco != null ? Dinheiro.de(preco) : null, subtotal != null ? Dinheiro.de(subtotal) : null);
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.LotePedidosResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LotePedidosService - Testes Unitários")
+class LotePedidosServiceTest {
+
+    @Mock
+    private PedidoService pedidoService;
+
+    private PedidoProperties properties;
+    private LotePedidosService lotePedidosService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PedidoProperties();
+        properties.getLote().setTamanhoMaximo(10);
+        properties.getLote().setPedidosPorTransacao(2);
+        lotePedidosService = new LotePedidosService(pedidoService, properties);
+    }
+
+    @Test
+    @DisplayName("Deve agrupar por parceiro e devolver os resultados na ordem da requisição")
+    void deveAgruparPorParceiroEManterOrdem() {
+        // Given - pedidos intercalados de dois parceiros
+        List<CriarPedidoDTO> dtos = List.of(criarDto("PARC_A"), criarDto("PARC_B"), criarDto("PARC_A"));
+        when(pedidoService.criarPedidosEmGrupo(eq("PARC_A"), anyList())).thenReturn(List.of(
+                ResultadoCriacaoPedido.aprovado(criarResposta("PED_1", "PARC_A")),
+                ResultadoCriacaoPedido.rejeitado(BusinessRuleException.creditoInsuficiente(
+                        new BigDecimal("5.00"), new BigDecimal("10.00")))));
+        when(pedidoService.criarPedidosEmGrupo(eq("PARC_B"), anyList())).thenReturn(List.of(
+                ResultadoCriacaoPedido.aprovado(criarResposta("PED_2", "PARC_B"))));
+
+        // When
+        LotePedidosResponseDTO resposta = lotePedidosService.criarPedidos(dtos);
+
+        // Then
+        assertEquals(3, resposta.total());
+        assertEquals(2, resposta.aprovados());
+        assertEquals("PED_1", resposta.resultados().get(0).pedido().publicId());
+        assertEquals("PED_2", resposta.resultados().get(1).pedido().publicId());
+        assertFalse(resposta.resultados().get(2).aprovado());
+        assertEquals(2, resposta.resultados().get(2).indice());
+        assertEquals("CREDITO_INSUFICIENTE", resposta.resultados().get(2).erro());
+        verify(pedidoService).criarPedidosEmGrupo(eq("PARC_A"), argThat(lista -> lista.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Deve dividir o grupo de um parceiro em blocos de pedidos por transação")
+    void deveDividirGrupoEmBlocos() {
+        // Given - 5 pedidos do mesmo parceiro, 2 por transação
+        List<CriarPedidoDTO> dtos = List.of(criarDto("PARC_A"), criarDto("PARC_A"), criarDto("PARC_A"),
+                criarDto("PARC_A"), criarDto("PARC_A"));
+        when(pedidoService.criarPedidosEmGrupo(eq("PARC_A"), anyList())).thenAnswer(invocation -> {
+            List<CriarPedidoDTO> bloco = invocation.getArgument(1);
+            return bloco.stream().map(dto -> ResultadoCriacaoPedido.aprovado(criarResposta("PED", "PARC_A"))).toList();
+        });
+
+        // When
+        LotePedidosResponseDTO resposta = lotePedidosService.criarPedidos(dtos);
+
+        // Then
+        assertEquals(5, resposta.aprovados());
+        verify(pedidoService, times(3)).criarPedidosEmGrupo(eq("PARC_A"), anyList());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar só os pedidos do bloco cuja transação falhou")
+    void deveRejeitarApenasBlocoQueFalhou() {
+        // Given
+        List<CriarPedidoDTO> dtos = List.of(criarDto("PARC_A"), criarDto("PARC_B"));
+        when(pedidoService.criarPedidosEmGrupo(eq("PARC_A"), anyList()))
+                .thenThrow(new IllegalStateException("conexão perdida"));
+        when(pedidoService.criarPedidosEmGrupo(eq("PARC_B"), anyList())).thenReturn(List.of(
+                ResultadoCriacaoPedido.aprovado(criarResposta("PED_2", "PARC_B"))));
+
+        // When
+        LotePedidosResponseDTO resposta = lotePedidosService.criarPedidos(dtos);
+
+        // Then
+        assertEquals("INTERNAL_ERROR", resposta.resultados().get(0).erro());
+        assertTrue(resposta.resultados().get(1).aprovado());
+    }
+
+    @Test
+    @DisplayName("Deve recusar lote acima do tamanho máximo configurado")
+    void deveRecusarLoteAcimaDoTamanhoMaximo() {
+        // Given
+        properties.getLote().setTamanhoMaximo(1);
+        List<CriarPedidoDTO> dtos = List.of(criarDto("PARC_A"), criarDto("PARC_A"));
+
+        // When & Then
+        assertThrows(ValidationException.class, () -> lotePedidosService.criarPedidos(dtos));
+        verify(pedidoService, never()).criarPedidosEmGrupo(any(), anyList());
+    }
+
+    private CriarPedidoDTO criarDto(String parceiroPublicId) {
+        return new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("Produto", 1, new BigDecimal("10.00"))), null);
+    }
+
+    private PedidoResponseDTO criarResposta(String publicId, String parceiroPublicId) {
+        return new PedidoResponseDTO(publicId, parceiroPublicId, "Empresa Teste", List.of(), new BigDecimal("10.00"),
+                StatusPedido.APROVADO, null, LocalDateTime.now(), LocalDateTime.now());
+    }
+}
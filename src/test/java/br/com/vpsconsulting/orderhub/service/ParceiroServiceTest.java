@@ -1,7 +1,9 @@
 package br.com.vpsconsulting.orderhub.service;
 
 import br.com.vpsconsulting.orderhub.dto.parceiros.CriarParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.DadosParceiroDTO;
 import br.com.vpsconsulting.orderhub.dto.parceiros.ParceiroResponseDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
 import br.com.vpsconsulting.orderhub.entity.Parceiro;
 import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
 import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
@@ -14,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +32,12 @@ class ParceiroServiceTest {
     @Mock
     private ParceiroRepository parceiroRepository;
 
+    @Mock
+    private ResumoPedidosService resumoPedidosService;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
     @InjectMocks
     private ParceiroService parceiroService;
 
@@ -43,26 +52,29 @@ class ParceiroServiceTest {
     }
 
     @Test
-    @DisplayName("Deve buscar parceiro por publicId com sucesso")
+    @DisplayName("Deve buscar parceiro por publicId no cache de dados de parceiros")
     void deveBuscarParceiroPorPublicIdComSucesso() {
         // Given
-        when(parceiroRepository.findByPublicId(publicId)).thenReturn(Optional.of(parceiro));
+        DadosParceiroDTO dados = new DadosParceiroDTO(publicId, "Empresa Teste", "12345678000195",
+                Dinheiro.de(new BigDecimal("10000.00")), Dinheiro.ZERO, true, LocalDateTime.now(), LocalDateTime.now(), 0L);
+        when(cacheDadosParceiros.buscar(publicId)).thenReturn(dados);
 
         // When
-        Parceiro resultado = parceiroService.buscarPorPublicId(publicId);
+        DadosParceiroDTO resultado = parceiroService.buscarPorPublicId(publicId);
 
         // Then
         assertNotNull(resultado);
-        assertEquals(publicId, resultado.getPublicId());
-        assertEquals("Empresa Teste", resultado.getNome());
-        verify(parceiroRepository).findByPublicId(publicId);
+        assertEquals(publicId, resultado.publicId());
+        assertEquals("Empresa Teste", resultado.nome());
+        verify(cacheDadosParceiros).buscar(publicId);
+        verifyNoInteractions(parceiroRepository);
     }
 
     @Test
     @DisplayName("Deve lançar exceção quando parceiro não encontrado")
     void deveLancarExcecaoQuandoParceiroNaoEncontrado() {
         // Given
-        when(parceiroRepository.findByPublicId(publicId)).thenReturn(Optional.empty());
+        when(cacheDadosParceiros.buscar(publicId)).thenThrow(EntityNotFoundException.parceiro(publicId));
 
         // When & Then
         EntityNotFoundException exception = assertThrows(
@@ -71,7 +83,6 @@ class ParceiroServiceTest {
         );
 
         assertTrue(exception.getMessage().contains(publicId));
-        verify(parceiroRepository).findByPublicId(publicId);
     }
 
     @Test
@@ -99,6 +110,7 @@ class ParceiroServiceTest {
         assertEquals("98765432000111", resultado.cnpj());
         assertEquals(new BigDecimal("15000.00"), resultado.limiteCredito());
         verify(parceiroRepository).save(any(Parceiro.class));
+        verify(resumoPedidosService).inicializar(novoParceiroSalvo);
     }
 
     @Test
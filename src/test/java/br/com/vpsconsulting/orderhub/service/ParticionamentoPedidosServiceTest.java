@@ -0,0 +1,102 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParticionamentoPedidosService - Testes Unitários")
+class ParticionamentoPedidosServiceTest {
+
+    private static final String LISTAR_PARTICOES = "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ParticionamentoPedidosService service;
+
+    @BeforeEach
+    void setUp() {
+        PedidoProperties properties = new PedidoProperties();
+        properties.getParticionamento().setMesesAFrente(2);
+        service = new ParticionamentoPedidosService(jdbcTemplate, properties);
+    }
+
+    @Test
+    @DisplayName("Deve criar as partições do mês corrente e dos meses seguintes, virando o ano")
+    void deveCriarParticoesFuturas() {
+        // When
+        service.criarParticoesFuturas(YearMonth.of(2025, 11));
+
+        // Then
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(6)).execute(ddl.capture());
+        assertEquals("CREATE TABLE IF NOT EXISTS pedidos_p2025_11 PARTITION OF pedidos " +
+                "FOR VALUES FROM ('2025-11-01') TO ('2025-12-01')", ddl.getAllValues().get(0));
+        assertEquals("CREATE TABLE IF NOT EXISTS itens_pedido_p2025_11 PARTITION OF itens_pedido " +
+                "FOR VALUES FROM ('2025-11-01') TO ('2025-12-01')", ddl.getAllValues().get(1));
+        assertEquals("CREATE TABLE IF NOT EXISTS itens_pedido_p2026_01 PARTITION OF itens_pedido " +
+                "FOR VALUES FROM ('2026-01-01') TO ('2026-02-01')", ddl.getAllValues().get(5));
+    }
+
+    @Test
+    @DisplayName("Deve desanexar os meses fora da retenção, itens antes dos pedidos, sem tocar na default")
+    void deveDesanexarParticoesAntigasItensAntesDosPedidos() {
+        // Given
+        when(jdbcTemplate.queryForList(LISTAR_PARTICOES, String.class, "pedidos"))
+                .thenReturn(List.of("pedidos_p2024_12", "pedidos_p2025_01", "pedidos_p2025_02", "pedidos_default"));
+        when(jdbcTemplate.queryForList(LISTAR_PARTICOES, String.class, "itens_pedido"))
+                .thenReturn(List.of("itens_pedido_p2024_12", "itens_pedido_p2025_01", "itens_pedido_p2025_02",
+                        "itens_pedido_default"));
+
+        // When
+        service.desanexarParticoesAntigas(YearMonth.of(2025, 2));
+
+        // Then
+        InOrder ordem = inOrder(jdbcTemplate);
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE itens_pedido DETACH PARTITION itens_pedido_p2024_12");
+        ordem.verify(jdbcTemplate).execute(
+                "ALTER TABLE itens_pedido_p2024_12 DROP CONSTRAINT IF EXISTS fk_itens_pedido_pedido");
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE pedidos DETACH PARTITION pedidos_p2024_12");
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE itens_pedido DETACH PARTITION itens_pedido_p2025_01");
+        ordem.verify(jdbcTemplate).execute("ALTER TABLE pedidos DETACH PARTITION pedidos_p2025_01");
+        verify(jdbcTemplate, never()).execute(contains("p2025_02"));
+        verify(jdbcTemplate, never()).execute(contains("default"));
+    }
+
+    @Test
+    @DisplayName("Não deve desanexar o mês de pedidos quando os itens do mês não puderam ser desanexados")
+    void naoDeveDesanexarPedidosQuandoItensFalham() {
+        // Given
+        when(jdbcTemplate.queryForList(LISTAR_PARTICOES, String.class, "pedidos"))
+                .thenReturn(List.of("pedidos_p2024_12"));
+        when(jdbcTemplate.queryForList(LISTAR_PARTICOES, String.class, "itens_pedido"))
+                .thenReturn(List.of("itens_pedido_p2024_12"));
+        doThrow(new DataIntegrityViolationException("lock timeout"))
+                .when(jdbcTemplate).execute("ALTER TABLE itens_pedido DETACH PARTITION itens_pedido_p2024_12");
+
+        // When
+        service.desanexarParticoesAntigas(YearMonth.of(2025, 2));
+
+        // Then
+        verify(jdbcTemplate, times(1)).execute(anyString());
+        verify(jdbcTemplate, never()).execute(eq("ALTER TABLE pedidos DETACH PARTITION pedidos_p2024_12"));
+    }
+}
@@ -1,22 +1,32 @@
 package br.com.vpsconsulting.orderhub.service;
 
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
 import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.itens.LinhaItemPedidoDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.AtualizarStatusDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.CabecalhoPedidoDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.CriarPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.FiltroPedidosDTO;
 import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.utils.CursorPaginacao;
+import br.com.vpsconsulting.orderhub.dto.utils.PaginacaoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
 import br.com.vpsconsulting.orderhub.entity.ItemPedido;
 import br.com.vpsconsulting.orderhub.entity.Parceiro;
 import br.com.vpsconsulting.orderhub.entity.Pedido;
 import br.com.vpsconsulting.orderhub.enums.StatusPedido;
 import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
 import br.com.vpsconsulting.orderhub.exception.EntityNotFoundException;
+import br.com.vpsconsulting.orderhub.exception.ValidationException;
 import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
 import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.service.credito.GestorCredito;
+import br.com.vpsconsulting.orderhub.service.credito.GestorCreditoPessimista;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -25,10 +35,13 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,7 +60,12 @@ class PedidoServiceTest {
     @Mock
     private NotificacaoService notificacaoService;
 
-    @InjectMocks
+    @Mock
+    private ResumoPedidosService resumoPedidosService;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
     private PedidoService pedidoService;
 
     private Parceiro parceiro;
@@ -57,6 +75,10 @@ class PedidoServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Modo de crédito padrão (lock pessimista) sobre os mesmos mocks de repositório
+        pedidoService = new PedidoService(pedidoRepository, parceiroRepository, parceiroService,
+                notificacaoService, new GestorCreditoPessimista(parceiroRepository), new PedidoProperties(), resumoPedidosService, cacheDadosParceiros);
+
         publicId = "PED_ABC123";
         parceiroPublicId = "PARC_XYZ789";
 
@@ -103,6 +125,7 @@ class PedidoServiceTest {
         verify(parceiroRepository).findByPublicIdWithLock(parceiroPublicId);
         verify(parceiroRepository).save(parceiro);
         verify(pedidoRepository).save(any(Pedido.class));
+        verify(resumoPedidosService).registrarCriacao(pedido);
     }
 
     @Test
@@ -162,7 +185,11 @@ class PedidoServiceTest {
     @DisplayName("Deve buscar pedido por ID com sucesso")
     void deveBuscarPedidoPorIdComSucesso() {
         // Given
-        when(pedidoRepository.findByPublicIdWithItens(publicId)).thenReturn(Optional.of(pedido));
+        when(pedidoRepository.buscarCabecalhoPorPublicId(publicId))
+                .thenReturn(Optional.of(criarPedidoListado(10L, publicId, LocalDateTime.now())));
+        when(pedidoRepository.buscarItensDosPedidos(eq(List.of(10L)), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(
+                        new LinhaItemPedidoDTO(10L, 100L, "Produto Teste", 2, Dinheiro.de("750.00"), Dinheiro.de("1500.00"))));
 
         // When
         PedidoResponseDTO resultado = pedidoService.buscarPorId(publicId);
@@ -172,25 +199,83 @@ class PedidoServiceTest {
         assertEquals(publicId, resultado.publicId());
         assertEquals(parceiroPublicId, resultado.parceiroPublicId());
         assertEquals("Empresa Teste", resultado.nomeParceiro());
-        verify(pedidoRepository).findByPublicIdWithItens(publicId);
+        verify(pedidoRepository).buscarCabecalhoPorPublicId(publicId);
     }
 
     @Test
     @DisplayName("Deve buscar pedidos por status")
     void deveBuscarPedidosPorStatus() {
         // Given
-        StatusPedido status = StatusPedido.APROVADO;
-        List<Pedido> pedidos = Arrays.asList(pedido);
-        when(pedidoRepository.findByStatusOrderByDataCriacaoDesc(status)).thenReturn(pedidos);
+        FiltroPedidosDTO filtro = new FiltroPedidosDTO(null, Set.of(StatusPedido.APROVADO), null, null, null, null);
+        List<CabecalhoPedidoDTO> pedidos = List.of(criarPedidoListado(10L, LocalDateTime.now()));
+        when(pedidoRepository.buscarPagina(eq(filtro), eq(CursorPaginacao.INICIO), anyInt())).thenReturn(pedidos);
 
         // When
-        List<PedidoResponseDTO> resultado = pedidoService.buscarPedidos(null, null, status);
+        PaginacaoDTO<PedidoResponseDTO> resultado = pedidoService.buscarPedidos(filtro, null, null);
 
         // Then
         assertNotNull(resultado);
-        assertEquals(1, resultado.size());
-        assertEquals(publicId, resultado.get(0).publicId());
-        verify(pedidoRepository).findByStatusOrderByDataCriacaoDesc(status);
+        assertEquals(1, resultado.conteudo().size());
+        assertEquals("PED_10", resultado.conteudo().get(0).publicId());
+        assertTrue(resultado.ultima());
+        assertNull(resultado.proximoCursor());
+        verify(pedidoRepository).buscarPagina(filtro, CursorPaginacao.INICIO, 51);
+        verify(pedidoRepository).buscarItensDosPedidos(eq(List.of(10L)), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve devolver cursor do último pedido da página e continuar a partir dele")
+    void deveDevolverCursorEContinuarAPartirDele() {
+        // Given - 3 pedidos para páginas de 2
+        LocalDateTime agora = LocalDateTime.of(2025, 6, 1, 10, 0);
+        CabecalhoPedidoDTO primeiro = criarPedidoListado(3L, agora);
+        CabecalhoPedidoDTO segundo = criarPedidoListado(2L, agora.minusMinutes(1));
+        CabecalhoPedidoDTO terceiro = criarPedidoListado(1L, agora.minusMinutes(2));
+        when(pedidoRepository.buscarPagina(FiltroPedidosDTO.TODOS, CursorPaginacao.INICIO, 3))
+                .thenReturn(Arrays.asList(primeiro, segundo, terceiro));
+        when(pedidoRepository.buscarPagina(FiltroPedidosDTO.TODOS, new CursorPaginacao(segundo.dataCriacao(), 2L), 3))
+                .thenReturn(List.of(terceiro));
+
+        // When
+        PaginacaoDTO<PedidoResponseDTO> pagina1 = pedidoService.buscarPedidos(FiltroPedidosDTO.TODOS, null, 2);
+        PaginacaoDTO<PedidoResponseDTO> pagina2 = pedidoService.buscarPedidos(FiltroPedidosDTO.TODOS, pagina1.proximoCursor(), 2);
+
+        // Then
+        assertEquals(2, pagina1.tamanho());
+        assertFalse(pagina1.ultima());
+        assertNotNull(pagina1.proximoCursor());
+        assertEquals(1, pagina2.tamanho());
+        assertTrue(pagina2.ultima());
+        // Os itens são carregados só para os pedidos da página, sem o registro extra, no intervalo de criação deles
+        verify(pedidoRepository).buscarItensDosPedidos(List.of(3L, 2L), agora.minusMinutes(1), agora);
+    }
+
+    @Test
+    @DisplayName("Deve recusar tamanho de página acima do máximo e cursor inválido")
+    void deveRecusarTamanhoAcimaDoMaximoECursorInvalido() {
+        // When & Then
+        assertThrows(ValidationException.class, () -> pedidoService.buscarPedidos(FiltroPedidosDTO.TODOS, null, 201));
+        assertThrows(ValidationException.class, () -> pedidoService.buscarPedidos(FiltroPedidosDTO.TODOS, "nao-e-um-cursor", 10));
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve recusar filtro com período ou faixa de valor invertidos")
+    void deveRecusarFiltroComPeriodoOuFaixaDeValorInvertidos() {
+        // Given
+        LocalDateTime agora = LocalDateTime.of(2025, 6, 1, 10, 0);
+        FiltroPedidosDTO periodoInvertido = new FiltroPedidosDTO(null, null, agora, agora.minusDays(1), null, null);
+        FiltroPedidosDTO faixaInvertida = new FiltroPedidosDTO(null, null, null, null,
+                new BigDecimal("500.00"), new BigDecimal("100.00"));
+
+        // When & Then
+        ValidationException periodo = assertThrows(ValidationException.class,
+                () -> pedidoService.buscarPedidos(periodoInvertido, null, null));
+        ValidationException faixa = assertThrows(ValidationException.class,
+                () -> pedidoService.buscarPedidos(faixaInvertida, null, null));
+        assertEquals(List.of("dataInicio deve ser anterior a dataFim"), periodo.getErros());
+        assertEquals(List.of("valorMinimo deve ser menor ou igual a valorMaximo"), faixa.getErros());
+        verifyNoInteractions(pedidoRepository);
     }
 
     @Test
@@ -239,6 +324,7 @@ class PedidoServiceTest {
         verify(parceiroRepository).save(parceiro);
         verify(pedidoRepository).save(pedido);
         verify(notificacaoService).notificarMudancaStatus(pedido, StatusPedido.APROVADO, StatusPedido.CANCELADO);
+        verify(resumoPedidosService).registrarTransicao(pedido, StatusPedido.APROVADO);
     }
 
     @Test
@@ -267,7 +353,7 @@ class PedidoServiceTest {
     @DisplayName("Deve lançar exceção para pedido não encontrado")
     void deveLancarExcecaoParaPedidoNaoEncontrado() {
         // Given
-        when(pedidoRepository.findByPublicIdWithItens(publicId)).thenReturn(Optional.empty());
+        when(pedidoRepository.buscarCabecalhoPorPublicId(publicId)).thenReturn(Optional.empty());
 
         // When & Then
         EntityNotFoundException exception = assertThrows(
@@ -276,6 +362,92 @@ class PedidoServiceTest {
         );
 
         assertTrue(exception.getMessage().contains(publicId));
-        verify(pedidoRepository).findByPublicIdWithItens(publicId);
+        verify(pedidoRepository).buscarCabecalhoPorPublicId(publicId);
+    }
+
+    @Test
+    @DisplayName("Deve criar pedidos em grupo com um único lock e aprovar na ordem contra o saldo corrente")
+    @SuppressWarnings("unchecked")
+    void deveCriarPedidosEmGrupoComUmUnicoLock() {
+        // Given - 10000.00 de limite: 6000 aprovado, 5000 rejeitado, 4000 aprovado
+        List<CriarPedidoDTO> dtos = Arrays.asList(
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("A", 1, new BigDecimal("6000.00"))), null),
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("B", 1, new BigDecimal("5000.00"))), null),
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("C", 1, new BigDecimal("4000.00"))), null)
+        );
+
+        when(parceiroRepository.findByPublicIdWithLock(parceiroPublicId)).thenReturn(Optional.of(parceiro));
+
+        // When
+        List<ResultadoCriacaoPedido> resultados = pedidoService.criarPedidosEmGrupo(parceiroPublicId, dtos);
+
+        // Then
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.get(0).isAprovado());
+        assertFalse(resultados.get(1).isAprovado());
+        assertEquals("CREDITO_INSUFICIENTE", resultados.get(1).erro().getCodigo());
+        assertTrue(resultados.get(2).isAprovado());
+        assertEquals(StatusPedido.APROVADO, resultados.get(2).pedido().status());
+        assertEquals(0, parceiro.getCreditoUtilizado().compareTo(new BigDecimal("10000.00")));
+
+        verify(parceiroRepository, times(1)).findByPublicIdWithLock(parceiroPublicId);
+        verify(pedidoRepository).saveAll(argThat(pedidos -> ((List<Pedido>) pedidos).size() == 2));
+        verify(pedidoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar todo o grupo quando parceiro está inativo")
+    void deveRejeitarTodoOGrupoQuandoParceiroInativo() {
+        // Given
+        parceiro.setAtivo(false);
+        List<CriarPedidoDTO> dtos = Arrays.asList(
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("A", 1, new BigDecimal("10.00"))), null),
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("B", 1, new BigDecimal("10.00"))), null)
+        );
+        when(parceiroRepository.findByPublicIdWithLock(parceiroPublicId)).thenReturn(Optional.of(parceiro));
+
+        // When
+        List<ResultadoCriacaoPedido> resultados = pedidoService.criarPedidosEmGrupo(parceiroPublicId, dtos);
+
+        // Then
+        assertTrue(resultados.stream().noneMatch(ResultadoCriacaoPedido::isAprovado));
+        assertEquals("PARCEIRO_INATIVO", resultados.get(0).erro().getCodigo());
+        verify(pedidoRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Deve debitar o crédito do grupo em uma única operação quando o saldo cobre todos os pedidos")
+    @SuppressWarnings("unchecked")
+    void deveDebitarCreditoDoGrupoEmUmaUnicaOperacao() {
+        // Given
+        GestorCredito gestorCredito = mock(GestorCredito.class);
+        pedidoService = new PedidoService(pedidoRepository, parceiroRepository, parceiroService,
+                notificacaoService, gestorCredito, new PedidoProperties(), resumoPedidosService, cacheDadosParceiros);
+        when(gestorCredito.carregarParceiro(parceiroPublicId)).thenReturn(parceiro);
+        List<CriarPedidoDTO> dtos = Arrays.asList(
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("A", 2, new BigDecimal("100.00"))), null),
+                new CriarPedidoDTO(parceiroPublicId, List.of(new ItemPedidoDTO("B", 1, new BigDecimal("50.25"))), null)
+        );
+
+        // When
+        List<ResultadoCriacaoPedido> resultados = pedidoService.criarPedidosEmGrupo(parceiroPublicId, dtos);
+
+        // Then
+        assertTrue(resultados.stream().allMatch(ResultadoCriacaoPedido::isAprovado));
+        InOrder ordem = inOrder(gestorCredito);
+        ordem.verify(gestorCredito).prepararDebitosEmGrupo(parceiro);
+        ordem.verify(gestorCredito).debitar(any(), any());
+        verify(gestorCredito, times(1)).debitar(any(), any());
+        verify(gestorCredito).debitar(parceiro, Dinheiro.de("250.25"));
+        verify(pedidoRepository).saveAll(argThat(pedidos -> ((List<Pedido>) pedidos).size() == 2));
+    }
+
+    private CabecalhoPedidoDTO criarPedidoListado(Long id, LocalDateTime dataCriacao) {
+        return criarPedidoListado(id, "PED_" + id, dataCriacao);
+    }
+
+    private CabecalhoPedidoDTO criarPedidoListado(Long id, String publicId, LocalDateTime dataCriacao) {
+        return new CabecalhoPedidoDTO(id, publicId, parceiroPublicId, "Empresa Teste",
+                Dinheiro.de("1500.00"), StatusPedido.APROVADO, null, dataCriacao, dataCriacao);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package br.com.vpsconsulting.orderhub.service;
 
+import br.com.vpsconsulting.orderhub.config.PedidoProperties;
 import br.com.vpsconsulting.orderhub.dto.pedidos.AtualizarStatusDTO;
 import br.com.vpsconsulting.orderhub.entity.ItemPedido;
 import br.com.vpsconsulting.orderhub.entity.Parceiro;
@@ -8,11 +9,11 @@ import br.com.vpsconsulting.orderhub.enums.StatusPedido;
 import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
 import br.com.vpsconsulting.orderhub.repository.PedidoRepository;
 import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.service.credito.GestorCreditoPessimista;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -40,7 +41,12 @@ class PedidoServiceTransitionTest {
     @Mock
     private NotificacaoService notificacaoService;
 
-    @InjectMocks
+    @Mock
+    private ResumoPedidosService resumoPedidosService;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
     private PedidoService pedidoService;
 
     private Parceiro parceiro;
@@ -50,6 +56,10 @@ class PedidoServiceTransitionTest {
 
     @BeforeEach
     void setUp() {
+        // Modo de crédito padrão (lock pessimista) sobre os mesmos mocks de repositório
+        pedidoService = new PedidoService(pedidoRepository, parceiroRepository, parceiroService,
+                notificacaoService, new GestorCreditoPessimista(parceiroRepository), new PedidoProperties(), resumoPedidosService, cacheDadosParceiros);
+
         publicId = "PED_ABC123";
         parceiroPublicId = "PARC_XYZ789";
 
@@ -134,9 +144,10 @@ class PedidoServiceTransitionTest {
         assertTrue(exception.getMessage().toLowerCase().contains("status") ||
                 exception.getMessage().toLowerCase().contains("alterar"));
 
-        // Operações financeiras não devem ser executadas
+        // Operações financeiras não devem ser executadas, nem o resumo do parceiro alterado
         verify(parceiroRepository, never()).findByPublicIdWithLock(any());
         verify(parceiroRepository, never()).save(any());
+        verifyNoInteractions(resumoPedidosService);
     }
 
     @Test
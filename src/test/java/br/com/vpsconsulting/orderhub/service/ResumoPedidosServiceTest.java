@@ -0,0 +1,142 @@
+package br.com.vpsconsulting.orderhub.service;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoPedidosParceiroDTO;
+import br.com.vpsconsulting.orderhub.dto.parceiros.ResumoStatusPedidosDTO;
+import br.com.vpsconsulting.orderhub.entity.DeltaResumoPedidos;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.ItemPedido;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.Pedido;
+import br.com.vpsconsulting.orderhub.entity.ResumoPedidosParceiro;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.repository.DeltaResumoPedidosRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.ResumoPedidosParceiroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumoPedidosService - Testes Unitários")
+class ResumoPedidosServiceTest {
+
+    @Mock
+    private ResumoPedidosParceiroRepository resumoRepository;
+
+    @Mock
+    private DeltaResumoPedidosRepository deltaRepository;
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @InjectMocks
+    private ResumoPedidosService resumoPedidosService;
+
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
+        parceiro.setId(7L);
+        parceiro.setPublicId("PARC_XYZ789");
+    }
+
+    @Test
+    @DisplayName("Deve mover o pedido do status anterior para o novo na mudança de status")
+    @SuppressWarnings("unchecked")
+    void deveMoverPedidoEntreStatusNaTransicao() {
+        // Given
+        Pedido pedido = criarPedido(StatusPedido.CANCELADO, "300.00");
+
+        // When
+        resumoPedidosService.registrarTransicao(pedido, StatusPedido.APROVADO);
+
+        // Then - só variações: a linha do resumo não é tocada na transação do pedido
+        verify(deltaRepository).saveAll(argThat(deltas -> {
+            List<DeltaResumoPedidos> lista = (List<DeltaResumoPedidos>) deltas;
+            return lista.size() == 2
+                    && lista.get(0).getStatus() == StatusPedido.APROVADO && lista.get(0).getQuantidade() == -1L
+                    && lista.get(0).getValor().equals(Dinheiro.de("-300.00"))
+                    && lista.get(1).getStatus() == StatusPedido.CANCELADO && lista.get(1).getQuantidade() == 1L
+                    && lista.get(1).getValor().equals(Dinheiro.de("300.00"));
+        }));
+        verifyNoInteractions(resumoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve registrar pedidos gravados em grupo com uma variação por status")
+    @SuppressWarnings("unchecked")
+    void deveRegistrarGrupoComUmaVariacaoPorStatus() {
+        // Given
+        List<Pedido> pedidos = List.of(criarPedido(StatusPedido.APROVADO, "100.00"),
+                criarPedido(StatusPedido.APROVADO, "250.00"), criarPedido(StatusPedido.APROVADO, "50.00"));
+
+        // When
+        resumoPedidosService.registrarCriacoes(parceiro, pedidos);
+
+        // Then
+        verify(deltaRepository).saveAll(argThat(deltas -> {
+            List<DeltaResumoPedidos> lista = (List<DeltaResumoPedidos>) deltas;
+            return lista.size() == 1 && lista.get(0).getQuantidade() == 3L
+                    && lista.get(0).getValor().equals(Dinheiro.de("400.00"));
+        }));
+        verifyNoInteractions(resumoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve devolver todos os status na ordem do ciclo de vida e somar os em aberto")
+    void deveDevolverTodosOsStatusESomarEmAberto() {
+        // Given
+        when(parceiroRepository.findByPublicId("PARC_XYZ789")).thenReturn(Optional.of(parceiro));
+        when(resumoRepository.buscarPorParceiro(7L)).thenReturn(List.of(
+                new ResumoStatusPedidosDTO(StatusPedido.CANCELADO, 4L, new BigDecimal("900.00")),
+                new ResumoStatusPedidosDTO(StatusPedido.APROVADO, 2L, new BigDecimal("500.00")),
+                new ResumoStatusPedidosDTO(StatusPedido.ENVIADO, 1L, new BigDecimal("120.00"))));
+        // Um pedido aprovado ainda não consolidado
+        when(deltaRepository.somarPendentesPorParceiro(7L)).thenReturn(List.of(
+                new ResumoStatusPedidosDTO(StatusPedido.APROVADO, 1L, new BigDecimal("80.00"))));
+
+        // When
+        ResumoPedidosParceiroDTO resumo = resumoPedidosService.buscarResumo("PARC_XYZ789");
+
+        // Then
+        assertEquals(StatusPedido.values().length, resumo.porStatus().size());
+        assertEquals(StatusPedido.PENDENTE, resumo.porStatus().get(0).status());
+        assertEquals(0L, resumo.porStatus().get(0).quantidade());
+        assertEquals(4L, resumo.quantidadeEmAberto());
+        assertEquals(new BigDecimal("700.00"), resumo.valorEmAberto());
+    }
+
+    @Test
+    @DisplayName("Deve criar uma linha zerada por status para o novo parceiro")
+    void deveInicializarUmaLinhaPorStatus() {
+        // When
+        resumoPedidosService.inicializar(parceiro);
+
+        // Then
+        verify(resumoRepository).saveAll(argThat(linhas -> {
+            List<ResumoPedidosParceiro> lista = (List<ResumoPedidosParceiro>) linhas;
+            return lista.size() == StatusPedido.values().length
+                    && lista.stream().allMatch(r -> r.getQuantidade() == 0L && r.getParceiro() == parceiro);
+        }));
+    }
+
+    private Pedido criarPedido(StatusPedido status, String valor) {
+        Pedido pedido = new Pedido(parceiro);
+        pedido.adicionarItem(new ItemPedido(pedido, "Produto", 1, new BigDecimal(valor)));
+        pedido.setStatus(status);
+        return pedido;
+    }
+}
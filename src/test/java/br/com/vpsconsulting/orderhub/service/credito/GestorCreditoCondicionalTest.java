@@ -0,0 +1,229 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GestorCreditoCondicional - Testes Unitários")
+class GestorCreditoCondicionalTest {
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @InjectMocks
+    private GestorCreditoCondicional gestorCredito;
+
+    private Parceiro parceiro;
+    private String parceiroPublicId;
+
+    @BeforeEach
+    void setUp() {
+        parceiroPublicId = "PARC_XYZ789";
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
+        parceiro.setId(1L);
+        parceiro.setPublicId(parceiroPublicId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aprovar débito quando o UPDATE condicional afeta uma linha")
+    void deveAprovarDebitoQuandoUpdateAfetaUmaLinha() {
+        // Given
+        Dinheiro valor = Dinheiro.de("1500.00");
+        when(parceiroRepository.debitarCreditoCondicional(eq(parceiroPublicId), eq(valor.toBigDecimal()), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When
+        gestorCredito.debitar(parceiro, valor);
+
+        // Then - nenhuma leitura com lock nem gravação da entidade
+        verify(parceiroRepository, never()).findByPublicIdWithLock(any());
+        verify(parceiroRepository, never()).save(any());
+        assertEquals(0, parceiro.getCreditoUtilizado().compareTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Deve lançar creditoInsuficiente com saldo atual quando nenhuma linha é afetada")
+    void deveLancarCreditoInsuficienteQuandoNenhumaLinhaAfetada() {
+        // Given
+        Dinheiro valor = Dinheiro.de("1500.00");
+        when(parceiroRepository.debitarCreditoCondicional(eq(parceiroPublicId), eq(valor.toBigDecimal()), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(parceiroRepository.consultarCreditoDisponivel(parceiroPublicId))
+                .thenReturn(Optional.of(new BigDecimal("300.00")));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, valor)
+        );
+
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        assertTrue(exception.getMessage().contains("300"));
+    }
+
+    @Test
+    @DisplayName("Deve lançar parceiroInativo quando o parceiro está inativo")
+    void deveLancarParceiroInativoQuandoParceiroInativo() {
+        // Given
+        parceiro.setAtivo(false);
+        when(parceiroRepository.debitarCreditoCondicional(eq(parceiroPublicId), any(), any())).thenReturn(0);
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("10.00"))
+        );
+
+        assertEquals("PARCEIRO_INATIVO", exception.getCodigo());
+        verify(parceiroRepository, never()).consultarCreditoDisponivel(any());
+    }
+
+    @Test
+    @DisplayName("Deve liberar crédito com um único UPDATE")
+    void deveLiberarCreditoComUmUnicoUpdate() {
+        // Given
+        Dinheiro valor = Dinheiro.de("1500.00");
+        when(parceiroRepository.liberarCreditoCondicional(eq(parceiroPublicId), eq(valor), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When
+        gestorCredito.liberar(parceiro, valor);
+
+        // Then
+        verify(parceiroRepository).liberarCreditoCondicional(eq(parceiroPublicId), eq(valor), any(LocalDateTime.class));
+        verify(parceiroRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Dentro de uma transação deve executar o UPDATE condicional só no beforeCommit, depois do flush")
+    void deveExecutarUpdateCondicionalSoNoBeforeCommit() {
+        // Given - dois débitos na mesma transação
+        TransactionSynchronizationManager.initSynchronization();
+        when(parceiroRepository.consultarCreditoDisponivel(parceiroPublicId))
+                .thenReturn(Optional.of(new BigDecimal("1000.00")));
+        gestorCredito.debitar(parceiro, Dinheiro.de("300.00"));
+        gestorCredito.debitar(parceiro, Dinheiro.de("200.00"));
+        verify(parceiroRepository, never()).debitarCreditoCondicional(any(), any(), any());
+        when(parceiroRepository.debitarCreditoCondicional(eq(parceiroPublicId), eq(new BigDecimal("500.00")), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.beforeCommit(false));
+
+        // Then - um único UPDATE pelo total, depois do flush do pedido e dos itens
+        InOrder ordem = inOrder(parceiroRepository);
+        ordem.verify(parceiroRepository).flush();
+        ordem.verify(parceiroRepository).debitarCreditoCondicional(eq(parceiroPublicId), eq(new BigDecimal("500.00")), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar antes do commit o débito que o saldo atual menos os pendentes não cobre")
+    void deveRecusarDebitoNaoCobertoPelosPendentes() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        when(parceiroRepository.consultarCreditoDisponivel(parceiroPublicId))
+                .thenReturn(Optional.of(new BigDecimal("1000.00")));
+        gestorCredito.debitar(parceiro, Dinheiro.de("800.00"));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("300.00"))
+        );
+
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        assertTrue(exception.getMessage().contains("200"));
+        verify(parceiroRepository, never()).debitarCreditoCondicional(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve falhar no beforeCommit quando o UPDATE condicional não afeta nenhuma linha")
+    void deveFalharNoBeforeCommitQuandoUpdateNaoAfetaLinha() {
+        // Given - 1000.00 na conferência antecipada, 100.00 depois do commit de outra transação
+        TransactionSynchronizationManager.initSynchronization();
+        when(parceiroRepository.consultarCreditoDisponivel(parceiroPublicId))
+                .thenReturn(Optional.of(new BigDecimal("1000.00")), Optional.of(new BigDecimal("100.00")));
+        gestorCredito.debitar(parceiro, Dinheiro.de("300.00"));
+        when(parceiroRepository.debitarCreditoCondicional(eq(parceiroPublicId), any(), any())).thenReturn(0);
+        TransactionSynchronization sincronizacao = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> sincronizacao.beforeCommit(false));
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        assertTrue(exception.getMessage().contains("100"));
+    }
+
+    @Test
+    @DisplayName("Deve compensar débitos e liberações da transação em um único UPDATE")
+    void deveCompensarDebitosELiberacoesEmUmUnicoUpdate() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        gestorCredito.liberar(parceiro, Dinheiro.de("500.00"));
+        when(parceiroRepository.consultarCreditoDisponivel(parceiroPublicId))
+                .thenReturn(Optional.of(new BigDecimal("100.00")));
+        gestorCredito.debitar(parceiro, Dinheiro.de("200.00"));
+        when(parceiroRepository.liberarCreditoCondicional(eq(parceiroPublicId), eq(Dinheiro.de("300.00")), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.beforeCommit(false));
+
+        // Then
+        verify(parceiroRepository).liberarCreditoCondicional(eq(parceiroPublicId), eq(Dinheiro.de("300.00")), any(LocalDateTime.class));
+        verify(parceiroRepository, never()).debitarCreditoCondicional(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("No débito em grupo deve executar o UPDATE na hora e recusar só o pedido")
+    void deveExecutarUpdateNaHoraNoDebitoEmGrupo() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        gestorCredito.prepararDebitosEmGrupo(parceiro);
+        when(parceiroRepository.debitarCreditoCondicional(eq(parceiroPublicId), eq(new BigDecimal("600.00")), any(LocalDateTime.class)))
+                .thenReturn(1, 0);
+        when(parceiroRepository.consultarCreditoDisponivel(parceiroPublicId))
+                .thenReturn(Optional.of(new BigDecimal("400.00")));
+
+        // When
+        gestorCredito.debitar(parceiro, Dinheiro.de("600.00"));
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("600.00"))
+        );
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.beforeCommit(false));
+
+        // Then - nada fica para o commit do grupo
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        verify(parceiroRepository, times(2)).debitarCreditoCondicional(any(), any(), any());
+        verify(parceiroRepository, never()).liberarCreditoCondicional(any(), any(), any());
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.MovimentoCredito;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.SnapshotCredito;
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.repository.MovimentoCreditoRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SnapshotCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GestorCreditoLedger - Testes Unitários")
+class GestorCreditoLedgerTest {
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @Mock
+    private MovimentoCreditoRepository movimentoCreditoRepository;
+
+    @Mock
+    private SnapshotCreditoRepository snapshotCreditoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
+    private GestorCreditoLedger gestorCredito;
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        CreditoProperties properties = new CreditoProperties();
+        properties.getLedger().setFaixas(4);
+        gestorCredito = new GestorCreditoLedger(parceiroRepository, movimentoCreditoRepository,
+                snapshotCreditoRepository, transactionTemplate, properties, cacheDadosParceiros, dataSource);
+
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
+        parceiro.setId(1L);
+        parceiro.setPublicId("PARC_XYZ789");
+
+        // A conta nasce do diário: 2000.00 utilizados no snapshot, sem movimentos depois dele
+        lenient().when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("2000.00"), 10L)));
+        lenient().when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L)).thenReturn(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Deve debitar sem lock e sem gravar o parceiro imediatamente")
+    void deveDebitarSemLockESemGravarParceiro() {
+        // When
+        gestorCredito.debitar(parceiro, Dinheiro.de("7999.99"));
+
+        // Then
+        verify(parceiroRepository, never()).findByPublicIdWithLock(any());
+        verify(parceiroRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar débito acima do disponível mesmo com saldo espalhado entre faixas")
+    void deveRejeitarDebitoAcimaDoDisponivel() {
+        // Given - 8000.00 disponíveis distribuídos em 4 faixas
+        gestorCredito.debitar(parceiro, Dinheiro.de("7000.00"));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("1000.01"))
+        );
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+
+        // Saldo restante exato ainda pode ser usado
+        assertDoesNotThrow(() -> gestorCredito.debitar(parceiro, Dinheiro.de("1000.00")));
+    }
+
+    @Test
+    @DisplayName("Não deve ultrapassar o limite com débitos concorrentes")
+    void naoDeveUltrapassarLimiteComDebitosConcorrentes() throws InterruptedException {
+        // Given - 8000.00 disponíveis, 16 threads tentando debitar 100.00 mil vezes no total
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger aprovados = new AtomicInteger();
+
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                inicio.await();
+                try {
+                    gestorCredito.debitar(parceiro, Dinheiro.de("100.00"));
+                    aprovados.incrementAndGet();
+                } catch (BusinessRuleException ignored) {
+                    // crédito esgotado
+                }
+                return null;
+            });
+        }
+
+        // When
+        inicio.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(80, aprovados.get());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o débito no diário sob o lock compartilhado do parceiro")
+    void deveGravarDebitoNoDiarioSobLockCompartilhado() {
+        // When
+        gestorCredito.debitar(parceiro, Dinheiro.de("500.00"));
+
+        // Then
+        ArgumentCaptor<MovimentoCredito> captor = ArgumentCaptor.forClass(MovimentoCredito.class);
+        var ordem = inOrder(movimentoCreditoRepository);
+        ordem.verify(movimentoCreditoRepository).travarParceiroCompartilhado(1L);
+        ordem.verify(movimentoCreditoRepository).save(captor.capture());
+        assertEquals(TipoMovimentoCredito.DEBITO, captor.getValue().getTipo());
+        assertEquals(0, new BigDecimal("500.00").compareTo(captor.getValue().getValor()));
+        verify(movimentoCreditoRepository, never()).travarParceiro(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a mudança de limite do parceiro à conta já carregada")
+    void deveAplicarMudancaDeLimiteAContaCarregada() {
+        // Given - conta carregada com 8000.00 disponíveis
+        gestorCredito.debitar(parceiro, Dinheiro.de("1000.00"));
+
+        // When - limite reduzido para 5000.00: restam 2000.00
+        parceiro.setLimiteCredito(new BigDecimal("5000.00"));
+
+        // Then
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("2000.01"))
+        );
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        assertDoesNotThrow(() -> gestorCredito.debitar(parceiro, Dinheiro.de("2000.00")));
+        verify(snapshotCreditoRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Redução de limite deve valer para todas as faixas, sem aprovar débitos além do disponível")
+    void reducaoDeLimiteDeveValerParaTodasAsFaixas() {
+        // Given - 4 faixas de 2000.00 e limite reduzido em 6000.00: restam 2000.00
+        gestorCredito.debitar(parceiro, Dinheiro.de("0.01"));
+        gestorCredito.liberar(parceiro, Dinheiro.de("0.01"));
+        parceiro.setLimiteCredito(new BigDecimal("4000.00"));
+
+        // When & Then - cada faixa isolada ainda caberia 2000.00
+        assertDoesNotThrow(() -> gestorCredito.debitar(parceiro, Dinheiro.de("2000.00")));
+        BusinessRuleException exception = assertThrows(
+                BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("2000.00"))
+        );
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+    }
+
+    @Test
+    @DisplayName("Conta carregada com utilizado acima do limite não deve aprovar débito por uma faixa isolada")
+    void contaEmDeficitNaoDeveAprovarPorFaixaIsolada() {
+        // Given - 12000.00 utilizados para 10000.00 de limite
+        when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("12000.00"), 10L)));
+        gestorCredito.liberar(parceiro, Dinheiro.de("1500.00"));
+
+        // When & Then - a liberação cai numa faixa, mas o saldo total continua negativo
+        assertThrows(BusinessRuleException.class, () -> gestorCredito.debitar(parceiro, Dinheiro.de("1000.00")));
+        gestorCredito.liberar(parceiro, Dinheiro.de("1500.00"));
+        assertDoesNotThrow(() -> gestorCredito.debitar(parceiro, Dinheiro.de("1000.00")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar débito de parceiro inativo")
+    void deveRecusarDebitoDeParceiroInativo() {
+        // Given
+        parceiro.setAtivo(false);
+
+        // When & Then
+        assertThrows(BusinessRuleException.class, () -> gestorCredito.debitar(parceiro, Dinheiro.de("100.00")));
+        verify(movimentoCreditoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve falhar na subida quando outra instância já usa o modo ledger")
+    void deveFalharQuandoOutraInstanciaUsaOModo() throws Exception {
+        // Given
+        Connection conexao = mock(Connection.class);
+        PreparedStatement consulta = mock(PreparedStatement.class);
+        ResultSet resultado = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.prepareStatement(any())).thenReturn(consulta);
+        when(consulta.executeQuery()).thenReturn(resultado);
+        when(resultado.next()).thenReturn(true);
+        when(resultado.getBoolean(1)).thenReturn(false);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> gestorCredito.reservarInstancia());
+        verify(conexao).close();
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoCreditoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.MovimentoCredito;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.SnapshotCredito;
+import br.com.vpsconsulting.orderhub.enums.TipoMovimentoCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.repository.MovimentoCreditoRepository;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SnapshotCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GestorCreditoMovimentos - Testes Unitários")
+class GestorCreditoMovimentosTest {
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @Mock
+    private MovimentoCreditoRepository movimentoCreditoRepository;
+
+    @Mock
+    private SnapshotCreditoRepository snapshotCreditoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
+    private GestorCreditoMovimentos gestorCredito;
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        gestorCredito = new GestorCreditoMovimentos(
+                parceiroRepository, movimentoCreditoRepository, snapshotCreditoRepository, transactionTemplate,
+                cacheDadosParceiros);
+
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000.00"));
+        parceiro.setId(1L);
+        parceiro.setPublicId("PARC_XYZ789");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve registrar débito como movimento quando snapshot mais movimentos cobrem o valor")
+    void deveRegistrarDebitoQuandoSaldoCobreValor() {
+        // Given - snapshot com 600.00 utilizados e 300.00 debitados depois dele
+        when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("600.00"), 10L)));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L)).thenReturn(new BigDecimal("300.00"));
+
+        // When
+        gestorCredito.debitar(parceiro, Dinheiro.de("100.00"));
+
+        // Then - apenas INSERT no diário, sob o lock do parceiro
+        ArgumentCaptor<MovimentoCredito> movimento = ArgumentCaptor.forClass(MovimentoCredito.class);
+        verify(movimentoCreditoRepository).travarParceiro(1L);
+        verify(movimentoCreditoRepository).save(movimento.capture());
+        assertEquals(TipoMovimentoCredito.DEBITO, movimento.getValue().getTipo());
+        assertEquals(new BigDecimal("100.00"), movimento.getValue().getValor());
+        verify(parceiroRepository, never()).atualizarCreditoUtilizado(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar débito por crédito insuficiente sem gravar movimento")
+    void deveRecusarDebitoPorCreditoInsuficiente() {
+        // Given - sem snapshot: base é o crédito utilizado atual do parceiro
+        when(snapshotCreditoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(parceiroRepository.consultarSaldoCredito("PARC_XYZ789")).thenReturn(Optional.of(new SaldoCreditoDTO(
+                "PARC_XYZ789", Dinheiro.de("1000.00"), Dinheiro.de("800.00"), true, 0L)));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 0L)).thenReturn(new BigDecimal("150.00"));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("50.01")));
+
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        verify(movimentoCreditoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a liberação ao crédito utilizado")
+    void deveLimitarLiberacaoAoCreditoUtilizado() {
+        // Given
+        when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("80.00"), 10L)));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L)).thenReturn(BigDecimal.ZERO);
+
+        // When
+        gestorCredito.liberar(parceiro, Dinheiro.de("100.00"));
+
+        // Then
+        ArgumentCaptor<MovimentoCredito> movimento = ArgumentCaptor.forClass(MovimentoCredito.class);
+        verify(movimentoCreditoRepository).save(movimento.capture());
+        assertEquals(TipoMovimentoCredito.LIBERACAO, movimento.getValue().getTipo());
+        assertEquals(new BigDecimal("80.00"), movimento.getValue().getValor());
+    }
+
+    @Test
+    @DisplayName("Dentro de uma transação deve travar e gravar os movimentos só no beforeCommit")
+    void deveTravarEGravarMovimentosSoNoBeforeCommit() {
+        // Given - 900.00 utilizados e dois débitos na mesma transação
+        TransactionSynchronizationManager.initSynchronization();
+        when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("900.00"), 10L)));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L)).thenReturn(BigDecimal.ZERO);
+
+        // When - o segundo débito é conferido contra o saldo já comprometido pelo primeiro
+        gestorCredito.debitar(parceiro, Dinheiro.de("60.00"));
+        BusinessRuleException recusa = assertThrows(BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("50.00")));
+        gestorCredito.debitar(parceiro, Dinheiro.de("40.00"));
+
+        // Then - nada travado nem gravado antes do commit
+        assertEquals("CREDITO_INSUFICIENTE", recusa.getCodigo());
+        verify(movimentoCreditoRepository, never()).travarParceiro(any());
+        verify(movimentoCreditoRepository, never()).save(any());
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.beforeCommit(false));
+
+        // Then
+        ArgumentCaptor<MovimentoCredito> movimentos = ArgumentCaptor.forClass(MovimentoCredito.class);
+        verify(movimentoCreditoRepository).travarParceiro(1L);
+        verify(movimentoCreditoRepository, times(2)).save(movimentos.capture());
+        assertEquals(List.of(new BigDecimal("60.00"), new BigDecimal("40.00")),
+                movimentos.getAllValues().stream().map(MovimentoCredito::getValor).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar no beforeCommit o débito que outra transação tornou descoberto")
+    void deveRecusarNoBeforeCommitDebitoDescoberto() {
+        // Given - 900.00 na conferência antecipada, 950.00 depois do commit de outra transação
+        TransactionSynchronizationManager.initSynchronization();
+        when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("900.00"), 10L)));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L))
+                .thenReturn(BigDecimal.ZERO, new BigDecimal("50.00"));
+        gestorCredito.debitar(parceiro, Dinheiro.de("100.00"));
+        TransactionSynchronization sincronizacao = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> sincronizacao.beforeCommit(false));
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        verify(movimentoCreditoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Em grupo deve recusar no próprio débito o pedido que outra transação tornou descoberto, sem falhar no commit")
+    void deveRecusarNoDebitoEmGrupoSemFalharNoCommit() {
+        // Given - 900.00 utilizados; outra transação confirma 50.00 antes do lock do grupo
+        TransactionSynchronizationManager.initSynchronization();
+        when(snapshotCreditoRepository.findById(1L))
+                .thenReturn(Optional.of(new SnapshotCredito(1L, new BigDecimal("900.00"), 10L)));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L)).thenReturn(new BigDecimal("50.00"));
+
+        // When
+        gestorCredito.prepararDebitosEmGrupo(parceiro);
+        BusinessRuleException recusa = assertThrows(BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("100.00")));
+        gestorCredito.debitar(parceiro, Dinheiro.de("50.00"));
+
+        // Then - lock pego antes das conferências; o commit grava só o pedido aprovado
+        assertEquals("CREDITO_INSUFICIENTE", recusa.getCodigo());
+        verify(movimentoCreditoRepository).travarParceiro(1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(sincronizacao -> sincronizacao.beforeCommit(false));
+        ArgumentCaptor<MovimentoCredito> movimento = ArgumentCaptor.forClass(MovimentoCredito.class);
+        verify(movimentoCreditoRepository).save(movimento.capture());
+        assertEquals(new BigDecimal("50.00"), movimento.getValue().getValor());
+    }
+
+    @Test
+    @DisplayName("Deve compactar os movimentos no snapshot e atualizar o crédito utilizado do parceiro")
+    @SuppressWarnings("unchecked")
+    void deveCompactarMovimentosNoSnapshot() {
+        // Given
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        SnapshotCredito snapshot = new SnapshotCredito(1L, new BigDecimal("600.00"), 10L);
+        when(movimentoCreditoRepository.findParceiroIdsComMovimentosPendentes()).thenReturn(List.of(1L));
+        when(parceiroRepository.findById(1L)).thenReturn(Optional.of(parceiro));
+        when(movimentoCreditoRepository.buscarUltimoMovimentoId(1L)).thenReturn(Optional.of(15L));
+        when(snapshotCreditoRepository.findById(1L)).thenReturn(Optional.of(snapshot));
+        when(movimentoCreditoRepository.somarMovimentosApos(1L, 10L)).thenReturn(new BigDecimal("-45.50"));
+
+        // When
+        gestorCredito.compactarMovimentos();
+
+        // Then
+        verify(movimentoCreditoRepository).travarParceiro(1L);
+        verify(snapshotCreditoRepository).save(snapshot);
+        assertEquals(new BigDecimal("554.50"), snapshot.getCreditoUtilizado());
+        assertEquals(15L, snapshot.getUltimoMovimentoId());
+        verify(parceiroRepository).atualizarCreditoUtilizado(
+                eq("PARC_XYZ789"), eq(Dinheiro.de("554.50")), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoCreditoDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GestorCreditoOtimista - Testes Unitários")
+class GestorCreditoOtimistaTest {
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CreditoProperties properties;
+    private Parceiro parceiro;
+    private String parceiroPublicId;
+
+    @BeforeEach
+    void setUp() {
+        parceiroPublicId = "PARC_XYZ789";
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
+        parceiro.setPublicId(parceiroPublicId);
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CreditoProperties();
+        properties.getOtimista().setBackoffInicial(Duration.ofMillis(1));
+        properties.getOtimista().setBackoffMaximo(Duration.ofMillis(2));
+    }
+
+    @Test
+    @DisplayName("Deve repetir o débito após conflito de versão e gravar com a versão mais recente")
+    void deveRepetirDebitoAposConflitoDeVersao() {
+        // Given - primeira gravação perde a corrida para outra transação
+        GestorCreditoOtimista gestorCredito = new GestorCreditoOtimista(parceiroRepository, properties, meterRegistry);
+        when(parceiroRepository.consultarSaldoCredito(parceiroPublicId)).thenReturn(
+                Optional.of(saldo("1000.00", 7L)),
+                Optional.of(saldo("2000.00", 8L)));
+        when(parceiroRepository.atualizarCreditoUtilizadoVersionado(
+                eq(parceiroPublicId), eq(Dinheiro.de("1500.00")), eq(7L), any(LocalDateTime.class))).thenReturn(0);
+        when(parceiroRepository.atualizarCreditoUtilizadoVersionado(
+                eq(parceiroPublicId), eq(Dinheiro.de("2500.00")), eq(8L), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        gestorCredito.debitar(parceiro, Dinheiro.de("500.00"));
+
+        // Then
+        verify(parceiroRepository, never()).findByPublicIdWithLock(any());
+        assertEquals(1.0, meterRegistry.counter("orderhub.credito.otimista.conflitos", "operacao", "debito").count());
+        assertEquals(1.0, meterRegistry.counter("orderhub.credito.otimista.retentativas", "operacao", "debito").count());
+    }
+
+    @Test
+    @DisplayName("Deve desistir após o número máximo de tentativas")
+    void deveDesistirAposNumeroMaximoDeTentativas() {
+        // Given
+        properties.getOtimista().setTentativasMaximas(3);
+        GestorCreditoOtimista gestorCredito = new GestorCreditoOtimista(parceiroRepository, properties, meterRegistry);
+        when(parceiroRepository.consultarSaldoCredito(parceiroPublicId)).thenReturn(Optional.of(saldo("0.00", 1L)));
+        when(parceiroRepository.atualizarCreditoUtilizadoVersionado(any(), any(), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("10.00")));
+
+        verify(parceiroRepository, times(3)).atualizarCreditoUtilizadoVersionado(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("orderhub.credito.otimista.esgotadas",
+                "operacao", "debito", "motivo", "tentativas").count());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o orçamento de retentativas")
+    void deveRespeitarOrcamentoDeRetentativas() {
+        // Given - orçamento de uma única retentativa por segundo
+        properties.getOtimista().setRetentativasMinimas(1);
+        properties.getOtimista().setProporcaoRetentativas(0.0);
+        GestorCreditoOtimista gestorCredito = new GestorCreditoOtimista(parceiroRepository, properties, meterRegistry);
+        when(parceiroRepository.consultarSaldoCredito(parceiroPublicId)).thenReturn(Optional.of(saldo("0.00", 1L)));
+        when(parceiroRepository.atualizarCreditoUtilizadoVersionado(any(), any(), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("10.00")));
+
+        verify(parceiroRepository, times(2)).atualizarCreditoUtilizadoVersionado(any(), any(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("orderhub.credito.otimista.esgotadas",
+                "operacao", "debito", "motivo", "orcamento").count());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir rejeição por crédito insuficiente")
+    void naoDeveRepetirRejeicaoPorCreditoInsuficiente() {
+        // Given
+        GestorCreditoOtimista gestorCredito = new GestorCreditoOtimista(parceiroRepository, properties, meterRegistry);
+        when(parceiroRepository.consultarSaldoCredito(parceiroPublicId)).thenReturn(Optional.of(saldo("9990.00", 3L)));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("10.01")));
+
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        verify(parceiroRepository, never()).atualizarCreditoUtilizadoVersionado(any(), any(), any(), any());
+    }
+
+    private SaldoCreditoDTO saldo(String creditoUtilizado, Long versao) {
+        return new SaldoCreditoDTO(parceiroPublicId, Dinheiro.de("10000.00"),
+                Dinheiro.de(creditoUtilizado), true, versao);
+    }
+}
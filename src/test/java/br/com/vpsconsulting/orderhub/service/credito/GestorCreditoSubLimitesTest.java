@@ -0,0 +1,242 @@
+package br.com.vpsconsulting.orderhub.service.credito;
+
+import br.com.vpsconsulting.orderhub.config.CreditoProperties;
+import br.com.vpsconsulting.orderhub.dto.parceiros.SaldoSubLimiteDTO;
+import br.com.vpsconsulting.orderhub.entity.Dinheiro;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.SubLimiteCredito;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.SubLimiteCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GestorCreditoSubLimites - Testes Unitários")
+class GestorCreditoSubLimitesTest {
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @Mock
+    private SubLimiteCreditoRepository subLimiteCreditoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
+    private GestorCreditoSubLimites gestorCredito;
+    private Parceiro parceiro;
+
+    @BeforeEach
+    void setUp() {
+        CreditoProperties properties = new CreditoProperties();
+        properties.getSublimites().setFatias(2);
+        gestorCredito = new GestorCreditoSubLimites(
+                parceiroRepository, subLimiteCreditoRepository, transactionTemplate, properties, cacheDadosParceiros);
+
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("1000.00"));
+        parceiro.setId(1L);
+        parceiro.setPublicId("PARC_XYZ789");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve debitar a fatia sorteada sem travar as demais")
+    void deveDebitarFatiaSorteadaSemTravarDemais() {
+        // Given
+        Dinheiro valor = Dinheiro.de("100.00");
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), eq(valor.toBigDecimal()))).thenReturn(1);
+
+        // When
+        gestorCredito.debitar(parceiro, valor);
+
+        // Then
+        verify(subLimiteCreditoRepository, never()).travarSaldosPorParceiro(any());
+        verify(parceiroRepository, never()).findByPublicIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Deve rebalancear a folga entre as fatias quando a sorteada não tem saldo")
+    void deveRebalancearFolgaQuandoFatiaSorteadaNaoTemSaldo() {
+        // Given - fatia 0 quase esgotada, fatia 1 com folga
+        Dinheiro valor = Dinheiro.de("300.00");
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), eq(valor.toBigDecimal()))).thenReturn(0);
+        when(subLimiteCreditoRepository.travarSaldosPorParceiro(1L)).thenReturn(List.of(
+                new SaldoSubLimiteDTO(10L, 0, new BigDecimal("500.00"), new BigDecimal("450.00")),
+                new SaldoSubLimiteDTO(11L, 1, new BigDecimal("500.00"), new BigDecimal("100.00"))));
+
+        // When
+        gestorCredito.debitar(parceiro, valor);
+
+        // Then - soma dos limites preservada e folga restante (150.00) dividida igualmente
+        ArgumentCaptor<BigDecimal> limites = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<BigDecimal> utilizados = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(subLimiteCreditoRepository, times(2)).redefinirSaldo(any(), limites.capture(), utilizados.capture());
+
+        BigDecimal limiteTotal = limites.getAllValues().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal utilizadoTotal = utilizados.getAllValues().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(new BigDecimal("1000.00"), limiteTotal);
+        assertEquals(new BigDecimal("850.00"), utilizadoTotal);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(new BigDecimal("75.00"), limites.getAllValues().get(i).subtract(utilizados.getAllValues().get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar por crédito insuficiente só quando todas as fatias estão esgotadas")
+    void deveRecusarQuandoTodasAsFatiasEstaoEsgotadas() {
+        // Given
+        Dinheiro valor = Dinheiro.de("300.00");
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), eq(valor.toBigDecimal()))).thenReturn(0);
+        when(subLimiteCreditoRepository.travarSaldosPorParceiro(1L)).thenReturn(List.of(
+                new SaldoSubLimiteDTO(10L, 0, new BigDecimal("500.00"), new BigDecimal("400.00")),
+                new SaldoSubLimiteDTO(11L, 1, new BigDecimal("500.00"), new BigDecimal("350.00"))));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, valor));
+
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        verify(subLimiteCreditoRepository, never()).redefinirSaldo(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve recusar débito de parceiro inativo sem tocar nas fatias")
+    void deveRecusarDebitoDeParceiroInativo() {
+        // Given
+        parceiro.setAtivo(false);
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> gestorCredito.debitar(parceiro, Dinheiro.de("100.00")));
+
+        assertEquals("PARCEIRO_INATIVO", exception.getCodigo());
+        verifyNoInteractions(subLimiteCreditoRepository);
+    }
+
+    @Test
+    @DisplayName("Deve voltar à fatia retida e só travar fatias livres quando a transação já retém uma")
+    void deveVoltarAFatiaRetidaESoTravarFatiasLivres() {
+        // Given - primeiro débito aprovado em uma fatia; o segundo não cabe nela
+        TransactionSynchronizationManager.initSynchronization();
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), eq(new BigDecimal("100.00")))).thenReturn(1);
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), eq(new BigDecimal("450.00")))).thenReturn(0);
+        when(subLimiteCreditoRepository.travarSaldosLivresPorParceiro(1L)).thenReturn(List.of(
+                new SaldoSubLimiteDTO(10L, 0, new BigDecimal("500.00"), new BigDecimal("100.00")),
+                new SaldoSubLimiteDTO(11L, 1, new BigDecimal("500.00"), new BigDecimal("0.00"))));
+
+        // When
+        gestorCredito.debitar(parceiro, Dinheiro.de("100.00"));
+        gestorCredito.debitar(parceiro, Dinheiro.de("450.00"));
+
+        // Then - a mesma fatia nas duas tentativas e nenhuma espera pelas demais
+        ArgumentCaptor<Integer> indices = ArgumentCaptor.forClass(Integer.class);
+        verify(subLimiteCreditoRepository, times(2)).debitar(eq(1L), indices.capture(), any());
+        assertEquals(indices.getAllValues().get(0), indices.getAllValues().get(1));
+        verify(subLimiteCreditoRepository, never()).travarSaldosPorParceiro(any());
+        verify(subLimiteCreditoRepository, times(2)).redefinirSaldo(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve sincronizar todos na primeira rodada e depois só os parceiros com fatias alteradas, atualizando o cache")
+    @SuppressWarnings("unchecked")
+    void deveSincronizarSoParceirosComFatiasAlteradas() {
+        // Given
+        when(transactionTemplate.execute(any(TransactionCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), any())).thenReturn(1);
+
+        // When
+        gestorCredito.sincronizarCreditoUtilizado();
+        gestorCredito.debitar(parceiro, Dinheiro.de("100.00"));
+        gestorCredito.sincronizarCreditoUtilizado();
+        gestorCredito.sincronizarCreditoUtilizado();
+
+        // Then
+        verify(parceiroRepository, times(1)).sincronizarCreditoUtilizadoComSubLimites(any(LocalDateTime.class));
+        verify(parceiroRepository, times(1)).sincronizarCreditoUtilizadoComSubLimites(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(transactionTemplate, times(2)).execute(any(TransactionCallback.class));
+        verify(cacheDadosParceiros).removerTodos();
+        verify(cacheDadosParceiros).atualizarPorIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve repetir a sincronização na próxima rodada quando a atualização do cache falha")
+    @SuppressWarnings("unchecked")
+    void deveRepetirSincronizacaoQuandoAtualizacaoDoCacheFalha() {
+        // Given
+        when(transactionTemplate.execute(any(TransactionCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), any())).thenReturn(1);
+        doThrow(new RuntimeException("primário indisponível")).doNothing()
+                .when(cacheDadosParceiros).atualizarPorIds(List.of(1L));
+
+        // When
+        gestorCredito.sincronizarCreditoUtilizado();
+        gestorCredito.debitar(parceiro, Dinheiro.de("100.00"));
+        gestorCredito.sincronizarCreditoUtilizado();
+        gestorCredito.sincronizarCreditoUtilizado();
+
+        // Then
+        verify(parceiroRepository, times(2)).sincronizarCreditoUtilizadoComSubLimites(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(cacheDadosParceiros, times(2)).atualizarPorIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Deve criar as fatias no primeiro uso do parceiro preservando o crédito utilizado")
+    @SuppressWarnings("unchecked")
+    void deveCriarFatiasNoPrimeiroUso() {
+        // Given
+        parceiro.setCreditoUtilizado(new BigDecimal("200.01"));
+        Dinheiro valor = Dinheiro.de("50.00");
+        when(subLimiteCreditoRepository.debitar(eq(1L), anyInt(), eq(valor.toBigDecimal()))).thenReturn(0);
+        when(parceiroRepository.findByPublicIdWithLock("PARC_XYZ789")).thenReturn(Optional.of(parceiro));
+        when(subLimiteCreditoRepository.travarSaldosPorParceiro(1L)).thenReturn(
+                List.of(),
+                List.of(),
+                List.of(new SaldoSubLimiteDTO(10L, 0, new BigDecimal("600.01"), new BigDecimal("200.01")),
+                        new SaldoSubLimiteDTO(11L, 1, new BigDecimal("399.99"), new BigDecimal("0.00"))));
+
+        // When
+        gestorCredito.debitar(parceiro, valor);
+
+        // Then
+        ArgumentCaptor<List<SubLimiteCredito>> fatias = ArgumentCaptor.forClass(List.class);
+        verify(subLimiteCreditoRepository).saveAllAndFlush(fatias.capture());
+        assertEquals(2, fatias.getValue().size());
+        assertEquals(new BigDecimal("600.01"), fatias.getValue().get(0).getLimite());
+        assertEquals(new BigDecimal("200.01"), fatias.getValue().get(0).getUtilizado());
+        assertEquals(new BigDecimal("399.99"), fatias.getValue().get(1).getLimite());
+        verify(subLimiteCreditoRepository, times(2)).redefinirSaldo(any(), any(), any());
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.vpsconsulting.orderhub.service.reserva;
+
+import br.com.vpsconsulting.orderhub.config.ReservaProperties;
+import br.com.vpsconsulting.orderhub.dto.itens.ItemPedidoDTO;
+import br.com.vpsconsulting.orderhub.dto.pedidos.PedidoResponseDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.ConfirmarReservaDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.CriarReservaDTO;
+import br.com.vpsconsulting.orderhub.dto.reservas.ReservaResponseDTO;
+import br.com.vpsconsulting.orderhub.entity.Parceiro;
+import br.com.vpsconsulting.orderhub.entity.ReservaCredito;
+import br.com.vpsconsulting.orderhub.enums.StatusPedido;
+import br.com.vpsconsulting.orderhub.enums.StatusReserva;
+import br.com.vpsconsulting.orderhub.exception.BusinessRuleException;
+import br.com.vpsconsulting.orderhub.repository.ParceiroRepository;
+import br.com.vpsconsulting.orderhub.repository.ReservaCreditoRepository;
+import br.com.vpsconsulting.orderhub.service.CacheDadosParceiros;
+import br.com.vpsconsulting.orderhub.service.PedidoService;
+import br.com.vpsconsulting.orderhub.service.credito.GestorCreditoPessimista;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservaCreditoService - Testes Unitários")
+class ReservaCreditoServiceTest {
+
+    @Mock
+    private ReservaCreditoRepository reservaCreditoRepository;
+
+    @Mock
+    private ParceiroRepository parceiroRepository;
+
+    @Mock
+    private PedidoService pedidoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheDadosParceiros cacheDadosParceiros;
+
+    private ReservaCreditoService reservaCreditoService;
+    private Parceiro parceiro;
+    private String parceiroPublicId;
+
+    @BeforeEach
+    void setUp() {
+        reservaCreditoService = new ReservaCreditoService(reservaCreditoRepository,
+                new GestorCreditoPessimista(parceiroRepository), pedidoService, new ReservaProperties(), eventPublisher,
+                cacheDadosParceiros);
+
+        parceiroPublicId = "PARC_XYZ789";
+        parceiro = new Parceiro("Empresa Teste", "12345678000195", new BigDecimal("10000.00"));
+        parceiro.setPublicId(parceiroPublicId);
+    }
+
+    @Test
+    @DisplayName("Deve bloquear o valor reservado no crédito do parceiro e agendar a expiração")
+    void deveBloquearValorReservadoEAgendarExpiracao() {
+        // Given
+        when(parceiroRepository.findByPublicIdWithLock(parceiroPublicId)).thenReturn(Optional.of(parceiro));
+        when(reservaCreditoRepository.save(any(ReservaCredito.class))).thenAnswer(invocation -> {
+            ReservaCredito reserva = invocation.getArgument(0);
+            reserva.setPublicId("RES_ABC12345");
+            return reserva;
+        });
+
+        // When
+        ReservaResponseDTO resultado = reservaCreditoService.reservar(
+                new CriarReservaDTO(parceiroPublicId, new BigDecimal("3000.00"), 60L));
+
+        // Then
+        assertEquals(StatusReserva.ATIVA, resultado.status());
+        assertEquals(new BigDecimal("3000.00"), parceiro.getCreditoUtilizado());
+        assertTrue(resultado.expiraEm().isAfter(LocalDateTime.now().plusSeconds(50)));
+        verify(eventPublisher).publishEvent(any(ReservaCriadaEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve recusar reserva acima do crédito disponível")
+    void deveRecusarReservaAcimaDoCreditoDisponivel() {
+        // Given
+        when(parceiroRepository.findByPublicIdWithLock(parceiroPublicId)).thenReturn(Optional.of(parceiro));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> reservaCreditoService.reservar(new CriarReservaDTO(parceiroPublicId, new BigDecimal("10000.01"), null)));
+
+        assertEquals("CREDITO_INSUFICIENTE", exception.getCodigo());
+        verify(reservaCreditoRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve confirmar reserva sem debitar de novo e devolver a sobra")
+    void deveConfirmarReservaSemDebitarDeNovoEDevolverSobra() {
+        // Given - 3000 reservados, pedido de 2500
+        parceiro.setCreditoUtilizado(new BigDecimal("3000.00"));
+        ReservaCredito reserva = reservaAtiva(LocalDateTime.now().plusMinutes(5));
+        when(reservaCreditoRepository.findByPublicIdWithLock("RES_ABC12345")).thenReturn(Optional.of(reserva));
+        when(pedidoService.criarPedidoComCreditoReservado(eq(parceiro), any(), eq(new BigDecimal("3000.00"))))
+                .thenReturn(pedido("PED_12345678", new BigDecimal("2500.00")));
+        when(parceiroRepository.findByPublicIdWithLock(parceiroPublicId)).thenReturn(Optional.of(parceiro));
+
+        // When
+        PedidoResponseDTO resultado = reservaCreditoService.confirmar("RES_ABC12345", confirmacao());
+
+        // Then
+        assertEquals("PED_12345678", resultado.publicId());
+        assertEquals(StatusReserva.CONFIRMADA, reserva.getStatus());
+        assertEquals("PED_12345678", reserva.getPedidoPublicId());
+        assertEquals(new BigDecimal("2500.00"), parceiro.getCreditoUtilizado());
+    }
+
+    @Test
+    @DisplayName("Não deve confirmar reserva vencida")
+    void naoDeveConfirmarReservaVencida() {
+        // Given
+        ReservaCredito reserva = reservaAtiva(LocalDateTime.now().minusSeconds(1));
+        when(reservaCreditoRepository.findByPublicIdWithLock("RES_ABC12345")).thenReturn(Optional.of(reserva));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> reservaCreditoService.confirmar("RES_ABC12345", confirmacao()));
+
+        assertEquals("RESERVA_EXPIRADA", exception.getCodigo());
+        verifyNoInteractions(pedidoService);
+    }
+
+    @Test
+    @DisplayName("Deve expirar reserva vencida devolvendo o crédito apenas uma vez")
+    void deveExpirarReservaVencidaDevolvendoCreditoUmaVez() {
+        // Given
+        parceiro.setCreditoUtilizado(new BigDecimal("3000.00"));
+        ReservaCredito reserva = reservaAtiva(LocalDateTime.now().minusSeconds(1));
+        when(reservaCreditoRepository.findByPublicIdWithLock("RES_ABC12345")).thenReturn(Optional.of(reserva));
+        when(parceiroRepository.findByPublicIdWithLock(parceiroPublicId)).thenReturn(Optional.of(parceiro));
+
+        // When
+        boolean primeira = reservaCreditoService.expirar("RES_ABC12345");
+        boolean segunda = reservaCreditoService.expirar("RES_ABC12345");
+
+        // Then
+        assertTrue(primeira);
+        assertFalse(segunda);
+        assertEquals(StatusReserva.EXPIRADA, reserva.getStatus());
+        assertEquals(0, parceiro.getCreditoUtilizado().compareTo(BigDecimal.ZERO));
+        verify(parceiroRepository, times(1)).save(parceiro);
+    }
+
+    private ReservaCredito reservaAtiva(LocalDateTime expiraEm) {
+        ReservaCredito reserva = new ReservaCredito(parceiro, new BigDecimal("3000.00"), expiraEm);
+        reserva.setPublicId("RES_ABC12345");
+        return reserva;
+    }
+
+    private ConfirmarReservaDTO confirmacao() {
+        return new ConfirmarReservaDTO(List.of(new ItemPedidoDTO("Produto A", 1, new BigDecimal("2500.00"))), null);
+    }
+
+    private PedidoResponseDTO pedido(String publicId, BigDecimal valorTotal) {
+        return new PedidoResponseDTO(publicId, parceiroPublicId, parceiro.getNome(), List.of(), valorTotal,
+                StatusPedido.APROVADO, null, LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.vpsconsulting.orderhub.service.reserva;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RodaTemporizacao - Testes Unitários")
+class RodaTemporizacaoTest {
+
+    @Test
+    @DisplayName("Não deve devolver item antes do prazo")
+    void naoDeveDevolverItemAntesDoPrazo() {
+        // Given
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(Duration.ofMillis(100), 8, 0);
+        roda.agendar("RES_1", 250);
+
+        // When & Then
+        assertTrue(roda.avancar(200).isEmpty());
+        assertEquals(List.of("RES_1"), roda.avancar(300));
+        assertEquals(0, roda.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar prazos maiores que uma volta da roda")
+    void deveRespeitarPrazosMaioresQueUmaVolta() {
+        // Given - roda de 4 posições (400ms por volta)
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(Duration.ofMillis(100), 4, 0);
+        roda.agendar("CURTA", 100);
+        roda.agendar("LONGA", 500); // mesma posição da CURTA, uma volta depois
+
+        // When & Then
+        assertEquals(List.of("CURTA"), roda.avancar(100));
+        assertTrue(roda.avancar(400).isEmpty());
+        assertEquals(List.of("LONGA"), roda.avancar(500));
+    }
+
+    @Test
+    @DisplayName("Deve devolver todos os vencidos após pausa maior que uma volta")
+    void deveDevolverTodosOsVencidosAposPausaLonga() {
+        // Given
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(Duration.ofMillis(100), 4, 0);
+        roda.agendar("A", 100);
+        roda.agendar("B", 300);
+        roda.agendar("C", 2_000);
+        roda.agendar("D", 10_000);
+
+        // When
+        List<String> vencidos = roda.avancar(5_000);
+
+        // Then
+        assertEquals(3, vencidos.size());
+        assertTrue(vencidos.containsAll(List.of("A", "B", "C")));
+        assertEquals(1, roda.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve vencer no próximo avanço item agendado com prazo já passado")
+    void deveVencerNoProximoAvancoItemComPrazoPassado() {
+        // Given
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(Duration.ofMillis(100), 8, 0);
+        roda.avancar(1_000);
+
+        // When
+        roda.agendar("ATRASADA", 500);
+
+        // Then
+        assertEquals(List.of("ATRASADA"), roda.avancar(1_100));
+    }
+}